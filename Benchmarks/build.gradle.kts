@@ -0,0 +1,73 @@
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(projects.plotSquaredCore)
+    jmhImplementation(testFixtures(projects.plotSquaredCore))
+
+    // Provided by the server at runtime, Core only compiles against them
+    jmhImplementation(libs.checkerqual)
+    jmhImplementation(libs.gson)
+    jmhImplementation(libs.guava)
+    jmhImplementation(libs.snakeyaml)
+    jmhImplementation(libs.log4j)
+    jmhImplementation(libs.worldeditCore) {
+        exclude(group = "bukkit-classloader-check")
+        exclude(group = "mockito-core")
+        exclude(group = "dummypermscompat")
+    }
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.core.get())
+    failOnError.set(true)
+    resultFormat.set("JSON")
+    resultsFile.set(jmhResults)
+}
+
+// Benchmarks that set up quickly and cover the plot lookup, flag and generator paths
+val smokeBenchmarks = listOf(
+        "PlotIdBenchmark",
+        "SquarePlotManagerBenchmark",
+        "PlotAreaBenchmark",
+        "FlagContainerBenchmark",
+        "BlockSamplerBenchmark",
+        "HybridGenBenchmark",
+        "TeleportPathBenchmark"
+)
+
+tasks {
+    register<JavaExec>("jmhSmoke") {
+        group = "benchmark"
+        description = "Runs a subset of the benchmarks with a single short iteration, to check that they still run."
+        classpath = files(named("jmhJar"))
+        mainClass.set("org.openjdk.jmh.Main")
+        args(
+                "-f", "1",
+                "-wi", "1", "-w", "1s",
+                "-i", "1", "-r", "1s",
+                "-foe", "true",
+                "-rf", "json",
+                "-rff", layout.buildDirectory.file("results/jmh/smoke.json").get().asFile.path,
+                smokeBenchmarks.joinToString("|", "\\.(", ")\\.")
+        )
+    }
+
+    register<Copy>("jmhBaseline") {
+        group = "benchmark"
+        description = "Stores the results of the last jmh run as the new baseline."
+        from(jmhResults)
+        into(layout.projectDirectory.dir("baseline"))
+    }
+
+    // The benchmarks are only packaged by the jmhJar task and never published
+    named("shadowJar") {
+        enabled = false
+    }
+    withType<AbstractPublishToMaven> {
+        enabled = false
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.BlockSampler;
+import com.plotsquared.core.util.PatternUtil;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.function.pattern.RandomPattern;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking blocks from a weighted block bucket through the compiled sampler and through the
+ * WorldEdit random pattern it replaces
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockSamplerBenchmark {
+
+    private Pattern pattern;
+    private BlockSampler sampler;
+    private BlockSampler single;
+    private int x;
+
+    @Setup
+    public void setup() {
+        HeadlessEnvironment.get();
+        final BlockState[] states = new BlockState[]{
+                BlockTypes.STONE.getDefaultState(),
+                BlockTypes.ANDESITE.getDefaultState(),
+                BlockTypes.GRANITE.getDefaultState(),
+                BlockTypes.DIORITE.getDefaultState()
+        };
+        final double[] weights = new double[]{55, 15, 15, 15};
+        final RandomPattern randomPattern = new RandomPattern();
+        final BaseBlock[] blocks = new BaseBlock[states.length];
+        for (int i = 0; i < states.length; i++) {
+            randomPattern.add(states[i], weights[i]);
+            blocks[i] = states[i].toBaseBlock();
+        }
+        this.pattern = randomPattern;
+        this.sampler = BlockSampler.of(blocks, weights);
+        this.single = BlockSampler.of(BlockTypes.STONE.getDefaultState().toBaseBlock());
+    }
+
+    @Benchmark
+    public BaseBlock pattern() {
+        return PatternUtil.apply(this.pattern, this.x++ & 15, 64, 0);
+    }
+
+    @Benchmark
+    public BaseBlock sampler() {
+        return this.sampler.sample(this.x++ & 15, 64, 0);
+    }
+
+    @Benchmark
+    public BaseBlock singleSampler() {
+        return this.single.sample(this.x++ & 15, 64, 0);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the plots and regions of a square mega plot, with and without the connected plot
+ * cache that is cleared whenever a plot is merged or unlinked
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectedPlotsBenchmark {
+
+    @Param({"2", "8"})
+    public int size;
+
+    private Plot corner;
+    private Plot center;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        final PlotArea area = environment.area("connected_" + this.size, 42, 7);
+        final UUID owner = UUID.randomUUID();
+        int temp = 0;
+        for (int x = 0; x < this.size; x++) {
+            for (int y = 0; y < this.size; y++) {
+                final Plot plot = environment.claim(area, PlotId.of(x, y), owner, ++temp);
+                // North, east, south and west
+                plot.setMerged(new boolean[]{y > 0, x < this.size - 1, y < this.size - 1, x > 0});
+            }
+        }
+        this.corner = area.getPlotAbs(PlotId.of(0, 0));
+        this.center = area.getPlotAbs(PlotId.of(this.size / 2, this.size / 2));
+    }
+
+    @Benchmark
+    public Set<Plot> connectedCached() {
+        return this.center.getConnectedPlots();
+    }
+
+    @Benchmark
+    public Set<Plot> connected() {
+        this.center.clearCache();
+        return this.center.getConnectedPlots();
+    }
+
+    @Benchmark
+    public Set<CuboidRegion> regions() {
+        this.corner.clearCache();
+        return this.corner.getRegions();
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.google.common.eventbus.Subscribe;
+import com.plotsquared.core.events.PlayerEnterPlotEvent;
+import com.plotsquared.core.events.PlayerLeavePlotEvent;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.EventDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatching plot entry and leave events without listeners, with a listener for the leave event
+ * and with a listener for the entry event
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+    @Param({"none", "leave", "entry"})
+    public String listener;
+
+    private EventDispatcher eventDispatcher;
+    private Plot plot;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        this.plot = environment.claim(environment.area("events", 42, 7), PlotId.of(0, 0), UUID.randomUUID(), 1);
+        this.eventDispatcher = new EventDispatcher(null);
+        switch (this.listener) {
+            case "leave" -> this.eventDispatcher.registerListener(new LeaveListener());
+            case "entry" -> this.eventDispatcher.registerListener(new EntryListener());
+            default -> {
+            }
+        }
+    }
+
+    @Benchmark
+    public PlayerEnterPlotEvent callEntry() {
+        return this.eventDispatcher.callEntry(null, this.plot);
+    }
+
+    @Benchmark
+    public PlayerLeavePlotEvent callLeave() {
+        return this.eventDispatcher.callLeave(null, this.plot);
+    }
+
+    public static final class EntryListener {
+
+        private int received;
+
+        @Subscribe
+        public void onEntry(final PlayerEnterPlotEvent event) {
+            this.received++;
+        }
+
+    }
+
+    public static final class LeaveListener {
+
+        private int received;
+
+        @Subscribe
+        public void onLeave(final PlayerLeavePlotEvent event) {
+            this.received++;
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.flag.implementations.DoneFlag;
+import com.plotsquared.core.plot.flag.implementations.ExplosionFlag;
+import com.plotsquared.core.plot.flag.implementations.PvpFlag;
+import com.plotsquared.core.plot.flag.implementations.UntrustedVisitFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flag lookups on a plot, for flags set on the plot itself and for flags that fall through to
+ * the area and global containers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlagContainerBenchmark {
+
+    private Plot plot;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        final PlotArea area = environment.area("flags", 42, 7);
+        this.plot = environment.claim(area, PlotId.of(0, 0), UUID.randomUUID(), 1);
+        this.plot.getFlagContainer().addFlag(PvpFlag.PVP_TRUE);
+        this.plot.getFlagContainer().addFlag(ExplosionFlag.EXPLOSION_TRUE);
+        this.plot.getFlagContainer().addFlag(new DoneFlag("1640995200"));
+    }
+
+    @Benchmark
+    public boolean localFlag() {
+        return this.plot.getFlag(PvpFlag.class);
+    }
+
+    @Benchmark
+    public boolean localFlagInstance() {
+        return this.plot.getFlag(PvpFlag.PVP_FALSE);
+    }
+
+    @Benchmark
+    public boolean globalFlag() {
+        return this.plot.getFlag(UntrustedVisitFlag.class);
+    }
+
+    @Benchmark
+    public String localStringFlag() {
+        return this.plot.getFlag(DoneFlag.class);
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.flag.implementations.DisablePhysicsFlag;
+import com.plotsquared.core.plot.flag.implementations.LiquidFlowFlag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The plot checks of {@code BlockEventListener#onChange} for liquids flowing one block, in an
+ * area where half of the plots are claimed. {@code edgeDistance} takes the fast path for flow
+ * away from plot edges, {@code neighbourLookups} always resolves the origin, the target and the
+ * neighbours of the origin. Adapting the Bukkit blocks and locations is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowCheckBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int RADIUS = 16;
+    private static final int PLOT_WIDTH = 42;
+    private static final int ROAD_WIDTH = 7;
+    private static final int[][] DIRECTIONS = new int[][]{{1, 0, 0}, {-1, 0, 0}, {0, 0, 1}, {0, 0, -1}, {0, -1, 0}};
+
+    private final Location[] from = new Location[SIZE];
+    private final Location[] to = new Location[SIZE];
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        final PlotArea area = environment.area("flow", PLOT_WIDTH, ROAD_WIDTH);
+        final Random random = new Random(42);
+        if (area.getPlotCount() == 0) {
+            final UUID owner = UUID.randomUUID();
+            int temp = 0;
+            for (int x = -RADIUS; x < RADIUS; x++) {
+                for (int y = -RADIUS; y < RADIUS; y++) {
+                    if (random.nextBoolean()) {
+                        environment.claim(area, PlotId.of(x, y), owner, ++temp);
+                    }
+                }
+            }
+        }
+        final int extent = RADIUS * (PLOT_WIDTH + ROAD_WIDTH);
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(2 * extent) - extent;
+            final int z = random.nextInt(2 * extent) - extent;
+            final int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            this.from[i] = Location.at(area.getWorldName(), x, 64, z);
+            this.to[i] = this.from[i].add(direction[0], direction[1], direction[2]);
+        }
+    }
+
+    private static boolean insidePlot(final @NonNull PlotArea area, final @NonNull Location location) {
+        final Plot plot = area.getOwnedPlot(location);
+        if (plot == null) {
+            // Liquids may not flow inside unclaimed plots
+            return area.contains(area.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ()));
+        }
+        final LiquidFlowFlag.FlowStatus flowStatus = plot.getFlag(LiquidFlowFlag.class);
+        if (flowStatus != LiquidFlowFlag.FlowStatus.DEFAULT) {
+            return flowStatus == LiquidFlowFlag.FlowStatus.DISABLED;
+        }
+        return plot.getFlag(DisablePhysicsFlag.class);
+    }
+
+    private static boolean fullCheck(final @NonNull Location from, final @NonNull Location to) {
+        final PlotArea fromArea = from.getPlotArea();
+        if (fromArea != null) {
+            final Plot plot = fromArea.getOwnedPlot(from);
+            if (plot != null && plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.DISABLED) {
+                return true;
+            }
+        }
+        final PlotArea area = to.getPlotArea();
+        if (area == null) {
+            return false;
+        }
+        final Plot plot = area.getOwnedPlot(to);
+        if (plot != null) {
+            if (!area.contains(from.getX(), from.getZ()) || !Objects.equals(plot, area.getOwnedPlot(from))) {
+                return true;
+            }
+            if (plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.ENABLED) {
+                return false;
+            }
+            return plot.getFlag(DisablePhysicsFlag.class)
+                    || plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.DISABLED;
+        } else if (!area.contains(from.getX(), from.getZ()) || !Objects.equals(null, area.getOwnedPlot(from))) {
+            return true;
+        }
+        return from.add(-1, 0, 1).getPlot() != null
+                || from.add(1, 0, 0).getPlot() != null
+                || from.add(1, 0, 1).getPlot() != null
+                || from.add(-1, 0, 0).getPlot() != null
+                || from.add(1, 0, 0).getPlot() != null
+                || from.add(-1, 0, -1).getPlot() != null
+                || from.add(0, 0, -1).getPlot() != null
+                || from.add(1, 0, 1).getPlot() != null;
+    }
+
+    @Benchmark
+    public boolean edgeDistance() {
+        final int i = this.cursor = (this.cursor + 1) & (SIZE - 1);
+        final Location from = this.from[i];
+        final Location to = this.to[i];
+        final PlotArea fromArea = from.getPlotArea();
+        if (fromArea != null && fromArea.getType() != PlotAreaType.PARTIAL
+                && Math.abs(to.getX() - from.getX()) <= 1 && Math.abs(to.getZ() - from.getZ()) <= 1
+                && fromArea.getPlotManager().getPlotEdgeDistance(from.getX(), from.getZ()) >= 1) {
+            return insidePlot(fromArea, from);
+        }
+        return fullCheck(from, to);
+    }
+
+    @Benchmark
+    public boolean neighbourLookups() {
+        final int i = this.cursor = (this.cursor + 1) & (SIZE - 1);
+        return fullCheck(this.from[i], this.to[i]);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.generator.HybridGen;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.queue.ChunkQueueCoordinator;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating chunks of a hybrid plot world into a chunk queue, walking diagonally so that
+ * chunks containing plots, walls and roads are all generated
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HybridGenBenchmark {
+
+    private static final int CHUNKS = 64;
+
+    private final ChunkQueueCoordinator[] chunks = new ChunkQueueCoordinator[CHUNKS];
+    private HybridPlotWorld area;
+    private HybridGen generator;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        this.area = HeadlessEnvironment.get().area("generator", 42, 7);
+        this.generator = (HybridGen) this.area.getGenerator();
+        for (int i = 0; i < CHUNKS; i++) {
+            final int x = i << 4;
+            final int z = (i * 3) << 4;
+            this.chunks[i] = new BenchmarkChunk(
+                    this.area.getWorldName(),
+                    BlockVector3.at(x, 0, z),
+                    BlockVector3.at(x + 15, 255, z + 15)
+            );
+        }
+    }
+
+    @Benchmark
+    public ChunkQueueCoordinator generateChunk() {
+        final ChunkQueueCoordinator chunk = this.chunks[this.cursor = (this.cursor + 1) & (CHUNKS - 1)];
+        this.generator.generateChunk(chunk, this.area);
+        return chunk;
+    }
+
+    /**
+     * Chunk queue without a WorldEdit world, which is only needed for the world name
+     */
+    private static final class BenchmarkChunk extends ChunkQueueCoordinator {
+
+        private final String world;
+        private final BlockVector3 bot;
+        private final BlockVector3 top;
+
+        private BenchmarkChunk(final @NonNull String world, final @NonNull BlockVector3 bot, final @NonNull BlockVector3 top) {
+            super(null, bot, top, false);
+            this.world = world;
+            this.bot = bot;
+            this.top = top;
+        }
+
+        @Override
+        public @NonNull Location getMin() {
+            return Location.at(this.world, this.bot.getX(), this.bot.getY(), this.bot.getZ());
+        }
+
+        @Override
+        public @NonNull Location getMax() {
+            return Location.at(this.world, this.top.getX(), this.top.getY(), this.top.getZ());
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.configuration.caption.CaptionUtility;
+import com.plotsquared.core.configuration.caption.LocaleHolder;
+import com.plotsquared.core.configuration.caption.ParsedMessageCache;
+import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.Template;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sending a flag deny message: parsing it with MiniMessage directly, formatting it on every send
+ * and parsing it through the parsed message cache, and going through the cache per caption
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsedMessageCacheBenchmark {
+
+    private static final String MESSAGE =
+            "<prefix><red>You are lacking the permission node </red><gray><node></gray><red>.</red>";
+    private static final String PREFIX = "<dark_gray>[</dark_gray><gold>P2</gold><dark_gray>]</dark_gray> ";
+
+    private final TranslatableCaption caption = TranslatableCaption.of("permission.no_permission");
+    private final Template[] templates = new Template[]{Template.of("node", "plots.admin.build.other")};
+    private final LocaleHolder recipient = new LocaleHolder() {
+        @Override
+        public @NonNull Locale getLocale() {
+            return Locale.ENGLISH;
+        }
+
+        @Override
+        public void setLocale(final @NonNull Locale locale) {
+        }
+    };
+
+    private static String prepare() {
+        return CaptionUtility.format(null, MESSAGE).replace("<prefix>", PREFIX);
+    }
+
+    @Benchmark
+    public Component miniMessage() {
+        return MiniMessage.get().parse(prepare(), this.templates);
+    }
+
+    @Benchmark
+    public Component cached() {
+        return ParsedMessageCache.parse(prepare(), this.templates);
+    }
+
+    @Benchmark
+    public Component cachedCaption() {
+        return ParsedMessageCache.parse(this.caption, this.recipient, ParsedMessageCacheBenchmark::prepare, this.templates);
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotCellClassifier;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The plot boundary check of the Paper entity pathfinding handlers, for mobs pathing up to four
+ * blocks in an area with claimed and merged plots. {@code cells} is the check done by
+ * {@code PaperListener#crossesPlotBoundary}, {@code plotLookups} the plot and connected plot
+ * lookups it replaced. Adapting the Bukkit locations costs the same in both and is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindBoundaryBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int RADIUS = 16;
+    private static final int PLOT_WIDTH = 42;
+    private static final int ROAD_WIDTH = 7;
+    private static final int PATH_LENGTH = 4;
+
+    private final Location[] from = new Location[SIZE];
+    private final Location[] to = new Location[SIZE];
+    private PlotAreaManager plotAreaManager;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        final PlotArea area = environment.area("pathfind", PLOT_WIDTH, ROAD_WIDTH);
+        this.plotAreaManager = environment.platform().plotAreaManager();
+        final Random random = new Random(42);
+        if (area.getPlotCount() == 0) {
+            final UUID owner = UUID.randomUUID();
+            int temp = 0;
+            for (int x = -RADIUS; x < RADIUS; x++) {
+                for (int y = -RADIUS; y < RADIUS; y++) {
+                    if (random.nextBoolean()) {
+                        environment.claim(area, PlotId.of(x, y), owner, ++temp);
+                    }
+                }
+            }
+            // Merge claimed neighbours on the X axis, east is the second direction
+            for (int x = -RADIUS; x < RADIUS - 1; x += 2) {
+                for (int y = -RADIUS; y < RADIUS; y += 3) {
+                    final Plot west = area.getOwnedPlotAbs(PlotId.of(x, y));
+                    final Plot east = area.getOwnedPlotAbs(PlotId.of(x + 1, y));
+                    if (west != null && east != null) {
+                        west.setMerged(new boolean[]{false, true, false, false});
+                        east.setMerged(new boolean[]{false, false, false, true});
+                    }
+                }
+            }
+            area.getCellClassifier().invalidate();
+        }
+        final int extent = RADIUS * (PLOT_WIDTH + ROAD_WIDTH);
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(2 * extent) - extent;
+            final int z = random.nextInt(2 * extent) - extent;
+            this.from[i] = Location.at(area.getWorldName(), x, 64, z);
+            this.to[i] = Location.at(
+                    area.getWorldName(),
+                    x + random.nextInt(2 * PATH_LENGTH + 1) - PATH_LENGTH,
+                    64,
+                    z + random.nextInt(2 * PATH_LENGTH + 1) - PATH_LENGTH
+            );
+        }
+    }
+
+    @Benchmark
+    public boolean cells() {
+        final int i = this.cursor = (this.cursor + 1) & (SIZE - 1);
+        final Location from = this.from[i];
+        final Location to = this.to[i];
+        final PlotArea toArea = this.plotAreaManager.getPlotArea(to);
+        if (toArea == null) {
+            return false;
+        }
+        final PlotArea fromArea = this.plotAreaManager.getPlotArea(from);
+        if (fromArea == null) {
+            return false;
+        }
+        if (toArea != fromArea) {
+            return true;
+        }
+        final PlotCellClassifier classifier = toArea.getCellClassifier();
+        return classifier.getCell(to.getX(), to.getY(), to.getZ()) != classifier.getCell(from.getX(), from.getY(), from.getZ());
+    }
+
+    @Benchmark
+    public boolean plotLookups() {
+        final int i = this.cursor = (this.cursor + 1) & (SIZE - 1);
+        final Location from = this.from[i];
+        final Location to = this.to[i];
+        final PlotArea toArea = to.getPlotArea();
+        if (toArea == null) {
+            return false;
+        }
+        final PlotArea fromArea = from.getPlotArea();
+        if (fromArea == null) {
+            return false;
+        }
+        if (toArea != fromArea) {
+            return true;
+        }
+        final Plot toPlot = to.getPlot();
+        final Plot fromPlot = from.getPlot();
+        if (toPlot == null ^ fromPlot == null) {
+            return true;
+        }
+        if (toPlot == null || toPlot.getId().hashCode() == fromPlot.getId().hashCode()) {
+            return false;
+        }
+        return !fromPlot.isMerged() || !fromPlot.getConnectedPlots().contains(toPlot);
+    }
+
+}
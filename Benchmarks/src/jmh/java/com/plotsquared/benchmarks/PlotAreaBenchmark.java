@@ -0,0 +1,127 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotCellClassifier;
+import com.plotsquared.core.plot.PlotId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plot lookups by location in an area where half of the plots are claimed and some of them are
+ * merged with their eastern neighbour, as done by the movement and block listeners
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlotAreaBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int RADIUS = 32;
+    private static final int PLOT_WIDTH = 42;
+    private static final int ROAD_WIDTH = 7;
+
+    private final Location[] locations = new Location[SIZE];
+    private PlotArea area;
+    private PlotCellClassifier classifier;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        this.area = environment.area("area", PLOT_WIDTH, ROAD_WIDTH);
+        final Random random = new Random(42);
+        if (this.area.getPlotCount() == 0) {
+            final UUID owner = UUID.randomUUID();
+            int temp = 0;
+            for (int x = -RADIUS; x < RADIUS; x++) {
+                for (int y = -RADIUS; y < RADIUS; y++) {
+                    if (random.nextBoolean()) {
+                        environment.claim(this.area, PlotId.of(x, y), owner, ++temp);
+                    }
+                }
+            }
+            // Merge claimed neighbours on the X axis, east is the second direction
+            for (int x = -RADIUS; x < RADIUS - 1; x += 2) {
+                for (int y = -RADIUS; y < RADIUS; y += 3) {
+                    final Plot west = this.area.getOwnedPlotAbs(PlotId.of(x, y));
+                    final Plot east = this.area.getOwnedPlotAbs(PlotId.of(x + 1, y));
+                    if (west != null && east != null) {
+                        west.setMerged(new boolean[]{false, true, false, false});
+                        east.setMerged(new boolean[]{false, false, false, true});
+                    }
+                }
+            }
+        }
+        this.classifier = this.area.getCellClassifier();
+        final int extent = RADIUS * (PLOT_WIDTH + ROAD_WIDTH);
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(2 * extent) - extent;
+            final int z = random.nextInt(2 * extent) - extent;
+            this.locations[i] = Location.at(this.area.getWorldName(), x, 64, z);
+        }
+    }
+
+    private Location next() {
+        return this.locations[this.cursor = (this.cursor + 1) & (SIZE - 1)];
+    }
+
+    @Benchmark
+    public Plot plot() {
+        return this.area.getPlot(next());
+    }
+
+    @Benchmark
+    public Plot ownedPlot() {
+        return this.area.getOwnedPlot(next());
+    }
+
+    @Benchmark
+    public long cell() {
+        final Location location = next();
+        return this.classifier.getCell(location.getX(), location.getY(), location.getZ());
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.plot.PlotId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plot id creation, packing and lookups, which happen for every block and movement event
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlotIdBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final int[] xs = new int[SIZE];
+    private final int[] ys = new int[SIZE];
+    private final long[] packed = new long[SIZE];
+    private final String[] strings = new String[SIZE];
+    private final PlotId[] ids = new PlotId[SIZE];
+    private final Map<PlotId, Integer> map = new HashMap<>();
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            this.xs[i] = random.nextInt(2000) - 1000;
+            this.ys[i] = random.nextInt(2000) - 1000;
+            this.packed[i] = PlotId.pack(this.xs[i], this.ys[i]);
+            this.strings[i] = this.xs[i] + ";" + this.ys[i];
+            this.ids[i] = PlotId.of(this.xs[i], this.ys[i]);
+            this.map.put(this.ids[i], i);
+        }
+    }
+
+    private int next() {
+        return this.cursor = (this.cursor + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public PlotId of() {
+        final int i = next();
+        return PlotId.of(this.xs[i], this.ys[i]);
+    }
+
+    @Benchmark
+    public long pack() {
+        final int i = next();
+        return PlotId.pack(this.xs[i], this.ys[i]);
+    }
+
+    @Benchmark
+    public int unpack() {
+        final long value = this.packed[next()];
+        return PlotId.unpackX(value) ^ PlotId.unpackY(value);
+    }
+
+    @Benchmark
+    public PlotId unpackToId() {
+        return PlotId.unpack(this.packed[next()]);
+    }
+
+    @Benchmark
+    public PlotId fromString() {
+        return PlotId.fromString(this.strings[next()]);
+    }
+
+    @Benchmark
+    public Integer mapLookup() {
+        final int i = next();
+        return this.map.get(PlotId.of(this.xs[i], this.ys[i]));
+    }
+
+    @Benchmark
+    public int hash() {
+        return this.ids[next()].hashCode();
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.flag.implementations.DoneFlag;
+import com.plotsquared.core.util.query.PlotQuery;
+import com.plotsquared.core.util.query.SortingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorted plot queries over a whole area, as used by the list and visit commands. A third of the
+ * plots are done and every plot has a few ratings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlotQueryBenchmark {
+
+    private static final int RATINGS = 5;
+
+    @Param({"1000", "100000"})
+    public int plots;
+
+    private PlotArea area;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        this.area = environment.area("query_" + this.plots, 42, 7);
+        if (this.area.getPlotCount() != 0) {
+            return;
+        }
+        final Random random = new Random(42);
+        final List<Integer> temps = new ArrayList<>(this.plots);
+        for (int i = 1; i <= this.plots; i++) {
+            temps.add(i);
+        }
+        Collections.shuffle(temps, random);
+        final UUID[] raters = new UUID[RATINGS];
+        for (int i = 0; i < RATINGS; i++) {
+            raters[i] = UUID.randomUUID();
+        }
+        final int side = (int) Math.ceil(Math.sqrt(this.plots));
+        for (int i = 0; i < this.plots; i++) {
+            final Plot plot = environment.claim(this.area, PlotId.of(i % side, i / side), UUID.randomUUID(), temps.get(i));
+            if (random.nextInt(3) == 0) {
+                plot.getFlagContainer().addFlag(new DoneFlag(Integer.toString(1_600_000_000 + random.nextInt(50_000_000))));
+            }
+            for (final UUID rater : raters) {
+                plot.getSettings().addRating(rater, 1 + random.nextInt(10));
+            }
+        }
+    }
+
+    private List<Plot> query(final SortingStrategy strategy) {
+        return PlotQuery.newQuery().inArea(this.area).withSortingStrategy(strategy).asList();
+    }
+
+    @Benchmark
+    public List<Plot> sortByTemp() {
+        return query(SortingStrategy.SORT_BY_TEMP);
+    }
+
+    @Benchmark
+    public List<Plot> sortByCreation() {
+        return query(SortingStrategy.SORT_BY_CREATION);
+    }
+
+    @Benchmark
+    public List<Plot> sortByRating() {
+        return query(SortingStrategy.SORT_BY_RATING);
+    }
+
+    @Benchmark
+    public List<Plot> sortByDone() {
+        return query(SortingStrategy.SORT_BY_DONE);
+    }
+
+}
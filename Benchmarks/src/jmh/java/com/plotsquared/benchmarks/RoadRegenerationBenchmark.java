@@ -0,0 +1,171 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.generator.HybridUtils;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.DelegateQueueCoordinator;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueProvider;
+import com.plotsquared.core.util.ChunkManager;
+import com.plotsquared.core.util.EventDispatcher;
+import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regenerating the roads of one region file (32 x 32 chunks) of a hybrid plot world with a road
+ * schematic, in chunks per second. Chunks load at once and the queued blocks are only counted,
+ * so this measures the work done on the main thread for each chunk, not the world writes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoadRegenerationBenchmark {
+
+    private static final int REGION_CHUNKS = 32;
+
+    private HybridPlotWorld area;
+    private HybridUtils hybridUtils;
+    private long blocks;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        this.area = environment.area("roads", 42, 7);
+        // Signs would need a world queue
+        this.area.setAllowSigns(false);
+        final BaseBlock[] column = new BaseBlock[]{
+                BlockTypes.BEDROCK.getDefaultState().toBaseBlock(),
+                BlockTypes.STONE.getDefaultState().toBaseBlock(),
+                BlockTypes.QUARTZ_BLOCK.getDefaultState().toBaseBlock()
+        };
+        for (int x = 0; x < this.area.SIZE; x++) {
+            for (int z = 0; z < this.area.SIZE; z++) {
+                this.area.G_SCH.put(MathMan.pair((short) x, (short) z), column);
+            }
+        }
+        this.area.ROAD_SCHEMATIC_ENABLED = true;
+        // A few merged plots, whose chunks check every column against the plot grid
+        final UUID owner = UUID.randomUUID();
+        for (int i = 0; i < 4; i++) {
+            final Plot plot = environment.claim(this.area, PlotId.of(i * 3, i * 2), owner, 0);
+            final Plot right = environment.claim(this.area, PlotId.of(i * 3 + 1, i * 2), owner, 0);
+            plot.mergePlot(right, false, null);
+        }
+
+        final Injector injector = environment.injector();
+        final QueueProvider provider = new QueueProvider() {
+            @Override
+            public QueueCoordinator getNewQueue(final @NonNull World world) {
+                return new CountingQueue();
+            }
+        };
+        this.hybridUtils = new HybridUtils(
+                injector.getInstance(PlotAreaManager.class),
+                new LoadedChunkManager(),
+                new GlobalBlockQueue(provider),
+                injector.getInstance(WorldUtil.class),
+                injector.getInstance(SchematicHandler.class),
+                injector.getInstance(EventDispatcher.class)
+        );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGION_CHUNKS * REGION_CHUNKS)
+    public long regenerateRegion() {
+        for (int x = 0; x < REGION_CHUNKS; x++) {
+            for (int z = 0; z < REGION_CHUNKS; z++) {
+                this.hybridUtils.regenerateRoad(this.area, BlockVector2.at(x, z), 0);
+            }
+        }
+        return this.blocks;
+    }
+
+    /**
+     * Chunk manager of a world whose chunks are always loaded
+     */
+    private static final class LoadedChunkManager extends ChunkManager {
+
+        @Override
+        public CompletableFuture<?> loadChunk(final String world, final BlockVector2 loc, final boolean force) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+    }
+
+    /**
+     * Queue that counts the blocks set instead of writing them to a world
+     */
+    private final class CountingQueue extends DelegateQueueCoordinator {
+
+        private CountingQueue() {
+            super(null);
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull BaseBlock id) {
+            blocks++;
+            return true;
+        }
+
+        @Override
+        public boolean enqueue() {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.util.RegionUtil;
+import com.plotsquared.core.util.SchematicHandler;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporting a 256x256 plot to a schematic file, by building the whole schematic as a
+ * {@link CompoundTag} and saving it, and by streaming it to the file a few layers at a time
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchematicExportBenchmark {
+
+    private static final String WORLD = "schematics";
+
+    private SchematicHandler schematicHandler;
+    private Set<CuboidRegion> regions;
+    private File file;
+
+    @Setup
+    public void setup() {
+        final HeadlessEnvironment environment = HeadlessEnvironment.get();
+        this.schematicHandler = environment.injector().getInstance(SchematicHandler.class);
+        this.regions = Collections.singleton(RegionUtil.createRegion(0, 255, 0, 255));
+        this.file = new File(environment.platform().getDirectory(), "schematics" + File.separator + "streamed.schem");
+    }
+
+    @Benchmark
+    public boolean compoundTag() {
+        final CompoundTag tag = this.schematicHandler.getCompoundTag(WORLD, this.regions).join();
+        return this.schematicHandler.save(tag, "schematics" + File.separator + "compound.schem");
+    }
+
+    @Benchmark
+    public boolean streamed() {
+        return this.schematicHandler.export(WORLD, this.regions, this.file).join();
+    }
+
+}
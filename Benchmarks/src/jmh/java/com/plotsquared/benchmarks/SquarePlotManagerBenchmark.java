@@ -0,0 +1,100 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.benchmarks;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving block coordinates to plot ids in a square plot world, comparing the object
+ * returning lookup with the packed lookup and the edge distance used to skip lookups
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SquarePlotManagerBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"42", "256"})
+    public int plotWidth;
+
+    private final int[] xs = new int[SIZE];
+    private final int[] zs = new int[SIZE];
+    private PlotManager manager;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        this.manager = HeadlessEnvironment.get().area("manager_" + this.plotWidth, this.plotWidth, 7).getPlotManager();
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            this.xs[i] = random.nextInt(200_000) - 100_000;
+            this.zs[i] = random.nextInt(200_000) - 100_000;
+        }
+    }
+
+    private int next() {
+        return this.cursor = (this.cursor + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public PlotId plotId() {
+        final int i = next();
+        return this.manager.getPlotId(this.xs[i], 64, this.zs[i]);
+    }
+
+    @Benchmark
+    public long plotIdPacked() {
+        final int i = next();
+        return this.manager.getPlotIdPacked(this.xs[i], 64, this.zs[i]);
+    }
+
+    @Benchmark
+    public int edgeDistance() {
+        final int i = next();
+        return this.manager.getPlotEdgeDistance(this.xs[i], this.zs[i]);
+    }
+
+}
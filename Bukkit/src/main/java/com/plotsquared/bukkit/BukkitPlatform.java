@@ -37,9 +37,11 @@ import com.plotsquared.bukkit.inject.BackupModule;
 import com.plotsquared.bukkit.inject.BukkitModule;
 import com.plotsquared.bukkit.inject.PermissionModule;
 import com.plotsquared.bukkit.inject.WorldManagerModule;
+import com.plotsquared.bukkit.listener.AnalysisListener;
 import com.plotsquared.bukkit.listener.BlockEventListener;
 import com.plotsquared.bukkit.listener.BlockEventListener117;
 import com.plotsquared.bukkit.listener.ChunkListener;
+import com.plotsquared.bukkit.listener.EntityCounterListener;
 import com.plotsquared.bukkit.listener.EntityEventListener;
 import com.plotsquared.bukkit.listener.EntitySpawnListener;
 import com.plotsquared.bukkit.listener.PaperListener;
@@ -48,11 +50,13 @@ import com.plotsquared.bukkit.listener.PlayerEventListener;
 import com.plotsquared.bukkit.listener.ProjectileEventListener;
 import com.plotsquared.bukkit.listener.ServerListener;
 import com.plotsquared.bukkit.listener.SingleWorldListener;
+import com.plotsquared.bukkit.listener.TimedRegisteredListener;
 import com.plotsquared.bukkit.listener.WorldEvents;
 import com.plotsquared.bukkit.placeholder.PAPIPlaceholders;
 import com.plotsquared.bukkit.placeholder.PlaceholderFormatter;
 import com.plotsquared.bukkit.player.BukkitPlayer;
 import com.plotsquared.bukkit.player.BukkitPlayerManager;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.bukkit.util.BukkitWorld;
 import com.plotsquared.bukkit.util.SetGenCB;
@@ -87,6 +91,7 @@ import com.plotsquared.core.inject.annotations.ImpromptuPipeline;
 import com.plotsquared.core.inject.annotations.WorldConfig;
 import com.plotsquared.core.inject.annotations.WorldFile;
 import com.plotsquared.core.inject.modules.PlotSquaredModule;
+import com.plotsquared.core.listener.ListenerTimings;
 import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.listener.WESubscriber;
 import com.plotsquared.core.player.PlotPlayer;
@@ -100,6 +105,7 @@ import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
+import com.plotsquared.core.plot.world.SinglePlotWorldManager;
 import com.plotsquared.core.setup.PlotAreaBuilder;
 import com.plotsquared.core.setup.SettingsNodesWrapper;
 import com.plotsquared.core.util.EventDispatcher;
@@ -342,29 +348,40 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         }
 
         if (Settings.Enabled_Components.EVENTS) {
-            getServer().getPluginManager().registerEvents(injector().getInstance(PlayerEventListener.class), this);
-            getServer().getPluginManager().registerEvents(injector().getInstance(BlockEventListener.class), this);
+            this.registerEvents(injector().getInstance(PlayerEventListener.class));
+            this.registerEvents(injector().getInstance(BlockEventListener.class));
             if (serverVersion()[1] >= 17) {
-                getServer().getPluginManager().registerEvents(injector().getInstance(BlockEventListener117.class), this);
+                this.registerEvents(injector().getInstance(BlockEventListener117.class));
             }
-            getServer().getPluginManager().registerEvents(injector().getInstance(EntityEventListener.class), this);
-            getServer().getPluginManager().registerEvents(injector().getInstance(ProjectileEventListener.class), this);
-            getServer().getPluginManager().registerEvents(injector().getInstance(ServerListener.class), this);
-            getServer().getPluginManager().registerEvents(injector().getInstance(EntitySpawnListener.class), this);
+            this.registerEvents(injector().getInstance(EntityEventListener.class));
+            this.registerEvents(injector().getInstance(ProjectileEventListener.class));
+            this.registerEvents(injector().getInstance(ServerListener.class));
+            this.registerEvents(injector().getInstance(EntitySpawnListener.class));
             if (PaperLib.isPaper() && Settings.Paper_Components.PAPER_LISTENERS) {
                 if (serverVersion()[1] == 13) {
-                    getServer().getPluginManager().registerEvents(injector().getInstance(PaperListener113.class), this);
+                    this.registerEvents(injector().getInstance(PaperListener113.class));
                 } else {
-                    getServer().getPluginManager().registerEvents(injector().getInstance(PaperListener.class), this);
+                    this.registerEvents(injector().getInstance(PaperListener.class));
+                }
+                if (Settings.Paper_Components.ENTITY_COUNTER && serverVersion()[1] >= 17) {
+                    this.registerEvents(injector().getInstance(EntityCounterListener.class));
+                    final BukkitEntityCounter entityCounter = injector().getInstance(BukkitEntityCounter.class);
+                    // Count once all worlds are loaded
+                    TaskManager.runTaskLater(entityCounter::enable, TaskTime.ticks(1L));
+                    TaskManager.runTaskRepeat(
+                            entityCounter::reconcile,
+                            TaskTime.seconds(Settings.Paper_Components.ENTITY_COUNTER_RECOUNT_INTERVAL)
+                    );
                 }
             }
             this.plotListener.startRunnable();
         }
 
         // Required
-        getServer().getPluginManager().registerEvents(injector().getInstance(WorldEvents.class), this);
+        this.registerEvents(injector().getInstance(WorldEvents.class));
+        this.registerEvents(injector().getInstance(AnalysisListener.class));
         if (Settings.Enabled_Components.CHUNK_PROCESSOR) {
-            getServer().getPluginManager().registerEvents(injector().getInstance(ChunkListener.class), this);
+            this.registerEvents(injector().getInstance(ChunkListener.class));
         }
 
         // Commands
@@ -539,7 +556,7 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
             TaskManager.getPlatformImplementation().taskRepeat(this::unload, TaskTime.seconds(1L));
             try {
                 singleWorldListener = injector().getInstance(SingleWorldListener.class);
-                Bukkit.getPluginManager().registerEvents(singleWorldListener, this);
+                this.registerEvents(singleWorldListener);
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -582,8 +599,9 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         if (this.plotAreaManager instanceof SinglePlotAreaManager) {
             long start = System.currentTimeMillis();
             final SinglePlotArea area = ((SinglePlotAreaManager) this.plotAreaManager).getArea();
+            final SinglePlotWorldManager worldManager = area.getWorldManager();
 
-            outer:
+            final Map<String, World> idle = new HashMap<>();
             for (final World world : Bukkit.getWorlds()) {
                 final String name = world.getName();
                 final char char0 = name.charAt(0);
@@ -592,6 +610,7 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                 }
 
                 if (!world.getPlayers().isEmpty()) {
+                    worldManager.touch(name);
                     continue;
                 }
 
@@ -607,41 +626,49 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                             .platform()
                             .playerManager()
                             .getPlayerIfExists(plot.getOwner()) == null) {
-                        if (world.getKeepSpawnInMemory()) {
-                            world.setKeepSpawnInMemory(false);
-                            return;
-                        }
-                        final Chunk[] chunks = world.getLoadedChunks();
-                        if (chunks.length == 0) {
-                            if (!Bukkit.unloadWorld(world, true)) {
-                                LOGGER.warn("Failed to unload {}", world.getName());
+                        idle.put(name, world);
+                    }
+                }
+            }
+
+            outer:
+            for (final String name : worldManager.selectWorldsToUnload(idle.keySet())) {
+                final World world = idle.get(name);
+                if (world.getKeepSpawnInMemory()) {
+                    world.setKeepSpawnInMemory(false);
+                    return;
+                }
+                final Chunk[] chunks = world.getLoadedChunks();
+                if (chunks.length == 0) {
+                    if (!Bukkit.unloadWorld(world, true)) {
+                        LOGGER.warn("Failed to unload {}", world.getName());
+                    } else {
+                        worldManager.forget(name);
+                    }
+                    return;
+                } else {
+                    int index = 0;
+                    do {
+                        final Chunk chunkI = chunks[index++];
+                        boolean result;
+                        if (methodUnloadChunk0 != null) {
+                            try {
+                                result = (boolean) methodUnloadChunk0.invoke(world, chunkI.getX(), chunkI.getZ(), true);
+                            } catch (Throwable e) {
+                                methodUnloadChunk0 = null;
+                                e.printStackTrace();
+                                continue outer;
                             }
-                            return;
                         } else {
-                            int index = 0;
-                            do {
-                                final Chunk chunkI = chunks[index++];
-                                boolean result;
-                                if (methodUnloadChunk0 != null) {
-                                    try {
-                                        result = (boolean) methodUnloadChunk0.invoke(world, chunkI.getX(), chunkI.getZ(), true);
-                                    } catch (Throwable e) {
-                                        methodUnloadChunk0 = null;
-                                        e.printStackTrace();
-                                        continue outer;
-                                    }
-                                } else {
-                                    result = world.unloadChunk(chunkI.getX(), chunkI.getZ(), true);
-                                }
-                                if (!result) {
-                                    continue outer;
-                                }
-                                if (System.currentTimeMillis() - start > 5) {
-                                    return;
-                                }
-                            } while (index < chunks.length);
+                            result = world.unloadChunk(chunkI.getX(), chunkI.getZ(), true);
                         }
-                    }
+                        if (!result) {
+                            continue outer;
+                        }
+                        if (System.currentTimeMillis() - start > 5) {
+                            return;
+                        }
+                    } while (index < chunks.length);
                 }
             }
         }
@@ -727,6 +754,10 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
         this.getServer().getPluginManager().disablePlugin(this);
     }
 
+    private void registerEvents(final @NonNull Listener listener) {
+        TimedRegisteredListener.registerEvents(listener, this, injector().getInstance(ListenerTimings.class));
+    }
+
     private void registerCommands() {
         final BukkitCommand bukkitCommand = new BukkitCommand();
         final PluginCommand plotCommand = getCommand("plots");
@@ -37,6 +37,8 @@ import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.flag.implementations.BlockBurnFlag;
 import com.plotsquared.core.plot.flag.implementations.BlockIgnitionFlag;
 import com.plotsquared.core.plot.flag.implementations.BreakFlag;
@@ -241,7 +243,9 @@ public class BlockEventListener implements Listener {
                 if (plot.getFlag(DisablePhysicsFlag.class)) {
                     event.setCancelled(true);
                     plot.debug("Prevented block physics because disable-physics = true");
+                    return;
                 }
+                PlotAnalysis.markModified(plot);
                 return;
             }
             default:
@@ -266,6 +270,7 @@ public class BlockEventListener implements Listener {
                 }
                 break;
         }
+        PlotAnalysis.markModified(plot);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -749,10 +754,19 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onChange(BlockFromToEvent event) {
         Block from = event.getBlock();
+        Block to = event.getToBlock();
 
         // Check liquid flow flag inside of origin plot too
         final Location fLocation = BukkitUtil.adapt(from.getLocation());
         final PlotArea fromArea = fLocation.getPlotArea();
+        // Flow between blocks that are away from the plot edges never leaves the plot, so the
+        // target and neighbour lookups below would all resolve to the origin plot
+        if (fromArea != null && fromArea.getType() != PlotAreaType.PARTIAL
+                && Math.abs(to.getX() - from.getX()) <= 1 && Math.abs(to.getZ() - from.getZ()) <= 1
+                && fromArea.getPlotManager().getPlotEdgeDistance(fLocation.getX(), fLocation.getZ()) >= 1) {
+            onChangeInsidePlot(event, fromArea, fLocation);
+            return;
+        }
         if (fromArea != null) {
             final Plot plot = fromArea.getOwnedPlot(fLocation);
             if (plot != null && plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.DISABLED && event
@@ -764,7 +778,6 @@ public class BlockEventListener implements Listener {
             }
         }
 
-        Block to = event.getToBlock();
         Location tLocation = BukkitUtil.adapt(to.getLocation());
         PlotArea area = tLocation.getPlotArea();
         if (area == null) {
@@ -792,6 +805,7 @@ public class BlockEventListener implements Listener {
                 return;
             }
             if (plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.ENABLED && event.getBlock().isLiquid()) {
+                PlotAnalysis.markModified(plot);
                 return;
             }
             if (plot.getFlag(DisablePhysicsFlag.class)) {
@@ -802,7 +816,9 @@ public class BlockEventListener implements Listener {
             if (plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.DISABLED && event.getBlock().isLiquid()) {
                 plot.debug("Liquid could not flow because liquid-flow = disabled");
                 event.setCancelled(true);
+                return;
             }
+            PlotAnalysis.markModified(plot);
         } else if (!area.contains(fLocation.getX(), fLocation.getZ()) || !Objects.equals(null, area.getOwnedPlot(fLocation))) {
             event.setCancelled(true);
         } else if (event.getBlock().isLiquid()) {
@@ -832,6 +848,33 @@ public class BlockEventListener implements Listener {
         }
     }
 
+    private void onChangeInsidePlot(BlockFromToEvent event, PlotArea area, Location location) {
+        final boolean liquid = event.getBlock().isLiquid();
+        final Plot plot = area.getOwnedPlot(location);
+        if (plot == null) {
+            // Liquids may not flow inside unclaimed plots. Checking the id avoids creating the unclaimed plot
+            if (liquid && area.contains(area.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ()))) {
+                event.setCancelled(true);
+            }
+            return;
+        }
+        final LiquidFlowFlag.FlowStatus flowStatus = plot.getFlag(LiquidFlowFlag.class);
+        if (liquid && flowStatus == LiquidFlowFlag.FlowStatus.DISABLED) {
+            plot.debug("Liquid could not flow because liquid-flow = disabled");
+            event.setCancelled(true);
+            return;
+        }
+        if (liquid && flowStatus == LiquidFlowFlag.FlowStatus.ENABLED) {
+            PlotAnalysis.markModified(plot);
+            return;
+        }
+        if (plot.getFlag(DisablePhysicsFlag.class)) {
+            plot.debug(event.getBlock().getType() + " could not update because disable-physics = true");
+            event.setCancelled(true);
+            return;
+        }
+        PlotAnalysis.markModified(plot);
+    }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onGrow(BlockGrowEvent event) {
@@ -904,7 +947,9 @@ public class BlockEventListener implements Listener {
             // if they are: on a plot edge, facing outside the plot, and not
             // pushing any blocks
             event.setCancelled(true);
+            return;
         }
+        PlotAnalysis.markModified(plot);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -949,6 +994,7 @@ public class BlockEventListener implements Listener {
                 return;
             }
         }
+        PlotAnalysis.markModified(plot);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -1050,8 +1096,10 @@ public class BlockEventListener implements Listener {
             if (plot != null) {
                 plot.debug("Explosion was cancelled because explosion = false");
             }
+            return;
         }
         event.blockList().removeIf(blox -> !plot.equals(area.getOwnedPlot(BukkitUtil.adapt(blox.getLocation()))));
+        PlotAnalysis.markModified(plot);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -0,0 +1,124 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.listener;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
+import io.papermc.paper.event.entity.EntityMoveEvent;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Feeds the {@link BukkitEntityCounter}. Paper fires the add and remove events for spawns and
+ * removals as well as for entities loaded and unloaded with their chunks. The chunk entity
+ * (un)load events additionally reset the chunk counts, dropping any drift of unloaded chunks.
+ * <p>
+ * Moves are only seen for living entities, vehicles and players. Entities of the misc category
+ * (projectiles, dropped items, experience orbs, falling blocks) are counted where they were added,
+ * and stay counted there until the periodic {@link BukkitEntityCounter#reconcile() recount}
+ * ({@code ENTITY_COUNTER_RECOUNT_INTERVAL}, 300 seconds by default) or until their chunk unloads.
+ * The counter is disabled by default, as the move handler runs for every living entity that
+ * moves to another block.
+ */
+@SuppressWarnings("unused")
+public class EntityCounterListener implements Listener {
+
+    private final BukkitEntityCounter entityCounter;
+
+    @Inject
+    public EntityCounterListener(final @NonNull BukkitEntityCounter entityCounter) {
+        this.entityCounter = entityCounter;
+    }
+
+    private static boolean isSameBlock(final @NonNull Location from, final @NonNull Location to) {
+        return from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ() && from.getBlockY() == to.getBlockY();
+    }
+
+    private static boolean isSameChunk(final @NonNull Location from, final @NonNull Location to) {
+        return from.getBlockX() >> 4 == to.getBlockX() >> 4 && from.getBlockZ() >> 4 == to.getBlockZ() >> 4
+                && from.getWorld() == to.getWorld();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAdd(EntityAddToWorldEvent event) {
+        this.entityCounter.track(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        this.entityCounter.untrack(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityMove(EntityMoveEvent event) {
+        if (!isSameBlock(event.getFrom(), event.getTo())) {
+            this.entityCounter.move(event.getEntity(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        if (!isSameBlock(event.getFrom(), event.getTo())) {
+            this.entityCounter.move(event.getVehicle(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityTeleport(EntityTeleportEvent event) {
+        if (event.getTo() != null && !isSameBlock(event.getFrom(), event.getTo())) {
+            this.entityCounter.move(event.getEntity(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        // Players are only counted per chunk
+        if (!isSameChunk(event.getFrom(), event.getTo())) {
+            this.entityCounter.move(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        this.entityCounter.loadChunk(event.getChunk(), event.getEntities());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        this.entityCounter.unloadChunk(event.getChunk(), event.getEntities());
+    }
+
+}
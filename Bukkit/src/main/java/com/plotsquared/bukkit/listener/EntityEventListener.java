@@ -38,6 +38,7 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotHandler;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.flag.implementations.DisablePhysicsFlag;
 import com.plotsquared.core.plot.flag.implementations.EntityChangeBlockFlag;
 import com.plotsquared.core.plot.flag.implementations.ExplosionFlag;
@@ -318,6 +319,7 @@ public class EntityEventListener implements Listener {
                         iterator.remove();
                     }
                 }
+                PlotAnalysis.markModified(origin);
                 return;
             } else {
                 plot.debug("Explosion was cancelled because explosion = false");
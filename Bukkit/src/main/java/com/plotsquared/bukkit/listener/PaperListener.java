@@ -33,6 +33,7 @@ import com.destroystokyo.paper.event.entity.SlimePathfindEvent;
 import com.destroystokyo.paper.event.player.PlayerLaunchProjectileEvent;
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
 import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.core.command.Command;
 import com.plotsquared.core.command.MainCommand;
@@ -43,6 +44,7 @@ import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotCellClassifier;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.Permissions;
@@ -50,7 +52,6 @@ import net.kyori.adventure.text.minimessage.Template;
 import org.bukkit.Chunk;
 import org.bukkit.block.Block;
 import org.bukkit.block.TileState;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -76,11 +77,16 @@ import java.util.regex.Pattern;
 public class PaperListener implements Listener {
 
     private final PlotAreaManager plotAreaManager;
+    private final BukkitEntityCounter entityCounter;
     private Chunk lastChunk;
 
     @Inject
-    public PaperListener(final @NonNull PlotAreaManager plotAreaManager) {
+    public PaperListener(
+            final @NonNull PlotAreaManager plotAreaManager,
+            final @NonNull BukkitEntityCounter entityCounter
+    ) {
         this.plotAreaManager = plotAreaManager;
+        this.entityCounter = entityCounter;
     }
 
     @EventHandler
@@ -88,33 +94,9 @@ public class PaperListener implements Listener {
         if (!Settings.Paper_Components.ENTITY_PATHING) {
             return;
         }
-        Location toLoc = BukkitUtil.adapt(event.getLoc());
-        Location fromLoc = BukkitUtil.adapt(event.getEntity().getLocation());
-        PlotArea tarea = toLoc.getPlotArea();
-        if (tarea == null) {
-            return;
-        }
-        PlotArea farea = fromLoc.getPlotArea();
-        if (farea == null) {
-            return;
-        }
-        if (tarea != farea) {
-            event.setCancelled(true);
-            return;
-        }
-        Plot tplot = toLoc.getPlot();
-        Plot fplot = fromLoc.getPlot();
-        if (tplot == null ^ fplot == null) {
+        if (crossesPlotBoundary(event.getEntity().getLocation(), event.getLoc())) {
             event.setCancelled(true);
-            return;
-        }
-        if (tplot == null || tplot.getId().hashCode() == fplot.getId().hashCode()) {
-            return;
         }
-        if (fplot.isMerged() && fplot.getConnectedPlots().contains(fplot)) {
-            return;
-        }
-        event.setCancelled(true);
     }
 
     @EventHandler
@@ -129,34 +111,35 @@ public class PaperListener implements Listener {
             return;
         }
 
-        Location toLoc = BukkitUtil.adapt(b.getLocation());
-        Location fromLoc = BukkitUtil.adapt(event.getEntity().getLocation());
-        PlotArea tarea = toLoc.getPlotArea();
-        if (tarea == null) {
-            return;
-        }
-        PlotArea farea = fromLoc.getPlotArea();
-        if (farea == null) {
-            return;
-        }
-
-        if (tarea != farea) {
+        if (crossesPlotBoundary(slime.getLocation(), b.getLocation())) {
             event.setCancelled(true);
-            return;
         }
-        Plot tplot = toLoc.getPlot();
-        Plot fplot = fromLoc.getPlot();
-        if (tplot == null ^ fplot == null) {
-            event.setCancelled(true);
-            return;
+    }
+
+    /**
+     * Check whether moving between two locations crosses the border of a plot (or merged
+     * plot group), or moves between plot areas. Locations outside of plot areas never cross
+     * a border.
+     *
+     * @param from Origin location
+     * @param to   Target location
+     * @return {@code true} if the movement should be prevented
+     */
+    private boolean crossesPlotBoundary(final org.bukkit.Location from, final org.bukkit.Location to) {
+        final PlotArea toArea = this.plotAreaManager.getPlotArea(BukkitUtil.adapt(to));
+        if (toArea == null) {
+            return false;
         }
-        if (tplot == null || tplot.getId().hashCode() == fplot.getId().hashCode()) {
-            return;
+        final PlotArea fromArea = this.plotAreaManager.getPlotArea(BukkitUtil.adapt(from));
+        if (fromArea == null) {
+            return false;
         }
-        if (fplot.isMerged() && fplot.getConnectedPlots().contains(fplot)) {
-            return;
+        if (toArea != fromArea) {
+            return true;
         }
-        event.setCancelled(true);
+        final PlotCellClassifier classifier = toArea.getCellClassifier();
+        return classifier.getCell(to.getBlockX(), to.getBlockY(), to.getBlockZ())
+                != classifier.getCell(from.getBlockX(), from.getBlockY(), from.getBlockZ());
     }
 
     @EventHandler
@@ -169,9 +152,8 @@ public class PaperListener implements Listener {
         if (!location.isPlotArea()) {
             return;
         }
-        //If entities are spawning... the chunk should be loaded?
-        Entity[] entities = event.getSpawnLocation().getChunk().getEntities();
-        if (entities.length > Settings.Chunk_Processor.MAX_ENTITIES) {
+        // The tracked count is approximate, which is fine for a spawn limit checked on every spawn attempt
+        if (this.entityCounter.getChunkEntityCount(event.getSpawnLocation()) > Settings.Chunk_Processor.MAX_ENTITIES) {
             event.setShouldAbortSpawn(true);
             event.setCancelled(true);
             return;
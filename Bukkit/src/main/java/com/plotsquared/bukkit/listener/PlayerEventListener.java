@@ -36,6 +36,7 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.listener.ListenerTimings;
 import com.plotsquared.core.listener.PlayerBlockEventType;
 import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.Location;
@@ -170,6 +171,7 @@ public class PlayerEventListener extends PlotListener implements Listener {
     private final EventDispatcher eventDispatcher;
     private final WorldEdit worldEdit;
     private final PlotAreaManager plotAreaManager;
+    private final ListenerTimings.Handler forceFieldTiming;
     // To prevent recursion
     private boolean tmpTeleport = true;
     private Field fieldPlayer;
@@ -189,12 +191,15 @@ public class PlayerEventListener extends PlotListener implements Listener {
     public PlayerEventListener(
             final @NonNull PlotAreaManager plotAreaManager,
             final @NonNull EventDispatcher eventDispatcher,
-            final @NonNull WorldEdit worldEdit
+            final @NonNull WorldEdit worldEdit,
+            final @NonNull ListenerTimings listenerTimings
     ) {
         super(eventDispatcher);
         this.eventDispatcher = eventDispatcher;
         this.worldEdit = worldEdit;
         this.plotAreaManager = plotAreaManager;
+        // The force field is handled from within the move handlers, so it is timed separately
+        this.forceFieldTiming = listenerTimings.getHandler("ForceFieldListener#handleForcefield");
     }
 
     @EventHandler
@@ -549,7 +554,9 @@ public class PlayerEventListener extends PlotListener implements Listener {
                     }
                 }
             } else if (now.equals(lastPlot)) {
+                final long start = this.forceFieldTiming.start();
                 ForceFieldListener.handleForcefield(player, pp, now);
+                this.forceFieldTiming.stop(start);
             } else if (!plotEntry(pp, now) && this.tmpTeleport) {
                 pp.sendMessage(
                         TranslatableCaption.of("deny.no_enter"),
@@ -639,7 +646,9 @@ public class PlayerEventListener extends PlotListener implements Listener {
                     }
                 }
             } else if (plot.equals(lastPlot)) {
+                final long start = this.forceFieldTiming.start();
                 ForceFieldListener.handleForcefield(player, pp, plot);
+                this.forceFieldTiming.stop(start);
             } else if (!plotEntry(pp, plot) && this.tmpTeleport) {
                 pp.sendMessage(
                         TranslatableCaption.of("deny.no_enter"),
@@ -0,0 +1,175 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.listener;
+
+import com.plotsquared.core.listener.ListenerTimings;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Wraps the listener created by the plugin loader for a single handler method and records its
+ * invocations in {@link ListenerTimings}. The platform's own executor is kept, so the only cost
+ * while recording is disabled is one extra call and a volatile read.
+ */
+public final class TimedRegisteredListener extends RegisteredListener {
+
+    private final RegisteredListener delegate;
+    private final ListenerTimings.Handler handler;
+
+    private TimedRegisteredListener(
+            final @NonNull RegisteredListener delegate,
+            final ListenerTimings.@NonNull Handler handler
+    ) {
+        super(
+                delegate.getListener(),
+                (listener, event) -> delegate.callEvent(event),
+                delegate.getPriority(),
+                delegate.getPlugin(),
+                delegate.isIgnoringCancelled()
+        );
+        this.delegate = delegate;
+        this.handler = handler;
+    }
+
+    /**
+     * Register all handlers of a listener, the same way
+     * {@link org.bukkit.plugin.PluginManager#registerEvents(Listener, Plugin)} does, with each
+     * handler being timed as {@code ListenerClass#method}.
+     *
+     * @param listener listener to register
+     * @param plugin   owning plugin
+     * @param timings  timings to record into
+     */
+    public static void registerEvents(
+            final @NonNull Listener listener,
+            final @NonNull Plugin plugin,
+            final @NonNull ListenerTimings timings
+    ) {
+        final Map<HandlerKey, Set<String>> names = getHandlerNames(listener.getClass());
+        final String prefix = listener.getClass().getSimpleName() + '#';
+        for (final Map.Entry<Class<? extends Event>, Set<RegisteredListener>> entry : plugin
+                .getPluginLoader()
+                .createRegisteredListeners(listener, plugin)
+                .entrySet()) {
+            final HandlerList handlerList = getHandlerList(entry.getKey());
+            for (final RegisteredListener registeredListener : entry.getValue()) {
+                // Handlers of the same event, priority and cancellation mode cannot be told apart
+                // once the loader has wrapped them, so they share one entry
+                final Set<String> methods = names.get(new HandlerKey(
+                        entry.getKey(),
+                        registeredListener.getPriority(),
+                        registeredListener.isIgnoringCancelled()
+                ));
+                final String name = prefix + (methods == null ? entry.getKey().getSimpleName() : String.join("|", methods));
+                handlerList.register(new TimedRegisteredListener(registeredListener, timings.getHandler(name)));
+            }
+        }
+    }
+
+    private static @NonNull Map<HandlerKey, Set<String>> getHandlerNames(final @NonNull Class<?> listenerClass) {
+        final Set<Method> methods = new LinkedHashSet<>(Arrays.asList(listenerClass.getMethods()));
+        methods.addAll(Arrays.asList(listenerClass.getDeclaredMethods()));
+        final Map<HandlerKey, Set<String>> names = new HashMap<>();
+        for (final Method method : methods) {
+            final EventHandler eventHandler = method.getAnnotation(EventHandler.class);
+            if (eventHandler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            names.computeIfAbsent(
+                    new HandlerKey(method.getParameterTypes()[0], eventHandler.priority(), eventHandler.ignoreCancelled()),
+                    key -> new LinkedHashSet<>()
+            ).add(method.getName());
+        }
+        return names;
+    }
+
+    private static @NonNull HandlerList getHandlerList(final @NonNull Class<? extends Event> eventClass) {
+        Class<?> current = eventClass;
+        while (current != null && Event.class.isAssignableFrom(current)) {
+            try {
+                final Method method = current.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) Objects.requireNonNull(method.invoke(null));
+            } catch (NoSuchMethodException e) {
+                current = current.getSuperclass();
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalPluginAccessException("Unable to get the handler list of " + eventClass.getName());
+            }
+        }
+        throw new IllegalPluginAccessException("Unable to find a handler list for " + eventClass.getName());
+    }
+
+    @Override
+    public void callEvent(final @NonNull Event event) throws EventException {
+        if (!this.handler.isEnabled()) {
+            this.delegate.callEvent(event);
+            return;
+        }
+        final boolean wasCancelled = event instanceof Cancellable cancellable && cancellable.isCancelled();
+        final long start = System.nanoTime();
+        try {
+            this.delegate.callEvent(event);
+        } finally {
+            this.handler.record(
+                    System.nanoTime() - start,
+                    !wasCancelled && event instanceof Cancellable cancellable && cancellable.isCancelled()
+            );
+        }
+    }
+
+    /**
+     * Get the listener this one delegates to
+     *
+     * @return wrapped listener
+     */
+    public @NonNull RegisteredListener getDelegate() {
+        return this.delegate;
+    }
+
+    private record HandlerKey(@NonNull Class<?> event, @NonNull EventPriority priority, boolean ignoreCancelled) {
+
+    }
+
+}
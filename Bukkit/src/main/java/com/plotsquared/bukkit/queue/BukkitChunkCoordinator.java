@@ -249,6 +249,11 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         return this.totalSize;
     }
 
+    @Override
+    public int getHeldChunks() {
+        return this.availableChunks.size();
+    }
+
     /**
      * Subscribe to coordinator progress updates
      *
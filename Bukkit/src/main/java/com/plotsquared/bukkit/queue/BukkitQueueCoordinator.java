@@ -230,6 +230,7 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                         .withConsumer(consumer)
                         .unloadAfter(isUnloadAfter())
                         .withProgressSubscribers(getProgressSubscribers())
+                        .forOperation(getOperation(), getCreationTime())
                         .build();
         return super.enqueue();
     }
@@ -0,0 +1,276 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.entity.ChunkEntityCounter;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.plotsquared.core.util.entity.PlotEntityCounter;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.world.entity.EntityType;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bukkit entry point of the {@link PlotEntityCounter} and {@link ChunkEntityCounter}. Entities
+ * are categorized the same way {@link BukkitRegionManager#countEntities(Plot)} counts them.
+ * Chunk counts include all entities (players included) in worlds that contain a plot area.
+ */
+@Singleton
+public class BukkitEntityCounter {
+
+    private final PlotAreaManager plotAreaManager;
+    private final PlotEntityCounter counter = new PlotEntityCounter();
+    private final ChunkEntityCounter chunkCounter = new ChunkEntityCounter();
+    private volatile boolean enabled;
+
+    @Inject
+    public BukkitEntityCounter(final @NonNull PlotAreaManager plotAreaManager) {
+        this.plotAreaManager = plotAreaManager;
+    }
+
+    /**
+     * Get the category mask of an entity
+     *
+     * @param entity Entity
+     * @return Category mask, {@code 0} if the entity is not counted
+     */
+    public static int categories(final @NonNull Entity entity) {
+        final EntityType entityType = BukkitAdapter.adapt(entity.getType());
+        if (EntityCategories.PLAYER.contains(entityType)) {
+            return 0;
+        }
+        return PlotEntityCounter.categories(
+                EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType)
+                        || EntityCategories.TAMEABLE.contains(entityType),
+                EntityCategories.HOSTILE.contains(entityType),
+                EntityCategories.VEHICLE.contains(entityType),
+                EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType)
+                        || EntityCategories.HANGING.contains(entityType)
+        );
+    }
+
+    /**
+     * Start counting entities. This performs a full count of all entities in plot worlds.
+     */
+    public void enable() {
+        this.enabled = true;
+        this.reconcile();
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Start tracking an entity that was added to a world
+     *
+     * @param entity Entity
+     */
+    public void track(final @NonNull Entity entity) {
+        final Location location = BukkitUtil.adapt(entity.getLocation());
+        if (!this.plotAreaManager.hasPlotArea(location.getWorldName())) {
+            return;
+        }
+        this.chunkCounter.add(entity.getUniqueId(), location.getWorldName(), location.getX() >> 4, location.getZ() >> 4);
+        final PlotArea area = this.plotAreaManager.getPlotArea(location);
+        if (area == null) {
+            return;
+        }
+        this.counter.add(entity.getUniqueId(), area.toString(), getPlotId(area, location), categories(entity));
+    }
+
+    /**
+     * Stop tracking an entity that was removed from a world
+     *
+     * @param entity Entity
+     */
+    public void untrack(final @NonNull Entity entity) {
+        this.counter.remove(entity.getUniqueId());
+        this.chunkCounter.remove(entity.getUniqueId());
+    }
+
+    /**
+     * Update the chunk and plot of a tracked entity after it moved to another block
+     *
+     * @param entity Entity
+     * @param to     New location of the entity
+     */
+    public void move(final @NonNull Entity entity, final org.bukkit.@NonNull Location to) {
+        this.chunkCounter.move(entity.getUniqueId(), to.getWorld().getName(), to.getBlockX() >> 4, to.getBlockZ() >> 4);
+        if (!this.counter.isTracked(entity.getUniqueId())) {
+            return;
+        }
+        final Location location = BukkitUtil.adapt(to);
+        final PlotArea area = this.plotAreaManager.getPlotArea(location);
+        if (area == null) {
+            this.counter.move(entity.getUniqueId(), null, null);
+        } else {
+            this.counter.move(entity.getUniqueId(), area.toString(), getPlotId(area, location));
+        }
+    }
+
+    /**
+     * Get the tracked entity counts of a single (unmerged) plot
+     *
+     * @param plot Plot
+     * @return Entity counts indexed by the {@link EntityCategories} {@code CAP_} constants,
+     *         or {@code null} if entities are not being counted
+     */
+    public int @Nullable [] getCounts(final @NonNull Plot plot) {
+        if (!this.enabled) {
+            return null;
+        }
+        return this.counter.getCounts(plot.getArea().toString(), plot.getId());
+    }
+
+    /**
+     * Get the number of entities in the chunk of a location. Uses the tracked count if
+     * entities are being counted in the world, and fetches the chunk entities otherwise.
+     * <p>
+     * The tracked count is approximate: misc entities that moved to another chunk stay counted
+     * in the chunk they were added in until the next full recount. Checks that must be exact
+     * should use {@link Chunk#getEntities()}.
+     *
+     * @param location Location
+     * @return Entity count
+     */
+    public int getChunkEntityCount(final org.bukkit.@NonNull Location location) {
+        final World world = Objects.requireNonNull(location.getWorld());
+        if (this.enabled && this.plotAreaManager.hasPlotArea(world.getName())) {
+            return this.chunkCounter.getCount(world.getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+        return location.getChunk().getEntities().length;
+    }
+
+    /**
+     * Replace the tracked entities of a chunk once its entities have been loaded
+     *
+     * @param chunk    Chunk
+     * @param entities Loaded entities
+     */
+    public void loadChunk(final @NonNull Chunk chunk, final @NonNull Collection<? extends Entity> entities) {
+        if (!this.enabled) {
+            return;
+        }
+        // Drop entities that are still counted in the chunk but were not loaded with it
+        this.chunkCounter.unload(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        for (final Entity entity : entities) {
+            this.track(entity);
+        }
+    }
+
+    /**
+     * Stop tracking the entities of a chunk once its entities have been unloaded
+     *
+     * @param chunk    Chunk
+     * @param entities Unloaded entities
+     */
+    public void unloadChunk(final @NonNull Chunk chunk, final @NonNull Collection<? extends Entity> entities) {
+        for (final Entity entity : entities) {
+            this.untrack(entity);
+        }
+        this.chunkCounter.unload(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Compare the tracked entity counts of a world with the actual entity counts of its
+     * loaded chunks. Must be called on the main thread.
+     *
+     * @param world World
+     * @return Chunks whose tracked count differs from the actual count, or {@code null} if
+     *         entities are not being counted
+     */
+    public @Nullable List<ChunkEntityCounter.Mismatch> compareChunkCounts(final @NonNull World world) {
+        if (!this.enabled) {
+            return null;
+        }
+        final List<ChunkEntityCounter.Mismatch> mismatches = new ArrayList<>();
+        final Set<Long> tracked = this.chunkCounter.getChunks(world.getName());
+        for (final Chunk chunk : world.getLoadedChunks()) {
+            tracked.remove(((long) chunk.getX() << 32) | (chunk.getZ() & 0xFFFFFFFFL));
+            final int count = this.chunkCounter.getCount(world.getName(), chunk.getX(), chunk.getZ());
+            final int actual = chunk.getEntities().length;
+            if (count != actual) {
+                mismatches.add(new ChunkEntityCounter.Mismatch(chunk.getX(), chunk.getZ(), count, actual));
+            }
+        }
+        // Tracked chunks that are not loaded anymore
+        for (final long chunk : tracked) {
+            final int x = (int) (chunk >> 32);
+            final int z = (int) chunk;
+            mismatches.add(new ChunkEntityCounter.Mismatch(x, z, this.chunkCounter.getCount(world.getName(), x, z), 0));
+        }
+        return mismatches;
+    }
+
+    /**
+     * Recount all entities in all plot worlds, correcting any drift of the tracked counts
+     * (e.g. from entities moved by the server without a move event). Must be called on the main thread.
+     */
+    public void reconcile() {
+        if (!this.enabled) {
+            return;
+        }
+        this.counter.clear();
+        this.chunkCounter.clear();
+        final Set<String> worlds = new HashSet<>();
+        for (final PlotArea area : this.plotAreaManager.getAllPlotAreas()) {
+            if (!worlds.add(area.getWorldName())) {
+                continue;
+            }
+            final World world = Bukkit.getWorld(area.getWorldName());
+            if (world == null) {
+                continue;
+            }
+            for (final Entity entity : world.getEntities()) {
+                this.track(entity);
+            }
+        }
+    }
+
+    private static @Nullable PlotId getPlotId(final @NonNull PlotArea area, final @NonNull Location location) {
+        return area.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
+    }
+
+}
@@ -37,14 +37,13 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.queue.ScopedQueueCoordinator;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
-import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.block.BaseBlock;
@@ -63,25 +62,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
-
 @Singleton
 public class BukkitRegionManager extends RegionManager {
 
     private final GlobalBlockQueue blockQueue;
+    private final BukkitEntityCounter entityCounter;
 
     @Inject
     public BukkitRegionManager(
             @NonNull WorldUtil worldUtil, @NonNull GlobalBlockQueue blockQueue, @NonNull
-            ProgressSubscriberFactory subscriberFactory
+            ProgressSubscriberFactory subscriberFactory, @NonNull BukkitEntityCounter entityCounter
     ) {
         super(worldUtil, blockQueue, subscriberFactory);
         this.blockQueue = blockQueue;
+        this.entityCounter = entityCounter;
     }
 
     @Override
@@ -96,6 +90,10 @@ public class BukkitRegionManager extends RegionManager {
 
     @Override
     public int[] countEntities(@NonNull Plot plot) {
+        int[] tracked = this.entityCounter.getCounts(plot);
+        if (tracked != null) {
+            return tracked;
+        }
         int[] existing = (int[]) plot.getMeta("EntityCount");
         if (existing != null && (System.currentTimeMillis() - (long) plot.getMeta("EntityCountTime") < 1000)) {
             return existing;
@@ -189,6 +187,8 @@ public class BukkitRegionManager extends RegionManager {
 
         final QueueCoordinator queue = blockQueue.getNewQueue(world);
         final QueueCoordinator regenQueue = blockQueue.getNewQueue(world);
+        queue.setOperation(QueueOperation.CLEAR);
+        regenQueue.setOperation(QueueOperation.CLEAR);
         queue.addReadChunks(new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3()).getChunks());
         queue.setChunkConsumer(chunk -> {
 
@@ -335,24 +335,12 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     private void count(int[] count, @NonNull Entity entity) {
-        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
-
-        if (EntityCategories.PLAYER.contains(entityType)) {
-            return;
-        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
-                .contains(entityType)) {
-            count[CAP_MISC]++;
-        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
-                .contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_ANIMAL]++;
-        } else if (EntityCategories.VEHICLE.contains(entityType)) {
-            count[CAP_VEHICLE]++;
-        } else if (EntityCategories.HOSTILE.contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_MONSTER]++;
+        final int categories = BukkitEntityCounter.categories(entity);
+        for (int i = 0; i < count.length; i++) {
+            if ((categories & 1 << i) != 0) {
+                count[i]++;
+            }
         }
-        count[CAP_ENTITY]++;
     }
 
 }
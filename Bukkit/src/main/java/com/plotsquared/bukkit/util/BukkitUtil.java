@@ -25,6 +25,7 @@
  */
 package com.plotsquared.bukkit.util;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.plotsquared.bukkit.BukkitPlatform;
 import com.plotsquared.bukkit.player.BukkitPlayer;
@@ -40,6 +41,7 @@ import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.PlayerManager;
 import com.plotsquared.core.util.StringComparison;
 import com.plotsquared.core.util.WorldUtil;
+import com.plotsquared.core.util.entity.ChunkEntityCounter;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
@@ -59,6 +61,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.HeightMap;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
@@ -103,6 +106,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
@@ -119,6 +123,12 @@ public class BukkitUtil extends WorldUtil {
     public static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + BukkitUtil.class.getSimpleName());
     private final Collection<BlockType> tileEntityTypes = new HashSet<>();
+    private final BukkitEntityCounter entityCounter;
+
+    @Inject
+    public BukkitUtil(final @NonNull BukkitEntityCounter entityCounter) {
+        this.entityCounter = entityCounter;
+    }
 
     /**
      * Turn a Bukkit {@link Player} into a PlotSquared {@link PlotPlayer}
@@ -242,39 +252,26 @@ public class BukkitUtil extends WorldUtil {
 
     @Override
     public void getHighestBlock(final @NonNull String world, final int x, final int z, final @NonNull IntConsumer result) {
-        ensureLoaded(world, x, z, chunk -> {
-            final World bukkitWorld = Objects.requireNonNull(getWorld(world));
-            // Skip top and bottom block
-            int air = 1;
-            for (int y = bukkitWorld.getMaxHeight() - 1; y >= 0; y--) {
-                Block block = bukkitWorld.getBlockAt(x, y, z);
-                Material type = block.getType();
-                if (type.isSolid()) {
-                    if (air > 1) {
-                        result.accept(y);
-                        return;
-                    }
-                    air = 0;
-                } else {
-                    if (block.isLiquid()) {
-                        result.accept(y);
-                        return;
-                    }
-                    air++;
-                }
-            }
-            result.accept(bukkitWorld.getMaxHeight() - 1);
-        });
+        ensureLoaded(world, x, z, chunk -> result.accept(getHighestBlockSynchronous(world, x, z)));
     }
 
     @Override
     @NonNegative
     public int getHighestBlockSynchronous(final @NonNull String world, final int x, final int z) {
         final World bukkitWorld = Objects.requireNonNull(getWorld(world));
+        if (PlotSquared.platform().serverVersion()[1] < 15) {
+            return scanHighestBlock(bukkitWorld, x, z, bukkitWorld.getMaxHeight() - 1);
+        }
+        // Every block above the motion blocking heightmap is passable, so the scan can start right above it
+        final int surface = bukkitWorld.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING);
+        return scanHighestBlock(bukkitWorld, x, z, Math.min(surface + 1, bukkitWorld.getMaxHeight() - 1));
+    }
+
+    private static int scanHighestBlock(final @NonNull World world, final int x, final int z, final int start) {
         // Skip top and bottom block
-        int air = 1;
-        for (int y = bukkitWorld.getMaxHeight() - 1; y >= 0; y--) {
-            Block block = bukkitWorld.getBlockAt(x, y, z);
+        int air = world.getMaxHeight() - start;
+        for (int y = start; y >= 0; y--) {
+            Block block = world.getBlockAt(x, y, z);
             Material type = block.getType();
             if (type.isSolid()) {
                 if (air > 1) {
@@ -288,7 +285,7 @@ public class BukkitUtil extends WorldUtil {
                 air++;
             }
         }
-        return bukkitWorld.getMaxHeight() - 1;
+        return world.getMaxHeight() - 1;
     }
 
     @Override
@@ -570,6 +567,15 @@ public class BukkitUtil extends WorldUtil {
                 getChunkAt(chunk.getBlockX(), chunk.getBlockZ()).getTileEntities().length;
     }
 
+    @Override
+    public @Nullable List<ChunkEntityCounter.Mismatch> compareChunkEntityCounts(final @NonNull String world) {
+        final World bukkitWorld = getWorld(world);
+        if (bukkitWorld == null) {
+            return null;
+        }
+        return this.entityCounter.compareChunkCounts(bukkitWorld);
+    }
+
     @Override
     public Set<BlockVector2> getChunkChunks(String world) {
         Set<BlockVector2> chunks = super.getChunkChunks(world);
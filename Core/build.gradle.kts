@@ -1,5 +1,9 @@
 import java.time.format.DateTimeFormatter
 
+plugins {
+    `java-test-fixtures`
+}
+
 dependencies {
     // Expected everywhere.
     compileOnlyApi(libs.checkerqual)
@@ -33,6 +37,19 @@ dependencies {
     testImplementation(libs.worldeditCore)
     compileOnly(libs.fastasyncworldeditCore) { isTransitive = false }
     testImplementation(libs.fastasyncworldeditCore) { isTransitive = false }
+    testImplementation(libs.sqlite)
+
+    // Headless platform shared by the tests and the benchmarks
+    testFixturesImplementation(libs.checkerqual)
+    testFixturesImplementation(libs.gson)
+    testFixturesImplementation(libs.guava)
+    testFixturesImplementation(libs.snakeyaml)
+    testFixturesImplementation(libs.log4j)
+    testFixturesImplementation(libs.worldeditCore) {
+        exclude(group = "bukkit-classloader-check")
+        exclude(group = "mockito-core")
+        exclude(group = "dummypermscompat")
+    }
 
     // Logging
     compileOnlyApi(libs.log4j)
@@ -45,6 +62,15 @@ dependencies {
     api(libs.paster)
 }
 
+// The headless platform is only used by the tests and the benchmarks, and never published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) {
+    skip()
+}
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) {
+    skip()
+}
+
 tasks.processResources {
     filesMatching("plugin.properties") {
         expand(
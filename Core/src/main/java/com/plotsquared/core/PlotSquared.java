@@ -32,6 +32,7 @@ import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.Storage;
 import com.plotsquared.core.configuration.caption.CaptionMap;
 import com.plotsquared.core.configuration.caption.DummyCaptionMap;
+import com.plotsquared.core.configuration.caption.ParsedMessageCache;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.configuration.caption.load.CaptionLoader;
 import com.plotsquared.core.configuration.caption.load.DefaultCaptionProvider;
@@ -46,6 +47,7 @@ import com.plotsquared.core.generator.GeneratorWrapper;
 import com.plotsquared.core.generator.HybridPlotWorld;
 import com.plotsquared.core.generator.HybridUtils;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.generator.RoadRegenCheckpoint;
 import com.plotsquared.core.inject.factory.HybridPlotWorldFactory;
 import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.Location;
@@ -58,6 +60,7 @@ import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.plot.comment.CommentManager;
 import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.plot.expiration.ExpiryTask;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
@@ -86,13 +89,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -271,6 +270,7 @@ public class PlotSquared {
             captionMap = this.captionLoader.loadSingle(this.platform.getDirectory().toPath().resolve("lang").resolve(fileName));
         }
         this.captionMaps.put(TranslatableCaption.DEFAULT_NAMESPACE, captionMap);
+        ParsedMessageCache.invalidate();
         LOGGER.info(
                 "Loaded caption map for namespace 'plotsquared': {}",
                 this.captionMaps.get(TranslatableCaption.DEFAULT_NAMESPACE).getClass().getCanonicalName()
@@ -394,37 +394,38 @@ public class PlotSquared {
         if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
             return;
         }
-        File file = new File(
-                this.platform.getDirectory() + File.separator + "persistent_regen_data_" + plotArea.getId()
-                        + "_" + plotArea.getWorldName());
-        if (!file.exists()) {
+        final RoadRegenCheckpoint checkpoint = new RoadRegenCheckpoint(this.platform.getDirectory(), plotArea);
+        if (!checkpoint.getFile().exists()) {
             return;
         }
         TaskManager.runTaskAsync(() -> {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                List<Object> list = (List<Object>) ois.readObject();
-                ArrayList<int[]> regionInts = (ArrayList<int[]>) list.get(0);
-                ArrayList<int[]> chunkInts = (ArrayList<int[]>) list.get(1);
-                HashSet<BlockVector2> regions = new HashSet<>();
-                Set<BlockVector2> chunks = new HashSet<>();
-                regionInts.forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
-                chunkInts.forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
-                int height = (int) list.get(2);
+            try {
+                final RoadRegenCheckpoint.Progress progress = checkpoint.load();
+                if (progress == null) {
+                    return;
+                }
                 LOGGER.info(
                         "Incomplete road regeneration found. Restarting in world {} with height {}",
                         plotArea.getWorldName(),
-                        height
+                        progress.height()
                 );
-                LOGGER.info("- Regions: {}", regions.size());
-                LOGGER.info("- Chunks: {}", chunks.size());
+                LOGGER.info("- Regions: {}", progress.regions().size());
+                LOGGER.info("- Chunks: {}", progress.chunks().size());
                 HybridUtils.UPDATE = true;
-                PlotSquared.platform().hybridUtils().scheduleRoadUpdate(plotArea, regions, height, chunks);
-            } catch (IOException | ClassNotFoundException e) {
-                LOGGER.error("Error restarting road regeneration", e);
-            } finally {
-                if (!file.delete()) {
-                    LOGGER.error("Error deleting persistent_regen_data_{}. Please delete this file manually", plotArea.getId());
+                // The checkpoint is kept, and replaced as the regeneration progresses
+                if (!PlotSquared.platform().hybridUtils().scheduleRoadUpdate(plotArea, progress.regions(), progress.height(),
+                        progress.chunks()
+                )) {
+                    // The area can no longer regenerate its roads, so the checkpoint would be resumed on every start
+                    LOGGER.warn(
+                            "Could not resume road regeneration in world {}, discarding its progress",
+                            plotArea.getWorldName()
+                    );
+                    checkpoint.delete();
                 }
+            } catch (IOException e) {
+                LOGGER.error("Error restarting road regeneration", e);
+                checkpoint.delete();
             }
         });
     }
@@ -1225,38 +1226,14 @@ public class PlotSquared {
      * Handle road regen persistence
      */
     private void checkRoadRegenPersistence() {
-        if (!HybridUtils.UPDATE || !Settings.Enabled_Components.PERSISTENT_ROAD_REGEN || (
+        if (!HybridUtils.UPDATE || HybridUtils.checkpoint == null || (
                 HybridUtils.regions.isEmpty() && HybridUtils.chunks.isEmpty())) {
             return;
         }
         LOGGER.info("Road regeneration incomplete. Saving incomplete regions to disk");
         LOGGER.info("- regions: {}", HybridUtils.regions.size());
         LOGGER.info("- chunks: {}", HybridUtils.chunks.size());
-        ArrayList<int[]> regions = new ArrayList<>();
-        ArrayList<int[]> chunks = new ArrayList<>();
-        for (BlockVector2 r : HybridUtils.regions) {
-            regions.add(new int[]{r.getBlockX(), r.getBlockZ()});
-        }
-        for (BlockVector2 c : HybridUtils.chunks) {
-            chunks.add(new int[]{c.getBlockX(), c.getBlockZ()});
-        }
-        List<Object> list = new ArrayList<>();
-        list.add(regions);
-        list.add(chunks);
-        list.add(HybridUtils.height);
-        File file = new File(
-                this.platform.getDirectory() + File.separator + "persistent_regen_data_" + HybridUtils.area
-                        .getId() + "_" + HybridUtils.area.getWorldName());
-        if (file.exists() && !file.delete()) {
-            LOGGER.error("persistent_regene_data file already exists and could not be deleted");
-            return;
-        }
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW))) {
-            oos.writeObject(list);
-        } catch (IOException e) {
-            LOGGER.error("Error creating persistent_region_data file", e);
-        }
+        HybridUtils.checkpoint.save(new ArrayList<>(HybridUtils.regions), new ArrayList<>(HybridUtils.chunks), HybridUtils.height);
     }
 
     /**
@@ -1288,6 +1265,7 @@ public class PlotSquared {
                     this.worldConfiguration
             );
             this.plots_tmp = DBFunc.getPlots();
+            CommentManager.getIndex().load(DBFunc.getAllComments());
             if (getPlotAreaManager() instanceof SinglePlotAreaManager) {
                 SinglePlotArea area = ((SinglePlotAreaManager) getPlotAreaManager()).getArea();
                 addPlotArea(area);
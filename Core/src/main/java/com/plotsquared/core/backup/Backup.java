@@ -41,18 +41,27 @@ public class Backup {
     private final long creationTime;
     @Nullable
     private final Path file;
+    @Nullable
+    private final BackupStore store;
 
     Backup(final BackupProfile owner, final long creationTime, final Path file) {
+        this(owner, creationTime, file, null);
+    }
+
+    Backup(final BackupProfile owner, final long creationTime, final Path file, final @Nullable BackupStore store) {
         this.owner = owner;
         this.creationTime = creationTime;
         this.file = file;
+        this.store = store;
     }
 
     /**
      * Delete the backup
      */
     public void delete() {
-        if (file != null) {
+        if (file != null && store != null && BackupStore.isManifest(file)) {
+            store.deleteBackup(file);
+        } else if (file != null) {
             try {
                 Files.deleteIfExists(file);
             } catch (final IOException e) {
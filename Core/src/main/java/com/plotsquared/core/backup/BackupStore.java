@@ -0,0 +1,550 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.backup;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.BlockUtil;
+import com.plotsquared.core.util.RegionUtil;
+import com.plotsquared.core.util.WorldUtil;
+import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content addressed storage for incremental plot backups.
+ * <p>
+ * A plot is split into 16x16x16 chunk sections. Every section is hashed and only stored
+ * once, no matter how many backups (of how many plots) contain it. A backup is a small
+ * manifest listing the hash of every section of the plot. Sections are reference counted
+ * by the manifests that use them and removed once the last backup using them is deleted.
+ */
+@Singleton
+public class BackupStore {
+
+    static final String MANIFEST_EXTENSION = ".manifest";
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + BackupStore.class.getSimpleName());
+    private static final int MANIFEST_VERSION = 1;
+    private static final byte SECTION_VERSION = 1;
+    // palette entry for positions outside of the plot, these are not restored
+    private static final String OUTSIDE = "";
+
+    private final Path backupPath;
+    private final Path sectionPath;
+    private final WorldUtil worldUtil;
+    private final Map<String, Integer> references = new HashMap<>();
+    private boolean loaded;
+
+    @Inject
+    public BackupStore(final @NonNull BackupManager backupManager, final @NonNull WorldUtil worldUtil) {
+        this.backupPath = backupManager.getBackupPath();
+        this.sectionPath = this.backupPath.resolve("sections");
+        this.worldUtil = worldUtil;
+    }
+
+    static boolean isManifest(final @NonNull Path path) {
+        return path.getFileName().toString().endsWith(MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Get the creation time stored in the name of a manifest file
+     *
+     * @param manifest Manifest file
+     * @return Creation time in milliseconds
+     */
+    static long getCreationTime(final @NonNull Path manifest) {
+        final String name = manifest.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - MANIFEST_EXTENSION.length()));
+    }
+
+    /**
+     * Back up a plot into the given directory. Only sections that are not yet stored
+     * are written, the backup itself is a manifest referencing the plot sections.
+     *
+     * @param plot      Plot to back up
+     * @param directory Directory to write the manifest to
+     * @return Future completing with the path of the created manifest
+     */
+    public @NonNull CompletableFuture<Path> createBackup(final @NonNull Plot plot, final @NonNull Path directory) {
+        final CompletableFuture<Path> future = new CompletableFuture<>();
+        TaskManager.runTaskAsync(() -> {
+            try {
+                future.complete(this.writeBackup(plot, directory));
+            } catch (final Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Restore a backup into the plot, through the plot area queue. Feedback to the player
+     * requesting the restoration is left to the caller, using the returned future.
+     *
+     * @param plot     Plot to restore into
+     * @param manifest Manifest of the backup
+     * @return Future completing once the queue has finished, or exceptionally if a section could not be read
+     */
+    public @NonNull CompletableFuture<Void> restoreBackup(final @NonNull Plot plot, final @NonNull Path manifest) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        TaskManager.runTaskAsync(() -> {
+            try {
+                final QueueCoordinator queue = plot.getArea().getQueue();
+                final Map<String, Section> sections = new HashMap<>();
+                for (final ManifestEntry entry : readManifest(manifest)) {
+                    final Section section = sections.computeIfAbsent(entry.hash(), this::readSectionUnchecked);
+                    section.paste(queue, entry.x() << 4, entry.y() << 4, entry.z() << 4);
+                }
+                queue.setCompleteTask(() -> future.complete(null));
+                queue.enqueue();
+            } catch (final Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Delete a backup manifest, and all sections that are no longer referenced by any backup
+     *
+     * @param manifest Manifest of the backup
+     */
+    public synchronized void deleteBackup(final @NonNull Path manifest) {
+        try {
+            this.load();
+            final List<ManifestEntry> entries = Files.exists(manifest) ? readManifest(manifest) : List.of();
+            Files.deleteIfExists(manifest);
+            for (final ManifestEntry entry : entries) {
+                final int count = this.references.getOrDefault(entry.hash(), 0) - 1;
+                if (count <= 0) {
+                    this.references.remove(entry.hash());
+                    Files.deleteIfExists(this.getSectionFile(entry.hash()));
+                } else {
+                    this.references.put(entry.hash(), count);
+                }
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private @NonNull Path writeBackup(final @NonNull Plot plot, final @NonNull Path directory) throws IOException {
+        synchronized (this) {
+            // Orphaned sections have to be removed before checking which sections are already stored
+            this.load();
+        }
+        final World world = this.worldUtil.getWeWorld(Objects.requireNonNull(plot.getWorldName()));
+        final CuboidRegion[] regions = plot.getRegions().toArray(new CuboidRegion[0]);
+        final CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(plot.getRegions());
+        final BlockVector3 min = aabb.getMinimumPoint();
+        final BlockVector3 max = aabb.getMaximumPoint();
+
+        final List<ManifestEntry> entries = new ArrayList<>();
+        final Map<String, byte[]> newSections = new LinkedHashMap<>();
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                final CuboidRegion chunk = RegionUtil.createRegion(chunkX << 4, (chunkX << 4) + 15, chunkZ << 4, (chunkZ << 4) + 15);
+                boolean intersects = false;
+                for (final CuboidRegion region : regions) {
+                    if (RegionUtil.intersects(chunk, region)) {
+                        intersects = true;
+                        break;
+                    }
+                }
+                if (!intersects) {
+                    continue;
+                }
+                for (int sectionY = min.getY() >> 4; sectionY <= max.getY() >> 4; sectionY++) {
+                    final byte[] data = Section.capture(world, regions, chunkX, sectionY, chunkZ, min.getY());
+                    final String hash = hash(data);
+                    entries.add(new ManifestEntry(chunkX, sectionY, chunkZ, hash));
+                    // Only keep the sections that need to be written
+                    if (!newSections.containsKey(hash) && !Files.exists(this.getSectionFile(hash))) {
+                        newSections.put(hash, data);
+                    }
+                }
+            }
+        }
+
+        final long creationTime = System.currentTimeMillis();
+        final Path manifest = directory.resolve(creationTime + MANIFEST_EXTENSION);
+        synchronized (this) {
+            for (final Map.Entry<String, byte[]> section : newSections.entrySet()) {
+                this.writeSection(section.getKey(), section.getValue());
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                final ManifestEntry entry = entries.get(i);
+                if (newSections.containsKey(entry.hash()) || Files.exists(this.getSectionFile(entry.hash()))) {
+                    continue;
+                }
+                // The section was stored when it was captured, but the last backup using it has been deleted since
+                final byte[] data = Section.capture(world, regions, entry.x(), entry.y(), entry.z(), min.getY());
+                final String hash = hash(data);
+                if (!Files.exists(this.getSectionFile(hash))) {
+                    this.writeSection(hash, data);
+                }
+                entries.set(i, new ManifestEntry(entry.x(), entry.y(), entry.z(), hash));
+            }
+            writeManifest(manifest, creationTime, entries);
+            for (final ManifestEntry entry : entries) {
+                this.references.merge(entry.hash(), 1, Integer::sum);
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Count the section references of all existing manifests, and remove
+     * sections that are not referenced (left over from interrupted backups)
+     */
+    private void load() throws IOException {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+        if (Files.exists(this.backupPath)) {
+            final List<Path> manifests;
+            try (Stream<Path> stream = Files.walk(this.backupPath)) {
+                manifests = stream.filter(BackupStore::isManifest).toList();
+            }
+            for (final Path manifest : manifests) {
+                for (final ManifestEntry entry : readManifest(manifest)) {
+                    this.references.merge(entry.hash(), 1, Integer::sum);
+                }
+            }
+        }
+        if (Files.exists(this.sectionPath)) {
+            final List<Path> sections;
+            try (Stream<Path> stream = Files.walk(this.sectionPath)) {
+                sections = stream.filter(Files::isRegularFile).toList();
+            }
+            for (final Path section : sections) {
+                if (!this.references.containsKey(section.getFileName().toString())) {
+                    LOGGER.info("Removing unreferenced backup section {}", section.getFileName());
+                    Files.deleteIfExists(section);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a section to a temporary file, and move it to its content addressed path once complete,
+     * so that an interrupted write never leaves a truncated section behind under its hash
+     */
+    private void writeSection(final @NonNull String hash, final byte @NonNull [] data) throws IOException {
+        final Path file = this.getSectionFile(hash);
+        Files.createDirectories(file.getParent());
+        final Path temporary = file.resolveSibling(hash + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+            out.write(data);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private @NonNull Path getSectionFile(final @NonNull String hash) {
+        return this.sectionPath.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private @NonNull Section readSectionUnchecked(final @NonNull String hash) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(this.getSectionFile(hash)))) {
+            return Section.read(in.readAllBytes());
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to read backup section " + hash, e);
+        }
+    }
+
+    private static void writeManifest(
+            final @NonNull Path manifest, final long creationTime,
+            final @NonNull List<ManifestEntry> entries
+    ) throws IOException {
+        Files.createDirectories(manifest.getParent());
+        final Path temporary = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write("version " + MANIFEST_VERSION);
+            writer.newLine();
+            writer.write("created " + creationTime);
+            writer.newLine();
+            for (final ManifestEntry entry : entries) {
+                writer.write(entry.x() + " " + entry.y() + " " + entry.z() + " " + entry.hash());
+                writer.newLine();
+            }
+        }
+        Files.move(temporary, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static @NonNull List<ManifestEntry> readManifest(final @NonNull Path manifest) throws IOException {
+        final List<ManifestEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] split = line.split(" ");
+                if (split.length != 4) {
+                    continue;
+                }
+                entries.add(new ManifestEntry(
+                        Integer.parseInt(split[0]),
+                        Integer.parseInt(split[1]),
+                        Integer.parseInt(split[2]),
+                        split[3]
+                ));
+            }
+        }
+        return entries;
+    }
+
+    private static @NonNull String hash(final byte @NonNull [] data) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ManifestEntry(int x, int y, int z, @NonNull String hash) {
+
+    }
+
+    /**
+     * The decoded contents of a single chunk section
+     */
+    private static final class Section {
+
+        private final BlockState[] palette;
+        private final char[] blocks;
+        private final BiomeType @Nullable [] biomes;
+        private final Map<Integer, CompoundTag> tiles;
+
+        private Section(
+                final BlockState[] palette, final char[] blocks, final BiomeType @Nullable [] biomes,
+                final Map<Integer, CompoundTag> tiles
+        ) {
+            this.palette = palette;
+            this.blocks = blocks;
+            this.biomes = biomes;
+            this.tiles = tiles;
+        }
+
+        /**
+         * Serialize a section of the world. Positions outside of the given regions are
+         * written as {@link #OUTSIDE}, so that identical plot sections serialize identically.
+         */
+        static byte @NonNull [] capture(
+                final @NonNull World world, final @NonNull CuboidRegion @NonNull [] regions,
+                final int chunkX, final int sectionY, final int chunkZ, final int minY
+        ) throws IOException {
+            final Map<String, Integer> palette = new LinkedHashMap<>();
+            palette.put(OUTSIDE, 0);
+            final char[] blocks = new char[4096];
+            final Map<Integer, CompoundTag> tiles = new LinkedHashMap<>();
+            final boolean captureBiomes = sectionY == minY >> 4;
+            final Map<String, Integer> biomePalette = new LinkedHashMap<>();
+            biomePalette.put(OUTSIDE, 0);
+            final char[] biomes = new char[256];
+            for (int localX = 0; localX < 16; localX++) {
+                final int x = (chunkX << 4) + localX;
+                for (int localZ = 0; localZ < 16; localZ++) {
+                    final int z = (chunkZ << 4) + localZ;
+                    for (final CuboidRegion region : regions) {
+                        if (!RegionUtil.contains(region, x, z)) {
+                            continue;
+                        }
+                        if (captureBiomes) {
+                            final String biome = world.getBiome(BlockVector2.at(x, z)).getId();
+                            biomes[localX | localZ << 4] = (char) (int) biomePalette.computeIfAbsent(
+                                    biome,
+                                    key -> biomePalette.size()
+                            );
+                        }
+                        final int fromY = Math.max(sectionY << 4, region.getMinimumPoint().getY());
+                        final int toY = Math.min((sectionY << 4) + 15, region.getMaximumPoint().getY());
+                        for (int y = fromY; y <= toY; y++) {
+                            final int index = localX | localZ << 4 | (y & 15) << 8;
+                            final BaseBlock block = world.getFullBlock(BlockVector3.at(x, y, z));
+                            final String state = block.toImmutableState().getAsString();
+                            blocks[index] = (char) (int) palette.computeIfAbsent(state, key -> palette.size());
+                            if (block.getNbtData() != null) {
+                                final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+                                values.remove("x");
+                                values.remove("y");
+                                values.remove("z");
+                                tiles.put(index, new CompoundTag(values));
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(SECTION_VERSION);
+            writePalette(out, palette);
+            for (final char block : blocks) {
+                out.writeChar(block);
+            }
+            final boolean writeBiomes = captureBiomes && biomePalette.size() > 1;
+            out.writeBoolean(writeBiomes);
+            if (writeBiomes) {
+                writePalette(out, biomePalette);
+                for (final char biome : biomes) {
+                    out.writeChar(biome);
+                }
+            }
+            out.writeShort(tiles.size());
+            final NBTOutputStream nbtStream = new NBTOutputStream(out);
+            for (final Map.Entry<Integer, CompoundTag> tile : tiles.entrySet()) {
+                out.writeShort(tile.getKey());
+                nbtStream.writeNamedTag("", tile.getValue());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        static @NonNull Section read(final byte @NonNull [] data) throws IOException {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readByte() != SECTION_VERSION) {
+                throw new IOException("Unsupported backup section version");
+            }
+            final String[] paletteIds = readPalette(in);
+            final BlockState[] palette = new BlockState[paletteIds.length];
+            for (int i = 0; i < paletteIds.length; i++) {
+                palette[i] = OUTSIDE.equals(paletteIds[i]) ? null : BlockUtil.get(paletteIds[i]);
+            }
+            final char[] blocks = new char[4096];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = in.readChar();
+            }
+            BiomeType[] biomes = null;
+            if (in.readBoolean()) {
+                final String[] biomePalette = readPalette(in);
+                biomes = new BiomeType[256];
+                for (int i = 0; i < biomes.length; i++) {
+                    final String biome = biomePalette[in.readChar()];
+                    biomes[i] = OUTSIDE.equals(biome) ? null : BiomeTypes.get(biome);
+                }
+            }
+            final int tileCount = in.readUnsignedShort();
+            final Map<Integer, CompoundTag> tiles = new HashMap<>(tileCount);
+            final NBTInputStream nbtStream = new NBTInputStream(in);
+            for (int i = 0; i < tileCount; i++) {
+                final int index = in.readUnsignedShort();
+                tiles.put(index, (CompoundTag) nbtStream.readNamedTag().getTag());
+            }
+            return new Section(palette, blocks, biomes, tiles);
+        }
+
+        void paste(final @NonNull QueueCoordinator queue, final int baseX, final int baseY, final int baseZ) {
+            for (int index = 0; index < this.blocks.length; index++) {
+                final BlockState state = this.palette[this.blocks[index]];
+                if (state == null) {
+                    continue;
+                }
+                final int x = baseX + (index & 15);
+                final int y = baseY + (index >> 8);
+                final int z = baseZ + (index >> 4 & 15);
+                final CompoundTag tile = this.tiles.get(index);
+                if (tile != null) {
+                    queue.setBlock(x, y, z, state.toBaseBlock(tile));
+                } else {
+                    queue.setBlock(x, y, z, state);
+                }
+            }
+            if (this.biomes != null) {
+                for (int index = 0; index < this.biomes.length; index++) {
+                    if (this.biomes[index] != null) {
+                        queue.setBiome(baseX + (index & 15), baseZ + (index >> 4), this.biomes[index]);
+                    }
+                }
+            }
+        }
+
+        private static void writePalette(final @NonNull DataOutputStream out, final @NonNull Map<String, Integer> palette)
+                throws IOException {
+            out.writeShort(palette.size());
+            for (final String entry : palette.keySet()) {
+                out.writeUTF(entry);
+            }
+        }
+
+        private static String @NonNull [] readPalette(final @NonNull DataInputStream in) throws IOException {
+            final String[] palette = new String[in.readUnsignedShort()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = in.readUTF();
+            }
+            return palette;
+        }
+
+    }
+
+}
@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * A profile associated with a player (normally a plot owner) and a
@@ -64,23 +65,26 @@ public class PlayerBackupProfile implements BackupProfile {
     private final Plot plot;
     private final BackupManager backupManager;
     private final SchematicHandler schematicHandler;
+    private final BackupStore backupStore;
     private final Object backupLock = new Object();
     private volatile List<Backup> backupCache;
 
     @Inject
     public PlayerBackupProfile(
             @Assisted final @NonNull UUID owner, @Assisted final @NonNull Plot plot,
-            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler
+            final @NonNull BackupManager backupManager, final @NonNull SchematicHandler schematicHandler,
+            final @NonNull BackupStore backupStore
     ) {
         this.owner = owner;
         this.plot = plot;
         this.backupManager = backupManager;
         this.schematicHandler = schematicHandler;
+        this.backupStore = backupStore;
     }
 
     private static boolean isValidFile(final @NonNull Path path) {
         final String name = path.getFileName().toString();
-        return name.endsWith(".schem") || name.endsWith(".schematic");
+        return name.endsWith(".schem") || name.endsWith(".schematic") || name.endsWith(BackupStore.MANIFEST_EXTENSION);
     }
 
     private static Path resolve(final @NonNull Path parent, final String child) {
@@ -116,14 +120,19 @@ public class PlayerBackupProfile implements BackupProfile {
                     }
                 }
                 final List<Backup> backups = new ArrayList<>();
-                try {
-                    Files.walk(path).filter(PlayerBackupProfile::isValidFile).forEach(file -> {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(PlayerBackupProfile::isValidFile).forEach(file -> {
                         try {
-                            final BasicFileAttributes basicFileAttributes =
-                                    Files.readAttributes(file, BasicFileAttributes.class);
-                            backups.add(
-                                    new Backup(this, basicFileAttributes.creationTime().toMillis(), file));
-                        } catch (IOException e) {
+                            if (BackupStore.isManifest(file)) {
+                                backups.add(new Backup(this, BackupStore.getCreationTime(file), file, this.backupStore));
+                            } else {
+                                // Full schematic backups from before incremental backups
+                                final BasicFileAttributes basicFileAttributes =
+                                        Files.readAttributes(file, BasicFileAttributes.class);
+                                backups.add(
+                                        new Backup(this, basicFileAttributes.creationTime().toMillis(), file));
+                            }
+                        } catch (IOException | NumberFormatException e) {
                             e.printStackTrace();
                         }
                     });
@@ -162,14 +171,13 @@ public class PlayerBackupProfile implements BackupProfile {
                 if (backups.size() == backupManager.getBackupLimit()) {
                     backups.get(backups.size() - 1).delete();
                 }
-                final List<Plot> plots = Collections.singletonList(plot);
-                final boolean result = this.schematicHandler.exportAll(plots, getBackupDirectory().toFile(),
-                        "%world%-%id%-" + System.currentTimeMillis(), () ->
-                                future.complete(new Backup(this, System.currentTimeMillis(), null))
-                );
-                if (!result) {
-                    future.completeExceptionally(new RuntimeException("Failed to complete the backup"));
-                }
+                this.backupStore.createBackup(plot, getBackupDirectory()).whenComplete((manifest, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(new RuntimeException("Failed to complete the backup", throwable));
+                    } else {
+                        future.complete(new Backup(this, BackupStore.getCreationTime(manifest), manifest, this.backupStore));
+                    }
+                });
                 this.backupCache = null;
             }
         });
@@ -181,6 +189,8 @@ public class PlayerBackupProfile implements BackupProfile {
         final CompletableFuture<Void> future = new CompletableFuture<>();
         if (backup.getFile() == null || !Files.exists(backup.getFile())) {
             future.completeExceptionally(new IllegalArgumentException("The specific backup does not exist"));
+        } else if (BackupStore.isManifest(backup.getFile())) {
+            return this.backupStore.restoreBackup(plot, backup.getFile());
         } else {
             TaskManager.runTaskAsync(() -> {
                 Schematic schematic = null;
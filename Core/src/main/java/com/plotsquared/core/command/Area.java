@@ -794,9 +794,17 @@ public class Area extends SubCommand {
                 }
                 Location center;
                 if (area instanceof SinglePlotArea) {
-                    ((SinglePlotArea) area).loadWorld(PlotId.of(0, 0));
-                    center = this.worldUtil.getSpawn(PlotId.of(0, 0).toUnderscoreSeparatedString());
-                    player.teleport(center, TeleportCause.COMMAND_AREA_TELEPORT);
+                    final PlotId id = PlotId.of(0, 0);
+                    ((SinglePlotArea) area).loadWorldAsync(id).whenComplete((loaded, throwable) -> {
+                        if (throwable != null) {
+                            throwable.printStackTrace();
+                            return;
+                        }
+                        player.teleport(
+                                this.worldUtil.getSpawn(id.toUnderscoreSeparatedString()),
+                                TeleportCause.COMMAND_AREA_TELEPORT
+                        );
+                    });
                 } else if (area.getType() != PlotAreaType.PARTIAL) {
                     center = this.worldUtil.getSpawn(area.getWorldName());
                     player.teleport(center, TeleportCause.COMMAND_AREA_TELEPORT);
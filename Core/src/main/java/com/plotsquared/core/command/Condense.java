@@ -31,6 +31,7 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotIdIndex;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.WorldUtil;
@@ -40,11 +41,8 @@ import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -56,6 +54,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class Condense extends SubCommand {
 
     public static boolean TASK = false;
+    private static final PlotId ORIGIN = PlotId.of(0, 0);
 
     private final PlotAreaManager plotAreaManager;
     private final WorldUtil worldUtil;
@@ -145,13 +144,17 @@ public class Condense extends SubCommand {
                     player.sendMessage(TranslatableCaption.of("condense.radius_too_small"));
                     return false;
                 }
-                List<PlotId> toMove = new ArrayList<>(getPlots(allPlots, radius));
+                final PlotIdIndex index = area.getIdIndex();
+                List<PlotId> toMove = index.getOutside(ORIGIN, radius);
+                toMove.removeIf(id -> {
+                    Plot plot = area.getOwnedPlotAbs(id);
+                    return plot == null || !plot.isBasePlot();
+                });
                 final List<PlotId> free = new ArrayList<>();
-                PlotId start = PlotId.of(0, 0);
+                PlotId start = ORIGIN;
                 while (start.getX() <= minimumRadius && start.getY() <= minimumRadius) {
-                    Plot plot = area.getPlotAbs(start);
-                    if (plot != null && !plot.hasOwner()) {
-                        free.add(plot.getId());
+                    if (area.contains(start) && !index.contains(start)) {
+                        free.add(start);
                     }
                     start = start.getNextId();
                 }
@@ -239,15 +242,14 @@ public class Condense extends SubCommand {
                     return false;
                 }
                 int radius = Integer.parseInt(args[2]);
-                Collection<Plot> plots = area.getPlots();
-                int size = plots.size();
+                int size = area.getPlotCount();
                 int minimumRadius = (int) Math.ceil(Math.sqrt(size) / 2 + 1);
                 if (radius < minimumRadius) {
                     player.sendMessage(TranslatableCaption.of("condense.radius_too_small"));
                     return false;
                 }
-                int maxMove = getPlots(plots, minimumRadius).size();
-                int userMove = getPlots(plots, radius).size();
+                int maxMove = area.getIdIndex().getOutside(ORIGIN, minimumRadius).size();
+                int userMove = area.getIdIndex().getOutside(ORIGIN, radius).size();
                 player.sendMessage(TranslatableCaption.of("condense.default_eval"));
                 player.sendMessage(
                         TranslatableCaption.of("condense.minimum_radius"),
@@ -278,15 +280,4 @@ public class Condense extends SubCommand {
         return false;
     }
 
-    public Set<PlotId> getPlots(Collection<Plot> plots, int radius) {
-        HashSet<PlotId> outside = new HashSet<>();
-        for (Plot plot : plots) {
-            if (plot.getId().getX() > radius || plot.getId().getX() < -radius || plot.getId().getY() > radius
-                    || plot.getId().getY() < -radius) {
-                outside.add(plot.getId());
-            }
-        }
-        return outside;
-    }
-
 }
@@ -25,14 +25,24 @@
  */
 package com.plotsquared.core.command;
 
+import com.google.gson.GsonBuilder;
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.caption.StaticCaption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.database.DatabaseMetrics;
+import com.plotsquared.core.database.SQLManager;
+import com.plotsquared.core.listener.ListenerTimings;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.QueueMetrics;
+import com.plotsquared.core.queue.QueueOperation;
+import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.StringMan;
+import com.plotsquared.core.util.TimeUtil;
 import com.plotsquared.core.util.WorldUtil;
+import com.plotsquared.core.util.entity.ChunkEntityCounter;
 import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.entity.EntityCategory;
 import com.plotsquared.core.util.query.PlotQuery;
@@ -44,8 +54,12 @@ import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -60,14 +74,20 @@ public class Debug extends SubCommand {
 
     private final PlotAreaManager plotAreaManager;
     private final WorldUtil worldUtil;
+    private final ListenerTimings listenerTimings;
+    private final QueueMetrics queueMetrics;
 
     @Inject
     public Debug(
             final @NonNull PlotAreaManager plotAreaManager,
-            final @NonNull WorldUtil worldUtil
+            final @NonNull WorldUtil worldUtil,
+            final @NonNull ListenerTimings listenerTimings,
+            final @NonNull QueueMetrics queueMetrics
     ) {
         this.plotAreaManager = plotAreaManager;
         this.worldUtil = worldUtil;
+        this.listenerTimings = listenerTimings;
+        this.queueMetrics = queueMetrics;
     }
 
     @Override
@@ -75,7 +95,7 @@ public class Debug extends SubCommand {
         if (args.length == 0) {
             player.sendMessage(
                     TranslatableCaption.of("commandconfig.command_syntax"),
-                    Template.of("value", "/plot debug <loadedchunks | player | debug-players | entitytypes | msg>")
+                    Template.of("value", "/plot debug <loadedchunks | player | debug-players | entitytypes | entitycounts | timings | database | queues | msg>")
             );
         }
         if (args.length > 0) {
@@ -139,6 +159,42 @@ public class Debug extends SubCommand {
                     });
             return true;
         }
+        if (args.length > 0 && "entitycounts".equalsIgnoreCase(args[0])) {
+            final String world = player.getLocation().getWorldName();
+            final List<ChunkEntityCounter.Mismatch> mismatches = this.worldUtil.compareChunkEntityCounts(world);
+            if (mismatches == null) {
+                player.sendMessage(TranslatableCaption.of("debug.entity_counts_disabled"));
+                return true;
+            }
+            if (mismatches.isEmpty()) {
+                player.sendMessage(TranslatableCaption.of("debug.entity_counts_matching"), Template.of("world", world));
+                return true;
+            }
+            player.sendMessage(
+                    TranslatableCaption.of("debug.entity_counts_mismatches"),
+                    Template.of("amount", String.valueOf(mismatches.size())),
+                    Template.of("world", world)
+            );
+            mismatches.stream().limit(10).forEach(mismatch -> player.sendMessage(
+                    TranslatableCaption.of("debug.entity_counts_mismatch"),
+                    Template.of("chunk", mismatch.chunkX() + ";" + mismatch.chunkZ()),
+                    Template.of("tracked", String.valueOf(mismatch.tracked())),
+                    Template.of("actual", String.valueOf(mismatch.actual()))
+            ));
+            return true;
+        }
+        if (args.length > 0 && "queues".equalsIgnoreCase(args[0])) {
+            this.sendQueueMetrics(player);
+            return true;
+        }
+        if (args.length > 0 && "database".equalsIgnoreCase(args[0])) {
+            this.sendDatabaseMetrics(player, args);
+            return true;
+        }
+        if (args.length > 0 && "timings".equalsIgnoreCase(args[0])) {
+            this.sendTimings(player, args);
+            return true;
+        }
         Set<TranslatableCaption> captions = PlotSquared
                 .get()
                 .getCaptionMap(TranslatableCaption.DEFAULT_NAMESPACE)
@@ -171,9 +227,165 @@ public class Debug extends SubCommand {
         return true;
     }
 
+    private void sendTimings(final @NonNull PlotPlayer<?> player, final @NonNull String[] args) {
+        final String action = args.length > 1 ? args[1].toLowerCase(Locale.ENGLISH) : "";
+        switch (action) {
+            case "on", "off" -> {
+                this.listenerTimings.setEnabled("on".equals(action));
+                player.sendMessage(TranslatableCaption.of("debug.timings_toggled"), Template.of("value", action));
+            }
+            case "reset" -> {
+                this.listenerTimings.reset();
+                player.sendMessage(TranslatableCaption.of("debug.timings_reset"));
+            }
+            case "dump" -> {
+                final String json = new GsonBuilder().setPrettyPrinting().create().toJson(this.listenerTimings.toJson());
+                final File file = FileUtils.getFile(
+                        PlotSquared.platform().getDirectory(),
+                        "timings-" + System.currentTimeMillis() + ".json"
+                );
+                TaskManager.runTaskAsync(() -> {
+                    try {
+                        Files.writeString(file.toPath(), json);
+                        player.sendMessage(TranslatableCaption.of("debug.timings_dumped"), Template.of("file", file.getName()));
+                    } catch (final IOException e) {
+                        e.printStackTrace();
+                        player.sendMessage(TranslatableCaption.of("debug.timings_dump_failed"));
+                    }
+                });
+            }
+            default -> {
+                final List<ListenerTimings.Snapshot> snapshots = this.listenerTimings.snapshot();
+                if (snapshots.isEmpty()) {
+                    player.sendMessage(
+                            TranslatableCaption.of("debug.timings_empty"),
+                            Template.of("enabled", String.valueOf(this.listenerTimings.isEnabled()))
+                    );
+                    return;
+                }
+                player.sendMessage(
+                        TranslatableCaption.of("debug.timings_header"),
+                        Template.of("time", TimeUtil.secToTime((System.currentTimeMillis() - this.listenerTimings.getSince()) / 1000)),
+                        Template.of("enabled", String.valueOf(this.listenerTimings.isEnabled()))
+                );
+                snapshots.stream().limit(10).forEach(snapshot -> player.sendMessage(
+                        TranslatableCaption.of("debug.timings_entry"),
+                        Template.of("handler", snapshot.name()),
+                        Template.of("invocations", String.valueOf(snapshot.invocations())),
+                        Template.of("total", String.format(Locale.ENGLISH, "%.2f", snapshot.totalNanos() / 1e6)),
+                        Template.of("average", String.format(Locale.ENGLISH, "%.2f", snapshot.averageNanos() / 1e3)),
+                        Template.of("max", String.format(Locale.ENGLISH, "%.2f", snapshot.maxNanos() / 1e3)),
+                        Template.of("cancel_rate", String.format(Locale.ENGLISH, "%.1f", snapshot.cancelRate() * 100))
+                ));
+            }
+        }
+    }
+
+    private void sendQueueMetrics(final @NonNull PlotPlayer<?> player) {
+        final List<QueueMetrics.Job> jobs = this.queueMetrics.getActiveJobs();
+        player.sendMessage(
+                TranslatableCaption.of("debug.queues_header"),
+                Template.of("amount", String.valueOf(jobs.size()))
+        );
+        jobs.stream().limit(10).forEach(job -> {
+            final long eta = job.getEtaMillis();
+            player.sendMessage(
+                    TranslatableCaption.of("debug.queues_job"),
+                    Template.of("id", String.valueOf(job.getId())),
+                    Template.of("operation", job.getOperation().name().toLowerCase(Locale.ENGLISH)),
+                    Template.of("processed", String.valueOf(job.getProcessedChunks())),
+                    Template.of("total", String.valueOf(job.getTotalChunks())),
+                    Template.of("held", String.valueOf(job.getHeldChunks())),
+                    Template.of("rate", String.format(Locale.ENGLISH, "%.2f", job.getChunksPerTick())),
+                    Template.of("age", TimeUtil.secToTime(job.getAgeMillis() / 1000)),
+                    Template.of("eta", eta < 0 ? "?" : TimeUtil.secToTime(eta / 1000))
+            );
+        });
+        for (final QueueOperation operation : QueueOperation.values()) {
+            final QueueMetrics.OperationSnapshot statistics = this.queueMetrics.getStatistics(operation);
+            if (statistics.completed() + statistics.cancelled() == 0) {
+                continue;
+            }
+            player.sendMessage(
+                    TranslatableCaption.of("debug.queues_operation"),
+                    Template.of("operation", operation.name().toLowerCase(Locale.ENGLISH)),
+                    Template.of("completed", String.valueOf(statistics.completed())),
+                    Template.of("cancelled", String.valueOf(statistics.cancelled())),
+                    Template.of("chunks", String.valueOf(statistics.chunks())),
+                    Template.of("rate", String.format(Locale.ENGLISH, "%.2f", statistics.chunksPerTick())),
+                    Template.of("average", String.valueOf(statistics.averageMillis())),
+                    Template.of("max", String.valueOf(statistics.maxMillis()))
+            );
+        }
+    }
+
+    private void sendDatabaseMetrics(final @NonNull PlotPlayer<?> player, final @NonNull String[] args) {
+        if (!(DBFunc.dbManager instanceof SQLManager sqlManager)) {
+            player.sendMessage(TranslatableCaption.of("debug.database_unavailable"));
+            return;
+        }
+        final DatabaseMetrics metrics = sqlManager.getMetrics();
+        if (args.length > 1 && "dump".equalsIgnoreCase(args[1])) {
+            final File file = FileUtils.getFile(
+                    PlotSquared.platform().getDirectory(),
+                    "slow-statements-" + System.currentTimeMillis() + ".txt"
+            );
+            TaskManager.runTaskAsync(() -> {
+                try {
+                    metrics.writeSlowStatements(file.toPath());
+                    player.sendMessage(TranslatableCaption.of("debug.database_dumped"), Template.of("file", file.getName()));
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                    player.sendMessage(TranslatableCaption.of("debug.database_dump_failed"));
+                }
+            });
+            return;
+        }
+        player.sendMessage(TranslatableCaption.of("debug.database_header"));
+        for (final DatabaseMetrics.QueueType type : DatabaseMetrics.QueueType.values()) {
+            player.sendMessage(
+                    TranslatableCaption.of("debug.database_queue"),
+                    Template.of("queue", type.name().toLowerCase(Locale.ENGLISH)),
+                    Template.of("depth", String.valueOf(sqlManager.getQueueDepth(type))),
+                    Template.of("enqueued", String.valueOf(metrics.getEnqueued(type))),
+                    Template.of("dequeued", String.valueOf(metrics.getDequeued(type)))
+            );
+        }
+        for (final Map.Entry<String, DatabaseMetrics.Histogram> entry : List.of(
+                Map.entry("queue to commit", metrics.getCommitLatency()),
+                Map.entry("commit", metrics.getCommitDuration())
+        )) {
+            final DatabaseMetrics.Histogram histogram = entry.getValue();
+            player.sendMessage(
+                    TranslatableCaption.of("debug.database_latency"),
+                    Template.of("name", entry.getKey()),
+                    Template.of("count", String.valueOf(histogram.getCount())),
+                    Template.of("average", String.valueOf(histogram.getAverageMicros())),
+                    Template.of("p50", String.valueOf(histogram.getPercentileMicros(0.5))),
+                    Template.of("p99", String.valueOf(histogram.getPercentileMicros(0.99))),
+                    Template.of("max", String.valueOf(histogram.getMaxMicros()))
+            );
+        }
+        metrics.getMethods().stream().limit(5).forEach(method -> player.sendMessage(
+                TranslatableCaption.of("debug.database_method"),
+                Template.of("method", method.method()),
+                Template.of("batches", String.valueOf(method.batches())),
+                Template.of("batch_size", String.format(Locale.ENGLISH, "%.1f", method.averageBatchSize())),
+                Template.of("total", String.format(Locale.ENGLISH, "%.2f", method.totalNanos() / 1e6)),
+                Template.of("max", String.format(Locale.ENGLISH, "%.2f", method.maxNanos() / 1e6))
+        ));
+        metrics.getSlowStatements().stream().limit(5).forEach(statement -> player.sendMessage(
+                TranslatableCaption.of("debug.database_slow_statement"),
+                Template.of("method", statement.method()),
+                Template.of("batch_size", String.valueOf(statement.batchSize())),
+                Template.of("time", String.format(Locale.ENGLISH, "%.2f", statement.nanos() / 1e6)),
+                Template.of("ago", TimeUtil.secToTime((System.currentTimeMillis() - statement.timestamp()) / 1000))
+        ));
+    }
+
     @Override
     public Collection<Command> tab(final PlotPlayer<?> player, String[] args, boolean space) {
-        return Stream.of("loadedchunks", "debug-players", "entitytypes")
+        return Stream.of("loadedchunks", "debug-players", "entitytypes", "entitycounts", "timings", "database", "queues")
                 .filter(value -> value.startsWith(args[0].toLowerCase(Locale.ENGLISH)))
                 .map(value -> new Command(null, false, value, "plots.admin", RequiredType.NONE, null) {
                 }).collect(Collectors.toList());
@@ -35,6 +35,7 @@ import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingAggregate;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.Permissions;
@@ -76,15 +77,8 @@ public class Like extends SubCommand {
         if (!plot.hasRatings()) {
             return 0;
         }
-        final Collection<Boolean> reactions = plot.getLikes().values();
-        double numLikes = 0, numDislikes = 0;
-        for (final boolean reaction : reactions) {
-            if (reaction) {
-                numLikes += 1;
-            } else {
-                numDislikes += 1;
-            }
-        }
+        final RatingAggregate reactions = plot.getRatingAggregate();
+        double numLikes = reactions.getLikes(), numDislikes = reactions.getCount() - reactions.getLikes();
         if (numLikes == 0 && numDislikes == 0) {
             return 0D;
         } else if (numDislikes == 0) {
@@ -37,6 +37,7 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotInventory;
 import com.plotsquared.core.plot.PlotItemStack;
 import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingAggregate;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.InventoryUtil;
@@ -53,7 +54,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -84,18 +84,10 @@ public class Rate extends SubCommand {
                 case "next" -> {
                     final List<Plot> plots = PlotQuery.newQuery().whereBasePlot().asList();
                     plots.sort((p1, p2) -> {
-                        double v1 = 0;
-                        if (!p1.getRatings().isEmpty()) {
-                            for (Entry<UUID, Rating> entry : p1.getRatings().entrySet()) {
-                                v1 -= 11 - entry.getValue().getAverageRating();
-                            }
-                        }
-                        double v2 = 0;
-                        if (!p2.getRatings().isEmpty()) {
-                            for (Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
-                                v2 -= 11 - entry.getValue().getAverageRating();
-                            }
-                        }
+                        RatingAggregate r1 = p1.getRatingAggregate();
+                        RatingAggregate r2 = p2.getRatingAggregate();
+                        double v1 = r1.getSum() - 11 * r1.getCount();
+                        double v2 = r2.getSum() - 11 * r2.getCount();
                         if (v1 == v2) {
                             return -0;
                         }
@@ -36,6 +36,7 @@ import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
@@ -199,6 +200,7 @@ public class Trim extends SubCommand {
                                 }
                             }
                             final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
+                            queue.setOperation(QueueOperation.TRIM);
                             TaskManager.getPlatformImplementation().objectTask(chunks, new RunnableVal<>() {
                                 @Override
                                 public void run(BlockVector2 value) {
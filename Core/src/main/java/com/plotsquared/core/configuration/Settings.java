@@ -229,7 +229,9 @@ public class Settings extends Config {
                 AUTO_TRIM = false;
         @Comment("Max tile entities per chunk")
         public static int MAX_TILES = 4096;
-        @Comment("Max entities per chunk")
+        @Comment({"Max entities per chunk",
+                "With the Paper entity counter enabled, creature spawns are checked against the tracked count,",
+                "which can be off by misc entities that changed chunks since the last full count"})
         public static int MAX_ENTITIES = 512;
         @Comment("Disable block physics")
         public static boolean DISABLE_PHYSICS = false;
@@ -585,6 +587,21 @@ public class Settings extends Config {
     }
 
 
+    @Comment("Settings for plot worlds, see Enabled_Components.WORLDS")
+    public static final class Plot_Worlds {
+
+        @Comment({"Amount of prepared copies of the 0_0 template world kept ready",
+                "New plot worlds are created from these instead of copying the template when they are first loaded"})
+        public static int POOL_SIZE = 2;
+        @Comment({"Amount of plot worlds without players to keep loaded",
+                "Once exceeded, the least recently used worlds are unloaded first"})
+        public static int MAX_IDLE_WORLDS = 4;
+        @Comment("Unload all plot worlds without players while more than this percentage of the maximum heap is used")
+        public static int MAX_MEMORY_USAGE = 80;
+
+    }
+
+
     @Comment("Redstone related settings")
     public static final class Redstone {
 
@@ -663,6 +680,14 @@ public class Settings extends Config {
         public static boolean TILE_ENTITY_CHECK = true;
         @Comment("Use Paper's async tab completion")
         public static boolean ASYNC_TAB_COMPLETION;
+        @Comment({"Keep track of the entities in every plot instead of counting them for entity cap flags",
+                "This listens to the movement of every living entity, so only enable it if entity caps or the",
+                "the creature spawn check of the chunk processor's entity limit are used on a server with many entities",
+                "Tracked counts are corrected by a full count every ENTITY_COUNTER_RECOUNT_INTERVAL seconds"})
+        public static boolean ENTITY_COUNTER = false;
+        @Comment({"Seconds between full entity counts. Projectiles, dropped items and other misc entities do not",
+                "fire move events, so their plot and chunk counts can be off by up to this long"})
+        public static int ENTITY_COUNTER_RECOUNT_INTERVAL = 300;
 
     }
 
@@ -783,6 +808,9 @@ public class Settings extends Config {
         @Comment("Make road regeneration persistent across restarts")
         public static boolean
                 PERSISTENT_ROAD_REGEN = true;
+        @Comment({"Record per-handler timings of PlotSquared's event listeners from startup",
+                "Recording can also be toggled at runtime with `/plot debug timings <on | off>`"})
+        public static boolean LISTENER_TIMINGS = false;
         @Comment({"Enable the `/plot component` preset GUI",
                 "Read more about components here: https://intellectualsites.github.io/plotsquared-documentation/customization/plot-components"})
         public static boolean COMPONENT_PRESETS = true;
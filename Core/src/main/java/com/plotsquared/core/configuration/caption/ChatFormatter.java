@@ -45,6 +45,17 @@ public interface ChatFormatter {
      */
     void format(@NonNull ChatContext context);
 
+    /**
+     * Whether the formatted message depends on the recipient, rather than only on the message. Messages
+     * are only reused between recipients if no formatter depends on the recipient.
+     *
+     * @return {@code true} if the output depends on the recipient
+     * @since TODO
+     */
+    default boolean isRecipientDependent() {
+        return true;
+    }
+
     final class ChatContext {
 
         private final PlotPlayer<?> recipient;
@@ -0,0 +1,173 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.configuration.caption;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.Template;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Cache of parsed MiniMessage components, used when sending captions to players.
+ * <p>
+ * A translatable caption is prepared for sending (formatted, with the prefix inserted) once per
+ * locale, and its parsed component is cached per locale, caption and template values. The
+ * template values are filled in when a message is parsed, so a caption that is sent again with
+ * the same values (such as flag deny messages, greetings and farewells) is neither formatted nor
+ * parsed again. Components are immutable, so they can be shared between recipients. Captions are
+ * prepared for every recipient if a {@link ChatFormatter} depends on the recipient. The cache is
+ * invalidated when the captions are reloaded.
+ */
+public final class ParsedMessageCache {
+
+    private static final Cache<CaptionKey, String> MESSAGES = CacheBuilder.newBuilder().maximumSize(2048).build();
+    private static final Cache<Key, Component> CACHE = CacheBuilder.newBuilder().maximumSize(2048).build();
+
+    private ParsedMessageCache() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Parse a caption for a recipient. The caption is prepared for sending by {@code prepare}, which
+     * for a translatable caption is only called once per locale unless a {@link ChatFormatter}
+     * depends on the recipient.
+     *
+     * @param caption      Caption to parse
+     * @param recipient    Recipient of the message
+     * @param prepare      Prepares the MiniMessage string of the caption for the recipient
+     * @param replacements Templates
+     * @return Parsed component, or {@code null} if the prepared message is empty
+     * @since TODO
+     */
+    public static @Nullable Component parse(
+            final @NonNull Caption caption,
+            final @NonNull LocaleHolder recipient,
+            final @NonNull Supplier<String> prepare,
+            final @NonNull Template... replacements
+    ) {
+        if (!(caption instanceof TranslatableCaption translatableCaption) || isRecipientDependent()) {
+            final String message = prepare.get();
+            return message.isEmpty() ? null : parse(message, replacements);
+        }
+        final CaptionKey captionKey = new CaptionKey(recipient.getLocale(), translatableCaption);
+        String message = MESSAGES.getIfPresent(captionKey);
+        if (message == null) {
+            message = prepare.get();
+            MESSAGES.put(captionKey, message);
+        }
+        if (message.isEmpty()) {
+            return null;
+        }
+        return parse(captionKey, message, replacements);
+    }
+
+    /**
+     * Parse a MiniMessage string with the given templates, reusing the component of a previous
+     * parse of the same message and template values if possible
+     *
+     * @param message      MiniMessage string
+     * @param replacements Templates
+     * @return Parsed component
+     */
+    public static @NonNull Component parse(final @NonNull String message, final @NonNull Template... replacements) {
+        return parse(message, message, replacements);
+    }
+
+    private static @NonNull Component parse(
+            final @NonNull Object id,
+            final @NonNull String message,
+            final @NonNull Template... replacements
+    ) {
+        final Key key = Key.of(id, replacements);
+        if (key == null) {
+            return MiniMessage.get().parse(message, replacements);
+        }
+        final Component cached = CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Component component = MiniMessage.get().parse(message, replacements);
+        CACHE.put(key, component);
+        return component;
+    }
+
+    private static boolean isRecipientDependent() {
+        for (final ChatFormatter formatter : ChatFormatter.formatters) {
+            if (formatter.isRecipientDependent()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove all cached messages and components, this needs to be called when the caption maps are reloaded
+     */
+    public static void invalidate() {
+        MESSAGES.invalidateAll();
+        CACHE.invalidateAll();
+    }
+
+    private record CaptionKey(@NonNull Locale locale, @NonNull TranslatableCaption caption) {
+
+    }
+
+    /**
+     * @param message   Either a MiniMessage string, or the {@link CaptionKey} of a prepared caption
+     * @param templates Keys and values of the templates
+     */
+    private record Key(@NonNull Object message, @NonNull List<Object> templates) {
+
+        /**
+         * Create a cache key, or {@code null} if any template is of an unknown type
+         */
+        static @Nullable Key of(final @NonNull Object message, final @NonNull Template... replacements) {
+            final List<Object> templates = new ArrayList<>(replacements.length * 2);
+            for (final Template template : replacements) {
+                if (template instanceof Template.StringTemplate stringTemplate) {
+                    templates.add(stringTemplate.key());
+                    templates.add(stringTemplate.value());
+                } else if (template instanceof Template.ComponentTemplate componentTemplate) {
+                    templates.add(componentTemplate.key());
+                    templates.add(componentTemplate.value());
+                } else {
+                    return null;
+                }
+            }
+            return new Key(message, templates);
+        }
+
+    }
+
+}
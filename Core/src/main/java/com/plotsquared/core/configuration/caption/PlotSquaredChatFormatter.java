@@ -37,4 +37,9 @@ public class PlotSquaredChatFormatter implements ChatFormatter {
         }
     }
 
+    @Override
+    public boolean isRecipientDependent() {
+        return false;
+    }
+
 }
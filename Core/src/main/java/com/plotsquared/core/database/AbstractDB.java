@@ -347,6 +347,14 @@ public interface AbstractDB {
      */
     void getComments(@NonNull Plot plot, String inbox, RunnableVal<List<PlotComment>> whenDone);
 
+    /**
+     * Get every stored comment. This is a blocking call intended for startup.
+     *
+     * @return all comments
+     * @since TODO
+     */
+    List<PlotComment> getAllComments();
+
     void createPlotAndSettings(Plot plot, Runnable whenDone);
 
     void createCluster(PlotCluster cluster);
@@ -29,13 +29,16 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.comment.CommentManager;
 import com.plotsquared.core.plot.comment.PlotComment;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -266,6 +269,7 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.deleteComments(plot);
+        CommentManager.getIndex().clear(plot);
     }
 
     /**
@@ -393,6 +397,7 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.removeComment(plot, comment);
+        CommentManager.getIndex().remove(plot, comment);
     }
 
     public static void clearInbox(Plot plot, String inbox) {
@@ -400,6 +405,11 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.clearInbox(plot, inbox);
+        if (plot != null) {
+            CommentManager.getIndex().clear(plot, inbox);
+        } else {
+            CommentManager.getIndex().clear(inbox);
+        }
     }
 
     /**
@@ -411,6 +421,9 @@ public class DBFunc {
             return;
         }
         DBFunc.dbManager.setComment(plot, comment);
+        if (plot != null) {
+            CommentManager.getIndex().add(plot, comment);
+        }
     }
 
     /**
@@ -423,9 +436,27 @@ public class DBFunc {
         if (plot != null && plot.temp == -1 || dbManager == null) {
             return;
         }
+        if (plot != null && CommentManager.getIndex().isLoaded()) {
+            whenDone.value = CommentManager.getIndex().getComments(plot, inbox);
+            TaskManager.runTask(whenDone);
+            return;
+        }
         DBFunc.dbManager.getComments(plot, inbox, whenDone);
     }
 
+    /**
+     * Get all stored plot comments, used to fill the {@link CommentManager#getIndex() comment index}
+     *
+     * @return Comments, using the plot area name as world
+     * @since TODO
+     */
+    public static List<PlotComment> getAllComments() {
+        if (dbManager == null) {
+            return new ArrayList<>();
+        }
+        return DBFunc.dbManager.getAllComments();
+    }
+
     /**
      * @param plot
      * @param uuid
@@ -0,0 +1,396 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the statement queues of {@link SQLManager}.
+ * <p>
+ * Tracks how many statements went through each queue, how long they waited between being queued and
+ * being committed, how statements of each method were batched and how long the batches took to
+ * execute. Batches slower than {@link #SLOW_STATEMENT_THRESHOLD} are kept in a fixed size log.
+ *
+ * @since TODO
+ */
+public final class DatabaseMetrics {
+
+    /**
+     * Batches taking at least this many nanoseconds are added to the slow statement log.
+     */
+    static final long SLOW_STATEMENT_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(50);
+    /**
+     * Number of entries kept in the slow statement log.
+     */
+    static final int SLOW_STATEMENT_LOG_SIZE = 128;
+
+    private final LongAdder[] enqueued = new LongAdder[QueueType.values().length];
+    private final LongAdder[] dequeued = new LongAdder[QueueType.values().length];
+    private final Histogram commitLatency = new Histogram();
+    private final Histogram commitDuration = new Histogram();
+    private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private final long slowThreshold;
+    private final SlowStatement[] slowStatements;
+    private long slowStatementCount;
+    // Queue timestamps of the statements in the current transaction
+    private long[] uncommitted = new long[64];
+    private int uncommittedSize;
+
+    DatabaseMetrics() {
+        this(SLOW_STATEMENT_THRESHOLD, SLOW_STATEMENT_LOG_SIZE);
+    }
+
+    DatabaseMetrics(final long slowThreshold, final int slowLogSize) {
+        for (int i = 0; i < this.enqueued.length; i++) {
+            this.enqueued[i] = new LongAdder();
+            this.dequeued[i] = new LongAdder();
+        }
+        this.slowThreshold = slowThreshold;
+        this.slowStatements = new SlowStatement[slowLogSize];
+    }
+
+    void enqueued(final @NonNull QueueType type) {
+        this.enqueued[type.ordinal()].increment();
+    }
+
+    /**
+     * Record that a task was taken from its queue, without a queue timestamp
+     *
+     * @param type queue the task was taken from
+     */
+    void dequeued(final @NonNull QueueType type) {
+        this.dequeued[type.ordinal()].increment();
+    }
+
+    /**
+     * Record that a statement was taken from its queue and added to the current transaction
+     *
+     * @param type   queue the statement was taken from
+     * @param queued {@link System#nanoTime()} at which the statement was queued
+     */
+    synchronized void dequeued(final @NonNull QueueType type, final long queued) {
+        this.dequeued[type.ordinal()].increment();
+        if (this.uncommittedSize == this.uncommitted.length) {
+            this.uncommitted = Arrays.copyOf(this.uncommitted, this.uncommittedSize * 2);
+        }
+        this.uncommitted[this.uncommittedSize++] = queued;
+    }
+
+    /**
+     * Execute a batch of statements and record it under the name of the statement
+     *
+     * @param task      the last statement of the batch
+     * @param statement the prepared statement
+     * @param size      number of statements in the batch
+     * @throws SQLException if the batch failed
+     */
+    void execute(
+            final SQLManager.@NonNull UniqueStatement task,
+            final @NonNull PreparedStatement statement,
+            final int size
+    ) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            task.execute(statement);
+        } finally {
+            batch(task.getName(), size, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a batch of statements that was executed
+     *
+     * @param method name of the statement
+     * @param size   number of statements in the batch
+     * @param nanos  time spent executing the batch
+     */
+    void batch(final @NonNull String method, final int size, final long nanos) {
+        this.methods.computeIfAbsent(method, MethodStats::new).record(size, nanos);
+        if (nanos >= this.slowThreshold && this.slowStatements.length > 0) {
+            final SlowStatement slowStatement = new SlowStatement(System.currentTimeMillis(), method, size, nanos);
+            synchronized (this.slowStatements) {
+                this.slowStatements[(int) (this.slowStatementCount++ % this.slowStatements.length)] = slowStatement;
+            }
+        }
+    }
+
+    /**
+     * Record a commit of the current transaction, which completes all statements that were dequeued since
+     * the previous commit
+     *
+     * @param nanos time spent committing
+     */
+    synchronized void committed(final long nanos) {
+        this.commitDuration.record(nanos);
+        final long now = System.nanoTime();
+        for (int i = 0; i < this.uncommittedSize; i++) {
+            this.commitLatency.record(now - this.uncommitted[i]);
+        }
+        this.uncommittedSize = 0;
+    }
+
+    /**
+     * Get the number of statements that have been added to a queue
+     *
+     * @param type queue type
+     * @return queued statements
+     */
+    public long getEnqueued(final @NonNull QueueType type) {
+        return this.enqueued[type.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of statements that have been taken from a queue to be executed
+     *
+     * @param type queue type
+     * @return dequeued statements
+     */
+    public long getDequeued(final @NonNull QueueType type) {
+        return this.dequeued[type.ordinal()].sum();
+    }
+
+    /**
+     * Get the time statements spent between being queued and being committed
+     *
+     * @return latency histogram
+     */
+    public @NonNull Histogram getCommitLatency() {
+        return this.commitLatency;
+    }
+
+    /**
+     * Get the time spent committing transactions
+     *
+     * @return commit duration histogram
+     */
+    public @NonNull Histogram getCommitDuration() {
+        return this.commitDuration;
+    }
+
+    /**
+     * Get batch counters per statement name, most expensive first
+     *
+     * @return method snapshots
+     */
+    public @NonNull List<MethodSnapshot> getMethods() {
+        final List<MethodSnapshot> snapshots = new ArrayList<>(this.methods.size());
+        for (final MethodStats stats : this.methods.values()) {
+            snapshots.add(stats.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(MethodSnapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Get the slow statement log, most recent first
+     *
+     * @return slow statements
+     */
+    public @NonNull List<SlowStatement> getSlowStatements() {
+        synchronized (this.slowStatements) {
+            final int size = (int) Math.min(this.slowStatementCount, this.slowStatements.length);
+            final List<SlowStatement> list = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                list.add(this.slowStatements[(int) ((this.slowStatementCount - i) % this.slowStatements.length)]);
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Write the slow statement log to a file, one statement per line, most recent first
+     *
+     * @param path file to write to
+     * @throws IOException if the file could not be written
+     */
+    public void writeSlowStatements(final @NonNull Path path) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (final SlowStatement statement : getSlowStatements()) {
+            lines.add(Instant.ofEpochMilli(statement.timestamp()) + " " + statement.method() + " batch="
+                    + statement.batchSize() + " time=" + TimeUnit.NANOSECONDS.toMicros(statement.nanos()) + "us");
+        }
+        Files.write(path, lines);
+    }
+
+
+    /**
+     * The queues statements are submitted to
+     */
+    public enum QueueType {
+        /**
+         * Tasks that run on their own, in their own transaction
+         */
+        GLOBAL,
+        PLOT,
+        PLAYER,
+        CLUSTER
+    }
+
+
+    /**
+     * Histogram with power of two microsecond buckets
+     */
+    public static final class Histogram {
+
+        private static final int BUCKETS = 40;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        void record(final long nanos) {
+            final long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+            this.buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+            this.count.increment();
+            this.sum.add(micros);
+            this.max.accumulate(micros);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getMaxMicros() {
+            return this.max.get();
+        }
+
+        public long getAverageMicros() {
+            final long count = getCount();
+            return count == 0 ? 0 : this.sum.sum() / count;
+        }
+
+        /**
+         * Get an upper bound of the given percentile
+         *
+         * @param percentile percentile, between 0 and 1
+         * @return upper bound in microseconds, never more than the recorded maximum
+         */
+        public long getPercentileMicros(final double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += this.buckets.get(i);
+            }
+            final long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += this.buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return Math.min((1L << i) - 1, getMaxMicros());
+                }
+            }
+            return 0;
+        }
+
+    }
+
+
+    private static final class MethodStats {
+
+        private final String method;
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private MethodStats(final @NonNull String method) {
+            this.method = method;
+        }
+
+        private void record(final int size, final long nanos) {
+            this.batches.increment();
+            this.statements.add(size);
+            this.maxBatchSize.accumulate(size);
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+        }
+
+        private @NonNull MethodSnapshot snapshot() {
+            return new MethodSnapshot(
+                    this.method,
+                    this.batches.sum(),
+                    this.statements.sum(),
+                    this.maxBatchSize.get(),
+                    this.totalNanos.sum(),
+                    this.maxNanos.get()
+            );
+        }
+
+    }
+
+
+    /**
+     * Batch counters of a single statement name
+     *
+     * @param method       statement name
+     * @param batches      number of executed batches
+     * @param statements   number of statements in all batches
+     * @param maxBatchSize largest batch
+     * @param totalNanos   time spent executing all batches
+     * @param maxNanos     slowest batch
+     */
+    public record MethodSnapshot(
+            @NonNull String method, long batches, long statements, long maxBatchSize, long totalNanos, long maxNanos
+    ) {
+
+        public double averageBatchSize() {
+            return this.batches == 0 ? 0 : (double) this.statements / this.batches;
+        }
+
+    }
+
+
+    /**
+     * A batch that took at least the slow statement threshold to execute
+     *
+     * @param timestamp epoch millisecond at which the batch completed
+     * @param method    statement name
+     * @param batchSize number of statements in the batch
+     * @param nanos     execution time
+     */
+    public record SlowStatement(long timestamp, @NonNull String method, int batchSize, long nanos) {
+
+    }
+
+}
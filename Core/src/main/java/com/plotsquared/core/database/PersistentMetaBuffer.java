@@ -0,0 +1,158 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for the {@code player_meta} table.
+ * <p>
+ * Only the latest value of each (player, key) pair is kept, and pending changes are written in a single batch
+ * once {@link #isFlushDue(long)} says so, instead of issuing one statement per change.
+ */
+final class PersistentMetaBuffer {
+
+    /**
+     * How long changes may stay buffered.
+     */
+    static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+    /**
+     * Number of buffered changes that triggers a flush regardless of the interval.
+     */
+    static final int FLUSH_SIZE = 1000;
+
+    /**
+     * Marks a removed key. Compared by identity, so it cannot clash with an empty value.
+     */
+    private static final byte[] REMOVED = new byte[0];
+
+    private Map<MetaKey, byte[]> pending = new LinkedHashMap<>();
+    private long lastFlush;
+
+    PersistentMetaBuffer(final long now) {
+        this.lastFlush = now;
+    }
+
+    synchronized void set(final @NonNull UUID uuid, final @NonNull String key, final byte[] value) {
+        this.pending.put(new MetaKey(uuid, key), value);
+    }
+
+    synchronized void remove(final @NonNull UUID uuid, final @NonNull String key) {
+        this.pending.put(new MetaKey(uuid, key), REMOVED);
+    }
+
+    synchronized int size() {
+        return this.pending.size();
+    }
+
+    synchronized boolean isFlushDue(final long now) {
+        return !this.pending.isEmpty() && (this.pending.size() >= FLUSH_SIZE || now - this.lastFlush >= FLUSH_INTERVAL);
+    }
+
+    /**
+     * Applies the buffered changes of a player to meta loaded from the database, which does not contain them yet.
+     *
+     * @param uuid player uuid
+     * @param meta meta loaded from the database
+     */
+    synchronized void applyPending(final @NonNull UUID uuid, final @NonNull Map<String, byte[]> meta) {
+        for (final Map.Entry<MetaKey, byte[]> entry : this.pending.entrySet()) {
+            if (!entry.getKey().uuid().equals(uuid)) {
+                continue;
+            }
+            if (entry.getValue() == REMOVED) {
+                meta.remove(entry.getKey().key());
+            } else {
+                meta.put(entry.getKey().key(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered changes. Every key is deleted and, unless it was removed, inserted again, so the
+     * result does not depend on which rows already exist. The caller is responsible for the transaction;
+     * if writing fails the changes are buffered again, without overriding newer ones.
+     *
+     * @param connection database connection
+     * @param prefix     table prefix
+     * @param now        current time in millis
+     * @return the number of keys written
+     * @throws SQLException if the statements fail
+     */
+    int flush(final @NonNull Connection connection, final @NonNull String prefix, final long now) throws SQLException {
+        final Map<MetaKey, byte[]> batch;
+        synchronized (this) {
+            this.lastFlush = now;
+            if (this.pending.isEmpty()) {
+                return 0;
+            }
+            batch = this.pending;
+            this.pending = new LinkedHashMap<>();
+        }
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM `" + prefix + "player_meta` WHERE `uuid` = ? AND `key` = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO `" + prefix + "player_meta`(`uuid`, `key`, `value`) VALUES(?, ?, ?)")) {
+            boolean inserts = false;
+            for (final Map.Entry<MetaKey, byte[]> entry : batch.entrySet()) {
+                final String uuid = entry.getKey().uuid().toString();
+                delete.setString(1, uuid);
+                delete.setString(2, entry.getKey().key());
+                delete.addBatch();
+                if (entry.getValue() != REMOVED) {
+                    insert.setString(1, uuid);
+                    insert.setString(2, entry.getKey().key());
+                    insert.setBytes(3, entry.getValue());
+                    insert.addBatch();
+                    inserts = true;
+                }
+            }
+            delete.executeBatch();
+            if (inserts) {
+                insert.executeBatch();
+            }
+        } catch (SQLException e) {
+            synchronized (this) {
+                batch.forEach(this.pending::putIfAbsent);
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+
+    private record MetaKey(@NonNull UUID uuid, @NonNull String key) {
+
+    }
+
+}
@@ -32,6 +32,7 @@ import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.Storage;
 import com.plotsquared.core.configuration.caption.CaptionUtility;
 import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.database.DatabaseMetrics.QueueType;
 import com.plotsquared.core.inject.annotations.WorldConfig;
 import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.BlockLoc;
@@ -128,6 +129,11 @@ public class SQLManager implements AbstractDB {
      * player_meta
      */
     public volatile ConcurrentHashMap<UUID, Queue<UniqueStatement>> playerTasks;
+    /**
+     * player_meta writes, coalesced per player and key
+     */
+    private final PersistentMetaBuffer persistentMeta = new PersistentMetaBuffer(System.currentTimeMillis());
+    private final DatabaseMetrics metrics = new DatabaseMetrics();
     /**
      * cluster
      * cluster_helpers
@@ -200,15 +206,22 @@ public class SQLManager implements AbstractDB {
         TaskManager.runTaskAsync(() -> {
             long last = System.currentTimeMillis();
             while (!SQLManager.this.closed) {
+                boolean metaDue = persistentMeta.isFlushDue(System.currentTimeMillis());
                 boolean hasTask =
                         !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
                                 || !clusterTasks.isEmpty();
-                if (hasTask) {
+                // The connection is checked before anything is written, including a meta flush on its own
+                if (metaDue || hasTask) {
                     if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
                             || !isValid()) {
                         last = System.currentTimeMillis();
                         reconnect();
                     }
+                }
+                if (metaDue) {
+                    flushPersistentMeta();
+                }
+                if (hasTask) {
                     if (!sendBatch()) {
                         try {
                             if (!getNotifyTasks().isEmpty()) {
@@ -274,7 +287,7 @@ public class SQLManager implements AbstractDB {
             this.plotTasks.put(plot, tasks);
         }
         if (task == null) {
-            task = new UniqueStatement(String.valueOf(plot.hashCode())) {
+            task = new UniqueStatement(String.valueOf(plot.hashCode()), "placeholder") {
 
                 @Override
                 public PreparedStatement get() {
@@ -295,7 +308,9 @@ public class SQLManager implements AbstractDB {
 
             };
         }
+        task.queued = System.nanoTime();
         tasks.add(task);
+        this.metrics.enqueued(QueueType.PLOT);
     }
 
     public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
@@ -308,7 +323,7 @@ public class SQLManager implements AbstractDB {
             this.playerTasks.put(uuid, tasks);
         }
         if (task == null) {
-            task = new UniqueStatement(String.valueOf(uuid.hashCode())) {
+            task = new UniqueStatement(String.valueOf(uuid.hashCode()), "placeholder") {
 
                 @Override
                 public PreparedStatement get() {
@@ -329,7 +344,9 @@ public class SQLManager implements AbstractDB {
 
             };
         }
+        task.queued = System.nanoTime();
         tasks.add(task);
+        this.metrics.enqueued(QueueType.PLAYER);
     }
 
     public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
@@ -339,7 +356,7 @@ public class SQLManager implements AbstractDB {
             this.clusterTasks.put(cluster, tasks);
         }
         if (task == null) {
-            task = new UniqueStatement(String.valueOf(cluster.hashCode())) {
+            task = new UniqueStatement(String.valueOf(cluster.hashCode()), "placeholder") {
 
                 @Override
                 public PreparedStatement get() {
@@ -360,11 +377,14 @@ public class SQLManager implements AbstractDB {
 
             };
         }
+        task.queued = System.nanoTime();
         tasks.add(task);
+        this.metrics.enqueued(QueueType.CLUSTER);
     }
 
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
+        this.metrics.enqueued(QueueType.GLOBAL);
     }
 
     public synchronized void addNotifyTask(Runnable task) {
@@ -380,9 +400,12 @@ public class SQLManager implements AbstractDB {
                     this.connection.setAutoCommit(false);
                 }
                 Runnable task = getGlobalTasks().remove();
+                this.metrics.dequeued(QueueType.GLOBAL);
                 if (task != null) {
+                    final long start = System.nanoTime();
                     try {
                         task.run();
+                        this.metrics.batch("globalTask", 1, System.nanoTime() - start);
                     } catch (Throwable e) {
                         LOGGER.error("============ DATABASE ERROR ============");
                         LOGGER.error("============ DATABASE ERROR ============");
@@ -392,7 +415,7 @@ public class SQLManager implements AbstractDB {
                         LOGGER.error("========================================");
                     }
                 }
-                commit();
+                timedCommit();
                 return true;
             }
             int count = -1;
@@ -405,6 +428,7 @@ public class SQLManager implements AbstractDB {
                 PreparedStatement statement = null;
                 UniqueStatement task = null;
                 UniqueStatement lastTask = null;
+                int batch = 0;
                 Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
                         this.plotTasks.entrySet().iterator();
                 while (iterator.hasNext()) {
@@ -418,17 +442,20 @@ public class SQLManager implements AbstractDB {
                         task = tasks.remove();
                         count++;
                         if (task != null) {
+                            this.metrics.dequeued(QueueType.PLOT, task.queued);
                             if (task.method == null || !task.method.equals(method)
                                     || statement == null) {
                                 if (statement != null) {
-                                    lastTask.execute(statement);
+                                    this.metrics.execute(lastTask, statement, batch);
                                     statement.close();
                                 }
                                 method = task.method;
                                 statement = task.get();
+                                batch = 0;
                             }
                             task.set(statement);
                             task.addBatch(statement);
+                            batch++;
                             try {
                                 if (statement.isClosed()) {
                                     statement = null;
@@ -447,7 +474,7 @@ public class SQLManager implements AbstractDB {
                     }
                 }
                 if (statement != null && task != null) {
-                    task.execute(statement);
+                    this.metrics.execute(task, statement, batch);
                     statement.close();
                 }
             }
@@ -460,6 +487,7 @@ public class SQLManager implements AbstractDB {
                 PreparedStatement statement = null;
                 UniqueStatement task = null;
                 UniqueStatement lastTask = null;
+                int batch = 0;
                 for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
                     try {
                         UUID uuid = entry.getKey();
@@ -470,16 +498,19 @@ public class SQLManager implements AbstractDB {
                         task = this.playerTasks.get(uuid).remove();
                         count++;
                         if (task != null) {
+                            this.metrics.dequeued(QueueType.PLAYER, task.queued);
                             if (task.method == null || !task.method.equals(method)) {
                                 if (statement != null) {
-                                    lastTask.execute(statement);
+                                    this.metrics.execute(lastTask, statement, batch);
                                     statement.close();
                                 }
                                 method = task.method;
                                 statement = task.get();
+                                batch = 0;
                             }
                             task.set(statement);
                             task.addBatch(statement);
+                            batch++;
                         }
                         lastTask = task;
                     } catch (Throwable e) {
@@ -492,7 +523,7 @@ public class SQLManager implements AbstractDB {
                     }
                 }
                 if (statement != null && task != null) {
-                    task.execute(statement);
+                    this.metrics.execute(task, statement, batch);
                     statement.close();
                 }
             }
@@ -505,6 +536,7 @@ public class SQLManager implements AbstractDB {
                 PreparedStatement statement = null;
                 UniqueStatement task = null;
                 UniqueStatement lastTask = null;
+                int batch = 0;
                 for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
                         .entrySet()) {
                     try {
@@ -516,16 +548,19 @@ public class SQLManager implements AbstractDB {
                         task = this.clusterTasks.get(cluster).remove();
                         count++;
                         if (task != null) {
+                            this.metrics.dequeued(QueueType.CLUSTER, task.queued);
                             if (task.method == null || !task.method.equals(method)) {
                                 if (statement != null) {
-                                    lastTask.execute(statement);
+                                    this.metrics.execute(lastTask, statement, batch);
                                     statement.close();
                                 }
                                 method = task.method;
                                 statement = task.get();
+                                batch = 0;
                             }
                             task.set(statement);
                             task.addBatch(statement);
+                            batch++;
                         }
                         lastTask = task;
                     } catch (Throwable e) {
@@ -538,12 +573,12 @@ public class SQLManager implements AbstractDB {
                     }
                 }
                 if (statement != null && task != null) {
-                    task.execute(statement);
+                    this.metrics.execute(task, statement, batch);
                     statement.close();
                 }
             }
             if (count > 0) {
-                commit();
+                timedCommit();
                 return true;
             }
             if (count != -1) {
@@ -572,6 +607,32 @@ public class SQLManager implements AbstractDB {
         return this.connection;
     }
 
+    /**
+     * Get the statement queue counters of this database
+     *
+     * @return database metrics
+     * @since TODO
+     */
+    public @NonNull DatabaseMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Get the number of statements currently waiting in a queue
+     *
+     * @param type queue type
+     * @return queued statements
+     * @since TODO
+     */
+    public int getQueueDepth(final @NonNull QueueType type) {
+        return switch (type) {
+            case GLOBAL -> this.globalTasks.size();
+            case PLOT -> this.plotTasks.values().stream().mapToInt(Queue::size).sum();
+            case PLAYER -> this.playerTasks.values().stream().mapToInt(Queue::size).sum();
+            case CLUSTER -> this.clusterTasks.values().stream().mapToInt(Queue::size).sum();
+        };
+    }
+
     /**
      * Set Plot owner
      *
@@ -1052,7 +1113,7 @@ public class SQLManager implements AbstractDB {
     }
 
     public void createPlotSafe(final Plot plot, final Runnable success, final Runnable failure) {
-        addPlotTask(plot, new UniqueStatement("createPlotSafe_" + plot.hashCode()) {
+        addPlotTask(plot, new UniqueStatement("createPlotSafe_" + plot.hashCode(), "createPlotSafe") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, plot.getId().getX());
@@ -1086,7 +1147,9 @@ public class SQLManager implements AbstractDB {
                         if (keys.next()) {
                             plot.temp = keys.getInt(1);
                             addPlotTask(plot, new UniqueStatement(
-                                    "createPlotAndSettings_settings_" + plot.hashCode()) {
+                                    "createPlotAndSettings_settings_" + plot.hashCode(),
+                                    "createPlotAndSettings_settings"
+                            ) {
                                 @Override
                                 public void set(PreparedStatement statement)
                                         throws SQLException {
@@ -1114,6 +1177,12 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    private void timedCommit() {
+        final long start = System.nanoTime();
+        commit();
+        this.metrics.committed(System.nanoTime() - start);
+    }
+
     public void commit() {
         if (this.closed) {
             return;
@@ -1130,7 +1199,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void createPlotAndSettings(final Plot plot, Runnable whenDone) {
-        addPlotTask(plot, new UniqueStatement("createPlotAndSettings_" + plot.hashCode()) {
+        addPlotTask(plot, new UniqueStatement("createPlotAndSettings_" + plot.hashCode(), "createPlotAndSettings") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, plot.getId().getX());
@@ -1160,7 +1229,10 @@ public class SQLManager implements AbstractDB {
                 }
             }
         });
-        addPlotTask(plot, new UniqueStatement("createPlotAndSettings_settings_" + plot.hashCode()) {
+        addPlotTask(plot, new UniqueStatement(
+                "createPlotAndSettings_settings_" + plot.hashCode(),
+                "createPlotAndSettings_settings"
+        ) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -1197,6 +1269,7 @@ public class SQLManager implements AbstractDB {
             set.close();
         }
         if (create == 0) {
+            createCommentIndex(meta);
             return;
         }
         boolean addConstraint = create == tables.length;
@@ -1334,6 +1407,29 @@ public class SQLManager implements AbstractDB {
             stmt.executeBatch();
             stmt.clearBatch();
         }
+        createCommentIndex(meta);
+    }
+
+    /**
+     * Create the {@code (world, hashcode, inbox)} index on the comment table, which is used by
+     * every per-plot inbox lookup. Existing databases receive the index on the next startup.
+     *
+     * @param meta the connection meta data
+     * @throws SQLException if the index could not be created
+     */
+    private void createCommentIndex(final DatabaseMetaData meta) throws SQLException {
+        String index = this.prefix + "plot_comments_lookup";
+        try (ResultSet set = meta.getIndexInfo(null, null, this.prefix + "plot_comments", false, false)) {
+            while (set.next()) {
+                if (index.equalsIgnoreCase(set.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = this.connection.createStatement()) {
+            stmt.executeUpdate("CREATE INDEX `" + index + "` ON `" + this.prefix
+                    + "plot_comments` (`world`, `hashcode`, `inbox`)");
+        }
     }
 
     @Override
@@ -2463,7 +2559,7 @@ public class SQLManager implements AbstractDB {
             @NonNull Plot plot, final String inbox,
             final RunnableVal<List<PlotComment>> whenDone
     ) {
-        addPlotTask(plot, new UniqueStatement("getComments_" + plot) {
+        addPlotTask(plot, new UniqueStatement("getComments_" + plot, "getComments") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (plot != null) {
@@ -2506,7 +2602,7 @@ public class SQLManager implements AbstractDB {
                             id = null;
                         }
                         String msg = set.getString("comment");
-                        long timestamp = set.getInt("timestamp") * 1000;
+                        long timestamp = set.getInt("timestamp") * 1000L;
                         PlotComment comment =
                                 new PlotComment(world, id, msg, sender, inbox, timestamp);
                         comments.add(comment);
@@ -2518,6 +2614,24 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    @Override
+    public List<PlotComment> getAllComments() {
+        List<PlotComment> comments = new ArrayList<>();
+        try (Statement statement = this.connection.createStatement();
+             ResultSet set = statement.executeQuery("SELECT * FROM `" + this.prefix + "plot_comments`")) {
+            while (set.next()) {
+                int hash = set.getInt("hashcode");
+                PlotId id = hash != 0 ? PlotId.unpair(hash) : null;
+                comments.add(new PlotComment(set.getString("world"), id, set.getString("comment"),
+                        set.getString("sender"), set.getString("inbox"), set.getInt("timestamp") * 1000L
+                ));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return comments;
+    }
+
     @Override
     public void setComment(final Plot plot, final PlotComment comment) {
         addPlotTask(plot, new UniqueStatement("setComment") {
@@ -2749,51 +2863,42 @@ public class SQLManager implements AbstractDB {
             final UUID uuid, final String key, final byte[] meta,
             final boolean replace
     ) {
-        addPlayerTask(uuid, new UniqueStatement("addPersistentMeta") {
-            @Override
-            public void set(PreparedStatement statement) throws SQLException {
-                if (replace) {
-                    statement.setBytes(1, meta);
-                    statement.setString(2, uuid.toString());
-                    statement.setString(3, key);
-                } else {
-                    statement.setString(1, uuid.toString());
-                    statement.setString(2, key);
-                    statement.setBytes(3, meta);
-                }
-            }
-
-            @Override
-            public PreparedStatement get() throws SQLException {
-                if (replace) {
-                    return SQLManager.this.connection.prepareStatement(
-                            "UPDATE `" + SQLManager.this.prefix
-                                    + "player_meta` SET `value` = ? WHERE `uuid` = ? AND `key` = ?");
-                } else {
-                    return SQLManager.this.connection.prepareStatement(
-                            "INSERT INTO `" + SQLManager.this.prefix
-                                    + "player_meta`(`uuid`, `key`, `value`) VALUES(?, ? ,?)");
-                }
-            }
-        });
+        // Written with the next flush, which replaces any existing row
+        this.persistentMeta.set(uuid, key, meta);
     }
 
     @Override
     public void removePersistentMeta(final UUID uuid, final String key) {
-        addPlayerTask(uuid, new UniqueStatement("removePersistentMeta") {
-            @Override
-            public void set(PreparedStatement statement) throws SQLException {
-                statement.setString(1, uuid.toString());
-                statement.setString(2, key);
-            }
+        this.persistentMeta.remove(uuid, key);
+    }
 
-            @Override
-            public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
-                        "DELETE FROM `" + SQLManager.this.prefix
-                                + "player_meta` WHERE `uuid` = ? AND `key` = ?");
+    /**
+     * Writes the buffered player meta changes in a single transaction.
+     */
+    private void flushPersistentMeta() {
+        try {
+            if (this.connection.isClosed()) {
+                return;
             }
-        });
+            if (this.connection.getAutoCommit()) {
+                this.connection.setAutoCommit(false);
+            }
+            final long start = System.nanoTime();
+            try {
+                final int flushed = this.persistentMeta.flush(this.connection, this.prefix, System.currentTimeMillis());
+                this.connection.commit();
+                if (flushed > 0) {
+                    this.metrics.batch("flushPersistentMeta", flushed, System.nanoTime() - start);
+                }
+            } catch (SQLException e) {
+                this.connection.rollback();
+                throw e;
+            } finally {
+                this.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Failed to save player meta, retrying with the next flush", e);
+        }
     }
 
     @Override
@@ -2828,6 +2933,8 @@ public class SQLManager implements AbstractDB {
                 }
 
                 resultSet.close();
+                // Changes that have not been flushed yet are newer than the stored rows
+                persistentMeta.applyPending(uuid, metaMap);
                 TaskManager.runTaskAsync(() -> result.run(metaMap));
             }
 
@@ -3040,7 +3147,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void createCluster(final PlotCluster cluster) {
-        addClusterTask(cluster, new UniqueStatement("createCluster_" + cluster.hashCode()) {
+        addClusterTask(cluster, new UniqueStatement("createCluster_" + cluster.hashCode(), "createCluster") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, cluster.getP1().getX());
@@ -3075,7 +3182,7 @@ public class SQLManager implements AbstractDB {
         });
         addClusterTask(
                 cluster,
-                new UniqueStatement("createCluster_settings_" + cluster.hashCode()) {
+                new UniqueStatement("createCluster_settings_" + cluster.hashCode(), "createCluster_settings") {
                     @Override
                     public void set(PreparedStatement statement) throws SQLException {
                         statement.setInt(1, getClusterId(cluster));
@@ -3413,6 +3520,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void close() {
+        flushPersistentMeta();
         try {
             this.closed = true;
             this.connection.close();
@@ -3436,9 +3544,32 @@ public class SQLManager implements AbstractDB {
     public abstract static class UniqueStatement {
 
         public final String method;
+        private final String name;
+        private long queued;
 
         public UniqueStatement(String method) {
+            this(method, method);
+        }
+
+        /**
+         * @param method statements with the same method are batched together
+         * @param name   name the statement is recorded as in the {@link DatabaseMetrics}, for methods that are
+         *               made unique to prevent batching
+         * @since TODO
+         */
+        public UniqueStatement(String method, String name) {
             this.method = method;
+            this.name = name;
+        }
+
+        /**
+         * Get the name the statement is recorded as in the {@link DatabaseMetrics}
+         *
+         * @return statement name
+         * @since TODO
+         */
+        public String getName() {
+            return this.name == null ? "unnamed" : this.name;
         }
 
         public void addBatch(PreparedStatement statement) throws SQLException {
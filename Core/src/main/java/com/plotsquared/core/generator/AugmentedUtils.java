@@ -130,7 +130,7 @@ public class AugmentedUtils {
                     for (int z = relativeBottomZ; z <= relativeTopZ; z++) {
                         int worldX = x + blockX;
                         int worldZ = z + blockZ;
-                        boolean can = manager.getPlotId(worldX, 0, worldZ) == null;
+                        boolean can = manager.getPlotIdPacked(worldX, 0, worldZ) == PlotManager.ROAD;
                         if (can) {
                             for (int y = 1; y < 128; y++) {
                                 queue.setBlock(worldX, y, worldZ, air);
@@ -90,10 +90,10 @@ public class ClassicPlotManager extends SquarePlotManager {
 
     @Override
     public boolean unClaimPlot(@NonNull Plot plot, @Nullable Runnable whenDone, @Nullable QueueCoordinator queue) {
-        setWallFilling(plot.getId(), classicPlotWorld.WALL_FILLING.toPattern(), null, queue);
+        setWallFilling(plot.getId(), classicPlotWorld.WALL_FILLING.toSampler(), null, queue);
         if (classicPlotWorld.PLACE_TOP_BLOCK && (!classicPlotWorld.WALL_BLOCK.isAir() || !classicPlotWorld.WALL_BLOCK
                 .equals(classicPlotWorld.CLAIMED_WALL_BLOCK))) {
-            setWall(plot.getId(), classicPlotWorld.WALL_BLOCK.toPattern(), null, queue);
+            setWall(plot.getId(), classicPlotWorld.WALL_BLOCK.toSampler(), null, queue);
         }
         TaskManager.runTask(whenDone);
         return true;
@@ -520,44 +520,44 @@ public class ClassicPlotManager extends SquarePlotManager {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), sx, 1, sz + 1),
                     Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.WALL_HEIGHT, ez - 1),
-                    classicPlotWorld.WALL_FILLING.toPattern()
+                    classicPlotWorld.WALL_FILLING.toSampler()
             );
         } else {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), sx, 0, sz + 1),
                     Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.WALL_HEIGHT, ez - 1),
-                    classicPlotWorld.WALL_FILLING.toPattern()
+                    classicPlotWorld.WALL_FILLING.toSampler()
             );
         }
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.WALL_HEIGHT, ez - 1),
-                classicPlotWorld.WALL_FILLING.toPattern()
+                classicPlotWorld.WALL_FILLING.toSampler()
         );
 
         if (classicPlotWorld.PLACE_TOP_BLOCK) {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.WALL_HEIGHT + 1, sz + 1),
                     Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.WALL_HEIGHT + 1, ez - 1),
-                    classicPlotWorld.WALL_BLOCK.toPattern()
+                    classicPlotWorld.WALL_BLOCK.toSampler()
             );
         }
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), ex, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.WALL_HEIGHT, ez - 1),
-                classicPlotWorld.WALL_FILLING.toPattern()
+                classicPlotWorld.WALL_FILLING.toSampler()
         );
         if (classicPlotWorld.PLACE_TOP_BLOCK) {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.WALL_HEIGHT + 1, sz + 1),
                     Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.WALL_HEIGHT + 1, ez - 1),
-                    classicPlotWorld.WALL_BLOCK.toPattern()
+                    classicPlotWorld.WALL_BLOCK.toSampler()
             );
         }
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.ROAD_HEIGHT, ez - 1),
-                classicPlotWorld.ROAD_BLOCK.toPattern()
+                classicPlotWorld.ROAD_BLOCK.toSampler()
         );
         return !enqueue || queue.enqueue();
     }
@@ -595,32 +595,32 @@ public class ClassicPlotManager extends SquarePlotManager {
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, sz),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.WALL_HEIGHT, sz),
-                classicPlotWorld.WALL_FILLING.toPattern()
+                classicPlotWorld.WALL_FILLING.toSampler()
         );
 
         if (classicPlotWorld.PLACE_TOP_BLOCK) {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), sx + 1, classicPlotWorld.WALL_HEIGHT + 1, sz),
                     Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.WALL_HEIGHT + 1, sz),
-                    classicPlotWorld.WALL_BLOCK.toPattern()
+                    classicPlotWorld.WALL_BLOCK.toSampler()
             );
         }
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, ez),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.WALL_HEIGHT, ez),
-                classicPlotWorld.WALL_FILLING.toPattern()
+                classicPlotWorld.WALL_FILLING.toSampler()
         );
         if (classicPlotWorld.PLACE_TOP_BLOCK) {
             queue.setCuboid(
                     Location.at(classicPlotWorld.getWorldName(), sx + 1, classicPlotWorld.WALL_HEIGHT + 1, ez),
                     Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.WALL_HEIGHT + 1, ez),
-                    classicPlotWorld.WALL_BLOCK.toPattern()
+                    classicPlotWorld.WALL_BLOCK.toSampler()
             );
         }
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.ROAD_HEIGHT, ez - 1),
-                classicPlotWorld.ROAD_BLOCK.toPattern()
+                classicPlotWorld.ROAD_BLOCK.toSampler()
         );
         return !enqueue || queue.enqueue();
     }
@@ -651,7 +651,7 @@ public class ClassicPlotManager extends SquarePlotManager {
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.ROAD_HEIGHT, ez - 1),
-                classicPlotWorld.ROAD_BLOCK.toPattern()
+                classicPlotWorld.ROAD_BLOCK.toSampler()
         );
         return !enqueue || queue.enqueue();
     }
@@ -685,12 +685,12 @@ public class ClassicPlotManager extends SquarePlotManager {
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx, 1, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.PLOT_HEIGHT - 1, ez - 1),
-                classicPlotWorld.MAIN_BLOCK.toPattern()
+                classicPlotWorld.MAIN_BLOCK.toSampler()
         );
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.PLOT_HEIGHT, sz + 1),
                 Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.PLOT_HEIGHT, ez - 1),
-                classicPlotWorld.TOP_BLOCK.toPattern()
+                classicPlotWorld.TOP_BLOCK.toSampler()
         );
 
         return !enqueue || queue.enqueue();
@@ -725,12 +725,12 @@ public class ClassicPlotManager extends SquarePlotManager {
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, 1, sz),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.PLOT_HEIGHT - 1, ez),
-                classicPlotWorld.MAIN_BLOCK.toPattern()
+                classicPlotWorld.MAIN_BLOCK.toSampler()
         );
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx + 1, classicPlotWorld.PLOT_HEIGHT, sz),
                 Location.at(classicPlotWorld.getWorldName(), ex - 1, classicPlotWorld.PLOT_HEIGHT, ez),
-                classicPlotWorld.TOP_BLOCK.toPattern()
+                classicPlotWorld.TOP_BLOCK.toSampler()
         );
 
         return !enqueue || queue.enqueue();
@@ -764,12 +764,12 @@ public class ClassicPlotManager extends SquarePlotManager {
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx, 1, sz),
                 Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.PLOT_HEIGHT - 1, ez),
-                classicPlotWorld.MAIN_BLOCK.toPattern()
+                classicPlotWorld.MAIN_BLOCK.toSampler()
         );
         queue.setCuboid(
                 Location.at(classicPlotWorld.getWorldName(), sx, classicPlotWorld.PLOT_HEIGHT, sz),
                 Location.at(classicPlotWorld.getWorldName(), ex, classicPlotWorld.PLOT_HEIGHT, ez),
-                classicPlotWorld.TOP_BLOCK.toPattern()
+                classicPlotWorld.TOP_BLOCK.toSampler()
         );
 
         return !enqueue || queue.enqueue();
@@ -780,13 +780,13 @@ public class ClassicPlotManager extends SquarePlotManager {
         final BlockBucket claim = classicPlotWorld.CLAIMED_WALL_BLOCK;
         if (classicPlotWorld.PLACE_TOP_BLOCK && (!claim.isAir() || !claim.equals(classicPlotWorld.WALL_BLOCK))) {
             for (PlotId plotId : plotIds) {
-                setWall(plotId, claim.toPattern(), null, queue);
+                setWall(plotId, claim.toSampler(), null, queue);
             }
         }
         if (Settings.General.MERGE_REPLACE_WALL) {
             final BlockBucket wallBlock = classicPlotWorld.WALL_FILLING;
             for (PlotId id : plotIds) {
-                setWallFilling(id, wallBlock.toPattern(), null, queue);
+                setWallFilling(id, wallBlock.toSampler(), null, queue);
             }
         }
         return true;
@@ -797,7 +797,7 @@ public class ClassicPlotManager extends SquarePlotManager {
         final BlockBucket claim = classicPlotWorld.CLAIMED_WALL_BLOCK;
         if (classicPlotWorld.PLACE_TOP_BLOCK && (!claim.isAir() || !claim.equals(classicPlotWorld.WALL_BLOCK))) {
             for (PlotId id : plotIds) {
-                setWall(id, claim.toPattern(), null, queue);
+                setWall(id, claim.toSampler(), null, queue);
             }
         }
         return true; // return false if unlink has been denied
@@ -817,7 +817,7 @@ public class ClassicPlotManager extends SquarePlotManager {
     public boolean claimPlot(@NonNull Plot plot, @Nullable QueueCoordinator queue) {
         final BlockBucket claim = classicPlotWorld.CLAIMED_WALL_BLOCK;
         if (classicPlotWorld.PLACE_TOP_BLOCK && (!claim.isAir() || !claim.equals(classicPlotWorld.WALL_BLOCK))) {
-            return setWall(plot.getId(), claim.toPattern(), null, queue);
+            return setWall(plot.getId(), claim.toSampler(), null, queue);
         }
         return true;
     }
@@ -162,7 +162,7 @@ public class HybridGen extends IndependentPlotGenerator {
                 for (short z = 0; z < 16; z++) {
                     // Road
                     for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
+                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toSampler());
                     }
                     if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                         placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, true);
@@ -173,7 +173,7 @@ public class HybridGen extends IndependentPlotGenerator {
                     if (insideRoadZ[z]) {
                         // road
                         for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
+                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toSampler());
                         }
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
@@ -183,12 +183,12 @@ public class HybridGen extends IndependentPlotGenerator {
                     } else {
                         // wall
                         for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
+                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toSampler());
                         }
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
                                 result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                        hybridPlotWorld.WALL_BLOCK.toPattern()
+                                        hybridPlotWorld.WALL_BLOCK.toSampler()
                                 );
                             }
                         } else {
@@ -203,7 +203,7 @@ public class HybridGen extends IndependentPlotGenerator {
                     if (insideRoadZ[z]) {
                         // road
                         for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
+                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toSampler());
                         }
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
@@ -213,12 +213,12 @@ public class HybridGen extends IndependentPlotGenerator {
                     } else if (insideWallZ[z]) {
                         // wall
                         for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
+                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toSampler());
                         }
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
                                 result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                        hybridPlotWorld.WALL_BLOCK.toPattern()
+                                        hybridPlotWorld.WALL_BLOCK.toSampler()
                                 );
                             }
                         } else {
@@ -229,10 +229,10 @@ public class HybridGen extends IndependentPlotGenerator {
                     } else {
                         // plot
                         for (int y = startY; y < hybridPlotWorld.PLOT_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toPattern());
+                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toSampler());
                         }
                         result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z,
-                                hybridPlotWorld.TOP_BLOCK.toPattern()
+                                hybridPlotWorld.TOP_BLOCK.toSampler()
                         );
                         if (hybridPlotWorld.PLOT_SCHEMATIC) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
@@ -37,6 +37,7 @@ import com.plotsquared.core.plot.PlotAreaTerrainType;
 import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.util.FileBytes;
 import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.MathMan;
@@ -248,14 +249,14 @@ public class HybridPlotManager extends ClassicPlotManager {
         final boolean canRegen =
                 (hybridPlotWorld.getType() == PlotAreaType.AUGMENTED) && (hybridPlotWorld.getTerrain() != PlotAreaTerrainType.NONE) && REGENERATIVE_CLEAR;
         // The component blocks
-        final Pattern plotfloor = hybridPlotWorld.TOP_BLOCK.toPattern();
-        final Pattern filling = hybridPlotWorld.MAIN_BLOCK.toPattern();
+        final Pattern plotfloor = hybridPlotWorld.TOP_BLOCK.toSampler();
+        final Pattern filling = hybridPlotWorld.MAIN_BLOCK.toSampler();
 
         final Pattern bedrock;
         if (hybridPlotWorld.PLOT_BEDROCK) {
             bedrock = BlockTypes.BEDROCK.getDefaultState();
         } else {
-            bedrock = hybridPlotWorld.MAIN_BLOCK.toPattern();
+            bedrock = hybridPlotWorld.MAIN_BLOCK.toSampler();
         }
 
         final BiomeType biome = hybridPlotWorld.getPlotBiome();
@@ -263,6 +264,7 @@ public class HybridPlotManager extends ClassicPlotManager {
         if (queue == null) {
             enqueue = true;
             queue = hybridPlotWorld.getQueue();
+            queue.setOperation(QueueOperation.CLEAR);
         }
         if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
             queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
@@ -26,6 +26,7 @@
 package com.plotsquared.core.generator;
 
 import com.google.inject.Inject;
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.events.PlotFlagAddEvent;
 import com.plotsquared.core.events.Result;
@@ -44,6 +45,7 @@ import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.ChunkQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.MathMan;
@@ -65,6 +67,7 @@ import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.File;
 import java.util.ArrayDeque;
@@ -72,11 +75,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class HybridUtils {
 
@@ -88,6 +89,7 @@ public class HybridUtils {
     public static Set<BlockVector2> chunks = new HashSet<>();
     public static PlotArea area;
     public static boolean UPDATE = false;
+    public static RoadRegenCheckpoint checkpoint;
 
     private final PlotAreaManager plotAreaManager;
     private final ChunkManager chunkManager;
@@ -304,7 +306,25 @@ public class HybridUtils {
         });
     }
 
+    /**
+     * Analyse a plot, or reuse its stored analysis if the plot has not been modified since
+     *
+     * @param origin   Plot to analyse
+     * @param whenDone Task to run on the main thread with the analysis
+     * @since TODO
+     */
+    public void analyzePlotIfModified(final Plot origin, final RunnableVal<PlotAnalysis> whenDone) {
+        final PlotAnalysis cached = PlotAnalysis.getCachedAnalysis(origin);
+        if (cached == null) {
+            analyzePlot(origin, whenDone);
+            return;
+        }
+        whenDone.value = cached;
+        TaskManager.runTask(whenDone);
+    }
+
     public void analyzePlot(final Plot origin, final RunnableVal<PlotAnalysis> whenDone) {
+        PlotAnalysis.analysisStarted(origin);
         final ArrayDeque<CuboidRegion> zones = new ArrayDeque<>(origin.getRegions());
         final ArrayList<PlotAnalysis> analysis = new ArrayList<>();
         Runnable run = new Runnable() {
@@ -338,25 +358,17 @@ public class HybridUtils {
                     } else {
                         whenDone.value = analysis.get(0);
                     }
-                    List<Integer> result = new ArrayList<>();
-                    result.add(whenDone.value.changes);
-                    result.add(whenDone.value.faces);
-                    result.add(whenDone.value.data);
-                    result.add(whenDone.value.air);
-                    result.add(whenDone.value.variety);
-
-                    result.add(whenDone.value.changes_sd);
-                    result.add(whenDone.value.faces_sd);
-                    result.add(whenDone.value.data_sd);
-                    result.add(whenDone.value.air_sd);
-                    result.add(whenDone.value.variety_sd);
                     PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class).createFlagInstance(
-                            result);
+                            whenDone.value.asList());
                     PlotFlagAddEvent event = eventDispatcher.callFlagAdd(plotFlag, origin);
                     if (event.getEventResult() == Result.DENY) {
+                        // The stored analysis is outdated
+                        PlotAnalysis.markModified(origin);
+                        PlotAnalysis.analysisDone(origin);
                         return;
                     }
                     origin.setFlag(event.getFlag());
+                    PlotAnalysis.analysisDone(origin);
                     TaskManager.runTask(whenDone);
                     return;
                 }
@@ -427,84 +439,23 @@ public class HybridUtils {
             final int extend,
             Set<BlockVector2> chunks
     ) {
-        HybridUtils.regions = regions;
+        if (!(area instanceof HybridPlotWorld hybridPlotWorld) || !hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
+            LOGGER.info("Failed to regenerate roads");
+            HybridUtils.UPDATE = false;
+            return false;
+        }
+        // Chunks are completed by the queue system, which may run off the main thread
+        HybridUtils.regions = ConcurrentHashMap.newKeySet();
+        HybridUtils.regions.addAll(regions);
         HybridUtils.area = area;
         HybridUtils.height = extend;
-        HybridUtils.chunks = chunks;
-        final AtomicInteger count = new AtomicInteger(0);
-        TaskManager.runTask(new Runnable() {
-            @Override
-            public void run() {
-                if (!UPDATE) {
-                    Iterator<BlockVector2> iter = chunks.iterator();
-                    while (iter.hasNext()) {
-                        BlockVector2 chunk = iter.next();
-                        iter.remove();
-                        boolean regenedRoad = regenerateRoad(area, chunk, extend);
-                        if (!regenedRoad) {
-                            LOGGER.info("Failed to regenerate roads");
-                        }
-                    }
-                    LOGGER.info("Cancelled road task");
-                    return;
-                }
-                count.incrementAndGet();
-                if (count.intValue() % 20 == 0) {
-                    LOGGER.info("Progress: {}%", 100 * (2048 - chunks.size()) / 2048);
-                }
-                if (HybridUtils.regions.isEmpty() && chunks.isEmpty()) {
-                    regeneratePlotWalls(area);
-
-                    HybridUtils.UPDATE = false;
-                    LOGGER.info("Finished road conversion");
-                    // CANCEL TASK
-                } else {
-                    final Runnable task = this;
-                    TaskManager.runTaskAsync(() -> {
-                        try {
-                            if (chunks.size() < 1024) {
-                                if (!HybridUtils.regions.isEmpty()) {
-                                    Iterator<BlockVector2> iterator = HybridUtils.regions.iterator();
-                                    BlockVector2 loc = iterator.next();
-                                    iterator.remove();
-                                    LOGGER.info("Updating .mcr: {}, {} (approx 1024 chunks)", loc.getX(), loc.getZ());
-                                    LOGGER.info("- Remaining: {}", HybridUtils.regions.size());
-                                    chunks.addAll(getChunks(loc));
-                                    System.gc();
-                                }
-                            }
-                            if (!chunks.isEmpty()) {
-                                TaskManager.getPlatformImplementation().sync(() -> {
-                                    long start = System.currentTimeMillis();
-                                    Iterator<BlockVector2> iterator = chunks.iterator();
-                                    while (System.currentTimeMillis() - start < 20 && !chunks.isEmpty()) {
-                                        final BlockVector2 chunk = iterator.next();
-                                        iterator.remove();
-                                        boolean regenedRoads = regenerateRoad(area, chunk, extend);
-                                        if (!regenedRoads) {
-                                            LOGGER.info("Failed to regenerate road");
-                                        }
-                                    }
-                                    return null;
-                                });
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                            Iterator<BlockVector2> iterator = HybridUtils.regions.iterator();
-                            BlockVector2 loc = iterator.next();
-                            iterator.remove();
-                            LOGGER.error(
-                                    "Error! Could not update '{}/region/r.{}.{}.mca' (Corrupt chunk?)",
-                                    area.getWorldHash(),
-                                    loc.getX(),
-                                    loc.getZ()
-                            );
-                        }
-                        TaskManager.runTaskLater(task, TaskTime.seconds(1L));
-                    });
-                }
-            }
-        });
+        HybridUtils.chunks = ConcurrentHashMap.newKeySet();
+        HybridUtils.chunks.addAll(chunks);
+        HybridUtils.checkpoint = Settings.Enabled_Components.PERSISTENT_ROAD_REGEN ? new RoadRegenCheckpoint(
+                PlotSquared.platform().getDirectory(), area) : null;
+        new RoadRegenerationTask(this, hybridPlotWorld, extend, HybridUtils.regions, HybridUtils.chunks,
+                HybridUtils.checkpoint
+        ).start();
         return true;
     }
 
@@ -571,120 +522,164 @@ public class HybridUtils {
     }
 
     public boolean regenerateRoad(final PlotArea area, final BlockVector2 chunk, int extend) {
+        if (!(area instanceof HybridPlotWorld hybridPlotWorld)) {
+            return false;
+        }
+        return regenerateRoad(hybridPlotWorld, chunk, extend, RoadColumnMask.of(hybridPlotWorld), null);
+    }
+
+    /**
+     * Regenerate the road columns of a chunk
+     *
+     * @param plotWorld Area to regenerate the roads in
+     * @param chunk     Chunk coordinates
+     * @param extend    Number of blocks to place above the road schematic
+     * @param mask      Road columns of the area
+     * @param whenDone  Task to run once the chunk has been regenerated, only if this method returns {@code true}
+     * @return {@code true} if the chunk was scheduled for regeneration
+     */
+    boolean regenerateRoad(
+            final HybridPlotWorld plotWorld,
+            final BlockVector2 chunk,
+            int extend,
+            final @NonNull RoadColumnMask mask,
+            final @Nullable Runnable whenDone
+    ) {
         int x = chunk.getX() << 4;
         int z = chunk.getZ() << 4;
         int ex = x + 15;
         int ez = z + 15;
-        HybridPlotWorld plotWorld = (HybridPlotWorld) area;
         if (!plotWorld.ROAD_SCHEMATIC_ENABLED) {
             return false;
         }
+        final int roadX = mask.getRoadX(chunk.getX());
+        final int roadZ = mask.getRoadZ(chunk.getZ());
+        if (roadX == 0 && roadZ == 0) {
+            return false;
+        }
         AtomicBoolean toCheck = new AtomicBoolean(false);
         if (plotWorld.getType() == PlotAreaType.PARTIAL) {
-            boolean chunk1 = area.contains(x, z);
-            boolean chunk2 = area.contains(ex, ez);
+            boolean chunk1 = plotWorld.contains(x, z);
+            boolean chunk2 = plotWorld.contains(ex, ez);
             if (!chunk1 && !chunk2) {
                 return false;
             } else {
                 toCheck.set(chunk1 ^ chunk2);
             }
         }
-        PlotManager manager = area.getPlotManager();
-        PlotId id1 = manager.getPlotId(x, 0, z);
-        PlotId id2 = manager.getPlotId(ex, 0, ez);
+        PlotManager manager = plotWorld.getPlotManager();
+        long id1 = manager.getPlotIdPacked(x, 0, z);
+        long id2 = manager.getPlotIdPacked(ex, 0, ez);
+        // Both corners in the same unmerged plot, so the chunk has no road. The corners of a merged
+        // plot can be on merged roads with an unmerged intersection in between (L-shaped merges)
+        if (id1 != PlotManager.ROAD && id1 == id2) {
+            final Plot plot = plotWorld.getPlotAbs(PlotId.unpack(id1));
+            if (plot == null || !plot.isMerged()) {
+                return false;
+            }
+        }
         x = x - plotWorld.ROAD_OFFSET_X;
         z -= plotWorld.ROAD_OFFSET_Z;
         final int finalX = x;
         final int finalZ = z;
         QueueCoordinator queue = this.blockQueue.getNewQueue(worldUtil.getWeWorld(plotWorld.getWorldName()));
-        if (id1 == null || id2 == null || id1 != id2) {
-            this.chunkManager.loadChunk(area.getWorldName(), chunk, false).thenRun(() -> {
-                if (id1 != null) {
-                    Plot p1 = area.getPlotAbs(id1);
-                    if (p1 != null && p1.hasOwner() && p1.isMerged()) {
-                        toCheck.set(true);
-                    }
+        queue.setOperation(QueueOperation.ROAD_REGEN);
+        this.chunkManager.loadChunk(plotWorld.getWorldName(), chunk, false).thenRun(() -> {
+            if (id1 != PlotManager.ROAD) {
+                Plot p1 = plotWorld.getPlotAbs(PlotId.unpack(id1));
+                if (p1 != null && p1.hasOwner() && p1.isMerged()) {
+                    toCheck.set(true);
                 }
-                if (id2 != null && !toCheck.get()) {
-                    Plot p2 = area.getPlotAbs(id2);
-                    if (p2 != null && p2.hasOwner() && p2.isMerged()) {
-                        toCheck.set(true);
-                    }
+            }
+            if (id2 != PlotManager.ROAD && !toCheck.get()) {
+                Plot p2 = plotWorld.getPlotAbs(PlotId.unpack(id2));
+                if (p2 != null && p2.hasOwner() && p2.isMerged()) {
+                    toCheck.set(true);
                 }
-                int size = plotWorld.SIZE;
-                for (int X = 0; X < 16; X++) {
-                    short absX = (short) ((finalX + X) % size);
-                    for (int Z = 0; Z < 16; Z++) {
-                        short absZ = (short) ((finalZ + Z) % size);
-                        if (absX < 0) {
-                            absX += size;
-                        }
-                        if (absZ < 0) {
-                            absZ += size;
-                        }
-                        boolean condition;
-                        if (toCheck.get()) {
-                            condition = manager.getPlotId(
-                                    finalX + X + plotWorld.ROAD_OFFSET_X,
-                                    1,
-                                    finalZ + Z + plotWorld.ROAD_OFFSET_Z
-                            ) == null;
-                        } else {
-                            boolean gx = absX > plotWorld.PATH_WIDTH_LOWER;
-                            boolean gz = absZ > plotWorld.PATH_WIDTH_LOWER;
-                            boolean lx = absX < plotWorld.PATH_WIDTH_UPPER;
-                            boolean lz = absZ < plotWorld.PATH_WIDTH_UPPER;
-                            condition = !gx || !gz || !lx || !lz;
-                        }
-                        if (condition) {
-                            BaseBlock[] blocks = plotWorld.G_SCH.get(MathMan.pair(absX, absZ));
-                            int minY = Settings.Schematics.PASTE_ROAD_ON_TOP ? plotWorld.SCHEM_Y : 1;
-                            int maxY = Math.max(extend, blocks.length);
-                            for (int y = 0; y < maxY; y++) {
-                                if (y > blocks.length - 1) {
+            }
+            int size = plotWorld.SIZE;
+            boolean changed = false;
+            for (int X = 0; X < 16; X++) {
+                short absX = (short) ((finalX + X) % size);
+                for (int Z = 0; Z < 16; Z++) {
+                    short absZ = (short) ((finalZ + Z) % size);
+                    if (absX < 0) {
+                        absX += size;
+                    }
+                    if (absZ < 0) {
+                        absZ += size;
+                    }
+                    boolean condition;
+                    if (toCheck.get()) {
+                        condition = manager.getPlotIdPacked(
+                                finalX + X + plotWorld.ROAD_OFFSET_X,
+                                1,
+                                finalZ + Z + plotWorld.ROAD_OFFSET_Z
+                        ) == PlotManager.ROAD;
+                    } else {
+                        condition = ((roadX >> X) & 1) != 0 || ((roadZ >> Z) & 1) != 0;
+                    }
+                    if (condition) {
+                        changed = true;
+                        BaseBlock[] blocks = plotWorld.G_SCH.get(MathMan.pair(absX, absZ));
+                        int minY = Settings.Schematics.PASTE_ROAD_ON_TOP ? plotWorld.SCHEM_Y : 1;
+                        int maxY = Math.max(extend, blocks.length);
+                        for (int y = 0; y < maxY; y++) {
+                            if (y > blocks.length - 1) {
+                                queue.setBlock(
+                                        finalX + X + plotWorld.ROAD_OFFSET_X,
+                                        minY + y,
+                                        finalZ + Z + plotWorld.ROAD_OFFSET_Z,
+                                        WEExtent.AIRBASE
+                                );
+                            } else {
+                                BaseBlock block = blocks[y];
+                                if (block != null) {
                                     queue.setBlock(
                                             finalX + X + plotWorld.ROAD_OFFSET_X,
                                             minY + y,
                                             finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                            WEExtent.AIRBASE
+                                            block
                                     );
                                 } else {
-                                    BaseBlock block = blocks[y];
-                                    if (block != null) {
-                                        queue.setBlock(
-                                                finalX + X + plotWorld.ROAD_OFFSET_X,
-                                                minY + y,
-                                                finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                                block
-                                        );
-                                    } else {
-                                        queue.setBlock(
-                                                finalX + X + plotWorld.ROAD_OFFSET_X,
-                                                minY + y,
-                                                finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                                WEExtent.AIRBASE
-                                        );
-                                    }
+                                    queue.setBlock(
+                                            finalX + X + plotWorld.ROAD_OFFSET_X,
+                                            minY + y,
+                                            finalZ + Z + plotWorld.ROAD_OFFSET_Z,
+                                            WEExtent.AIRBASE
+                                    );
                                 }
                             }
-                            BiomeType biome = plotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
-                            if (biome != null) {
-                                queue.setBiome(finalX + X + plotWorld.ROAD_OFFSET_X, finalZ + Z + plotWorld.ROAD_OFFSET_Z, biome);
-                            } else {
-                                queue.setBiome(
-                                        finalX + X + plotWorld.ROAD_OFFSET_X,
-                                        finalZ + Z + plotWorld.ROAD_OFFSET_Z,
-                                        plotWorld.getPlotBiome()
-                                );
-                            }
+                        }
+                        BiomeType biome = plotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                        if (biome != null) {
+                            queue.setBiome(finalX + X + plotWorld.ROAD_OFFSET_X, finalZ + Z + plotWorld.ROAD_OFFSET_Z, biome);
+                        } else {
+                            queue.setBiome(
+                                    finalX + X + plotWorld.ROAD_OFFSET_X,
+                                    finalZ + Z + plotWorld.ROAD_OFFSET_Z,
+                                    plotWorld.getPlotBiome()
+                            );
                         }
                     }
                 }
-                queue.enqueue();
-            });
-            return true;
-        }
-        return false;
+            }
+            if (!changed) {
+                if (whenDone != null) {
+                    whenDone.run();
+                }
+                return;
+            }
+            queue.setCompleteTask(whenDone);
+            queue.enqueue();
+        }).exceptionally(throwable -> {
+            LOGGER.error("Failed to regenerate road in chunk {}", chunk, throwable);
+            if (whenDone != null) {
+                whenDone.run();
+            }
+            return null;
+        });
+        return true;
     }
 
 }
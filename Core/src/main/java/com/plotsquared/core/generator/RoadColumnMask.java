@@ -0,0 +1,99 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Road columns of the chunks in a {@link HybridPlotWorld}, precomputed from the plot grid.
+ * <p>
+ * A column is on a road if its X or its Z position within the grid is on a road, so the road
+ * columns of a chunk are fully described by one 16 bit mask per axis. The masks only depend on
+ * the chunk position modulo the grid size, and are computed once for every such position.
+ */
+final class RoadColumnMask {
+
+    private final int size;
+    private final int offsetX;
+    private final int offsetZ;
+    // Bit i of masks[p] is set if grid position (p + i) % size is on a road
+    private final char[] masks;
+
+    RoadColumnMask(final int size, final int pathWidthLower, final int pathWidthUpper, final int offsetX, final int offsetZ) {
+        this.size = size;
+        this.offsetX = offsetX;
+        this.offsetZ = offsetZ;
+        this.masks = new char[size];
+        for (int position = 0; position < size; position++) {
+            int mask = 0;
+            for (int i = 0; i < 16; i++) {
+                final int absolute = (position + i) % size;
+                if (absolute <= pathWidthLower || absolute >= pathWidthUpper) {
+                    mask |= 1 << i;
+                }
+            }
+            this.masks[position] = (char) mask;
+        }
+    }
+
+    static @NonNull RoadColumnMask of(final @NonNull HybridPlotWorld plotWorld) {
+        return new RoadColumnMask(plotWorld.SIZE, plotWorld.PATH_WIDTH_LOWER, plotWorld.PATH_WIDTH_UPPER,
+                plotWorld.ROAD_OFFSET_X, plotWorld.ROAD_OFFSET_Z
+        );
+    }
+
+    /**
+     * Get the X positions (0 - 15) within a chunk that are on a road
+     *
+     * @param chunkX Chunk X coordinate
+     * @return 16 bit mask with bit {@code i} set if column {@code i} is on a road
+     */
+    int getRoadX(final int chunkX) {
+        return this.masks[Math.floorMod((chunkX << 4) - this.offsetX, this.size)];
+    }
+
+    /**
+     * Get the Z positions (0 - 15) within a chunk that are on a road
+     *
+     * @param chunkZ Chunk Z coordinate
+     * @return 16 bit mask with bit {@code i} set if row {@code i} is on a road
+     */
+    int getRoadZ(final int chunkZ) {
+        return this.masks[Math.floorMod((chunkZ << 4) - this.offsetZ, this.size)];
+    }
+
+    /**
+     * Check if a chunk contains any road columns
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return {@code true} if at least one column of the chunk is on a road
+     */
+    boolean hasRoad(final int chunkX, final int chunkZ) {
+        return getRoadX(chunkX) != 0 || getRoadZ(chunkZ) != 0;
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.PlotArea;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progress of a road regeneration, stored on disk so that it can be resumed after a restart or a crash.
+ * <p>
+ * The file keeps the format used by earlier versions: a serialized list of the remaining regions,
+ * the remaining chunks and the road height. It is replaced atomically on every save, so a crash
+ * while saving leaves the previous checkpoint intact.
+ *
+ * @since TODO
+ */
+public final class RoadRegenCheckpoint {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + RoadRegenCheckpoint.class.getSimpleName());
+
+    private final File file;
+    private boolean closed;
+
+    /**
+     * Create a checkpoint for road regeneration in an area
+     *
+     * @param directory Plugin directory
+     * @param area      Area the roads are regenerated in
+     */
+    public RoadRegenCheckpoint(final @NonNull File directory, final @NonNull PlotArea area) {
+        this.file = new File(directory, "persistent_regen_data_" + area.getId() + "_" + area.getWorldName());
+    }
+
+    /**
+     * Get the checkpoint file
+     *
+     * @return Checkpoint file
+     */
+    public @NonNull File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Read the checkpoint from disk
+     *
+     * @return Stored progress, or {@code null} if there is no checkpoint
+     * @throws IOException If the checkpoint could not be read
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized @Nullable Progress load() throws IOException {
+        if (!this.file.exists()) {
+            return null;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(this.file.toPath()))) {
+            final List<Object> list = (List<Object>) ois.readObject();
+            final Set<BlockVector2> regions = new HashSet<>();
+            final Set<BlockVector2> chunks = new HashSet<>();
+            ((List<int[]>) list.get(0)).forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
+            ((List<int[]>) list.get(1)).forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
+            return new Progress(regions, chunks, (int) list.get(2));
+        } catch (ClassNotFoundException | ClassCastException | IndexOutOfBoundsException e) {
+            throw new IOException("Invalid road regeneration checkpoint " + this.file, e);
+        }
+    }
+
+    /**
+     * Replace the checkpoint on disk. Does nothing once the checkpoint has been {@link #delete() deleted}.
+     *
+     * @param regions Regions that have not been started
+     * @param chunks  Chunks that have not been completed
+     * @param height  Road height
+     */
+    public synchronized void save(
+            final @NonNull Collection<BlockVector2> regions,
+            final @NonNull Collection<BlockVector2> chunks,
+            final int height
+    ) {
+        if (this.closed) {
+            return;
+        }
+        final List<Object> list = new ArrayList<>();
+        list.add(toInts(regions));
+        list.add(toInts(chunks));
+        list.add(height);
+        final Path target = this.file.toPath();
+        final Path temporary = target.resolveSibling(this.file.getName() + ".tmp");
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(temporary))) {
+                oos.writeObject(list);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error saving road regeneration progress to {}", this.file, e);
+        }
+    }
+
+    /**
+     * Delete the checkpoint, and ignore all further saves
+     */
+    public synchronized void delete() {
+        this.closed = true;
+        if (this.file.exists() && !this.file.delete()) {
+            LOGGER.error("Error deleting {}. Please delete this file manually", this.file);
+        }
+    }
+
+    private static ArrayList<int[]> toInts(final @NonNull Collection<BlockVector2> vectors) {
+        final ArrayList<int[]> ints = new ArrayList<>(vectors.size());
+        for (final BlockVector2 vector : vectors) {
+            ints.add(new int[]{vector.getBlockX(), vector.getBlockZ()});
+        }
+        return ints;
+    }
+
+    /**
+     * Stored road regeneration progress
+     *
+     * @param regions Regions that have not been started
+     * @param chunks  Chunks that have not been completed
+     * @param height  Road height
+     */
+    public record Progress(@NonNull Set<BlockVector2> regions, @NonNull Set<BlockVector2> chunks, int height) {
+
+    }
+
+}
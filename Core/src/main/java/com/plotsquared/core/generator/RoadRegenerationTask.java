@@ -0,0 +1,195 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regenerates the roads of an area, one region at a time.
+ * <p>
+ * Runs every tick on the main thread. Chunks without road columns are skipped, and up to
+ * {@link #MAX_IN_FLIGHT} chunks are handed to the queue system at once. A chunk stays in
+ * {@link HybridUtils#chunks} until its queue has completed, and the remaining regions and chunks
+ * are checkpointed to disk periodically, so an interrupted regeneration resumes where it stopped.
+ */
+final class RoadRegenerationTask implements Runnable {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + RoadRegenerationTask.class.getSimpleName());
+
+    // Maximum number of chunks that are being loaded or placed by the queue system at once
+    private static final int MAX_IN_FLIGHT = 16;
+    // Maximum time spent scheduling chunks per tick
+    private static final long MAX_TICK_TIME = 20;
+    private static final long CHECKPOINT_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+    private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private final HybridUtils hybridUtils;
+    private final HybridPlotWorld area;
+    private final RoadColumnMask mask;
+    private final int extend;
+    private final Set<BlockVector2> regions;
+    private final Set<BlockVector2> chunks;
+    private final @Nullable RoadRegenCheckpoint checkpoint;
+    private final ArrayDeque<BlockVector2> pending;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger regenerated = new AtomicInteger();
+    private final long started = System.currentTimeMillis();
+    private int skipped;
+    private long lastCheckpoint = System.currentTimeMillis();
+    private long lastReport = System.currentTimeMillis();
+    private PlotSquaredTask task;
+
+    RoadRegenerationTask(
+            final @NonNull HybridUtils hybridUtils,
+            final @NonNull HybridPlotWorld area,
+            final int extend,
+            final @NonNull Set<BlockVector2> regions,
+            final @NonNull Set<BlockVector2> chunks,
+            final @Nullable RoadRegenCheckpoint checkpoint
+    ) {
+        this.hybridUtils = hybridUtils;
+        this.area = area;
+        this.mask = RoadColumnMask.of(area);
+        this.extend = extend;
+        this.regions = regions;
+        this.chunks = chunks;
+        this.checkpoint = checkpoint;
+        this.pending = new ArrayDeque<>(chunks);
+    }
+
+    void start() {
+        // Assign the task on the main thread, before the first run can stop it
+        TaskManager.runTask(() -> this.task = TaskManager.runTaskRepeat(this, TaskTime.ticks(1L)));
+    }
+
+    @Override
+    public void run() {
+        if (!HybridUtils.UPDATE) {
+            // Finish the chunks that were already taken from their region
+            BlockVector2 chunk;
+            while ((chunk = this.pending.poll()) != null) {
+                this.dispatch(chunk);
+            }
+            this.stop();
+            LOGGER.info("Cancelled road task");
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        while (this.inFlight.get() < MAX_IN_FLIGHT && System.currentTimeMillis() - start < MAX_TICK_TIME) {
+            final BlockVector2 chunk = this.pending.poll();
+            if (chunk != null) {
+                this.dispatch(chunk);
+                continue;
+            }
+            final Iterator<BlockVector2> iterator = this.regions.iterator();
+            if (!iterator.hasNext()) {
+                break;
+            }
+            final BlockVector2 region = iterator.next();
+            iterator.remove();
+            final ArrayList<BlockVector2> regionChunks = this.hybridUtils.getChunks(region);
+            this.chunks.addAll(regionChunks);
+            this.pending.addAll(regionChunks);
+            LOGGER.info("Updating .mcr: {}, {} (approx 1024 chunks)", region.getX(), region.getZ());
+            LOGGER.info("- Remaining: {}", this.regions.size());
+        }
+        if (this.pending.isEmpty() && this.regions.isEmpty() && this.inFlight.get() == 0) {
+            this.stop();
+            this.hybridUtils.regeneratePlotWalls(this.area);
+            HybridUtils.UPDATE = false;
+            LOGGER.info(
+                    "Finished road conversion: {} chunks regenerated, {} chunks without roads skipped ({} chunks/s)",
+                    this.regenerated.get(),
+                    this.skipped,
+                    this.getChunksPerSecond()
+            );
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        if (this.checkpoint != null && now - this.lastCheckpoint >= CHECKPOINT_INTERVAL) {
+            this.lastCheckpoint = now;
+            final ArrayList<BlockVector2> regions = new ArrayList<>(this.regions);
+            final ArrayList<BlockVector2> chunks = new ArrayList<>(this.chunks);
+            TaskManager.runTaskAsync(() -> this.checkpoint.save(regions, chunks, this.extend));
+        }
+        if (now - this.lastReport >= REPORT_INTERVAL) {
+            this.lastReport = now;
+            LOGGER.info(
+                    "Progress: {} chunks regenerated, {} skipped, {} regions remaining ({} chunks/s)",
+                    this.regenerated.get(),
+                    this.skipped,
+                    this.regions.size(),
+                    this.getChunksPerSecond()
+            );
+        }
+    }
+
+    private void dispatch(final @NonNull BlockVector2 chunk) {
+        if (!this.mask.hasRoad(chunk.getX(), chunk.getZ())) {
+            this.chunks.remove(chunk);
+            this.skipped++;
+            return;
+        }
+        this.inFlight.incrementAndGet();
+        final boolean scheduled = this.hybridUtils.regenerateRoad(this.area, chunk, this.extend, this.mask, () -> {
+            this.chunks.remove(chunk);
+            this.regenerated.incrementAndGet();
+            this.inFlight.decrementAndGet();
+        });
+        if (!scheduled) {
+            this.chunks.remove(chunk);
+            this.skipped++;
+            this.inFlight.decrementAndGet();
+        }
+    }
+
+    private void stop() {
+        this.task.cancel();
+        if (this.checkpoint != null) {
+            TaskManager.runTaskAsync(this.checkpoint::delete);
+        }
+    }
+
+    private long getChunksPerSecond() {
+        final long elapsed = Math.max(1L, System.currentTimeMillis() - this.started);
+        return (this.regenerated.get() + this.skipped) * 1000L / elapsed;
+    }
+
+}
@@ -25,14 +25,12 @@
  */
 package com.plotsquared.core.generator;
 
-import com.plotsquared.core.location.Direction;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
-import com.plotsquared.core.util.HashUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +40,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.IntBinaryOperator;
 
 /**
  * A plot manager with a square grid layout, with square shaped plots.
@@ -50,13 +49,19 @@ public abstract class SquarePlotManager extends GridPlotManager {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SquarePlotManager.class.getSimpleName());
 
+    // Plot id offsets of the north, east, south and west neighbours
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DZ = {-1, 0, 1, 0};
+
     private final SquarePlotWorld squarePlotWorld;
     private final RegionManager regionManager;
+    private final IntBinaryOperator mergedEdges;
 
     public SquarePlotManager(final @NonNull SquarePlotWorld squarePlotWorld, final @NonNull RegionManager regionManager) {
         super(squarePlotWorld);
         this.squarePlotWorld = squarePlotWorld;
         this.regionManager = regionManager;
+        this.mergedEdges = (x, z) -> squarePlotWorld.getCellClassifier().getMergedEdges(x, z);
     }
 
     @Override
@@ -101,47 +106,10 @@ public abstract class SquarePlotManager extends GridPlotManager {
 
     @Override
     public PlotId getPlotIdAbs(int x, int y, int z) {
-        if (squarePlotWorld.ROAD_OFFSET_X != 0) {
-            x -= squarePlotWorld.ROAD_OFFSET_X;
-        }
-        if (squarePlotWorld.ROAD_OFFSET_Z != 0) {
-            z -= squarePlotWorld.ROAD_OFFSET_Z;
-        }
-        int pathWidthLower;
-        int end;
-        if (squarePlotWorld.ROAD_WIDTH == 0) {
-            pathWidthLower = -1;
-            end = squarePlotWorld.PLOT_WIDTH;
-        } else {
-            if ((squarePlotWorld.ROAD_WIDTH % 2) == 0) {
-                pathWidthLower = (squarePlotWorld.ROAD_WIDTH / 2) - 1;
-            } else {
-                pathWidthLower = squarePlotWorld.ROAD_WIDTH / 2;
-            }
-            end = pathWidthLower + squarePlotWorld.PLOT_WIDTH;
-        }
-        int size = squarePlotWorld.PLOT_WIDTH + squarePlotWorld.ROAD_WIDTH;
-        int idx;
-        if (x < 0) {
-            idx = x / size;
-            x = size + (x % size);
-        } else {
-            idx = (x / size) + 1;
-            x = x % size;
-        }
-        int idz;
-        if (z < 0) {
-            idz = z / size;
-            z = size + (z % size);
-        } else {
-            idz = (z / size) + 1;
-            z = z % size;
-        }
-        if (z <= pathWidthLower || z > end || x <= pathWidthLower || x > end) {
-            return null;
-        } else {
-            return PlotId.of(idx, idz);
-        }
+        final long packed = getPlotIdPacked(x, z, squarePlotWorld.ROAD_OFFSET_X, squarePlotWorld.ROAD_OFFSET_Z,
+                squarePlotWorld.PLOT_WIDTH, squarePlotWorld.ROAD_WIDTH, null
+        );
+        return packed == ROAD ? null : PlotId.unpack(packed);
     }
 
     public PlotId getNearestPlotId(@NonNull PlotArea plotArea, int x, int y, int z) {
@@ -170,83 +138,159 @@ public abstract class SquarePlotManager extends GridPlotManager {
 
     @Override
     public PlotId getPlotId(int x, int y, int z) {
+        final long packed = getPlotIdPacked(x, y, z);
+        return packed == ROAD ? null : PlotId.unpack(packed);
+    }
+
+    @Override
+    public long getPlotIdPacked(int x, int y, int z) {
         try {
-            x -= squarePlotWorld.ROAD_OFFSET_X;
-            z -= squarePlotWorld.ROAD_OFFSET_Z;
-            int size = squarePlotWorld.PLOT_WIDTH + squarePlotWorld.ROAD_WIDTH;
-            int pathWidthLower;
-            int end;
-            if (squarePlotWorld.ROAD_WIDTH == 0) {
-                pathWidthLower = -1;
-                end = squarePlotWorld.PLOT_WIDTH;
-            } else {
-                if ((squarePlotWorld.ROAD_WIDTH % 2) == 0) {
-                    pathWidthLower = (squarePlotWorld.ROAD_WIDTH / 2) - 1;
-                } else {
-                    pathWidthLower = squarePlotWorld.ROAD_WIDTH / 2;
-                }
-                end = pathWidthLower + squarePlotWorld.PLOT_WIDTH;
-            }
-            int dx;
-            int rx;
-            if (x < 0) {
-                dx = x / size;
-                rx = size + (x % size);
-            } else {
-                dx = (x / size) + 1;
-                rx = x % size;
-            }
-            int dz;
-            int rz;
-            if (z < 0) {
-                dz = z / size;
-                rz = size + (z % size);
+            return getPlotIdPacked(x, z, squarePlotWorld.ROAD_OFFSET_X, squarePlotWorld.ROAD_OFFSET_Z,
+                    squarePlotWorld.PLOT_WIDTH, squarePlotWorld.ROAD_WIDTH, this.mergedEdges
+            );
+        } catch (ArithmeticException ignored) {
+            LOGGER.error("Invalid plot / road width in settings.yml for world: {}", squarePlotWorld.getWorldName());
+        }
+        return ROAD;
+    }
+
+    /**
+     * Resolve the packed plot id at a location using only arithmetic.
+     *
+     * @param x           Block X coordinate
+     * @param z           Block Z coordinate
+     * @param offsetX     Road offset on the X axis
+     * @param offsetZ     Road offset on the Z axis
+     * @param plotWidth   Plot width
+     * @param roadWidth   Road width
+     * @param mergedEdges Merged direction bitmask (bit {@code i} set if merged in direction {@code i})
+     *                    of the owned plot with the given id, or 0. If {@code null}, every road block
+     *                    resolves to {@link #ROAD}, like {@link #getPlotIdAbs(int, int, int)}
+     * @return Packed plot id, or {@link #ROAD}
+     */
+    static long getPlotIdPacked(
+            int x, int z, final int offsetX, final int offsetZ, final int plotWidth, final int roadWidth,
+            final @Nullable IntBinaryOperator mergedEdges
+    ) {
+        x -= offsetX;
+        z -= offsetZ;
+        final int size = plotWidth + roadWidth;
+        final int pathWidthLower;
+        final int end;
+        if (roadWidth == 0) {
+            pathWidthLower = -1;
+            end = plotWidth;
+        } else {
+            if ((roadWidth % 2) == 0) {
+                pathWidthLower = (roadWidth / 2) - 1;
             } else {
-                dz = (z / size) + 1;
-                rz = z % size;
-            }
-            PlotId id = PlotId.of(dx, dz);
-            boolean[] merged = new boolean[]{rz <= pathWidthLower, rx > end, rz > end, rx <= pathWidthLower};
-            int hash = HashUtil.hash(merged);
-            // Not merged, and no need to check if it is
-            if (hash == 0) {
-                return id;
-            }
-            Plot plot = squarePlotWorld.getOwnedPlotAbs(id);
-            // Not merged, and standing on road
-            if (plot == null) {
-                return null;
+                pathWidthLower = roadWidth / 2;
             }
-            switch (hash) {
-                case 8:
-                    // north
-                    return plot.isMerged(Direction.NORTH) ? id : null;
-                case 4:
-                    // east
-                    return plot.isMerged(Direction.EAST) ? id : null;
-                case 2:
-                    // south
-                    return plot.isMerged(Direction.SOUTH) ? id : null;
-                case 1:
-                    // west
-                    return plot.isMerged(Direction.WEST) ? id : null;
-                case 12:
-                    // northeast
-                    return plot.isMerged(Direction.NORTHEAST) ? id : null;
-                case 6:
-                    // southeast
-                    return plot.isMerged(Direction.SOUTHEAST) ? id : null;
-                case 3:
-                    // southwest
-                    return plot.isMerged(Direction.SOUTHWEST) ? id : null;
-                case 9:
-                    // northwest
-                    return plot.isMerged(Direction.NORTHWEST) ? id : null;
-            }
-        } catch (Exception ignored) {
-            LOGGER.error("Invalid plot / road width in settings.yml for world: {}", squarePlotWorld.getWorldName());
+            end = pathWidthLower + plotWidth;
+        }
+        final int dx;
+        final int rx;
+        if (x < 0) {
+            dx = x / size;
+            rx = size + (x % size);
+        } else {
+            dx = (x / size) + 1;
+            rx = x % size;
+        }
+        final int dz;
+        final int rz;
+        if (z < 0) {
+            dz = z / size;
+            rz = size + (z % size);
+        } else {
+            dz = (z / size) + 1;
+            rz = z % size;
+        }
+        final int roads = (rz <= pathWidthLower ? 8 : 0) | (rx > end ? 4 : 0) | (rz > end ? 2 : 0) | (rx <= pathWidthLower ? 1 : 0);
+        // Not on a road, and no need to check if it is merged
+        if (roads == 0) {
+            return PlotId.pack(dx, dz);
+        }
+        if (mergedEdges == null) {
+            return ROAD;
+        }
+        final int edges = mergedEdges.applyAsInt(dx, dz);
+        // Not merged (or not claimed), and standing on road
+        if (edges == 0) {
+            return ROAD;
+        }
+        final boolean merged = switch (roads) {
+            // north
+            case 8 -> (edges & 1) != 0;
+            // east
+            case 4 -> (edges & 2) != 0;
+            // south
+            case 2 -> (edges & 4) != 0;
+            // west
+            case 1 -> (edges & 8) != 0;
+            // northeast
+            case 12 -> isMergedDiagonal(mergedEdges, dx, dz, edges, 0, 1);
+            // southeast
+            case 6 -> isMergedDiagonal(mergedEdges, dx, dz, edges, 1, 2);
+            // southwest
+            case 3 -> isMergedDiagonal(mergedEdges, dx, dz, edges, 2, 3);
+            // northwest
+            case 9 -> isMergedDiagonal(mergedEdges, dx, dz, edges, 3, 0);
+            default -> false;
+        };
+        return merged ? PlotId.pack(dx, dz) : ROAD;
+    }
+
+    /**
+     * Mirrors {@link Plot#isMerged(int)} for the artificial directions: the
+     * corner belongs to the plot if it is merged in both directions, and both neighbours are merged
+     * towards each other.
+     */
+    private static boolean isMergedDiagonal(
+            final @NonNull IntBinaryOperator mergedEdges, final int x, final int z, final int edges,
+            final int i, final int i2
+    ) {
+        if ((edges & (1 << i)) == 0 || (edges & (1 << i2)) == 0) {
+            return false;
+        }
+        return (mergedEdges.applyAsInt(x + DX[i], z + DZ[i]) & (1 << i2)) != 0
+                && (mergedEdges.applyAsInt(x + DX[i2], z + DZ[i2]) & (1 << i)) != 0;
+    }
+
+    @Override
+    public int getPlotEdgeDistance(int x, int z) {
+        try {
+            return getPlotEdgeDistance(x, z, squarePlotWorld.ROAD_OFFSET_X, squarePlotWorld.ROAD_OFFSET_Z,
+                    squarePlotWorld.PLOT_WIDTH, squarePlotWorld.ROAD_WIDTH
+            );
+        } catch (ArithmeticException ignored) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get the distance from a block to the nearest edge of the plot it is in, using the same grid
+     * as {@link #getPlotIdPacked(int, int, int, int, int, int, IntBinaryOperator)}
+     *
+     * @return Distance to the nearest plot edge, or {@code -1} if the block is on a road or the
+     *         world has no roads
+     */
+    static int getPlotEdgeDistance(
+            final int x, final int z, final int offsetX, final int offsetZ, final int plotWidth, final int roadWidth
+    ) {
+        // Without roads, plot ids at negative coordinates are not aligned to the grid
+        if (roadWidth == 0) {
+            return -1;
+        }
+        final int size = plotWidth + roadWidth;
+        final int low = ((roadWidth % 2) == 0 ? (roadWidth / 2) - 1 : roadWidth / 2) + 1;
+        final int high = low + plotWidth - 1;
+        final int rx = Math.floorMod(x - offsetX, size);
+        final int rz = Math.floorMod(z - offsetZ, size);
+        if (rx < low || rx > high || rz < low || rz > high) {
+            return -1;
         }
-        return null;
+        return Math.min(Math.min(rx - low, high - rx), Math.min(rz - low, high - rz));
     }
 
     /**
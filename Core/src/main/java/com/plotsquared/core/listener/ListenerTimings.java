@@ -0,0 +1,258 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.listener;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation counters and timings for the platform event handlers registered by PlotSquared.
+ * <p>
+ * Handlers are wrapped once when they are registered and only read {@link #isEnabled()} while
+ * recording is turned off. All counters are striped, so handlers called from several threads
+ * at once do not contend on a single field.
+ *
+ * @since TODO
+ */
+@Singleton
+public final class ListenerTimings {
+
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private volatile boolean enabled = Settings.Enabled_Components.LISTENER_TIMINGS;
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * Get whether handler invocations are currently being recorded
+     *
+     * @return {@code true} if recording
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Start or stop recording handler invocations. Recorded values are kept.
+     *
+     * @param enabled whether to record
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the handler with the given name, creating it if it has not been registered yet
+     *
+     * @param name handler name, e.g. {@code PlayerEventListener#onMove}
+     * @return the handler
+     */
+    public @NonNull Handler getHandler(final @NonNull String name) {
+        return this.handlers.computeIfAbsent(name, Handler::new);
+    }
+
+    /**
+     * Reset the recorded values of all handlers
+     */
+    public void reset() {
+        this.handlers.values().forEach(Handler::reset);
+        this.since = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the epoch millisecond at which recording started, or was last reset
+     *
+     * @return reset timestamp
+     */
+    public long getSince() {
+        return this.since;
+    }
+
+    /**
+     * Get the recorded values of all handlers that have been invoked at least once,
+     * most expensive first
+     *
+     * @return handler snapshots
+     */
+    public @NonNull List<Snapshot> snapshot() {
+        final List<Snapshot> snapshots = new ArrayList<>(this.handlers.size());
+        for (final Handler handler : this.handlers.values()) {
+            final Snapshot snapshot = handler.snapshot();
+            if (snapshot.invocations() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Serialize the recorded values of all invoked handlers
+     *
+     * @return JSON report
+     */
+    public @NonNull JsonObject toJson() {
+        final JsonObject object = new JsonObject();
+        object.addProperty("enabled", this.enabled);
+        object.addProperty("since", this.since);
+        object.addProperty("captured", System.currentTimeMillis());
+        final JsonArray array = new JsonArray();
+        for (final Snapshot snapshot : snapshot()) {
+            final JsonObject entry = new JsonObject();
+            entry.addProperty("handler", snapshot.name());
+            entry.addProperty("invocations", snapshot.invocations());
+            entry.addProperty("totalNanos", snapshot.totalNanos());
+            entry.addProperty("averageNanos", snapshot.averageNanos());
+            entry.addProperty("maxNanos", snapshot.maxNanos());
+            entry.addProperty("cancelled", snapshot.cancelled());
+            entry.addProperty("cancelRate", snapshot.cancelRate());
+            array.add(entry);
+        }
+        object.add("handlers", array);
+        return object;
+    }
+
+
+    /**
+     * Counters for a single event handler
+     */
+    public final class Handler {
+
+        /**
+         * Returned by {@link #start()} while recording is disabled
+         */
+        public static final long DISABLED = Long.MIN_VALUE;
+
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private Handler(final @NonNull String name) {
+            this.name = name;
+        }
+
+        public @NonNull String getName() {
+            return this.name;
+        }
+
+        /**
+         * Get whether invocations of this handler are currently being recorded
+         *
+         * @return {@code true} if recording
+         */
+        public boolean isEnabled() {
+            return ListenerTimings.this.enabled;
+        }
+
+        /**
+         * Start timing an invocation, to be passed to {@link #stop(long)}
+         *
+         * @return start time, or {@link #DISABLED}
+         */
+        public long start() {
+            return ListenerTimings.this.enabled ? System.nanoTime() : DISABLED;
+        }
+
+        /**
+         * Record an invocation started by {@link #start()}
+         *
+         * @param start start time
+         */
+        public void stop(final long start) {
+            if (start != DISABLED) {
+                record(System.nanoTime() - start, false);
+            }
+        }
+
+        /**
+         * Record a single invocation
+         *
+         * @param nanos     time spent in the handler
+         * @param cancelled whether the handler cancelled the event
+         */
+        public void record(final long nanos, final boolean cancelled) {
+            this.invocations.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+            if (cancelled) {
+                this.cancelled.increment();
+            }
+        }
+
+        private void reset() {
+            this.invocations.reset();
+            this.totalNanos.reset();
+            this.cancelled.reset();
+            this.maxNanos.reset();
+        }
+
+        private @NonNull Snapshot snapshot() {
+            return new Snapshot(
+                    this.name,
+                    this.invocations.sum(),
+                    this.totalNanos.sum(),
+                    this.maxNanos.get(),
+                    this.cancelled.sum()
+            );
+        }
+
+    }
+
+
+    /**
+     * Recorded values of a handler at a point in time. The counters are read one after another,
+     * so values captured while the handler is running may be off by a few invocations.
+     *
+     * @param name        handler name
+     * @param invocations number of invocations
+     * @param totalNanos  cumulative time spent in the handler
+     * @param maxNanos    longest single invocation
+     * @param cancelled   number of invocations that cancelled the event
+     */
+    public record Snapshot(@NonNull String name, long invocations, long totalNanos, long maxNanos, long cancelled) {
+
+        public long averageNanos() {
+            return this.invocations == 0 ? 0 : this.totalNanos / this.invocations;
+        }
+
+        public double cancelRate() {
+            return this.invocations == 0 ? 0 : (double) this.cancelled / this.invocations;
+        }
+
+    }
+
+}
@@ -29,8 +29,11 @@ import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.player.MetaDataAccess;
+import com.plotsquared.core.player.PlayerMetaDataKeys;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.Permissions;
 import com.plotsquared.core.util.WEManager;
@@ -90,6 +93,7 @@ public class WESubscriber {
                     return;
                 }
                 mask = plot.getRegions();
+                PlotAnalysis.markModified(plot);
             } else if (plotPlayer.getAttribute("worldedit")) {
                 return;
             } else {
@@ -106,6 +110,13 @@ public class WESubscriber {
                     }
                     return;
                 }
+                if (this.plotAreaManager.hasPlotArea(world)) {
+                    // The mask only covers the plot stored by WEManager
+                    try (final MetaDataAccess<Plot> metaDataAccess =
+                                 plotPlayer.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_WORLD_EDIT_REGION_PLOT)) {
+                        metaDataAccess.get().ifPresent(PlotAnalysis::markModified);
+                    }
+                }
             }
             if (Settings.Enabled_Components.CHUNK_PROCESSOR) {
                 if (this.plotAreaManager.hasPlotArea(world)) {
@@ -30,6 +30,7 @@ import com.google.common.base.Preconditions;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotCellClassifier;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -301,7 +302,7 @@ public final class Location extends BlockLoc implements Comparable<Location> {
      */
     public boolean isPlotRoad() {
         final PlotArea area = this.getPlotArea();
-        return area != null && area.getPlotAbs(this) == null;
+        return area != null && area.getCellClassifier().getCell(getX(), getY(), getZ()) == PlotCellClassifier.ROAD;
     }
 
     /**
@@ -37,6 +37,7 @@ import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.configuration.caption.CaptionMap;
 import com.plotsquared.core.configuration.caption.CaptionUtility;
 import com.plotsquared.core.configuration.caption.LocaleHolder;
+import com.plotsquared.core.configuration.caption.ParsedMessageCache;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.events.TeleportCause;
@@ -65,7 +66,6 @@ import com.sk89q.worldedit.world.gamemode.GameMode;
 import com.sk89q.worldedit.world.item.ItemType;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.Template;
 import net.kyori.adventure.title.Title;
 import org.apache.logging.log4j.LogManager;
@@ -626,7 +626,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             }
         }
         if (ExpireManager.IMP != null) {
-            ExpireManager.IMP.storeDate(getUUID(), System.currentTimeMillis());
+            ExpireManager.IMP.handleQuit(this);
         }
         PlotSquared.platform().playerManager().removePlayer(this);
         PlotSquared.platform().unregister(this);
@@ -871,9 +871,9 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final int fadeIn, final int stay, final int fadeOut,
             final @NonNull Template... replacements
     ) {
-        final Component titleComponent = MiniMessage.get().parse(title.getComponent(this), replacements);
+        final Component titleComponent = ParsedMessageCache.parse(title.getComponent(this), replacements);
         final Component subtitleComponent =
-                MiniMessage.get().parse(subtitle.getComponent(this), replacements);
+                ParsedMessageCache.parse(subtitle.getComponent(this), replacements);
         final Title.Times times = Title.Times.of(
                 Duration.of(Settings.Titles.TITLES_FADE_IN * 50L, ChronoUnit.MILLIS),
                 Duration.of(Settings.Titles.TITLES_STAY * 50L, ChronoUnit.MILLIS),
@@ -893,25 +893,10 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final @NonNull Caption caption,
             final @NonNull Template... replacements
     ) {
-        String message;
-        try {
-            message = caption.getComponent(this);
-        } catch (final CaptionMap.NoSuchCaptionException exception) {
-            // This sends feedback to the player
-            message = NON_EXISTENT_CAPTION + ((TranslatableCaption) caption).getKey();
-            // And this also prints it to the console
-            exception.printStackTrace();
-        }
-        if (message.isEmpty()) {
+        final Component component = ParsedMessageCache.parse(caption, this, () -> prepareMessage(caption), replacements);
+        if (component == null) {
             return;
         }
-        // Replace placeholders, etc
-        message = CaptionUtility.format(this, message)
-                .replace('\u2010', '%').replace('\u2020', '&').replace('\u2030', '&')
-                .replace("<prefix>", TranslatableCaption.of("core.prefix").getComponent(this));
-
-
-        final Component component = MiniMessage.get().parse(message, replacements);
         getAudience().sendActionBar(component);
     }
 
@@ -920,6 +905,26 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             final @NonNull Caption caption,
             final @NonNull Template... replacements
     ) {
+        // Parse the message
+        final Component component = ParsedMessageCache.parse(caption, this, () -> prepareMessage(caption), replacements);
+        if (component == null) {
+            return;
+        }
+        if (!Objects.equal(component, this.getMeta("lastMessage"))
+                || System.currentTimeMillis() - this.<Long>getMeta("lastMessageTime") > 5000) {
+            setMeta("lastMessage", component);
+            setMeta("lastMessageTime", System.currentTimeMillis());
+            getAudience().sendMessage(component);
+        }
+    }
+
+    /**
+     * Get the MiniMessage string of a caption, ready to be parsed and sent to this player
+     *
+     * @param caption Caption
+     * @return MiniMessage string, or an empty string if nothing should be sent
+     */
+    private @NonNull String prepareMessage(final @NonNull Caption caption) {
         String message;
         try {
             message = caption.getComponent(this);
@@ -930,20 +935,12 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             exception.printStackTrace();
         }
         if (message.isEmpty()) {
-            return;
+            return message;
         }
         // Replace placeholders, etc
-        message = CaptionUtility.format(this, message)
+        return CaptionUtility.format(this, message)
                 .replace('\u2010', '%').replace('\u2020', '&').replace('\u2030', '&')
                 .replace("<prefix>", TranslatableCaption.of("core.prefix").getComponent(this));
-        // Parse the message
-        final Component component = MiniMessage.get().parse(message, replacements);
-        if (!Objects.equal(component, this.getMeta("lastMessage"))
-                || System.currentTimeMillis() - this.<Long>getMeta("lastMessageTime") > 5000) {
-            setMeta("lastMessage", component);
-            setMeta("lastMessageTime", System.currentTimeMillis());
-            getAudience().sendMessage(component);
-        }
     }
 
     // Redefine from PermissionHolder as it's required from CommandCaller
@@ -0,0 +1,128 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+/**
+ * Walker's alias table: picks an index with a probability proportional to its weight in constant time,
+ * from a single random {@code long}.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds the table using Vose's method.
+     *
+     * @param weights non-negative weights, with a positive sum
+     */
+    AliasTable(final double[] weights) {
+        final int size = weights.length;
+        double total = 0;
+        for (final double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+        if (size == 0 || total <= 0) {
+            throw new IllegalArgumentException("Weights must have a positive sum");
+        }
+        this.probability = new double[size];
+        this.alias = new int[size];
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            final int less = small[--smallSize];
+            final int more = large[--largeSize];
+            this.probability[less] = scaled[less];
+            this.alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // Whatever is left is full, up to rounding errors
+        while (largeSize > 0) {
+            final int index = large[--largeSize];
+            this.probability[index] = 1;
+            this.alias[index] = index;
+        }
+        while (smallSize > 0) {
+            final int index = small[--smallSize];
+            this.probability[index] = 1;
+            this.alias[index] = index;
+        }
+    }
+
+    int size() {
+        return this.probability.length;
+    }
+
+    /**
+     * Picks an index. The upper 32 bits of {@code random} choose the column, the lower 32 bits choose
+     * between the column and its alias.
+     *
+     * @param random uniformly distributed random bits
+     * @return the picked index
+     */
+    int sample(final long random) {
+        final int column = (int) (((random >>> 32) * this.probability.length) >>> 32);
+        final double coin = (random & 0xFFFFFFFFL) * 0x1.0p-32;
+        return coin < this.probability[column] ? column : this.alias[column];
+    }
+
+    /**
+     * Gets the probability with which {@link #sample(long)} picks an index, as encoded in the table.
+     *
+     * @param index index
+     * @return probability between 0 and 1
+     */
+    double getProbability(final int index) {
+        final int size = this.probability.length;
+        double result = this.probability[index] / size;
+        for (int column = 0; column < size; column++) {
+            if (this.alias[column] == index && column != index) {
+                result += (1 - this.probability[column]) / size;
+            }
+        }
+        return result;
+    }
+
+}
@@ -34,7 +34,9 @@ import com.plotsquared.core.util.PatternUtil;
 import com.plotsquared.core.util.StringMan;
 import com.sk89q.worldedit.function.pattern.BlockPattern;
 import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
 import com.sk89q.worldedit.world.block.BlockType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -56,6 +58,8 @@ public final class BlockBucket implements ConfigurationSerializable {
     private boolean compiled;
     private BlockState single;
     private Pattern pattern;
+    private String compiledInput;
+    private BlockSampler sampler;
 
     public BlockBucket(final @NonNull BlockType type) {
         this(type.getId());
@@ -118,6 +122,7 @@ public final class BlockBucket implements ConfigurationSerializable {
             return;
         }
         this.compiled = true;
+        this.sampler = null;
         String string = this.input.toString();
         if (string.isEmpty()) {
             this.single = null;
@@ -164,6 +169,8 @@ public final class BlockBucket implements ConfigurationSerializable {
         if (legacy) {
             string = StringMan.join(blocksStr, ",");
         }
+        this.single = null;
+        this.compiledInput = string;
         pattern = PatternUtil.parse(null, string);
     }
 
@@ -176,6 +183,55 @@ public final class BlockBucket implements ConfigurationSerializable {
         return this.pattern;
     }
 
+    /**
+     * Gets the bucket as a {@link BlockSampler}, which picks blocks without going through the WorldEdit pattern
+     * where possible. Prefer this over {@link #toPattern()} when placing many blocks.
+     *
+     * @return the sampler, or {@code null} if the bucket is empty
+     * @since TODO
+     */
+    public BlockSampler toSampler() {
+        this.compile();
+        BlockSampler sampler = this.sampler;
+        if (sampler == null && this.pattern != null) {
+            this.sampler = sampler = createSampler();
+        }
+        return sampler;
+    }
+
+    private @NonNull BlockSampler createSampler() {
+        if (this.single != null) {
+            return BlockSampler.of(this.single.toBaseBlock());
+        }
+        // Resolve each "chance%block" entry the way WorldEdit's random pattern does
+        final String[] entries = this.compiledInput.split(",(?![^\\(\\[]*[\\]\\)])");
+        final BaseBlock[] blocks = new BaseBlock[entries.length];
+        final double[] weights = new double[entries.length];
+        try {
+            for (int i = 0; i < entries.length; i++) {
+                String entry = entries[i];
+                final int percent = entry.indexOf('%');
+                weights[i] = 1;
+                if (percent != -1) {
+                    weights[i] = Double.parseDouble(entry.substring(0, percent));
+                    entry = entry.substring(percent + 1);
+                }
+                final Pattern entryPattern = PatternUtil.parse(null, entry);
+                if (entryPattern instanceof BlockPattern blockPattern) {
+                    blocks[i] = blockPattern.getBlock();
+                } else if (entryPattern instanceof BlockStateHolder<?> holder) {
+                    blocks[i] = holder.toBaseBlock();
+                } else {
+                    return BlockSampler.of(this.pattern);
+                }
+            }
+            return BlockSampler.of(blocks, weights);
+        } catch (final Exception ignored) {
+            // Anything more complex than plain blocks keeps using the pattern
+            return BlockSampler.of(this.pattern);
+        }
+    }
+
     @Override
     public String toString() {
         return input.toString();
@@ -0,0 +1,154 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.util.PatternUtil;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compiled {@link BlockBucket}. Buckets of plain blocks pick from pre-resolved blocks, either a single block
+ * or through an {@link AliasTable} driven by the thread's own random generator, so sampling neither searches
+ * nor allocates. Other buckets fall back to their WorldEdit {@link Pattern}.
+ * <p>
+ * Samplers are patterns themselves, so they can be passed anywhere a bucket pattern is used.
+ *
+ * @since TODO
+ */
+public final class BlockSampler implements Pattern {
+
+    private final @Nullable BaseBlock single;
+    private final @Nullable BaseBlock[] blocks;
+    private final @Nullable AliasTable table;
+    private final @Nullable Pattern fallback;
+
+    private BlockSampler(
+            final @Nullable BaseBlock single, final @Nullable BaseBlock[] blocks,
+            final @Nullable AliasTable table, final @Nullable Pattern fallback
+    ) {
+        this.single = single;
+        this.blocks = blocks;
+        this.table = table;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a sampler that always picks the same block.
+     *
+     * @param block block
+     * @return sampler
+     */
+    public static @NonNull BlockSampler of(final @NonNull BaseBlock block) {
+        return new BlockSampler(block, null, null, null);
+    }
+
+    /**
+     * Creates a sampler that picks blocks with a chance proportional to their weight.
+     *
+     * @param blocks  blocks
+     * @param weights non-negative weight of each block, with a positive sum
+     * @return sampler
+     * @throws IllegalArgumentException if the weights are invalid
+     */
+    public static @NonNull BlockSampler of(final @NonNull BaseBlock[] blocks, final @NonNull double[] weights) {
+        if (blocks.length != weights.length) {
+            throw new IllegalArgumentException("Expected one weight per block");
+        }
+        final AliasTable table = new AliasTable(weights);
+        if (table.size() == 1) {
+            return of(blocks[0]);
+        }
+        return new BlockSampler(null, blocks.clone(), table, null);
+    }
+
+    /**
+     * Creates a sampler that applies a pattern, for patterns that are not plain blocks.
+     *
+     * @param pattern pattern
+     * @return sampler
+     */
+    public static @NonNull BlockSampler of(final @NonNull Pattern pattern) {
+        return new BlockSampler(null, null, null, pattern);
+    }
+
+    /**
+     * Checks whether the sampled blocks do not depend on the position.
+     *
+     * @return {@code true} unless the sampler falls back to a pattern
+     */
+    public boolean isCompiled() {
+        return this.fallback == null;
+    }
+
+    /**
+     * Picks a block for a position.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return the block
+     */
+    public @NonNull BaseBlock sample(final int x, final int y, final int z) {
+        if (this.single != null) {
+            return this.single;
+        }
+        if (this.table != null) {
+            return this.blocks[this.table.sample(ThreadLocalRandom.current().nextLong())];
+        }
+        return PatternUtil.apply(this.fallback, x, y, z);
+    }
+
+    /**
+     * Picks a block for a position using the given random generator, e.g. for reproducible results.
+     *
+     * @param x      x coordinate
+     * @param y      y coordinate
+     * @param z      z coordinate
+     * @param random random generator
+     * @return the block
+     */
+    public @NonNull BaseBlock sample(final int x, final int y, final int z, final @NonNull RandomGenerator random) {
+        if (this.single != null) {
+            return this.single;
+        }
+        if (this.table != null) {
+            return this.blocks[this.table.sample(random.nextLong())];
+        }
+        return PatternUtil.apply(this.fallback, x, y, z);
+    }
+
+    @Override
+    public BaseBlock applyBlock(final BlockVector3 position) {
+        return sample(position.getBlockX(), position.getBlockY(), position.getBlockZ());
+    }
+
+}
@@ -69,7 +69,6 @@ import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.TimeUtil;
 import com.plotsquared.core.util.WorldUtil;
-import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
@@ -90,6 +89,7 @@ import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -371,16 +371,16 @@ public class Plot {
         } else if (split.length == 2) {
             id = PlotId.fromString(arg);
         } else {
-            Collection<Plot> plots;
+            Collection<PlotArea> areas;
             if (area == null) {
-                plots = PlotQuery.newQuery().allPlots().asList();
+                areas = Arrays.asList(PlotSquared.get().getPlotAreaManager().getAllPlotAreas());
             } else {
-                plots = area.getPlots();
+                areas = Collections.singletonList(area);
             }
-            for (Plot p : plots) {
-                String name = p.getAlias();
-                if (!name.isEmpty() && name.equalsIgnoreCase(arg)) {
-                    return p.getBasePlot(false);
+            for (PlotArea plotArea : areas) {
+                Plot plot = plotArea.getAliasIndex().getPlot(arg);
+                if (plot != null) {
+                    return plot;
                 }
             }
             if (message && player != null) {
@@ -1120,6 +1120,9 @@ public class Plot {
             plot.reEnter();
             DBFunc.setFlag(plot, flag);
         }
+        if (flag instanceof KeepFlag && ExpireManager.IMP != null) {
+            ExpireManager.IMP.updateAge(this);
+        }
         return true;
     }
 
@@ -1211,6 +1214,9 @@ public class Plot {
             DBFunc.removeFlag(plot, flag);
             removed = true;
         }
+        if (removed && flag instanceof KeepFlag && ExpireManager.IMP != null) {
+            ExpireManager.IMP.updateAge(origin);
+        }
         return removed;
     }
 
@@ -1301,6 +1307,9 @@ public class Plot {
             getArea().removePlot(getId());
             DBFunc.delete(current);
             current.setOwnerAbs(null);
+            if (current.settings != null) {
+                current.getArea().getAliasIndex().remove(current, current.settings.getAlias());
+            }
             current.settings = null;
             for (final PlotPlayer<?> pp : players) {
                 this.plotListener.plotEntry(pp, current);
@@ -1631,9 +1640,17 @@ public class Plot {
      * @return average rating as double, {@link Double#NaN} of no ratings exist
      */
     public double getAverageRating() {
-        Collection<Rating> ratings = this.getRatings().values();
-        double sum = ratings.stream().mapToDouble(Rating::getAverageRating).sum();
-        return sum / ratings.size();
+        return getRatingAggregate().getAverageRating();
+    }
+
+    /**
+     * Gets the totals over the ratings of the base plot, without decoding each rating.
+     *
+     * @return rating aggregate
+     * @since TODO
+     */
+    public @NonNull RatingAggregate getRatingAggregate() {
+        return this.getBasePlot(false).getSettings().getRatingAggregate();
     }
 
     /**
@@ -1647,11 +1664,10 @@ public class Plot {
     public boolean addRating(UUID uuid, Rating rating) {
         Plot base = this.getBasePlot(false);
         PlotSettings baseSettings = base.getSettings();
-        if (baseSettings.getRatings().containsKey(uuid)) {
+        int aggregate = rating.getAggregate();
+        if (!baseSettings.addRating(uuid, aggregate)) {
             return false;
         }
-        int aggregate = rating.getAggregate();
-        baseSettings.getRatings().put(uuid, aggregate);
         DBFunc.setRating(base, uuid, aggregate);
         return true;
     }
@@ -1738,6 +1754,9 @@ public class Plot {
             area.addPlot(this);
             updateWorldBorder();
         }
+        if (ExpireManager.IMP != null) {
+            ExpireManager.IMP.updateAge(this);
+        }
         this.getPlotModificationManager().setSign(player.getName());
         player.sendMessage(TranslatableCaption.of("working.claimed"), Template.of("plot", this.getId().toString()));
         if (teleport) {
@@ -2108,15 +2127,19 @@ public class Plot {
      * @param alias The alias
      */
     public void setAlias(String alias) {
+        if (alias == null) {
+            alias = "";
+        }
         for (Plot current : this.getConnectedPlots()) {
-            String name = this.getSettings().getAlias();
-            if (alias == null) {
-                alias = "";
-            }
-            if (name.equals(alias)) {
-                return;
+            // Each connected plot is checked, so the whole group ends up with the alias
+            final String oldAlias = current.getSettings().getAlias();
+            if (oldAlias.equals(alias)) {
+                continue;
             }
             current.getSettings().setAlias(alias);
+            if (current.getArea() != null) {
+                current.getArea().getAliasIndex().update(current, oldAlias);
+            }
             DBFunc.setAlias(current, alias);
         }
     }
@@ -2152,6 +2175,9 @@ public class Plot {
             }
             DBFunc.setMerged(this, this.getSettings().getMerged());
             regions_cache = null;
+            if (this.area != null) {
+                this.area.getCellClassifier().invalidate();
+            }
         }
     }
 
@@ -2192,6 +2218,9 @@ public class Plot {
             this.origin.origin = null;
             this.origin = null;
         }
+        if (this.area != null) {
+            this.area.getCellClassifier().invalidate();
+        }
     }
 
     /**
@@ -3051,37 +3080,7 @@ public class Plot {
      * @return Average ratings in each category
      */
     public @NonNull double[] getAverageRatings() {
-        Map<UUID, Integer> rating;
-        if (this.getSettings().getRatings() != null) {
-            rating = this.getSettings().getRatings();
-        } else if (Settings.Enabled_Components.RATING_CACHE) {
-            rating = new HashMap<>();
-        } else {
-            rating = DBFunc.getRatings(this);
-        }
-        int size = 1;
-        if (!Settings.Ratings.CATEGORIES.isEmpty()) {
-            size = Math.max(1, Settings.Ratings.CATEGORIES.size());
-        }
-        double[] ratings = new double[size];
-        if (rating == null || rating.isEmpty()) {
-            return ratings;
-        }
-        for (Entry<UUID, Integer> entry : rating.entrySet()) {
-            int current = entry.getValue();
-            if (Settings.Ratings.CATEGORIES.isEmpty()) {
-                ratings[0] += current;
-            } else {
-                for (int i = 0; i < Settings.Ratings.CATEGORIES.size(); i++) {
-                    ratings[i] += current % 10 - 1;
-                    current /= 10;
-                }
-            }
-        }
-        for (int i = 0; i < size; i++) {
-            ratings[i] /= rating.size();
-        }
-        return ratings;
+        return this.getSettings().getRatingAggregate().getAverageRatings();
     }
 
     /**
@@ -0,0 +1,176 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-insensitive index of the plot aliases in a {@link PlotArea}.
+ * <p>
+ * The index is updated when plots are added to or removed from the area, and when
+ * the alias of a plot changes through {@link Plot#setAlias(String)}. Entries are
+ * validated against the current plot alias on lookup, so stale entries are dropped
+ * lazily instead of returning a wrong plot. Aliases are looked up in lower case, but listed
+ * the way they were set.
+ */
+public class PlotAliasIndex {
+
+    private final Map<String, Set<Plot>> plots = new ConcurrentHashMap<>();
+    // Lower case alias to the alias as it was set
+    private final NavigableMap<String, String> aliases = new ConcurrentSkipListMap<>();
+
+    private static @NonNull String key(final @NonNull String alias) {
+        return alias.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Add a plot to the index, using its current alias
+     *
+     * @param plot Plot to add
+     */
+    void add(final @NonNull Plot plot) {
+        final String alias = plot.getAlias();
+        if (alias.isEmpty()) {
+            return;
+        }
+        this.plots.compute(key(alias), (key, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+            }
+            set.add(plot);
+            this.aliases.put(key, alias);
+            return set;
+        });
+    }
+
+    /**
+     * Remove a plot from the index
+     *
+     * @param plot  Plot to remove
+     * @param alias The alias the plot was indexed with
+     */
+    void remove(final @NonNull Plot plot, final @NonNull String alias) {
+        if (alias.isEmpty()) {
+            return;
+        }
+        this.plots.computeIfPresent(key(alias), (key, set) -> {
+            set.remove(plot);
+            if (set.isEmpty()) {
+                this.aliases.remove(key);
+                return null;
+            }
+            // Keep listing the alias the way one of the remaining plots writes it
+            for (final Plot remaining : set) {
+                final String current = remaining.getAlias();
+                if (key.equals(key(current))) {
+                    this.aliases.put(key, current);
+                    break;
+                }
+            }
+            return set;
+        });
+    }
+
+    /**
+     * Update the index after the alias of a plot changed
+     *
+     * @param plot     Plot whose alias changed
+     * @param oldAlias The previous alias of the plot
+     */
+    void update(final @NonNull Plot plot, final @NonNull String oldAlias) {
+        this.remove(plot, oldAlias);
+        this.add(plot);
+    }
+
+    /**
+     * Get the base plot of a plot with the given alias (ignoring case)
+     *
+     * @param alias Alias to look up
+     * @return The base plot of the plot with the alias, or {@code null} if no plot has the alias
+     */
+    public @Nullable Plot getPlot(final @NonNull String alias) {
+        if (alias.isEmpty()) {
+            return null;
+        }
+        final Set<Plot> plots = this.plots.get(key(alias));
+        if (plots == null) {
+            return null;
+        }
+        for (final Plot plot : plots) {
+            if (alias.equalsIgnoreCase(plot.getAlias())) {
+                return plot.getBasePlot(false);
+            }
+            this.remove(plot, alias);
+        }
+        return null;
+    }
+
+    /**
+     * Get all plots with the given alias (ignoring case)
+     *
+     * @param alias Alias to look up
+     * @return Unmodifiable collection of plots with the alias
+     */
+    public @NonNull Collection<Plot> getPlots(final @NonNull String alias) {
+        final Set<Plot> plots = this.plots.get(key(alias));
+        if (plots == null) {
+            return Collections.emptyList();
+        }
+        final List<Plot> result = new ArrayList<>(plots.size());
+        for (final Plot plot : plots) {
+            if (alias.equalsIgnoreCase(plot.getAlias())) {
+                result.add(plot);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Get all indexed aliases starting with the given prefix (ignoring case), for example
+     * for tab completion. The aliases are returned the way they were set, in case-insensitive
+     * alphabetical order.
+     *
+     * @param prefix Alias prefix
+     * @return Unmodifiable collection of matching aliases
+     */
+    public @NonNull Collection<String> getAliases(final @NonNull String prefix) {
+        final String key = key(prefix);
+        return Collections.unmodifiableCollection(this.aliases.subMap(key, true, key + Character.MAX_VALUE, false).values());
+    }
+
+}
@@ -105,6 +105,9 @@ public abstract class PlotArea {
     }
 
     protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    private final PlotAliasIndex aliasIndex = new PlotAliasIndex();
+    private final PlotCellClassifier cellClassifier = new PlotCellClassifier(this);
+    private final PlotIdIndex idIndex = new PlotIdIndex();
     @NonNull
     private final String worldName;
     private final String id;
@@ -620,8 +623,12 @@ public abstract class PlotArea {
     }
 
     public boolean contains(final @NonNull PlotId id) {
-        return this.min == null || (id.getX() >= this.min.getX() && id.getX() <= this.max.getX() &&
-                id.getY() >= this.min.getY() && id.getY() <= this.max.getY());
+        return this.containsId(id.getX(), id.getY());
+    }
+
+    boolean containsId(final int x, final int y) {
+        return this.min == null || (x >= this.min.getX() && x <= this.max.getX() &&
+                y >= this.min.getY() && y <= this.max.getY());
     }
 
     public boolean contains(final @NonNull Location location) {
@@ -824,7 +831,7 @@ public abstract class PlotArea {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.putPlot(plot);
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
@@ -860,6 +867,9 @@ public abstract class PlotArea {
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            this.aliasIndex.add(plot);
+            this.idIndex.add(plot.getId());
+            this.cellClassifier.invalidate();
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -872,7 +882,48 @@ public abstract class PlotArea {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.putPlot(plot);
+    }
+
+    private boolean putPlot(final @NonNull Plot plot) {
+        final Plot previous = this.plots.put(plot.getId(), plot);
+        if (previous != null) {
+            this.aliasIndex.remove(previous, previous.getAlias());
+        }
+        this.aliasIndex.add(plot);
+        this.idIndex.add(plot.getId());
+        this.cellClassifier.invalidate();
+        return previous == null;
+    }
+
+    /**
+     * Get the alias index of this area
+     *
+     * @return Alias index
+     * @since TODO
+     */
+    public @NonNull PlotAliasIndex getAliasIndex() {
+        return this.aliasIndex;
+    }
+
+    /**
+     * Get the plot cell classifier of this area
+     *
+     * @return Cell classifier
+     * @since TODO
+     */
+    public @NonNull PlotCellClassifier getCellClassifier() {
+        return this.cellClassifier;
+    }
+
+    /**
+     * Get the spatial index of the claimed plot ids in this area
+     *
+     * @return Plot id index
+     * @since TODO
+     */
+    public @NonNull PlotIdIndex getIdIndex() {
+        return this.idIndex;
     }
 
     /**
@@ -959,7 +1010,14 @@ public abstract class PlotArea {
     }
 
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot plot = this.plots.remove(id);
+        if (plot == null) {
+            return false;
+        }
+        this.aliasIndex.remove(plot, plot.getAlias());
+        this.idIndex.remove(id);
+        this.cellClassifier.invalidate();
+        return true;
     }
 
     public boolean mergePlots(final @NonNull List<PlotId> plotIds, final boolean removeRoads) {
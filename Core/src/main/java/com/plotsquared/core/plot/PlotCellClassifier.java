@@ -0,0 +1,141 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps block coordinates in a {@link PlotArea} to compact cell ids.
+ * <p>
+ * Every block on a road (or outside the bounds of the area) is classified as {@link #ROAD}.
+ * Every block inside a plot is classified as the packed id of the base plot of its merged
+ * group, so two blocks belong to the same plot exactly when their cell ids are equal. The
+ * plot to base plot mapping is kept in a small direct-mapped cache that is invalidated
+ * whenever a plot is claimed, unclaimed, merged or unlinked.
+ *
+ * @since TODO
+ */
+public final class PlotCellClassifier {
+
+    /**
+     * Cell id of road and out of bounds blocks
+     */
+    public static final long ROAD = PlotManager.ROAD;
+
+    private static final int CACHE_SIZE = 256;
+
+    private final PlotArea area;
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+    private final AtomicInteger generation = new AtomicInteger();
+
+    PlotCellClassifier(final @NonNull PlotArea area) {
+        this.area = area;
+    }
+
+    /**
+     * Pack a plot id into a cell id
+     *
+     * @param id Plot id
+     * @return Cell id
+     */
+    public static long pack(final @NonNull PlotId id) {
+        return PlotId.pack(id.getX(), id.getY());
+    }
+
+    /**
+     * Get the cell id of a block
+     *
+     * @param x Block X coordinate
+     * @param y Block Y coordinate
+     * @param z Block Z coordinate
+     * @return {@link #ROAD} if the block is not inside a plot, otherwise the packed id of
+     *         the base plot the block belongs to
+     */
+    public long getCell(final int x, final int y, final int z) {
+        final long key = this.area.getPlotManager().getPlotIdPacked(x, y, z);
+        if (key == ROAD || !this.area.containsId(PlotId.unpackX(key), PlotId.unpackY(key))) {
+            return ROAD;
+        }
+        return this.lookup(key).cell();
+    }
+
+    /**
+     * Get the directions an owned plot is merged in, without creating a {@link Plot}
+     *
+     * @param x Plot id X coordinate
+     * @param y Plot id Y coordinate
+     * @return Bitmask with bit {@code i} set if the plot is merged in direction {@code i}
+     *         (see {@link Plot#isMerged(int)}), or 0 if the plot is not claimed or outside the area
+     */
+    public int getMergedEdges(final int x, final int y) {
+        if (!this.area.containsId(x, y)) {
+            return 0;
+        }
+        return this.lookup(PlotId.pack(x, y)).edges();
+    }
+
+    private @NonNull Entry lookup(final long key) {
+        final int currentGeneration = this.generation.get();
+        final int slot = (int) (key ^ (key >>> 29)) & (CACHE_SIZE - 1);
+        final Entry entry = this.cache[slot];
+        if (entry != null && entry.key() == key && entry.generation() == currentGeneration) {
+            return entry;
+        }
+        // An invalidation racing with resolve() leaves an entry with an outdated generation,
+        // which is simply ignored by the next lookup
+        final Entry resolved = this.resolve(key, currentGeneration);
+        this.cache[slot] = resolved;
+        return resolved;
+    }
+
+    /**
+     * Invalidate all cached cells. Called whenever plot ownership or merge state in the area changes.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
+    private @NonNull Entry resolve(final long key, final int currentGeneration) {
+        final Plot plot = this.area.getOwnedPlotAbs(PlotId.unpack(key));
+        if (plot == null || !plot.isMerged()) {
+            return new Entry(key, key, 0, currentGeneration);
+        }
+        int edges = 0;
+        for (int i = 0; i < 4; i++) {
+            if (plot.isMerged(i)) {
+                edges |= 1 << i;
+            }
+        }
+        return new Entry(key, pack(plot.getBasePlot(false).getId()), edges, currentGeneration);
+    }
+
+    private record Entry(long key, long cell, int edges, int generation) {
+
+    }
+
+}
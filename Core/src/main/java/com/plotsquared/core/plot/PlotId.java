@@ -113,6 +113,52 @@ public final class PlotId {
         return PlotId.of(hash >> 16, hash & 0xFFFF);
     }
 
+    /**
+     * Pack the coordinates of a plot id into a single long, without creating a PlotId.
+     * Unlike {@link #hashCode()}, packing is lossless for all coordinates.
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return Packed id
+     * @since TODO
+     */
+    public static long pack(final int x, final int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the X coordinate of a {@link #pack(int, int) packed} id
+     *
+     * @param packed Packed id
+     * @return X coordinate
+     * @since TODO
+     */
+    public static int unpackX(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Get the Y coordinate of a {@link #pack(int, int) packed} id
+     *
+     * @param packed Packed id
+     * @return Y coordinate
+     * @since TODO
+     */
+    public static int unpackY(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Get the plot id of a {@link #pack(int, int) packed} id
+     *
+     * @param packed Packed id
+     * @return Plot ID
+     * @since TODO
+     */
+    public static @NonNull PlotId unpack(final long packed) {
+        return PlotId.of(unpackX(packed), unpackY(packed));
+    }
+
     /**
      * Get a copy of the plot ID
      *
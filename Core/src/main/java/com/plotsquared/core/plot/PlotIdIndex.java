@@ -0,0 +1,292 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial index of the claimed plot ids in a {@link PlotArea}.
+ * <p>
+ * Ids are bucketed into square cells of {@value #CELL_SIZE} by {@value #CELL_SIZE} plots, so
+ * that radius, ring and nearest-plot queries only visit the cells around the queried id instead
+ * of every plot in the area. Radii are measured like {@link PlotId.PlotRangeIterator ranges}:
+ * an id is within radius {@code r} of a center if both coordinates differ by at most {@code r}.
+ *
+ * @since TODO
+ */
+public class PlotIdIndex {
+
+    static final int CELL_SHIFT = 4;
+    static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<Long, Set<PlotId>> cells = new ConcurrentHashMap<>();
+
+    private static long key(final int cellX, final int cellY) {
+        return (((long) cellX) << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static long distanceSquared(final @NonNull PlotId center, final @NonNull PlotId id) {
+        final long dx = (long) id.getX() - center.getX();
+        final long dy = (long) id.getY() - center.getY();
+        return dx * dx + dy * dy;
+    }
+
+    private static boolean isWithin(final @NonNull PlotId center, final @NonNull PlotId id, final int radius) {
+        return Math.abs((long) id.getX() - center.getX()) <= radius && Math.abs((long) id.getY() - center.getY()) <= radius;
+    }
+
+    /**
+     * Get the comparator used to order the results of {@link #getNearest(PlotId, int)}: by distance
+     * to the center, then by x and then by y coordinate.
+     *
+     * @param center Center id
+     * @return Comparator
+     */
+    public static @NonNull Comparator<PlotId> byDistance(final @NonNull PlotId center) {
+        return Comparator.<PlotId>comparingLong(id -> distanceSquared(center, id))
+                .thenComparingInt(PlotId::getX)
+                .thenComparingInt(PlotId::getY);
+    }
+
+    /**
+     * Add a plot id to the index
+     *
+     * @param id Plot id
+     */
+    void add(final @NonNull PlotId id) {
+        this.cells.computeIfAbsent(key(id.getX() >> CELL_SHIFT, id.getY() >> CELL_SHIFT),
+                key -> ConcurrentHashMap.newKeySet()
+        ).add(id);
+    }
+
+    /**
+     * Remove a plot id from the index
+     *
+     * @param id Plot id
+     */
+    void remove(final @NonNull PlotId id) {
+        this.cells.computeIfPresent(key(id.getX() >> CELL_SHIFT, id.getY() >> CELL_SHIFT), (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Check whether a plot id is indexed
+     *
+     * @param id Plot id
+     * @return {@code true} if the id is claimed
+     */
+    public boolean contains(final @NonNull PlotId id) {
+        final Set<PlotId> ids = this.cells.get(key(id.getX() >> CELL_SHIFT, id.getY() >> CELL_SHIFT));
+        return ids != null && ids.contains(id);
+    }
+
+    /**
+     * Get all indexed ids within a radius of a center id
+     *
+     * @param center Center id
+     * @param radius Radius in plots
+     * @return New list of the ids, in no particular order
+     */
+    public @NonNull List<PlotId> getWithin(final @NonNull PlotId center, final int radius) {
+        final List<PlotId> result = new ArrayList<>();
+        final int minX = (int) (((long) center.getX() - radius) >> CELL_SHIFT);
+        final int maxX = (int) (((long) center.getX() + radius) >> CELL_SHIFT);
+        final int minY = (int) (((long) center.getY() - radius) >> CELL_SHIFT);
+        final int maxY = (int) (((long) center.getY() + radius) >> CELL_SHIFT);
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.cells.size()) {
+            // The range covers more cells than exist, so scan the existing cells instead
+            for (final Set<PlotId> ids : this.cells.values()) {
+                for (final PlotId id : ids) {
+                    if (isWithin(center, id, radius)) {
+                        result.add(id);
+                    }
+                }
+            }
+            return result;
+        }
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellY = minY; cellY <= maxY; cellY++) {
+                final Set<PlotId> ids = this.cells.get(key(cellX, cellY));
+                if (ids == null) {
+                    continue;
+                }
+                final boolean inside = cellX > minX && cellX < maxX && cellY > minY && cellY < maxY;
+                for (final PlotId id : ids) {
+                    if (inside || isWithin(center, id, radius)) {
+                        result.add(id);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all indexed ids that are not within a radius of a center id
+     *
+     * @param center Center id
+     * @param radius Radius in plots
+     * @return New list of the ids, in no particular order
+     */
+    public @NonNull List<PlotId> getOutside(final @NonNull PlotId center, final int radius) {
+        final List<PlotId> result = new ArrayList<>();
+        // Cells strictly between these bounds are completely within the radius
+        final long minX = ((long) center.getX() - radius) >> CELL_SHIFT;
+        final long maxX = ((long) center.getX() + radius) >> CELL_SHIFT;
+        final long minY = ((long) center.getY() - radius) >> CELL_SHIFT;
+        final long maxY = ((long) center.getY() + radius) >> CELL_SHIFT;
+        for (final Map.Entry<Long, Set<PlotId>> entry : this.cells.entrySet()) {
+            final long cellX = entry.getKey() >> 32;
+            final long cellY = (int) entry.getKey().longValue();
+            if (cellX > minX && cellX < maxX && cellY > minY && cellY < maxY) {
+                continue;
+            }
+            for (final PlotId id : entry.getValue()) {
+                if (!isWithin(center, id, radius)) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all indexed ids at exactly the given radius of a center id, i.e. on the border of
+     * the square around the center
+     *
+     * @param center Center id
+     * @param radius Radius in plots
+     * @return New list of the ids, in no particular order
+     */
+    public @NonNull List<PlotId> getRing(final @NonNull PlotId center, final int radius) {
+        final List<PlotId> result = new ArrayList<>();
+        if (radius < 0) {
+            return result;
+        }
+        final int minX = (int) (((long) center.getX() - radius) >> CELL_SHIFT);
+        final int maxX = (int) (((long) center.getX() + radius) >> CELL_SHIFT);
+        final int minY = (int) (((long) center.getY() - radius) >> CELL_SHIFT);
+        final int maxY = (int) (((long) center.getY() + radius) >> CELL_SHIFT);
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            // Only the cells touching the border of the square can contain ids on the ring
+            final boolean edgeX = cellX == minX || cellX == maxX;
+            for (int cellY = minY; cellY <= maxY; cellY = edgeX || cellY == maxY ? cellY + 1 : maxY) {
+                final Set<PlotId> ids = this.cells.get(key(cellX, cellY));
+                if (ids == null) {
+                    continue;
+                }
+                for (final PlotId id : ids) {
+                    final long distance = Math.max(
+                            Math.abs((long) id.getX() - center.getX()),
+                            Math.abs((long) id.getY() - center.getY())
+                    );
+                    if (distance == radius) {
+                        result.add(id);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the indexed ids closest to a center id, measured by euclidean distance
+     *
+     * @param center Center id
+     * @param amount Maximum amount of ids to return
+     * @return New list of the ids, ordered by {@link #byDistance(PlotId)}
+     */
+    public @NonNull List<PlotId> getNearest(final @NonNull PlotId center, final int amount) {
+        final List<PlotId> result = new ArrayList<>();
+        if (amount <= 0) {
+            return result;
+        }
+        final Comparator<PlotId> order = byDistance(center);
+        // Max heap of the best candidates found so far
+        final PriorityQueue<PlotId> best = new PriorityQueue<>(amount + 1, order.reversed());
+        final int centerX = center.getX() >> CELL_SHIFT;
+        final int centerY = center.getY() >> CELL_SHIFT;
+        long maxRing = -1;
+        for (final long key : this.cells.keySet()) {
+            maxRing = Math.max(maxRing, Math.max(Math.abs((key >> 32) - centerX), Math.abs((long) (int) key - centerY)));
+        }
+        for (long ring = 0; ring <= maxRing; ring++) {
+            for (long cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                final boolean edgeX = cellX == centerX - ring || cellX == centerX + ring;
+                final long step = edgeX || ring == 0 ? 1 : 2 * ring;
+                for (long cellY = centerY - ring; cellY <= centerY + ring; cellY += step) {
+                    final Set<PlotId> ids = this.cells.get(key((int) cellX, (int) cellY));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (final PlotId id : ids) {
+                        best.add(id);
+                        if (best.size() > amount) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+            if (best.size() == amount) {
+                // Every id outside the searched cells is at least this far away from the center
+                final long covered = Math.min(
+                        Math.min(center.getX() - ((centerX - ring) << CELL_SHIFT), ((centerX + ring + 1) << CELL_SHIFT) - 1 - center.getX()),
+                        Math.min(center.getY() - ((centerY - ring) << CELL_SHIFT), ((centerY + ring + 1) << CELL_SHIFT) - 1 - center.getY())
+                ) + 1;
+                if (distanceSquared(center, best.peek()) < covered * covered) {
+                    break;
+                }
+            }
+        }
+        result.addAll(best);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Count the indexed ids
+     *
+     * @return Amount of indexed ids
+     */
+    public int size() {
+        int size = 0;
+        for (final Set<PlotId> ids : this.cells.values()) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+}
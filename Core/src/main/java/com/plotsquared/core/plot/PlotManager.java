@@ -42,6 +42,15 @@ import java.util.List;
 
 public abstract class PlotManager {
 
+    /**
+     * Returned by {@link #getPlotIdPacked(int, int, int)} for locations on a road. This would be
+     * the packed id of plot {@code Integer.MIN_VALUE;0}, which cannot exist in a world, whereas
+     * {@code -1} is the packed id of plot {@code -1;-1}.
+     *
+     * @since TODO
+     */
+    public static final long ROAD = Long.MIN_VALUE;
+
     private final PlotArea plotArea;
 
     public PlotManager(@NonNull PlotArea plotArea) {
@@ -56,6 +65,37 @@ public abstract class PlotManager {
 
     public abstract PlotId getPlotId(int x, int y, int z);
 
+    /**
+     * Get the {@link PlotId#pack(int, int) packed} id of the plot at a location, like
+     * {@link #getPlotId(int, int, int)}. Managers that can compute the id without creating
+     * objects override this method.
+     *
+     * @param x Block X coordinate
+     * @param y Block Y coordinate
+     * @param z Block Z coordinate
+     * @return Packed plot id, or {@link #ROAD} if the location is not inside a plot
+     * @since TODO
+     */
+    public long getPlotIdPacked(final int x, final int y, final int z) {
+        final PlotId id = getPlotId(x, y, z);
+        return id == null ? ROAD : PlotId.pack(id.getX(), id.getY());
+    }
+
+    /**
+     * Get how far a block is from the edge of the plot it is in, ignoring merges. A distance of
+     * {@code d} guarantees that every block within {@code d} blocks on the X and Z axes belongs to
+     * the same plot id as the block itself, which lets callers skip lookups for neighbouring blocks.
+     *
+     * @param x Block X coordinate
+     * @param z Block Z coordinate
+     * @return Distance to the nearest plot edge, or {@code -1} if the block is on a road or the
+     *         distance is not known for this manager
+     * @since TODO
+     */
+    public int getPlotEdgeDistance(final int x, final int z) {
+        return -1;
+    }
+
     // If you have a circular plot, just return the corner if it were a square
     public abstract Location getPlotBottomLocAbs(@NonNull PlotId plotId);
 
@@ -42,6 +42,7 @@ import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
 import com.plotsquared.core.location.Direction;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.PlayerManager;
@@ -172,6 +173,7 @@ public final class PlotModificationManager {
                         queue.enqueue();
                     }
                     destination.getPlotModificationManager().setSign();
+                    PlotAnalysis.markModified(destination);
                     future.complete(true);
                     return;
                 }
@@ -739,6 +741,8 @@ public final class PlotModificationManager {
                             // Update signs
                             destination.getPlotModificationManager().setSign();
                             setSign();
+                            PlotAnalysis.markModified(destination);
+                            PlotAnalysis.markModified(plot);
                             // Run final tasks
                             TaskManager.runTask(whenDone);
                         } else {
@@ -771,6 +775,7 @@ public final class PlotModificationManager {
                                     queue.enqueue();
                                 }
                                 plot.getPlotModificationManager().setSign();
+                                PlotAnalysis.markModified(plot);
                                 TaskManager.runTask(whenDone);
                             };
                             if (originPlot != null) {
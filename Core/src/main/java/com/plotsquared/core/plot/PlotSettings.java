@@ -29,6 +29,7 @@ import com.google.common.collect.ImmutableList;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Direction;
 import com.plotsquared.core.plot.comment.PlotComment;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -56,6 +57,10 @@ public class PlotSettings {
      * The ratings for a plot.
      */
     private HashMap<UUID, Integer> ratings;
+    /**
+     * Totals over the ratings, rebuilt when they no longer match.
+     */
+    private RatingAggregate ratingAggregate;
     /**
      * Plot comments.
      */
@@ -84,6 +89,46 @@ public class PlotSettings {
 
     public void setRatings(HashMap<UUID, Integer> ratings) {
         this.ratings = ratings;
+        this.ratingAggregate = null;
+    }
+
+    /**
+     * Adds a rating unless the rater has already rated, keeping the rating aggregate up to date.
+     *
+     * @param uuid  uuid of the rater
+     * @param value stored rating value, see {@link Rating#getAggregate()}
+     * @return {@code true} if the rating was added
+     * @since TODO
+     */
+    public boolean addRating(final @NonNull UUID uuid, final int value) {
+        final Map<UUID, Integer> ratings = getRatings();
+        if (ratings.putIfAbsent(uuid, value) != null) {
+            return false;
+        }
+        final RatingAggregate aggregate = this.ratingAggregate;
+        if (aggregate != null && aggregate.isCurrent(ratings.size() - 1)) {
+            aggregate.add(value);
+        } else {
+            this.ratingAggregate = null;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the totals over the ratings of this plot. The aggregate is maintained by {@link #addRating(UUID, int)}
+     * and {@link #setRatings(HashMap)}, and rebuilt if the ratings were changed in any other way.
+     *
+     * @return rating aggregate
+     * @since TODO
+     */
+    public @NonNull RatingAggregate getRatingAggregate() {
+        RatingAggregate aggregate = this.ratingAggregate;
+        final int size = this.ratings == null ? 0 : this.ratings.size();
+        if (aggregate == null || !aggregate.isCurrent(size)) {
+            aggregate = RatingAggregate.of(this.ratings == null ? Collections.emptyList() : this.ratings.values());
+            this.ratingAggregate = aggregate;
+        }
+        return aggregate;
     }
 
     public boolean setMerged(int direction, boolean merged) {
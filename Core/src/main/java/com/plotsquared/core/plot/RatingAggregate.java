@@ -0,0 +1,182 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.configuration.Settings;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Running totals over the stored ratings of a plot, so that averages and sort scores do not have to
+ * decode every {@link Rating} again.
+ * <p>
+ * An aggregate is tied to the rating settings it was built with, see {@link #isCurrent(int)}.
+ *
+ * @since TODO
+ */
+public final class RatingAggregate {
+
+    private final boolean usesLikes;
+    private final List<String> categories;
+    private final double[] categorySums;
+    private int count;
+    private int likes;
+    private double sum;
+    private double sumOfSquares;
+
+    private RatingAggregate() {
+        this.usesLikes = Settings.Ratings.USE_LIKES;
+        this.categories = Settings.Ratings.CATEGORIES;
+        this.categorySums = new double[this.categories == null || this.categories.isEmpty() ? 1 : this.categories.size()];
+    }
+
+    /**
+     * Builds an aggregate from stored rating values.
+     *
+     * @param values stored rating values, see {@link Rating#getAggregate()}
+     * @return the aggregate
+     */
+    static @NonNull RatingAggregate of(final @NonNull Collection<Integer> values) {
+        final RatingAggregate aggregate = new RatingAggregate();
+        for (final int value : values) {
+            aggregate.add(value);
+        }
+        return aggregate;
+    }
+
+    /**
+     * Adds a stored rating value.
+     *
+     * @param value stored rating value
+     */
+    void add(final int value) {
+        final Rating rating = new Rating(value);
+        final double average = rating.getAverageRating();
+        this.count++;
+        this.sum += average;
+        this.sumOfSquares += average * average;
+        if (rating.getLike()) {
+            this.likes++;
+        }
+        // Mirrors how the stored value is split into categories for display
+        if (this.categories == null || this.categories.isEmpty()) {
+            this.categorySums[0] += value;
+        } else {
+            int current = value;
+            for (int i = 0; i < this.categorySums.length; i++) {
+                this.categorySums[i] += current % 10 - 1;
+                current /= 10;
+            }
+        }
+    }
+
+    /**
+     * Checks whether this aggregate still describes a rating map of the given size under the current settings.
+     *
+     * @param size number of stored ratings
+     * @return {@code true} if the aggregate can be used
+     */
+    boolean isCurrent(final int size) {
+        return this.count == size && this.usesLikes == Settings.Ratings.USE_LIKES
+                && this.categories == Settings.Ratings.CATEGORIES;
+    }
+
+    /**
+     * Gets the number of ratings.
+     *
+     * @return number of ratings
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of ratings that are likes.
+     *
+     * @return number of likes
+     */
+    public int getLikes() {
+        return this.likes;
+    }
+
+    /**
+     * Gets the sum of the average rating of each rater.
+     *
+     * @return sum of averages
+     */
+    public double getSum() {
+        return this.sum;
+    }
+
+    /**
+     * Gets the sum of the squared average rating of each rater.
+     *
+     * @return sum of squared averages
+     */
+    public double getSumOfSquares() {
+        return this.sumOfSquares;
+    }
+
+    /**
+     * Gets the average rating, see {@link Plot#getAverageRating()}.
+     *
+     * @return average rating, {@link Double#NaN} if there are no ratings
+     */
+    public double getAverageRating() {
+        return this.sum / this.count;
+    }
+
+    /**
+     * Gets the average rating in each category, see {@link Plot#getAverageRatings()}.
+     *
+     * @return average rating per category
+     */
+    public @NonNull double[] getAverageRatings() {
+        final double[] averages = new double[this.categorySums.length];
+        if (this.count == 0) {
+            return averages;
+        }
+        for (int i = 0; i < averages.length; i++) {
+            averages[i] = this.categorySums[i] / this.count;
+        }
+        return averages;
+    }
+
+    /**
+     * Gets the score used to sort plots by rating: the mean squared rating plus the number of ratings.
+     *
+     * @return rating score, zero if there are no ratings
+     */
+    public double getScore() {
+        if (this.count == 0) {
+            return 0;
+        }
+        return this.sumOfSquares / this.count + this.count;
+    }
+
+}
@@ -38,7 +38,7 @@ import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.minimessage.Template;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -46,16 +46,30 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class CommentManager {
 
     public static final HashMap<String, CommentInbox> inboxes = new HashMap<>();
+    private static final PlotCommentIndex index = new PlotCommentIndex();
 
     public static void sendTitle(final PlotPlayer<?> player, final Plot plot) {
         if (!Settings.Enabled_Components.COMMENT_NOTIFIER || !plot.isOwner(player.getUUID())) {
             return;
         }
         TaskManager.runTaskLaterAsync(() -> {
-            Collection<CommentInbox> boxes = CommentManager.inboxes.values();
-            final AtomicInteger count = new AtomicInteger(0);
-            final AtomicInteger size = new AtomicInteger(boxes.size());
+            // Count the built-in inboxes from the index, other inboxes may store their comments elsewhere
+            int indexed = 0;
+            final List<CommentInbox> boxes = new ArrayList<>();
             for (final CommentInbox inbox : inboxes.values()) {
+                if (index.isLoaded() && isStored(inbox)) {
+                    indexed += index.countNewer(plot, inbox.toString(), getTimestamp(player, inbox.toString()));
+                } else {
+                    boxes.add(inbox);
+                }
+            }
+            if (boxes.isEmpty()) {
+                sendNotification(player, indexed);
+                return;
+            }
+            final AtomicInteger count = new AtomicInteger(indexed);
+            final AtomicInteger size = new AtomicInteger(boxes.size());
+            for (final CommentInbox inbox : boxes) {
                 inbox.getComments(plot, new RunnableVal<>() {
                     @Override
                     public void run(List<PlotComment> value) {
@@ -71,13 +85,8 @@ public class CommentManager {
                         } else {
                             total = count.get();
                         }
-                        if ((size.decrementAndGet() == 0) && (total > 0)) {
-                            player.sendTitle(
-                                    StaticCaption.of(""),
-                                    TranslatableCaption.of("comment.inbox_notification"),
-                                    Template.of("amount", Integer.toString(total)),
-                                    Template.of("command", "/plot inbox")
-                            );
+                        if (size.decrementAndGet() == 0) {
+                            sendNotification(player, total);
                         }
                     }
                 });
@@ -85,6 +94,31 @@ public class CommentManager {
         }, TaskTime.seconds(1L));
     }
 
+    private static boolean isStored(final CommentInbox inbox) {
+        return inbox instanceof InboxOwner || inbox instanceof InboxPublic || inbox instanceof InboxReport;
+    }
+
+    private static void sendNotification(final PlotPlayer<?> player, final int total) {
+        if (total > 0) {
+            player.sendTitle(
+                    StaticCaption.of(""),
+                    TranslatableCaption.of("comment.inbox_notification"),
+                    Template.of("amount", Integer.toString(total)),
+                    Template.of("command", "/plot inbox")
+            );
+        }
+    }
+
+    /**
+     * Get the index of the stored plot comments
+     *
+     * @return Comment index
+     * @since TODO
+     */
+    public static PlotCommentIndex getIndex() {
+        return index;
+    }
+
     /**
      * @param player The player the inbox belongs to
      * @param inbox  the inbox
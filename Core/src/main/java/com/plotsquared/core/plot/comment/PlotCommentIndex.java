@@ -0,0 +1,241 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.comment;
+
+import com.plotsquared.core.plot.Plot;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the stored plot comments, indexed by plot and inbox. Every inbox keeps its
+ * comments ordered by timestamp, so that the amount of unread comments can be counted without
+ * a database query.
+ * <p>
+ * Plots are identified the same way the database does: by the plot area name and the hash of
+ * the plot id. The index is filled once on startup and is kept in sync by {@link com.plotsquared.core.database.DBFunc}.
+ *
+ * @since TODO
+ */
+public class PlotCommentIndex {
+
+    private final Map<Key, Inbox> inboxes = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private static @NonNull Key key(final @NonNull Plot plot, final @NonNull String inbox) {
+        return new Key(plot.getArea().toString(), plot.getId().hashCode(), inbox);
+    }
+
+    /**
+     * Replace the indexed comments with all stored comments
+     *
+     * @param comments Stored comments, using the plot area name as world
+     */
+    public void load(final @NonNull Collection<PlotComment> comments) {
+        this.inboxes.clear();
+        for (final PlotComment comment : comments) {
+            final int hash = comment.id == null ? 0 : comment.id.hashCode();
+            this.inbox(new Key(comment.world, hash, comment.inbox)).add(comment);
+        }
+        this.loaded = true;
+    }
+
+    /**
+     * Check whether the stored comments have been loaded
+     *
+     * @return {@code true} if the index can be used instead of the database
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * Add a comment to the inbox of a plot
+     *
+     * @param plot    Plot
+     * @param comment Comment
+     */
+    public void add(final @NonNull Plot plot, final @NonNull PlotComment comment) {
+        this.add(plot.getArea().toString(), plot.getId().hashCode(), comment);
+    }
+
+    void add(final @NonNull String world, final int hash, final @NonNull PlotComment comment) {
+        this.inbox(new Key(world, hash, comment.inbox)).add(comment);
+    }
+
+    /**
+     * Remove a comment from the inbox of a plot. Comments are matched by their message,
+     * inbox and sender, like in the database.
+     *
+     * @param plot    Plot
+     * @param comment Comment
+     */
+    public void remove(final @NonNull Plot plot, final @NonNull PlotComment comment) {
+        final Inbox inbox = this.inboxes.get(key(plot, comment.inbox));
+        if (inbox != null) {
+            inbox.remove(comment);
+        }
+    }
+
+    /**
+     * Remove a comment from all plots. Comments are matched by their message, inbox and sender.
+     *
+     * @param comment Comment
+     */
+    public void remove(final @NonNull PlotComment comment) {
+        this.inboxes.forEach((key, inbox) -> {
+            if (key.inbox().equals(comment.inbox)) {
+                inbox.remove(comment);
+            }
+        });
+    }
+
+    /**
+     * Remove all comments from the inbox of a plot
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     */
+    public void clear(final @NonNull Plot plot, final @NonNull String inbox) {
+        this.inboxes.remove(key(plot, inbox));
+    }
+
+    /**
+     * Remove all comments from an inbox in all plots
+     *
+     * @param inbox Inbox name
+     */
+    public void clear(final @NonNull String inbox) {
+        this.inboxes.keySet().removeIf(key -> key.inbox().equals(inbox));
+    }
+
+    /**
+     * Remove all comments of a plot
+     *
+     * @param plot Plot
+     */
+    public void clear(final @NonNull Plot plot) {
+        final String world = plot.getArea().toString();
+        final int hash = plot.getId().hashCode();
+        this.inboxes.keySet().removeIf(key -> key.hash() == hash && key.world().equals(world));
+    }
+
+    /**
+     * Get the comments in the inbox of a plot
+     *
+     * @param plot  Plot
+     * @param inbox Inbox name
+     * @return New list of the comments, oldest first
+     */
+    public @NonNull List<PlotComment> getComments(final @NonNull Plot plot, final @NonNull String inbox) {
+        return this.getComments(plot.getArea().toString(), plot.getId().hashCode(), inbox);
+    }
+
+    @NonNull List<PlotComment> getComments(final @NonNull String world, final int hash, final @NonNull String inbox) {
+        final Inbox comments = this.inboxes.get(new Key(world, hash, inbox));
+        return comments == null ? new ArrayList<>() : comments.getComments();
+    }
+
+    /**
+     * Count the comments in the inbox of a plot that are newer than a timestamp
+     *
+     * @param plot      Plot
+     * @param inbox     Inbox name
+     * @param timestamp Timestamp in milliseconds
+     * @return Amount of comments with a timestamp after the given timestamp
+     */
+    public int countNewer(final @NonNull Plot plot, final @NonNull String inbox, final long timestamp) {
+        return this.countNewer(plot.getArea().toString(), plot.getId().hashCode(), inbox, timestamp);
+    }
+
+    int countNewer(final @NonNull String world, final int hash, final @NonNull String inbox, final long timestamp) {
+        final Inbox comments = this.inboxes.get(new Key(world, hash, inbox));
+        return comments == null ? 0 : comments.countNewer(timestamp);
+    }
+
+    private @NonNull Inbox inbox(final @NonNull Key key) {
+        return this.inboxes.computeIfAbsent(key, k -> new Inbox());
+    }
+
+    private record Key(@NonNull String world, int hash, @NonNull String inbox) {
+
+    }
+
+    /**
+     * Comments of a single inbox, ordered by timestamp
+     */
+    private static final class Inbox {
+
+        private final List<PlotComment> comments = new ArrayList<>();
+        private long newest = Long.MIN_VALUE;
+
+        synchronized void add(final @NonNull PlotComment comment) {
+            int index = this.comments.size();
+            // Comments are almost always added in order
+            while (index > 0 && this.comments.get(index - 1).timestamp > comment.timestamp) {
+                index--;
+            }
+            this.comments.add(index, comment);
+            this.newest = Math.max(this.newest, comment.timestamp);
+        }
+
+        synchronized void remove(final @NonNull PlotComment comment) {
+            if (this.comments.removeIf(other -> Objects.equals(other.comment, comment.comment)
+                    && Objects.equals(other.senderName, comment.senderName))) {
+                this.newest = this.comments.isEmpty() ? Long.MIN_VALUE : this.comments.get(this.comments.size() - 1).timestamp;
+            }
+        }
+
+        synchronized @NonNull List<PlotComment> getComments() {
+            return new ArrayList<>(this.comments);
+        }
+
+        synchronized int countNewer(final long timestamp) {
+            if (this.newest <= timestamp) {
+                return 0;
+            }
+            // Find the first comment newer than the timestamp
+            int low = 0;
+            int high = this.comments.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.comments.get(middle).timestamp > timestamp) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return this.comments.size() - low;
+        }
+
+    }
+
+}
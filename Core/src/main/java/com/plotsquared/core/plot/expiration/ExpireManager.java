@@ -40,6 +40,7 @@ import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
@@ -53,17 +54,23 @@ import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ExpireManager {
 
@@ -72,6 +79,8 @@ public class ExpireManager {
     private final ConcurrentHashMap<UUID, Long> account_age_cache;
     private final EventDispatcher eventDispatcher;
     private final ArrayDeque<ExpiryTask> tasks;
+    private final Map<PlotArea, PlotAgeIndex> ageIndices = new ConcurrentHashMap<>();
+    private final AtomicLong ageIndexVersion = new AtomicLong();
     private volatile HashSet<Plot> plotsToDelete;
     /**
      * 0 = stopped, 1 = stopping, 2 = running
@@ -91,6 +100,7 @@ public class ExpireManager {
 
     public void handleJoin(PlotPlayer<?> pp) {
         storeDate(pp.getUUID(), System.currentTimeMillis());
+        updateAges(pp.getUUID(), null);
         if (plotsToDelete != null && !plotsToDelete.isEmpty()) {
             for (Plot plot : pp.getPlots()) {
                 plotsToDelete.remove(plot);
@@ -99,6 +109,17 @@ public class ExpireManager {
         confirmExpiry(pp);
     }
 
+    /**
+     * Stores the last seen date of a player that is leaving the server.
+     *
+     * @param pp player that is quitting
+     * @since TODO
+     */
+    public void handleQuit(PlotPlayer<?> pp) {
+        storeDate(pp.getUUID(), System.currentTimeMillis());
+        updateAges(pp.getUUID(), pp.getUUID());
+    }
+
     public void handleEntry(PlotPlayer<?> pp, Plot plot) {
         if (plotsToDelete != null && !plotsToDelete.isEmpty() && pp
                 .hasPermission("plots.admin.command.autoclear") && plotsToDelete.contains(plot)) {
@@ -316,7 +337,10 @@ public class ExpireManager {
                     return;
                 }
                 if (plots == null) {
-                    plots = new ConcurrentLinkedDeque<>(PlotQuery.newQuery().allPlots().asList());
+                    // Rebuild the age indices once per pass, to pick up changes that are not tracked
+                    ageIndices.clear();
+                    ageIndexVersion.incrementAndGet();
+                    plots = new ConcurrentLinkedDeque<>(getExpiryCandidates());
                 }
                 while (!plots.isEmpty()) {
                     if (ExpireManager.this.running != 2) {
@@ -356,6 +380,11 @@ public class ExpireManager {
                                             );
                                         }
                                     }, () -> {
+                                        if (changed.asList().equals(newPlot.getFlag(AnalysisFlag.class))) {
+                                            // Reused the stored analysis
+                                            TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
+                                            return;
+                                        }
                                         PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
                                                 .getFlag(AnalysisFlag.class)
                                                 .createFlagInstance(changed.asList());
@@ -370,7 +399,7 @@ public class ExpireManager {
                                 }
                             };
                     final Runnable doAnalysis =
-                            () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
+                            () -> PlotSquared.platform().hybridUtils().analyzePlotIfModified(newPlot, handleAnalysis);
 
                     PlotAnalysis analysis = newPlot.getComplexity(null);
                     if (analysis != null) {
@@ -401,6 +430,41 @@ public class ExpireManager {
         return true;
     }
 
+    /**
+     * Gets the plots that are old enough for at least one expiry task, oldest first. The plots are read
+     * from the old end of the age indices, so plots that are too young for every task are never looked at.
+     * The candidates still have to be checked with {@link #isExpired(ArrayDeque, Plot)}.
+     *
+     * @return expiry candidates
+     */
+    @NonNull List<Plot> getExpiryCandidates() {
+        final long now = System.currentTimeMillis();
+        final Map<Plot, Long> candidates = new HashMap<>();
+        for (final PlotArea area : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            // Also selects the cutoff of tasks with a required amount of plots
+            final ArrayDeque<ExpiryTask> applicable = getTasks(area);
+            if (applicable.isEmpty()) {
+                continue;
+            }
+            final PlotAgeIndex index = getAgeIndices(Collections.singletonList(area)).get(0);
+            for (final ExpiryTask task : applicable) {
+                final long minimumAge = task.getMinimumAge();
+                if (minimumAge == Long.MAX_VALUE) {
+                    continue;
+                }
+                index.forEachOlder(task.shouldDeleteForUnknownOwner(), now - minimumAge, (id, key) -> {
+                    final Plot plot = area.getPlotAbs(id);
+                    if (plot != null) {
+                        candidates.merge(plot, key, Math::min);
+                    }
+                });
+            }
+        }
+        final List<Plot> plots = new ArrayList<>(candidates.keySet());
+        plots.sort(Comparator.comparingLong(candidates::get));
+        return plots;
+    }
+
     public void storeDate(UUID uuid, long time) {
         Long existing = this.dates_cache.put(uuid, time);
         if (existing != null) {
@@ -514,4 +578,135 @@ public class ExpireManager {
         return min;
     }
 
+    /**
+     * Updates the indexed age of a plot and the plots merged with it, after its owners or keep flag changed.
+     *
+     * @param plot plot to update
+     * @since TODO
+     */
+    public void updateAge(final @NonNull Plot plot) {
+        updateAge(plot, null);
+    }
+
+    private void updateAge(final @NonNull Plot plot, final @Nullable UUID leaving) {
+        final PlotArea area = plot.getArea();
+        final PlotAgeIndex index = area == null ? null : this.ageIndices.get(area);
+        if (index == null) {
+            // Built when it is first needed
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        boolean changed = false;
+        for (final Plot connected : plot.getConnectedPlots()) {
+            changed |= indexAge(index, connected, leaving, now);
+        }
+        if (changed) {
+            this.ageIndexVersion.incrementAndGet();
+        }
+    }
+
+    private void updateAges(final @NonNull UUID owner, final @Nullable UUID leaving) {
+        if (this.ageIndices.isEmpty()) {
+            return;
+        }
+        for (final Plot plot : PlotQuery.newQuery().ownersInclude(owner).asList()) {
+            updateAge(plot, leaving);
+        }
+    }
+
+    /**
+     * Gets the age indices of the given areas, rebuilding those that are missing or out of date.
+     *
+     * @param areas plot areas
+     * @return one index per area, in the same order
+     */
+    @NonNull List<PlotAgeIndex> getAgeIndices(final @NonNull Collection<PlotArea> areas) {
+        final long now = System.currentTimeMillis();
+        final List<PlotAgeIndex> indices = new ArrayList<>(areas.size());
+        for (final PlotArea area : areas) {
+            PlotAgeIndex index = this.ageIndices.get(area);
+            // Plots claimed or deleted without going through the update hooks change the count
+            if (index == null || index.size() != area.getPlotCount() || !index.isValid(now)) {
+                index = new PlotAgeIndex();
+                for (final Plot plot : area.getPlots()) {
+                    indexAge(index, plot, null, now);
+                }
+                this.ageIndices.put(area, index);
+                this.ageIndexVersion.incrementAndGet();
+            }
+            indices.add(index);
+        }
+        return indices;
+    }
+
+    /**
+     * Gets a counter that changes whenever any of the age indices changes.
+     *
+     * @return age index version
+     */
+    long getAgeIndexVersion() {
+        return this.ageIndexVersion.get();
+    }
+
+    /**
+     * Indexes the age of a plot, mirroring {@link #getAge(Plot, boolean)}. Whether the plot is currently
+     * being modified is not indexed, as that only lasts for a moment.
+     */
+    private boolean indexAge(
+            final @NonNull PlotAgeIndex index, final @NonNull Plot plot,
+            final @Nullable UUID leaving, final long now
+    ) {
+        final PlotId id = plot.getId();
+        if (!plot.hasOwner()) {
+            return index.remove(id);
+        }
+        if (Objects.equals(DBFunc.EVERYONE, plot.getOwner()) || isKept(index, plot, now)) {
+            return index.put(id, PlotAgeIndex.PRESENT, PlotAgeIndex.PRESENT);
+        }
+        long keepingUnknown = PlotAgeIndex.NEVER;
+        long deletingUnknown = PlotAgeIndex.NEVER;
+        for (final UUID owner : plot.getOwners()) {
+            final long lastSeen = getLastSeen(owner, leaving);
+            keepingUnknown = Math.max(keepingUnknown, lastSeen == PlotAgeIndex.NEVER ? PlotAgeIndex.PRESENT : lastSeen);
+            deletingUnknown = Math.max(deletingUnknown, lastSeen);
+        }
+        return index.put(id, keepingUnknown, deletingUnknown);
+    }
+
+    private boolean isKept(final @NonNull PlotAgeIndex index, final @NonNull Plot plot, final long now) {
+        final Object value = plot.getFlag(KeepFlag.class);
+        if (value.equals(false)) {
+            return false;
+        }
+        if (value instanceof Long) {
+            if ((Long) value > now) {
+                // The plot ages again once the keep flag runs out
+                index.expireAt((Long) value);
+                return true;
+            }
+            return false;
+        }
+        // True, or invalid
+        return true;
+    }
+
+    /**
+     * Gets the age key of a player, as used by {@link PlotAgeIndex}.
+     */
+    private long getLastSeen(final @NonNull UUID uuid, final @Nullable UUID leaving) {
+        if (!uuid.equals(leaving) && PlotSquared.platform().playerManager().getPlayerIfExists(uuid) != null) {
+            return PlotAgeIndex.PRESENT;
+        }
+        Long last = this.dates_cache.get(uuid);
+        if (last == null) {
+            OfflinePlotPlayer opp = PlotSquared.platform().playerManager().getOfflinePlayer(uuid);
+            if (opp != null && (last = opp.getLastPlayed()) != 0) {
+                this.dates_cache.put(uuid, last);
+            } else {
+                return PlotAgeIndex.NEVER;
+            }
+        }
+        return last == 0 ? PlotAgeIndex.PRESENT : last;
+    }
+
 }
@@ -34,18 +34,17 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class ExpiryTask {
 
     private final Settings.Auto_Clear settings;
     private final PlotAreaManager plotAreaManager;
-    private long cutoffThreshold = Long.MIN_VALUE;
+    private long cutoffVersion = -1;
+    private long cutoffKey;
+    private boolean hasCutoff;
 
     public ExpiryTask(final Settings.Auto_Clear settings, final @NonNull PlotAreaManager plotAreaManager) {
         this.settings = settings;
@@ -66,76 +65,68 @@ public class ExpiryTask {
             if (settings.REQUIRED_PLOTS <= 0) {
                 return true;
             }
-            Set<Plot> plots = null;
-            if (cutoffThreshold != Long.MAX_VALUE
-                    && area.getPlots().size() > settings.REQUIRED_PLOTS
-                    || (plots = getPlotsToCheck()).size() > settings.REQUIRED_PLOTS) {
-                // calculate cutoff
-                if (cutoffThreshold == Long.MIN_VALUE) {
-                    plots = plots != null ? plots : getPlotsToCheck();
-                    int diff = settings.REQUIRED_PLOTS;
-                    boolean min = true;
-                    if (settings.REQUIRED_PLOTS - plots.size() < settings.REQUIRED_PLOTS) {
-                        min = false;
-                        diff = settings.REQUIRED_PLOTS - plots.size();
-                    }
-                    List<Long> entireList =
-                            plots.stream().map(plot -> ExpireManager.IMP.getAge(plot, settings.DELETE_IF_OWNER_IS_UNKNOWN))
-                                    .collect(Collectors.toList());
-                    List<Long> top = new ArrayList<>(diff + 1);
-                    if (diff > 1000) {
-                        Collections.sort(entireList);
-                        cutoffThreshold = entireList.get(settings.REQUIRED_PLOTS);
-                    } else {
-                        loop:
-                        for (long num : entireList) {
-                            int size = top.size();
-                            if (size == 0) {
-                                top.add(num);
-                                continue;
-                            }
-                            long end = top.get(size - 1);
-                            if (min ? num < end : num > end) {
-                                for (int i = 0; i < size; i++) {
-                                    long existing = top.get(i);
-                                    if (min ? num < existing : num > existing) {
-                                        top.add(i, num);
-                                        if (size == diff) {
-                                            top.remove(size);
-                                        }
-                                        continue loop;
-                                    }
-                                }
-                            }
-                            if (size < diff) {
-                                top.add(num);
-                            }
-                        }
-                        cutoffThreshold = top.get(top.size() - 1);
-                    }
-                    // Add half a day, as expiry is performed each day
-                    cutoffThreshold += (TimeUnit.DAYS.toMillis(1) / 2);
+            final List<PlotAgeIndex> indices = ExpireManager.IMP.getAgeIndices(getAreasToCheck());
+            final long version = ExpireManager.IMP.getAgeIndexVersion();
+            if (version != this.cutoffVersion) {
+                final List<long[]> keys = new ArrayList<>(indices.size());
+                int total = 0;
+                for (final PlotAgeIndex index : indices) {
+                    final long[] sorted = index.snapshot(settings.DELETE_IF_OWNER_IS_UNKNOWN);
+                    keys.add(sorted);
+                    total += sorted.length;
                 }
-                return true;
-            } else {
-                cutoffThreshold = Long.MAX_VALUE;
+                if (total > settings.REQUIRED_PLOTS) {
+                    // The age of the plot at index REQUIRED_PLOTS when sorted from young to old
+                    this.cutoffKey = PlotAgeIndex.select(keys, settings.REQUIRED_PLOTS);
+                    this.hasCutoff = true;
+                } else {
+                    this.hasCutoff = false;
+                }
+                this.cutoffVersion = version;
             }
+            return this.hasCutoff;
         }
         return false;
     }
 
-    public Set<Plot> getPlotsToCheck() {
-        final Collection<PlotArea> areas = new LinkedList<>();
+    private Collection<PlotArea> getAreasToCheck() {
+        final Collection<PlotArea> areas = new ArrayList<>();
         for (final PlotArea plotArea : this.plotAreaManager.getAllPlotAreas()) {
             if (this.allowsArea(plotArea)) {
                 areas.add(plotArea);
             }
         }
-        return PlotQuery.newQuery().inAreas(areas).asSet();
+        return areas;
+    }
+
+    private long getCutoffThreshold() {
+        if (settings.REQUIRED_PLOTS <= 0) {
+            return Long.MIN_VALUE;
+        }
+        final long cutoff = PlotAgeIndex.toAge(this.cutoffKey, System.currentTimeMillis());
+        if (cutoff == Long.MAX_VALUE) {
+            return cutoff;
+        }
+        // Add half a day, as expiry is performed each day
+        return cutoff + (TimeUnit.DAYS.toMillis(1) / 2);
+    }
+
+    public Set<Plot> getPlotsToCheck() {
+        return PlotQuery.newQuery().inAreas(getAreasToCheck()).asSet();
     }
 
     public boolean applies(long diff) {
-        return diff > TimeUnit.DAYS.toMillis(settings.DAYS) && diff > cutoffThreshold;
+        return diff > getMinimumAge();
+    }
+
+    /**
+     * Gets the age a plot has to exceed for this task to apply to it. Only valid after
+     * {@link #applies(PlotArea)} has returned {@code true}.
+     *
+     * @return minimum age in millis, exclusive
+     */
+    long getMinimumAge() {
+        return Math.max(TimeUnit.DAYS.toMillis(settings.DAYS), getCutoffThreshold());
     }
 
     public boolean appliesAccountAge(long accountAge) {
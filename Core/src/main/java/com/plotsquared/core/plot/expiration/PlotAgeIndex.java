@@ -0,0 +1,276 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.plot.PlotId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Order statistics over the ages of the claimed plots in a single plot area.
+ * <p>
+ * Ages grow with time, so plots are indexed by their age key instead: the last time any of the plot
+ * owners was seen. {@link #PRESENT} marks plots that currently have an age of zero, {@link #NEVER}
+ * marks plots that count as never played on. Larger keys mean younger plots, and the k-th youngest
+ * plot is the k-th largest key. Two key sets are kept, one for each way of treating unknown owners.
+ * The oldest plots can be read from the small end of a key set, without looking at the other plots.
+ */
+final class PlotAgeIndex {
+
+    /**
+     * Key of plots whose age is zero (online or kept owners).
+     */
+    static final long PRESENT = Long.MAX_VALUE;
+    /**
+     * Key of plots whose age is {@link Long#MAX_VALUE} (unknown owners, when those are deleted).
+     */
+    static final long NEVER = Long.MIN_VALUE;
+
+    private final Map<PlotId, long[]> keys = new HashMap<>();
+    private final SortedKeys keepingUnknown = new SortedKeys();
+    private final SortedKeys deletingUnknown = new SortedKeys();
+    private long validUntil = Long.MAX_VALUE;
+
+    /**
+     * Converts an age key into the age of the plot at the given time.
+     *
+     * @param key age key
+     * @param now current time in millis
+     * @return the age in millis
+     */
+    static long toAge(final long key, final long now) {
+        if (key == PRESENT) {
+            return 0;
+        }
+        if (key == NEVER) {
+            return Long.MAX_VALUE;
+        }
+        return now - key;
+    }
+
+    /**
+     * Selects the key with the given rank, counted from the largest key, across several sorted key arrays.
+     * This is the age of the {@code rank}-th youngest plot (zero based) of all the arrays combined.
+     *
+     * @param sorted ascending key arrays
+     * @param rank   rank to select, must be lower than the combined length of the arrays
+     * @return the selected key
+     */
+    static long select(final @NonNull List<long[]> sorted, final int rank) {
+        int total = 0;
+        for (final long[] keys : sorted) {
+            total += keys.length;
+        }
+        if (rank < 0 || rank >= total) {
+            throw new IllegalArgumentException("Rank " + rank + " out of bounds for " + total + " keys");
+        }
+        // Walk in from whichever end is closer to the requested rank
+        final boolean fromLargest = rank < total / 2;
+        final int steps = fromLargest ? rank : total - 1 - rank;
+        final PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, sorted.size()));
+        for (final long[] keys : sorted) {
+            if (keys.length > 0) {
+                heap.add(new Cursor(keys, fromLargest));
+            }
+        }
+        for (int i = 0; i < steps; i++) {
+            final Cursor cursor = heap.poll();
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return heap.peek().key();
+    }
+
+    /**
+     * Inserts or updates the keys of a plot.
+     *
+     * @param id                 plot id
+     * @param keyKeepingUnknown  key when unknown owners are kept
+     * @param keyDeletingUnknown key when unknown owners are deleted
+     * @return {@code true} if the index changed
+     */
+    synchronized boolean put(final @NonNull PlotId id, final long keyKeepingUnknown, final long keyDeletingUnknown) {
+        final long[] existing = this.keys.get(id);
+        if (existing != null) {
+            if (existing[0] == keyKeepingUnknown && existing[1] == keyDeletingUnknown) {
+                return false;
+            }
+            this.keepingUnknown.remove(existing[0], id);
+            this.deletingUnknown.remove(existing[1], id);
+        }
+        this.keys.put(id, new long[]{keyKeepingUnknown, keyDeletingUnknown});
+        this.keepingUnknown.add(keyKeepingUnknown, id);
+        this.deletingUnknown.add(keyDeletingUnknown, id);
+        return true;
+    }
+
+    /**
+     * Removes a plot from the index.
+     *
+     * @param id plot id
+     * @return {@code true} if the plot was indexed
+     */
+    synchronized boolean remove(final @NonNull PlotId id) {
+        final long[] existing = this.keys.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        this.keepingUnknown.remove(existing[0], id);
+        this.deletingUnknown.remove(existing[1], id);
+        return true;
+    }
+
+    synchronized int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Limits how long the index stays valid, for keys that change on their own (e.g. timed keep flags).
+     *
+     * @param time time in millis after which the index has to be rebuilt
+     */
+    synchronized void expireAt(final long time) {
+        this.validUntil = Math.min(this.validUntil, time);
+    }
+
+    synchronized boolean isValid(final long now) {
+        return now <= this.validUntil;
+    }
+
+    /**
+     * Copies the sorted keys.
+     *
+     * @param deleteUnknown whether unknown owners are counted as never online
+     * @return ascending keys
+     */
+    synchronized long[] snapshot(final boolean deleteUnknown) {
+        return (deleteUnknown ? this.deletingUnknown : this.keepingUnknown).toArray();
+    }
+
+    /**
+     * Passes the plots with a key below the given key to the consumer, oldest first. These are the plots
+     * that are older than {@code now - maxKey}.
+     *
+     * @param deleteUnknown whether unknown owners are counted as never online
+     * @param maxKey        exclusive upper bound of the keys
+     * @param consumer      consumer of the plot ids and their keys
+     */
+    synchronized void forEachOlder(
+            final boolean deleteUnknown, final long maxKey,
+            final @NonNull ObjLongConsumer<PlotId> consumer
+    ) {
+        (deleteUnknown ? this.deletingUnknown : this.keepingUnknown).forEachBelow(maxKey, consumer);
+    }
+
+
+    private static final class SortedKeys {
+
+        private final NavigableMap<Long, Set<PlotId>> ids = new TreeMap<>();
+        private int size;
+
+        void add(final long key, final @NonNull PlotId id) {
+            if (this.ids.computeIfAbsent(key, k -> new HashSet<>()).add(id)) {
+                this.size++;
+            }
+        }
+
+        void remove(final long key, final @NonNull PlotId id) {
+            final Set<PlotId> plots = this.ids.get(key);
+            if (plots == null || !plots.remove(id)) {
+                return;
+            }
+            if (plots.isEmpty()) {
+                this.ids.remove(key);
+            }
+            this.size--;
+        }
+
+        long[] toArray() {
+            final long[] keys = new long[this.size];
+            int index = 0;
+            for (final Map.Entry<Long, Set<PlotId>> entry : this.ids.entrySet()) {
+                final long key = entry.getKey();
+                for (int i = entry.getValue().size(); i > 0; i--) {
+                    keys[index++] = key;
+                }
+            }
+            return keys;
+        }
+
+        void forEachBelow(final long maxKey, final @NonNull ObjLongConsumer<PlotId> consumer) {
+            for (final Map.Entry<Long, Set<PlotId>> entry : this.ids.headMap(maxKey, false).entrySet()) {
+                final long key = entry.getKey();
+                for (final PlotId id : entry.getValue()) {
+                    consumer.accept(id, key);
+                }
+            }
+        }
+
+    }
+
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final long[] keys;
+        private final boolean fromLargest;
+        private int index;
+
+        Cursor(final long[] keys, final boolean fromLargest) {
+            this.keys = keys;
+            this.fromLargest = fromLargest;
+            this.index = fromLargest ? keys.length - 1 : 0;
+        }
+
+        long key() {
+            return this.keys[this.index];
+        }
+
+        boolean advance() {
+            if (this.fromLargest) {
+                return --this.index >= 0;
+            }
+            return ++this.index < this.keys.length;
+        }
+
+        @Override
+        public int compareTo(final Cursor other) {
+            final int compare = Long.compare(key(), other.key());
+            return this.fromLargest ? -compare : compare;
+        }
+
+    }
+
+}
@@ -29,6 +29,7 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.generator.HybridUtils;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.flag.implementations.AnalysisDirtyFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.query.PlotQuery;
@@ -36,6 +37,8 @@ import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.ArrayDeque;
@@ -43,12 +46,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class PlotAnalysis {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotAnalysis.class.getSimpleName());
 
+    /**
+     * Marker appended to the values stored in {@link AnalysisFlag}, to tell analyses whose
+     * modifications are tracked apart from analyses stored by older versions
+     */
+    private static final int TRACKED = 1;
+    private static final int VALUES = 10;
+    private static final Set<Plot> ANALYSING = ConcurrentHashMap.newKeySet();
     public static boolean running = false;
     public int changes;
     public int faces;
@@ -65,25 +77,103 @@ public class PlotAnalysis {
     public static PlotAnalysis getAnalysis(Plot plot, Settings.Auto_Clear settings) {
         final List<Integer> values = plot.getFlag(AnalysisFlag.class);
         if (!values.isEmpty()) {
-            PlotAnalysis analysis = new PlotAnalysis();
-            analysis.changes = values.get(0); // 2126
-            analysis.faces = values.get(1); // 90
-            analysis.data = values.get(2); // 0
-            analysis.air = values.get(3); // 19100
-            analysis.variety = values.get(4); // 266
-
-            analysis.changes_sd = values.get(5); // 2104
-            analysis.faces_sd = values.get(6); // 89
-            analysis.data_sd = values.get(7); // 0
-            analysis.air_sd = values.get(8); // 18909
-            analysis.variety_sd = values.get(9); // 263
-
+            PlotAnalysis analysis = fromList(values);
             analysis.complexity = settings != null ? analysis.getComplexity(settings) : 0;
             return analysis;
         }
         return null;
     }
 
+    /**
+     * Restore an analysis from the values stored in {@link AnalysisFlag}, see {@link #asList()}
+     */
+    static PlotAnalysis fromList(List<Integer> values) {
+        PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = values.get(0); // 2126
+        analysis.faces = values.get(1); // 90
+        analysis.data = values.get(2); // 0
+        analysis.air = values.get(3); // 19100
+        analysis.variety = values.get(4); // 266
+
+        analysis.changes_sd = values.get(5); // 2104
+        analysis.faces_sd = values.get(6); // 89
+        analysis.data_sd = values.get(7); // 0
+        analysis.air_sd = values.get(8); // 18909
+        analysis.variety_sd = values.get(9); // 263
+        return analysis;
+    }
+
+    /**
+     * Get the stored analysis of a plot, if the plot has not been modified since it was analysed.
+     * Analyses stored before modifications were tracked count as modified.
+     * <p>
+     * Plots are marked as modified by player and WorldEdit changes, explosions, pistons, fluids and
+     * block physics, as well as by plot copies, moves, swaps and schematic pastes. Changes made by
+     * other plugins without firing events are not tracked.
+     *
+     * @param plot Plot
+     * @return Stored analysis, or {@code null} if the plot has not been analysed or was modified since
+     * @since TODO
+     */
+    public static @Nullable PlotAnalysis getCachedAnalysis(final @NonNull Plot plot) {
+        final List<Integer> values = plot.getFlag(AnalysisFlag.class);
+        if (!isTracked(values) || plot.getFlag(AnalysisDirtyFlag.class) || ANALYSING.contains(plot.getBasePlot(false))) {
+            return null;
+        }
+        return fromList(values);
+    }
+
+    /**
+     * Mark a plot as modified, so that its stored analysis is no longer reused. Only the first
+     * modification after an analysis is written to the database.
+     *
+     * @param plot Plot that has been modified
+     * @since TODO
+     */
+    public static void markModified(final @NonNull Plot plot) {
+        if (plot.getFlag(AnalysisDirtyFlag.class)) {
+            return;
+        }
+        // Plots that are being analysed are marked too, as the analysis may have already scanned the change
+        if (!isTracked(plot.getFlag(AnalysisFlag.class)) && !ANALYSING.contains(plot.getBasePlot(false))) {
+            return;
+        }
+        TaskManager.runTask(() -> {
+            if (!plot.getFlag(AnalysisDirtyFlag.class)) {
+                plot.setFlag(AnalysisDirtyFlag.ANALYSIS_DIRTY_TRUE);
+            }
+        });
+    }
+
+    /**
+     * Start tracking modifications of a plot that is about to be analysed
+     *
+     * @param plot Plot that is being analysed
+     * @see #analysisDone(Plot)
+     * @since TODO
+     */
+    public static void analysisStarted(final @NonNull Plot plot) {
+        ANALYSING.add(plot.getBasePlot(false));
+        if (plot.getFlag(AnalysisDirtyFlag.class)) {
+            plot.removeFlag(AnalysisDirtyFlag.class);
+        }
+    }
+
+    /**
+     * Stop tracking a plot that has been analysed. Modifications made while the analysis was running
+     * keep the plot marked as modified.
+     *
+     * @param plot Plot that has been analysed
+     * @since TODO
+     */
+    public static void analysisDone(final @NonNull Plot plot) {
+        ANALYSING.remove(plot.getBasePlot(false));
+    }
+
+    private static boolean isTracked(final @NonNull List<Integer> values) {
+        return values.size() > VALUES && values.get(VALUES) == TRACKED;
+    }
+
     public static void analyzePlot(Plot plot, RunnableVal<PlotAnalysis> whenDone) {
         PlotSquared.platform().injector().getInstance(HybridUtils.class).analyzePlot(plot, whenDone);
     }
@@ -167,6 +257,11 @@ public class PlotAnalysis {
                         break;
                     }
                     LOGGER.info(" | {}", queuePlot);
+                    if (getCachedAnalysis(queuePlot) != null) {
+                        // Not modified since the last analysis
+                        queuePlot.removeRunning();
+                        continue;
+                    }
 
                     final Object lock = new Object();
                     TaskManager.runTask(new Runnable() {
@@ -590,7 +685,7 @@ public class PlotAnalysis {
     public List<Integer> asList() {
         return Arrays
                 .asList(this.changes, this.faces, this.data, this.air, this.variety, this.changes_sd,
-                        this.faces_sd, this.data_sd, this.air_sd, this.variety_sd
+                        this.faces_sd, this.data_sd, this.air_sd, this.variety_sd, TRACKED
                 );
     }
 
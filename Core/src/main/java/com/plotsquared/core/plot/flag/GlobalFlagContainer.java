@@ -26,6 +26,7 @@
 package com.plotsquared.core.plot.flag;
 
 import com.google.common.base.Preconditions;
+import com.plotsquared.core.plot.flag.implementations.AnalysisDirtyFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.flag.implementations.AnimalAttackFlag;
 import com.plotsquared.core.plot.flag.implementations.AnimalCapFlag;
@@ -211,6 +212,7 @@ public final class GlobalFlagContainer extends FlagContainer {
 
         // Internal flags
         this.addFlag(new AnalysisFlag(Collections.emptyList()));
+        this.addFlag(AnalysisDirtyFlag.ANALYSIS_DIRTY_FALSE);
         this.addFlag(new DoneFlag(""));
 
         // Integer flags
@@ -0,0 +1,52 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag.implementations;
+
+import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.plot.flag.InternalFlag;
+import com.plotsquared.core.plot.flag.types.BooleanFlag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Set when a plot has been modified since its {@link AnalysisFlag analysis} was started
+ *
+ * @since TODO
+ */
+public class AnalysisDirtyFlag extends BooleanFlag<AnalysisDirtyFlag> implements InternalFlag {
+
+    public static final AnalysisDirtyFlag ANALYSIS_DIRTY_TRUE = new AnalysisDirtyFlag(true);
+    public static final AnalysisDirtyFlag ANALYSIS_DIRTY_FALSE = new AnalysisDirtyFlag(false);
+
+    private AnalysisDirtyFlag(boolean value) {
+        super(value, TranslatableCaption.of("info.none"));
+    }
+
+    @Override
+    protected AnalysisDirtyFlag flagOf(@NonNull Boolean value) {
+        return value ? ANALYSIS_DIRTY_TRUE : ANALYSIS_DIRTY_FALSE;
+    }
+
+}
@@ -36,8 +36,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,15 +47,22 @@ import java.util.Set;
 public class DefaultPlotAreaManager implements PlotAreaManager {
 
     final PlotArea[] noPlotAreas = new PlotArea[0];
-    private final Map<String, PlotWorld> plotWorlds = new HashMap<>();
+    private final Object lock = new Object();
+    // Immutable, replaced on every change so that lookups never have to lock
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), noPlotAreas);
 
     @Override
     public @NonNull PlotArea[] getAllPlotAreas() {
-        final Set<PlotArea> area = new HashSet<>();
-        for (final PlotWorld world : plotWorlds.values()) {
-            area.addAll(world.getAreas());
-        }
-        return area.toArray(new PlotArea[0]);
+        return this.snapshot.areas().clone();
+    }
+
+    /**
+     * Check whether there are any plot areas, without copying them
+     *
+     * @return {@code true} if at least one plot area exists
+     */
+    protected boolean hasPlotAreas() {
+        return this.snapshot.areas().length != 0;
     }
 
     @Override
@@ -62,7 +70,7 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
         if (location == null) {
             return null;
         }
-        final PlotWorld world = this.plotWorlds.get(location.getWorldName());
+        final PlotWorld world = this.snapshot.worlds().get(location.getWorldName());
         if (world == null) {
             return null;
         }
@@ -71,43 +79,52 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
 
     @Override
     public void addPlotArea(final @NonNull PlotArea plotArea) {
-        PlotWorld world = this.plotWorlds.get(plotArea.getWorldName());
-        if (world != null) {
-            if (world instanceof StandardPlotWorld && world.getAreas().isEmpty()) {
-                this.plotWorlds.remove(plotArea.getWorldName());
+        synchronized (this.lock) {
+            final Map<String, PlotWorld> plotWorlds = new HashMap<>(this.snapshot.worlds());
+            PlotWorld world = plotWorlds.get(plotArea.getWorldName());
+            if (world != null) {
+                if (world instanceof StandardPlotWorld && world.getAreas().isEmpty()) {
+                    plotWorlds.remove(plotArea.getWorldName());
+                } else {
+                    world.addArea(plotArea);
+                    this.publish(plotWorlds);
+                    return;
+                }
+            }
+            if (plotArea.getType() != PlotAreaType.PARTIAL) {
+                world = new StandardPlotWorld(plotArea.getWorldName(), plotArea);
             } else {
+                world = new ScatteredPlotWorld(plotArea.getWorldName());
                 world.addArea(plotArea);
-                return;
             }
+            plotWorlds.put(plotArea.getWorldName(), world);
+            this.publish(plotWorlds);
         }
-        if (plotArea.getType() != PlotAreaType.PARTIAL) {
-            world = new StandardPlotWorld(plotArea.getWorldName(), plotArea);
-        } else {
-            world = new ScatteredPlotWorld(plotArea.getWorldName());
-            world.addArea(plotArea);
-        }
-        this.plotWorlds.put(plotArea.getWorldName(), world);
     }
 
     @Override
     public void removePlotArea(final @NonNull PlotArea area) {
-        final PlotWorld world = this.plotWorlds.get(area.getWorldName());
-        if (world == null) {
-            return;
-        }
-        if (world instanceof StandardPlotWorld) {
-            this.plotWorlds.remove(world.getWorld());
-        } else {
-            world.removeArea(area);
-            if (world.getAreas().isEmpty()) {
-                this.plotWorlds.remove(world.getWorld());
+        synchronized (this.lock) {
+            final Map<String, PlotWorld> plotWorlds = new HashMap<>(this.snapshot.worlds());
+            final PlotWorld world = plotWorlds.get(area.getWorldName());
+            if (world == null) {
+                return;
+            }
+            if (world instanceof StandardPlotWorld) {
+                plotWorlds.remove(world.getWorld());
+            } else {
+                world.removeArea(area);
+                if (world.getAreas().isEmpty()) {
+                    plotWorlds.remove(world.getWorld());
+                }
             }
+            this.publish(plotWorlds);
         }
     }
 
     @Override
     public PlotArea getPlotArea(final @NonNull String world, final @Nullable String id) {
-        final PlotWorld plotWorld = this.plotWorlds.get(world);
+        final PlotWorld plotWorld = this.snapshot.worlds().get(world);
         if (plotWorld == null) {
             return null;
         }
@@ -133,7 +150,7 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
 
     @Override
     public @NonNull PlotArea[] getPlotAreas(final @NonNull String world, final @Nullable CuboidRegion region) {
-        final PlotWorld plotWorld = this.plotWorlds.get(world);
+        final PlotWorld plotWorld = this.snapshot.worlds().get(world);
         if (plotWorld == null) {
             return noPlotAreas;
         }
@@ -145,24 +162,45 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
 
     @Override
     public void addWorld(final @NonNull String worldName) {
-        PlotWorld world = this.plotWorlds.get(worldName);
-        if (world != null) {
-            return;
+        synchronized (this.lock) {
+            if (this.snapshot.worlds().containsKey(worldName)) {
+                return;
+            }
+            final Map<String, PlotWorld> plotWorlds = new HashMap<>(this.snapshot.worlds());
+            // Create a new empty world. When a new area is added
+            // the world will be re-recreated with the correct type
+            plotWorlds.put(worldName, new StandardPlotWorld(worldName, null));
+            this.publish(plotWorlds);
         }
-        // Create a new empty world. When a new area is added
-        // the world will be re-recreated with the correct type
-        world = new StandardPlotWorld(worldName, null);
-        this.plotWorlds.put(worldName, world);
     }
 
     @Override
     public void removeWorld(final @NonNull String worldName) {
-        this.plotWorlds.remove(worldName);
+        synchronized (this.lock) {
+            if (!this.snapshot.worlds().containsKey(worldName)) {
+                return;
+            }
+            final Map<String, PlotWorld> plotWorlds = new HashMap<>(this.snapshot.worlds());
+            plotWorlds.remove(worldName);
+            this.publish(plotWorlds);
+        }
     }
 
     @Override
     public @NonNull String[] getAllWorlds() {
-        return this.plotWorlds.keySet().toArray(new String[0]);
+        return this.snapshot.worlds().keySet().toArray(new String[0]);
+    }
+
+    private void publish(final @NonNull Map<String, PlotWorld> plotWorlds) {
+        final Set<PlotArea> areas = new LinkedHashSet<>();
+        for (final PlotWorld world : plotWorlds.values()) {
+            areas.addAll(world.getAreas());
+        }
+        this.snapshot = new Snapshot(Collections.unmodifiableMap(plotWorlds), areas.toArray(new PlotArea[0]));
+    }
+
+    private record Snapshot(@NonNull Map<String, PlotWorld> worlds, @NonNull PlotArea[] areas) {
+
     }
 
 }
@@ -38,6 +38,7 @@ import org.khelekore.prtree.MBR;
 import org.khelekore.prtree.PRTree;
 import org.khelekore.prtree.SimpleMBR;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -51,9 +52,9 @@ public class ScatteredPlotWorld extends PlotWorld {
     private static final PlotAreaConverter MBR_CONVERTER = new PlotAreaConverter();
     private static final int BRANCH_FACTOR = 30;
 
-    private final List<PlotArea> areas = new LinkedList<>();
-    private final Object treeLock = new Object();
-    private PRTree<PlotArea> areaTree;
+    private final Object lock = new Object();
+    // Immutable, replaced on every change so that lookups never have to lock
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), null);
 
     /**
      * Create a new plot world with a given world name
@@ -66,14 +67,13 @@ public class ScatteredPlotWorld extends PlotWorld {
 
     @Override
     public @Nullable PlotArea getArea(final @NonNull Location location) {
-        if (this.areas.isEmpty()) {
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot.areaTree() == null) {
             return null;
         }
-        synchronized (this.treeLock) {
-            for (final PlotArea area : this.areaTree.find(location.toMBR())) {
-                if (area.contains(location)) {
-                    return area;
-                }
+        for (final PlotArea area : snapshot.areaTree().find(location.toMBR())) {
+            if (area.contains(location)) {
+                return area;
             }
         }
         return null;
@@ -81,51 +81,69 @@ public class ScatteredPlotWorld extends PlotWorld {
 
     @Override
     public @NonNull Collection<PlotArea> getAreas() {
-        return Collections.unmodifiableCollection(this.areas);
+        return this.snapshot.areas();
     }
 
     @Override
     public void addArea(final @NonNull PlotArea area) {
-        this.areas.add(area);
-        this.buildTree();
+        synchronized (this.lock) {
+            final List<PlotArea> areas = new ArrayList<>(this.snapshot.areas());
+            areas.add(area);
+            this.buildTree(areas);
+        }
     }
 
     @Override
     public void removeArea(final @NonNull PlotArea area) {
-        this.areas.remove(area);
-        this.buildTree();
+        synchronized (this.lock) {
+            final List<PlotArea> areas = new ArrayList<>(this.snapshot.areas());
+            areas.remove(area);
+            this.buildTree(areas);
+        }
     }
 
     @Override
     public @NonNull Collection<PlotArea> getAreasInRegion(final @NonNull CuboidRegion region) {
-        if (this.areas.isEmpty()) {
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot.areaTree() == null) {
             return Collections.emptyList();
         }
-        synchronized (this.treeLock) {
-            final List<PlotArea> areas = new LinkedList<>();
+        final List<PlotArea> areas = new LinkedList<>();
 
-            final BlockVector3 min = region.getMinimumPoint();
-            final BlockVector3 max = region.getMaximumPoint();
-            final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
+        final BlockVector3 min = region.getMinimumPoint();
+        final BlockVector3 max = region.getMaximumPoint();
+        final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
 
-            for (final PlotArea area : this.areaTree.find(mbr)) {
-                if (RegionUtil.intersects(area.getRegion(), region)) {
-                    areas.add(area);
-                }
+        for (final PlotArea area : snapshot.areaTree().find(mbr)) {
+            if (RegionUtil.intersects(area.getRegion(), region)) {
+                areas.add(area);
             }
-
-            return areas;
         }
+
+        return areas;
     }
 
     /**
-     * Rebuild the area tree
+     * Rebuild the area tree and publish it together with the areas it was built from
+     *
+     * @param areas New areas of this world
      */
-    private void buildTree() {
-        synchronized (this.treeLock) {
-            this.areaTree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
-            this.areaTree.load(this.areas);
+    private void buildTree(final @NonNull List<PlotArea> areas) {
+        if (areas.isEmpty()) {
+            this.snapshot = new Snapshot(Collections.emptyList(), null);
+            return;
         }
+        final PRTree<PlotArea> areaTree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
+        areaTree.load(areas);
+        this.snapshot = new Snapshot(Collections.unmodifiableList(areas), areaTree);
+    }
+
+    /**
+     * Areas of the world and the tree built from them. The tree is never modified after it
+     * has been loaded, so it can be searched by several threads at once.
+     */
+    private record Snapshot(@NonNull List<PlotArea> areas, @Nullable PRTree<PlotArea> areaTree) {
+
     }
 
 }
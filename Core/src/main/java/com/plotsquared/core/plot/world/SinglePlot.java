@@ -25,8 +25,10 @@
  */
 package com.plotsquared.core.plot.world;
 
+import com.plotsquared.core.events.TeleportCause;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Location;
+import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
@@ -80,9 +82,37 @@ public class SinglePlot extends Plot {
     }
 
     @Override
-    public boolean isLoaded() {
-        getArea().loadWorld(getId());
-        return super.isLoaded();
+    public void teleportPlayer(final PlotPlayer<?> player, final TeleportCause cause, final Consumer<Boolean> resultConsumer) {
+        // Load the world without blocking the main thread on the file system, the future completes on the main thread
+        getArea().loadWorldAsync(getId()).whenComplete((loaded, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+                resultConsumer.accept(false);
+                return;
+            }
+            super.teleportPlayer(player, cause, resultConsumer);
+        });
+    }
+
+    @Override
+    public void getHome(final Consumer<Location> result) {
+        // The home is only resolved in a loaded world, so load it first without blocking the main thread
+        getArea().loadWorldAsync(getId()).whenComplete((loaded, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+            }
+            super.getHome(result);
+        });
+    }
+
+    @Override
+    public void getDefaultHome(final boolean member, final Consumer<Location> result) {
+        getArea().loadWorldAsync(getId()).whenComplete((loaded, throwable) -> {
+            if (throwable != null) {
+                throwable.printStackTrace();
+            }
+            super.getDefaultHome(member, result);
+        });
     }
 
     @NonNull
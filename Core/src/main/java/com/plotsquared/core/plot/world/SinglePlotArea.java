@@ -38,7 +38,6 @@ import com.plotsquared.core.listener.PlotListener;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
-import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.plot.PlotSettings;
@@ -51,9 +50,7 @@ import com.plotsquared.core.util.task.TaskManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
 
 public class SinglePlotArea extends GridPlotWorld {
 
@@ -61,6 +58,7 @@ public class SinglePlotArea extends GridPlotWorld {
     private final EventDispatcher eventDispatcher;
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private final PlotListener plotListener;
+    private volatile SinglePlotWorldManager worldManager;
     public boolean VOID = false;
 
     public SinglePlotArea(
@@ -128,91 +126,81 @@ public class SinglePlotArea extends GridPlotWorld {
         super.saveConfiguration(config);
     }
 
+    /**
+     * Get the lifecycle manager of the plot worlds in this area
+     *
+     * @return World manager
+     * @since TODO
+     */
+    public @NonNull SinglePlotWorldManager getWorldManager() {
+        SinglePlotWorldManager manager = this.worldManager;
+        if (manager == null) {
+            synchronized (this) {
+                manager = this.worldManager;
+                if (manager == null) {
+                    manager = new SinglePlotWorldManager(PlotSquared.platform().worldContainer());
+                    manager.start();
+                    this.worldManager = manager;
+                }
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Load the world of a plot, blocking until it is loaded. Prefer {@link #loadWorldAsync(PlotId)}.
+     *
+     * @param id Plot id
+     */
     public void loadWorld(final PlotId id) {
         String worldName = id.toUnderscoreSeparatedString();
         if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            this.getWorldManager().touch(worldName);
             return;
         }
-        PlotAreaBuilder builder = PlotAreaBuilder.newBuilder()
-                .plotManager("PlotSquared:single")
-                .generatorName("PlotSquared:single")
-                .plotAreaType(getType())
-                .terrainType(getTerrain())
-                .settingsNodesWrapper(new SettingsNodesWrapper(new ConfigurationNode[0], null))
-                .worldName(worldName);
-
-        File container = PlotSquared.platform().worldContainer();
-        File destination = new File(container, worldName);
-
-        {// convert old
-            File oldFile = new File(container, id.toCommaSeparatedString());
-            if (oldFile.exists()) {
-                oldFile.renameTo(destination);
-            } else {
-                oldFile = new File(container, id.toSeparatedString("."));
-                if (oldFile.exists()) {
-                    oldFile.renameTo(destination);
-                }
-            }
-        }
-        // Duplicate 0;0
-        if (builder.plotAreaType() != PlotAreaType.NORMAL) {
-            if (!destination.exists()) {
-                File src = new File(container, "0_0");
-                if (src.exists()) {
-                    if (!destination.exists()) {
-                        destination.mkdirs();
-                    }
-                    File levelDat = new File(src, "level.dat");
-                    if (levelDat.exists()) {
-                        try {
-                            Files.copy(
-                                    levelDat.toPath(),
-                                    new File(destination, levelDat.getName()).toPath()
-                            );
-                            File data = new File(src, "data");
-                            if (data.exists()) {
-                                File dataDest = new File(destination, "data");
-                                dataDest.mkdirs();
-                                for (File file : data.listFiles()) {
-                                    Files.copy(
-                                            file.toPath(),
-                                            new File(dataDest, file.getName()).toPath()
-                                    );
-                                }
-                            }
-                        } catch (IOException exception) {
-                            exception.printStackTrace();
-                        }
-                    }
-                }
-            }
-        }
-
+        this.getWorldManager().prepareWorldFolder(this, id);
         try {
             TaskManager.getPlatformImplementation().sync(() -> {
-                final String name = id.toUnderscoreSeparatedString();
-                if (!PlotSquared.platform().worldUtil().isWorld(name)) {
-                    PlotSquared.platform().setupUtils().setupWorld(builder);
-                }
+                this.setupWorld(id);
                 return null;
             });
         } catch (final Exception e) {
             e.printStackTrace();
         }
+    }
 
-        //        String worldName = plot.getWorldName();
-        //        World world = Bukkit.getWorld(worldName);
-        //        if (world != null) {
-        //            return world;
-        //        }
-        //        WorldCreator wc = new WorldCreator(worldName);
-        //        wc.generator("PlotSquared:single");
-        //        wc.environment(World.Environment.NORMAL);
-        //        wc.type(WorldType.FLAT);
-        //        return AsyncWorld.create(wc);
+    /**
+     * Load the world of a plot. The world folder is prepared asynchronously, and only the
+     * world creation runs on the main thread.
+     *
+     * @param id Plot id
+     * @return Future completed on the main thread, with {@code true} if the world is loaded
+     * @since TODO
+     */
+    public @NonNull CompletableFuture<Boolean> loadWorldAsync(final @NonNull PlotId id) {
+        return this.getWorldManager().loadWorld(this, id);
     }
 
+    /**
+     * Create the world of a plot, if it is not loaded yet. Must be called on the main thread,
+     * after the world folder has been prepared.
+     *
+     * @param id Plot id
+     */
+    void setupWorld(final @NonNull PlotId id) {
+        final String worldName = id.toUnderscoreSeparatedString();
+        if (!PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            PlotAreaBuilder builder = PlotAreaBuilder.newBuilder()
+                    .plotManager("PlotSquared:single")
+                    .generatorName("PlotSquared:single")
+                    .plotAreaType(getType())
+                    .terrainType(getTerrain())
+                    .settingsNodesWrapper(new SettingsNodesWrapper(new ConfigurationNode[0], null))
+                    .worldName(worldName);
+            PlotSquared.platform().setupUtils().setupWorld(builder);
+        }
+        this.getWorldManager().touch(worldName);
+    }
 
     @Override
     public ConfigurationNode[] getSettingNodes() {
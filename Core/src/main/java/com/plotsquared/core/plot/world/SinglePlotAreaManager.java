@@ -45,8 +45,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class SinglePlotAreaManager extends DefaultPlotAreaManager {
 
     private final SinglePlotArea[] array;
-    private SinglePlotArea area;
-    private PlotArea[] all;
+    private volatile SinglePlotArea area;
+    private volatile PlotArea[] all;
 
     @Inject
     public SinglePlotAreaManager(
@@ -119,7 +119,7 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
             return null;
         }
         String world = location.getWorldName();
-        return isWorld(world) || world.equals("*") || super.getAllPlotAreas().length == 0 ?
+        return isWorld(world) || world.equals("*") || !hasPlotAreas() ?
                 area :
                 super.getApplicablePlotArea(location);
     }
@@ -176,6 +176,7 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
             throw new UnsupportedOperationException("Cannot remove base area!");
         }
         super.removePlotArea(area);
+        all = ArrayUtil.concatAll(super.getAllPlotAreas(), array);
     }
 
     @Override
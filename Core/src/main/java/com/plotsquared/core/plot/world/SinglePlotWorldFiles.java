@@ -0,0 +1,256 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.plot.PlotId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Filesystem stage of loading single plot worlds. This renames legacy world folders and
+ * creates new world folders from the {@code 0_0} template world.
+ * <p>
+ * New world folders are taken from a pool of prepared copies of the template when possible,
+ * which turns the copy into a single rename. Pool entries are tagged with the modification
+ * time of the template {@code level.dat}, so entries of an outdated template are discarded.
+ * None of the methods must be called on the main thread.
+ *
+ * @since TODO
+ */
+public class SinglePlotWorldFiles {
+
+    static final String TEMPLATE = "0_0";
+    static final String POOL = ".plotsquared-world-pool";
+    private static final String LEVEL_DAT = "level.dat";
+    private static final String DATA = "data";
+
+    private final Path container;
+    private final Path template;
+    private final Path pool;
+
+    public SinglePlotWorldFiles(final @NonNull File container) {
+        this.container = container.toPath();
+        this.template = this.container.resolve(TEMPLATE);
+        this.pool = this.container.resolve(POOL);
+    }
+
+    /**
+     * Prepare the world folder of a plot world
+     *
+     * @param id           Plot id
+     * @param copyTemplate Whether new worlds should be created from the template world
+     * @return World folder
+     * @throws IOException if the folder could not be prepared
+     */
+    public @NonNull Path prepare(final @NonNull PlotId id, final boolean copyTemplate) throws IOException {
+        final Path destination = this.container.resolve(id.toUnderscoreSeparatedString());
+        this.convertLegacy(id, destination);
+        if (!copyTemplate || Files.exists(destination)) {
+            return destination;
+        }
+        final Path prepared = this.takeFromPool();
+        if (prepared != null) {
+            try {
+                Files.move(prepared, destination, StandardCopyOption.ATOMIC_MOVE);
+                return destination;
+            } catch (final FileAlreadyExistsException ignored) {
+                // Created concurrently
+                deleteRecursively(prepared);
+                return destination;
+            } catch (final IOException ignored) {
+                // Fall back to copying the template
+                deleteRecursively(prepared);
+            }
+        }
+        if (this.getTemplateVersion() != null) {
+            copyTemplate(destination);
+        }
+        return destination;
+    }
+
+    /**
+     * Fill the pool of prepared world folders
+     *
+     * @param size Target size of the pool
+     * @return Amount of created pool entries
+     * @throws IOException if a pool entry could not be created
+     */
+    public int fillPool(final int size) throws IOException {
+        final String version = this.getTemplateVersion();
+        if (version == null) {
+            return 0;
+        }
+        this.discardOutdated(version);
+        int created = 0;
+        for (int count = this.getPoolSize(); count < size; count++) {
+            final Path temporary = this.pool.resolve("." + UUID.randomUUID());
+            copyTemplate(temporary);
+            // Only expose complete copies
+            Files.move(temporary, this.pool.resolve(version + "-" + UUID.randomUUID()), StandardCopyOption.ATOMIC_MOVE);
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Delete incomplete pool entries left behind by an interrupted copy. Must not be called
+     * while the pool is being filled.
+     *
+     * @throws IOException if an entry could not be deleted
+     */
+    public void cleanup() throws IOException {
+        if (!Files.isDirectory(this.pool)) {
+            return;
+        }
+        final List<Path> incomplete = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.pool)) {
+            for (final Path entry : stream) {
+                if (entry.getFileName().toString().startsWith(".")) {
+                    incomplete.add(entry);
+                }
+            }
+        }
+        for (final Path entry : incomplete) {
+            deleteRecursively(entry);
+        }
+    }
+
+    /**
+     * Get the amount of prepared world folders in the pool
+     *
+     * @return Pool size
+     * @throws IOException if the pool could not be read
+     */
+    public int getPoolSize() throws IOException {
+        return this.listPool().size();
+    }
+
+    private void convertLegacy(final @NonNull PlotId id, final @NonNull Path destination) throws IOException {
+        if (Files.exists(destination)) {
+            return;
+        }
+        for (final String legacy : new String[]{id.toCommaSeparatedString(), id.toSeparatedString(".")}) {
+            final Path old = this.container.resolve(legacy);
+            if (Files.isDirectory(old)) {
+                Files.move(old, destination);
+                return;
+            }
+        }
+    }
+
+    private @Nullable Path takeFromPool() throws IOException {
+        final String version = this.getTemplateVersion();
+        if (version == null) {
+            return null;
+        }
+        for (final Path entry : this.listPool()) {
+            if (!entry.getFileName().toString().startsWith(version + "-")) {
+                continue;
+            }
+            // Claim the entry, another thread might be trying to take it as well
+            final Path claimed = this.pool.resolve("." + UUID.randomUUID());
+            try {
+                Files.move(entry, claimed, StandardCopyOption.ATOMIC_MOVE);
+                return claimed;
+            } catch (final IOException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private void discardOutdated(final @NonNull String version) throws IOException {
+        for (final Path entry : this.listPool()) {
+            if (!entry.getFileName().toString().startsWith(version + "-")) {
+                deleteRecursively(entry);
+            }
+        }
+    }
+
+    private @NonNull List<Path> listPool() throws IOException {
+        final List<Path> entries = new ArrayList<>();
+        if (!Files.isDirectory(this.pool)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.pool)) {
+            for (final Path entry : stream) {
+                // Entries starting with a dot are being created or have been claimed
+                if (!entry.getFileName().toString().startsWith(".")) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private @Nullable String getTemplateVersion() throws IOException {
+        final Path levelDat = this.template.resolve(LEVEL_DAT);
+        if (!Files.isRegularFile(levelDat)) {
+            return null;
+        }
+        return Long.toString(Files.getLastModifiedTime(levelDat).toMillis());
+    }
+
+    private void copyTemplate(final @NonNull Path destination) throws IOException {
+        Files.createDirectories(destination);
+        Files.copy(this.template.resolve(LEVEL_DAT), destination.resolve(LEVEL_DAT));
+        final Path data = this.template.resolve(DATA);
+        if (Files.isDirectory(data)) {
+            final Path dataDestination = Files.createDirectories(destination.resolve(DATA));
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(data)) {
+                for (final Path file : stream) {
+                    if (Files.isRegularFile(file)) {
+                        Files.copy(file, dataDestination.resolve(file.getFileName()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(final @NonNull Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (final Path file : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.TaskManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages the lifecycle of single plot worlds:
+ * <ul>
+ *     <li>World folders are prepared off the main thread by {@link SinglePlotWorldFiles}, and only
+ *     the world creation itself runs on the main thread</li>
+ *     <li>A pool of prepared world folders is kept filled, see {@link Settings.Plot_Worlds#POOL_SIZE}</li>
+ *     <li>Idle worlds are unloaded least recently used first, see {@link Settings.Plot_Worlds#MAX_IDLE_WORLDS}
+ *     and {@link Settings.Plot_Worlds#MAX_MEMORY_USAGE}</li>
+ * </ul>
+ *
+ * @since TODO
+ */
+public class SinglePlotWorldManager {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + SinglePlotWorldManager.class.getSimpleName());
+
+    private final SinglePlotWorldFiles files;
+    private final Map<PlotId, CompletableFuture<Boolean>> loading = new ConcurrentHashMap<>();
+    // Access ordered, least recently used first
+    private final LinkedHashMap<String, Boolean> recentlyUsed = new LinkedHashMap<>(16, 0.75F, true);
+    private final AtomicBoolean fillingPool = new AtomicBoolean();
+
+    public SinglePlotWorldManager(final @NonNull File container) {
+        this.files = new SinglePlotWorldFiles(container);
+    }
+
+    /**
+     * Select the idle worlds that should be unloaded
+     *
+     * @param idle           Idle worlds, least recently used first
+     * @param maxIdle        Maximum amount of idle worlds to keep loaded
+     * @param memoryExceeded Whether the memory limit is exceeded, in which case all idle worlds are selected
+     * @return Worlds to unload, least recently used first
+     */
+    static @NonNull List<String> selectWorldsToUnload(
+            final @NonNull List<String> idle, final int maxIdle,
+            final boolean memoryExceeded
+    ) {
+        if (memoryExceeded) {
+            return idle;
+        }
+        final int excess = idle.size() - Math.max(0, maxIdle);
+        return excess <= 0 ? List.of() : idle.subList(0, excess);
+    }
+
+    /**
+     * Check whether the used heap exceeds {@link Settings.Plot_Worlds#MAX_MEMORY_USAGE}
+     *
+     * @return {@code true} if the memory limit is exceeded
+     */
+    public static boolean isMemoryExceeded() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long used = runtime.totalMemory() - runtime.freeMemory();
+        return used * 100 > runtime.maxMemory() * Settings.Plot_Worlds.MAX_MEMORY_USAGE;
+    }
+
+    /**
+     * Remove incomplete pool entries and fill the pool of prepared world folders
+     */
+    public void start() {
+        if (!this.fillingPool.compareAndSet(false, true)) {
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            try {
+                this.files.cleanup();
+            } catch (final IOException e) {
+                LOGGER.error("Failed to clean up the plot world pool", e);
+            } finally {
+                this.fillingPool.set(false);
+            }
+            this.fillPool();
+        });
+    }
+
+    /**
+     * Load a plot world. The world folder is prepared asynchronously, and the world is then
+     * created on the main thread.
+     *
+     * @param area Plot area
+     * @param id   Plot id
+     * @return Future completed on the main thread, with {@code true} if the world is loaded
+     */
+    public @NonNull CompletableFuture<Boolean> loadWorld(final @NonNull SinglePlotArea area, final @NonNull PlotId id) {
+        final String worldName = id.toUnderscoreSeparatedString();
+        if (PlotSquared.platform().worldUtil().isWorld(worldName)) {
+            this.touch(worldName);
+            return CompletableFuture.completedFuture(true);
+        }
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        final CompletableFuture<Boolean> existing = this.loading.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        TaskManager.runTaskAsync(() -> {
+            try {
+                this.prepareWorldFolder(area, id);
+            } catch (final Throwable throwable) {
+                this.loading.remove(id);
+                future.completeExceptionally(throwable);
+                return;
+            }
+            TaskManager.runTask(() -> {
+                try {
+                    area.setupWorld(id);
+                    future.complete(PlotSquared.platform().worldUtil().isWorld(worldName));
+                } catch (final Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                } finally {
+                    this.loading.remove(id);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Prepare the world folder of a plot world on the current thread, and refill the pool of
+     * prepared world folders asynchronously
+     *
+     * @param area Plot area
+     * @param id   Plot id
+     */
+    public void prepareWorldFolder(final @NonNull SinglePlotArea area, final @NonNull PlotId id) {
+        final boolean copyTemplate = area.getType() != PlotAreaType.NORMAL;
+        try {
+            this.files.prepare(id, copyTemplate);
+        } catch (final IOException e) {
+            LOGGER.error("Failed to prepare the world folder of plot world {}", id.toUnderscoreSeparatedString(), e);
+        }
+        if (copyTemplate) {
+            this.fillPool();
+        }
+    }
+
+    /**
+     * Mark a world as used
+     *
+     * @param world World name
+     */
+    public synchronized void touch(final @NonNull String world) {
+        this.recentlyUsed.put(world, Boolean.TRUE);
+    }
+
+    /**
+     * Forget about a world, e.g. once it has been unloaded
+     *
+     * @param world World name
+     */
+    public synchronized void forget(final @NonNull String world) {
+        this.recentlyUsed.remove(world);
+    }
+
+    /**
+     * Select the idle worlds that should be unloaded, based on the configured limits
+     *
+     * @param idle Loaded plot worlds that may be unloaded
+     * @return Worlds to unload, least recently used first
+     */
+    public @NonNull List<String> selectWorldsToUnload(final @NonNull Collection<String> idle) {
+        final List<String> ordered = new ArrayList<>(idle.size());
+        final Set<String> remaining = new HashSet<>(idle);
+        synchronized (this) {
+            for (final String world : this.recentlyUsed.keySet()) {
+                if (remaining.remove(world)) {
+                    ordered.add(world);
+                }
+            }
+        }
+        // Worlds that were never used are the least recently used
+        ordered.addAll(0, remaining);
+        return selectWorldsToUnload(ordered, Settings.Plot_Worlds.MAX_IDLE_WORLDS, isMemoryExceeded());
+    }
+
+    private void fillPool() {
+        if (Settings.Plot_Worlds.POOL_SIZE <= 0 || !this.fillingPool.compareAndSet(false, true)) {
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            try {
+                this.files.fillPool(Settings.Plot_Worlds.POOL_SIZE);
+            } catch (final IOException e) {
+                LOGGER.error("Failed to fill the plot world pool", e);
+            } finally {
+                this.fillingPool.set(false);
+            }
+        });
+    }
+
+}
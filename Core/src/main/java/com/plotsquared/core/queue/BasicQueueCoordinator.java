@@ -54,6 +54,7 @@ import java.util.function.Consumer;
 public abstract class BasicQueueCoordinator extends QueueCoordinator {
 
     private final World world;
+    private final long created = System.nanoTime();
     private final ConcurrentHashMap<BlockVector2, LocalChunk> blockChunks = new ConcurrentHashMap<>();
     private final List<BlockVector2> readRegion = new ArrayList<>();
     private final List<ProgressSubscriber> progressSubscribers = new ArrayList<>();
@@ -85,6 +86,16 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         return world;
     }
 
+    /**
+     * Get when this queue was created
+     *
+     * @return {@link System#nanoTime()} at creation
+     * @since TODO
+     */
+    public final long getCreationTime() {
+        return this.created;
+    }
+
     @Override
     public final int size() {
         return blockChunks.size() + readRegion.size();
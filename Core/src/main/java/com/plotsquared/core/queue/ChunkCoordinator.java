@@ -54,4 +54,14 @@ public abstract class ChunkCoordinator implements Runnable {
      */
     public abstract int getTotalChunks();
 
+    /**
+     * Get the amount of chunks that have been loaded and are waiting to be accessed (at the time of the method call)
+     *
+     * @return Snapshot view of the loaded chunk count
+     * @since TODO
+     */
+    public int getHeldChunks() {
+        return 0;
+    }
+
 }
@@ -50,6 +50,7 @@ public class ChunkCoordinatorBuilder {
     private final List<BlockVector2> requestedChunks = new LinkedList<>();
     private final List<ProgressSubscriber> progressSubscribers = new ArrayList<>();
     private final ChunkCoordinatorFactory chunkCoordinatorFactory;
+    private final QueueMetrics queueMetrics;
     private Consumer<Throwable> throwableConsumer = Throwable::printStackTrace;
     private World world;
     private Consumer<BlockVector2> chunkConsumer;
@@ -58,10 +59,16 @@ public class ChunkCoordinatorBuilder {
     private long maxIterationTime = Settings.QUEUE.MAX_ITERATION_TIME; // A little over 1 tick;
     private int initialBatchSize = Settings.QUEUE.INITIAL_BATCH_SIZE;
     private boolean unloadAfter = true;
+    private QueueOperation operation = QueueOperation.OTHER;
+    private long created = System.nanoTime();
 
     @Inject
-    public ChunkCoordinatorBuilder(@NonNull ChunkCoordinatorFactory chunkCoordinatorFactory) {
+    public ChunkCoordinatorBuilder(
+            @NonNull ChunkCoordinatorFactory chunkCoordinatorFactory,
+            @NonNull QueueMetrics queueMetrics
+    ) {
         this.chunkCoordinatorFactory = chunkCoordinatorFactory;
+        this.queueMetrics = queueMetrics;
     }
 
     /**
@@ -197,6 +204,20 @@ public class ChunkCoordinatorBuilder {
         return this;
     }
 
+    /**
+     * Set the operation the coordinator is reported as in the {@link QueueMetrics}
+     *
+     * @param operation operation
+     * @param created   {@link System#nanoTime()} at which the work was first queued
+     * @return this ChunkCoordinatorBuilder instance
+     * @since TODO
+     */
+    public @NonNull ChunkCoordinatorBuilder forOperation(final @NonNull QueueOperation operation, final long created) {
+        this.operation = Preconditions.checkNotNull(operation, "Operation may not be null");
+        this.created = created;
+        return this;
+    }
+
     public @NonNull ChunkCoordinatorBuilder withProgressSubscriber(ProgressSubscriber progressSubscriber) {
         this.progressSubscribers.add(progressSubscriber);
         return this;
@@ -217,7 +238,15 @@ public class ChunkCoordinatorBuilder {
         Preconditions.checkNotNull(this.chunkConsumer, "No chunk consumer was supplied");
         Preconditions.checkNotNull(this.whenDone, "No final action was supplied");
         Preconditions.checkNotNull(this.throwableConsumer, "No throwable consumer was supplied");
-        return chunkCoordinatorFactory
+        // A coordinator without chunks never ends, so there is nothing to track
+        final QueueMetrics.Job job = this.requestedChunks.isEmpty() ? null : this.queueMetrics.createJob(
+                this.operation,
+                this.created
+        );
+        if (job != null) {
+            this.progressSubscribers.add(job);
+        }
+        final ChunkCoordinator coordinator = chunkCoordinatorFactory
                 .create(
                         this.maxIterationTime,
                         this.initialBatchSize,
@@ -229,6 +258,10 @@ public class ChunkCoordinatorBuilder {
                         this.unloadAfter,
                         this.progressSubscribers
                 );
+        if (job != null) {
+            job.attach(coordinator);
+        }
+        return coordinator;
     }
 
 }
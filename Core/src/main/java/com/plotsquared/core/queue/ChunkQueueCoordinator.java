@@ -26,6 +26,7 @@
 package com.plotsquared.core.queue;
 
 import com.plotsquared.core.location.Location;
+import com.plotsquared.core.util.PatternUtil;
 import com.sk89q.worldedit.function.pattern.Pattern;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.world.World;
@@ -96,7 +97,7 @@ public class ChunkQueueCoordinator extends ScopedQueueCoordinator {
 
     @Override
     public boolean setBlock(int x, int y, int z, @NonNull Pattern pattern) {
-        this.storeCache(x, y, z, pattern.applyBlock(BlockVector3.at(x, y, z)).toImmutableState());
+        this.storeCache(x, y, z, PatternUtil.apply(pattern, x, y, z).toImmutableState());
         return true;
     }
 
@@ -182,6 +182,23 @@ public class DelegateQueueCoordinator extends QueueCoordinator {
         return false;
     }
 
+    @Override
+    public @NonNull QueueOperation getOperation() {
+        if (parent != null) {
+            return parent.getOperation();
+        }
+        return super.getOperation();
+    }
+
+    @Override
+    public void setOperation(@NonNull QueueOperation operation) {
+        if (parent != null) {
+            parent.setOperation(operation);
+        } else {
+            super.setOperation(operation);
+        }
+    }
+
     @Override
     public void start() {
         if (parent != null) {
@@ -55,6 +55,7 @@ public abstract class QueueCoordinator {
     @Nullable
     private Object chunkObject;
     private final AtomicBoolean enqueued = new AtomicBoolean();
+    private QueueOperation operation = QueueOperation.OTHER;
 
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     @Inject
@@ -323,6 +324,26 @@ public abstract class QueueCoordinator {
         setModified(System.currentTimeMillis());
     }
 
+    /**
+     * Get the operation this queue is reported as in the {@link QueueMetrics}
+     *
+     * @return operation
+     * @since TODO
+     */
+    public @NonNull QueueOperation getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * Set the operation this queue is reported as in the {@link QueueMetrics}
+     *
+     * @param operation operation
+     * @since TODO
+     */
+    public void setOperation(@NonNull QueueOperation operation) {
+        this.operation = operation;
+    }
+
     /**
      * Enqueue the queue to start it
      *
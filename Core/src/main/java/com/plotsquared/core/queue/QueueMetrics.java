@@ -0,0 +1,298 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the {@link ChunkCoordinator}s started for block queues.
+ * <p>
+ * Every coordinator built by a {@link ChunkCoordinatorBuilder} is given a {@link Job}, which is subscribed to the
+ * coordinator's progress and removed from the registry once the coordinator ends. Finished jobs are aggregated
+ * per {@link QueueOperation}.
+ *
+ * @since TODO
+ */
+@Singleton
+public final class QueueMetrics {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final LongSupplier clock;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Job> activeJobs = new ConcurrentHashMap<>();
+    private final OperationStats[] operations = new OperationStats[QueueOperation.values().length];
+
+    @Inject
+    public QueueMetrics() {
+        this(System::nanoTime);
+    }
+
+    QueueMetrics(final @NonNull LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < this.operations.length; i++) {
+            this.operations[i] = new OperationStats();
+        }
+    }
+
+    /**
+     * Create a job for a coordinator that is about to be built. The job should be added as a progress subscriber
+     * of the coordinator, and {@link Job#attach(ChunkCoordinator) attached} once the coordinator exists.
+     *
+     * @param operation what the coordinator is used for
+     * @param created   {@link System#nanoTime()} at which the work was first queued
+     * @return the job
+     */
+    public @NonNull Job createJob(final @NonNull QueueOperation operation, final long created) {
+        return new Job(this.ids.incrementAndGet(), operation, created);
+    }
+
+    /**
+     * Get all jobs whose coordinator has not ended yet, oldest first
+     *
+     * @return active jobs
+     */
+    public @NonNull List<Job> getActiveJobs() {
+        final List<Job> jobs = new ArrayList<>(this.activeJobs.values());
+        jobs.sort(Comparator.comparingLong(Job::getId));
+        return jobs;
+    }
+
+    /**
+     * Get the aggregated statistics of all finished jobs of an operation
+     *
+     * @param operation operation
+     * @return statistics
+     */
+    public @NonNull OperationSnapshot getStatistics(final @NonNull QueueOperation operation) {
+        return this.operations[operation.ordinal()].snapshot(operation);
+    }
+
+
+    /**
+     * A single coordinator run
+     */
+    public final class Job implements ProgressSubscriber {
+
+        private final long id;
+        private final QueueOperation operation;
+        private final long created;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile ChunkCoordinator coordinator;
+        private volatile long started;
+        private volatile double progress;
+
+        private Job(final long id, final @NonNull QueueOperation operation, final long created) {
+            this.id = id;
+            this.operation = operation;
+            this.created = created;
+        }
+
+        /**
+         * Attach the coordinator the job tracks and register it as active
+         *
+         * @param coordinator the coordinator
+         */
+        public void attach(final @NonNull ChunkCoordinator coordinator) {
+            this.coordinator = coordinator;
+            this.started = clock.getAsLong();
+            if (!this.ended.get()) {
+                activeJobs.put(this.id, this);
+            }
+        }
+
+        @Override
+        public void notifyProgress(final @NonNull ChunkCoordinator coordinator, final double progress) {
+            this.progress = progress;
+        }
+
+        @Override
+        public void notifyEnd() {
+            if (!this.ended.compareAndSet(false, true)) {
+                return;
+            }
+            activeJobs.remove(this.id);
+            final ChunkCoordinator coordinator = this.coordinator;
+            if (coordinator == null) {
+                return;
+            }
+            final long now = clock.getAsLong();
+            operations[this.operation.ordinal()].record(
+                    getRemainingChunks() <= 0,
+                    getProcessedChunks(),
+                    now - this.created,
+                    now - this.started
+            );
+        }
+
+        public long getId() {
+            return this.id;
+        }
+
+        public @NonNull QueueOperation getOperation() {
+            return this.operation;
+        }
+
+        /**
+         * Get the last progress reported by the coordinator
+         *
+         * @return progress in the range [0, 1]
+         */
+        public double getProgress() {
+            return this.progress;
+        }
+
+        public int getTotalChunks() {
+            final ChunkCoordinator coordinator = this.coordinator;
+            return coordinator == null ? 0 : coordinator.getTotalChunks();
+        }
+
+        public int getRemainingChunks() {
+            final ChunkCoordinator coordinator = this.coordinator;
+            return coordinator == null ? 0 : Math.max(0, coordinator.getRemainingChunks());
+        }
+
+        public int getProcessedChunks() {
+            return Math.max(0, getTotalChunks() - getRemainingChunks());
+        }
+
+        /**
+         * Get the number of chunks the coordinator has loaded and not yet processed
+         *
+         * @return held chunks
+         */
+        public int getHeldChunks() {
+            final ChunkCoordinator coordinator = this.coordinator;
+            return coordinator == null ? 0 : coordinator.getHeldChunks();
+        }
+
+        /**
+         * Get the time since the work was queued
+         *
+         * @return age in milliseconds
+         */
+        public long getAgeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - this.created);
+        }
+
+        /**
+         * Get the average number of chunks processed per server tick since the coordinator was started
+         *
+         * @return chunks per tick
+         */
+        public double getChunksPerTick() {
+            return chunksPerTick(getProcessedChunks(), clock.getAsLong() - this.started);
+        }
+
+        /**
+         * Estimate the remaining time from the current throughput
+         *
+         * @return remaining milliseconds, or {@code -1} if no chunk has been processed yet
+         */
+        public long getEtaMillis() {
+            final double chunksPerTick = getChunksPerTick();
+            if (chunksPerTick <= 0) {
+                return -1;
+            }
+            return TimeUnit.NANOSECONDS.toMillis((long) (getRemainingChunks() / chunksPerTick * TICK_NANOS));
+        }
+
+    }
+
+    private static double chunksPerTick(final long chunks, final long nanos) {
+        return nanos <= 0 ? 0 : (double) chunks * TICK_NANOS / nanos;
+    }
+
+
+    private static final class OperationStats {
+
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder chunks = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAdder runNanos = new LongAdder();
+
+        private void record(final boolean completed, final int chunks, final long totalNanos, final long runNanos) {
+            (completed ? this.completed : this.cancelled).increment();
+            this.chunks.add(chunks);
+            this.totalNanos.add(totalNanos);
+            this.maxNanos.accumulate(totalNanos);
+            this.runNanos.add(runNanos);
+        }
+
+        private @NonNull OperationSnapshot snapshot(final @NonNull QueueOperation operation) {
+            final long completed = this.completed.sum();
+            final long cancelled = this.cancelled.sum();
+            final long jobs = completed + cancelled;
+            return new OperationSnapshot(
+                    operation,
+                    completed,
+                    cancelled,
+                    this.chunks.sum(),
+                    jobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalNanos.sum() / jobs),
+                    TimeUnit.NANOSECONDS.toMillis(this.maxNanos.get()),
+                    chunksPerTick(this.chunks.sum(), this.runNanos.sum())
+            );
+        }
+
+    }
+
+
+    /**
+     * Statistics of all finished jobs of an operation
+     *
+     * @param operation     the operation
+     * @param completed     jobs that processed all their chunks
+     * @param cancelled     jobs that ended with chunks left
+     * @param chunks        chunks processed by all jobs
+     * @param averageMillis average time from queueing to the end of a job
+     * @param maxMillis     longest time from queueing to the end of a job
+     * @param chunksPerTick average throughput while the jobs were running
+     */
+    public record OperationSnapshot(
+            @NonNull QueueOperation operation, long completed, long cancelled, long chunks,
+            long averageMillis, long maxMillis, double chunksPerTick
+    ) {
+
+    }
+
+}
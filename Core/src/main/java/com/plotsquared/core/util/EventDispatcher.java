@@ -94,6 +94,7 @@ public class EventDispatcher {
 
     private final EventBus eventBus = new EventBus("PlotSquaredEvents");
     private final List<Object> listeners = new ArrayList<>();
+    private final EventSubscriberRegistry subscribers = new EventSubscriberRegistry();
     private final WorldEdit worldEdit;
 
     public EventDispatcher(final @Nullable WorldEdit worldEdit) {
@@ -103,25 +104,45 @@ public class EventDispatcher {
     public void registerListener(Object listener) {
         eventBus.register(listener);
         listeners.add(listener);
+        subscribers.register(listener);
     }
 
     public void unregisterListener(Object listener) {
         eventBus.unregister(listener);
         listeners.remove(listener);
+        subscribers.unregister(listener);
     }
 
     public void unregisterAll() {
         for (Object listener : listeners) {
             eventBus.unregister(listener);
         }
+        listeners.clear();
+        subscribers.clear();
+    }
+
+    /**
+     * Check whether any registered listener subscribes to an event type. Events without
+     * subscribers are not posted to the event bus.
+     *
+     * @param eventType Event type
+     * @return {@code true} if an event of the given type would be received by a listener
+     * @since TODO
+     */
+    public boolean hasSubscribers(final @NonNull Class<?> eventType) {
+        return subscribers.hasSubscribers(eventType);
     }
 
     public void callGenericEvent(final @NonNull Object event) {
-        eventBus.post(event);
+        if (hasSubscribers(event.getClass())) {
+            eventBus.post(event);
+        }
     }
 
     public void callEvent(final @NonNull PlotEvent event) {
-        eventBus.post(event);
+        if (hasSubscribers(event.getClass())) {
+            eventBus.post(event);
+        }
     }
 
     public PlayerClaimPlotEvent callClaim(PlotPlayer<?> player, Plot plot, String schematic) {
@@ -293,7 +314,7 @@ public class EventDispatcher {
 
     public PlotRateEvent callRating(PlotPlayer<?> player, Plot plot, Rating rating) {
         PlotRateEvent event = new PlotRateEvent(player, rating, plot);
-        eventBus.post(event);
+        callEvent(event);
         return event;
     }
 
@@ -0,0 +1,134 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the event types the listeners registered to the {@link EventDispatcher} subscribe to,
+ * so that events nobody listens for don't have to be posted to the event bus.
+ * <p>
+ * Subscriptions are discovered the same way Guava does: every method annotated with {@link Subscribe}
+ * in the listener class or any of its supertypes. A subscription receives all subtypes of its event
+ * type, so the result for a posted event type is computed once and cached until the listeners change.
+ */
+final class EventSubscriberRegistry {
+
+    // Subscribed event types, counted per listener
+    private final Map<Class<?>, Integer> subscriptions = new HashMap<>();
+    private volatile Map<Class<?>, Boolean> cache = new ConcurrentHashMap<>();
+    private volatile boolean deadEvents;
+
+    private static @NonNull Set<Class<?>> getSubscribedTypes(final @NonNull Class<?> listenerClass) {
+        final Set<Class<?>> types = new HashSet<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        final Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(listenerClass);
+        while (!queue.isEmpty()) {
+            final Class<?> type = queue.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            for (final Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()
+                        && method.getParameterCount() == 1) {
+                    types.add(method.getParameterTypes()[0]);
+                }
+            }
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            queue.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return types;
+    }
+
+    synchronized void register(final @NonNull Object listener) {
+        for (final Class<?> type : getSubscribedTypes(listener.getClass())) {
+            this.subscriptions.merge(type, 1, Integer::sum);
+        }
+        this.reset();
+    }
+
+    synchronized void unregister(final @NonNull Object listener) {
+        for (final Class<?> type : getSubscribedTypes(listener.getClass())) {
+            this.subscriptions.computeIfPresent(type, (key, count) -> count == 1 ? null : count - 1);
+        }
+        this.reset();
+    }
+
+    synchronized void clear() {
+        this.subscriptions.clear();
+        this.reset();
+    }
+
+    /**
+     * Check whether an event of the given type would be received by any listener
+     *
+     * @param eventType Event type
+     * @return {@code true} if the event has to be posted
+     */
+    boolean hasSubscribers(final @NonNull Class<?> eventType) {
+        // Events without subscribers are re-posted as dead events
+        if (this.deadEvents) {
+            return true;
+        }
+        final Map<Class<?>, Boolean> cache = this.cache;
+        Boolean subscribed = cache.get(eventType);
+        if (subscribed == null) {
+            subscribed = this.isSubscribed(eventType);
+            cache.put(eventType, subscribed);
+        }
+        return subscribed;
+    }
+
+    private synchronized boolean isSubscribed(final @NonNull Class<?> eventType) {
+        for (final Class<?> type : this.subscriptions.keySet()) {
+            if (type.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reset() {
+        this.cache = new ConcurrentHashMap<>();
+        this.deadEvents = this.isSubscribed(DeadEvent.class);
+    }
+
+}
@@ -29,6 +29,7 @@ import com.google.common.base.Preconditions;
 import com.plotsquared.core.command.Command;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.BlockSampler;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.entity.Player;
 import com.sk89q.worldedit.extension.input.InputParseException;
@@ -51,6 +52,9 @@ public class PatternUtil {
 
     public static BaseBlock apply(@NonNull Pattern pattern, int x, int y, int z) {
         Preconditions.checkNotNull(pattern, "Pattern may not be null");
+        if (pattern instanceof BlockSampler sampler) {
+            return sampler.sample(x, y, z);
+        }
         if (pattern instanceof BlockPattern || pattern instanceof RandomPattern
                 || pattern instanceof BlockState || pattern instanceof BlockType
                 || pattern instanceof BaseBlock) {
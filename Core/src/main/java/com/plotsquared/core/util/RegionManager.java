@@ -38,6 +38,7 @@ import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -206,6 +207,8 @@ public abstract class RegionManager {
         final com.sk89q.worldedit.world.World newWorld = worldUtil.getWeWorld(newPos.getWorldName());
         final QueueCoordinator copyFrom = blockQueue.getNewQueue(oldWorld);
         final BasicQueueCoordinator copyTo = (BasicQueueCoordinator) blockQueue.getNewQueue(newWorld);
+        copyFrom.setOperation(QueueOperation.COPY);
+        copyTo.setOperation(QueueOperation.COPY);
         setCopyFromToConsumer(pos1, pos2, relX, relZ, oldWorld, copyFrom, copyTo, false);
         copyFrom.setCompleteTask(copyTo::enqueue);
         if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
@@ -283,6 +286,10 @@ public abstract class RegionManager {
         ).getChunks());
         QueueCoordinator toQueue1 = blockQueue.getNewQueue(world1);
         QueueCoordinator toQueue2 = blockQueue.getNewQueue(world2);
+        fromQueue1.setOperation(QueueOperation.SWAP);
+        fromQueue2.setOperation(QueueOperation.SWAP);
+        toQueue1.setOperation(QueueOperation.SWAP);
+        toQueue2.setOperation(QueueOperation.SWAP);
 
         setCopyFromToConsumer(pos1, pos2, relX, relZ, world1, fromQueue1, toQueue2, true);
         setCopyFromToConsumer(pos1.add(relX, 0, relZ), pos2.add(relX, 0, relZ), -relX, -relZ, world1, fromQueue2, toQueue1,
@@ -38,8 +38,10 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.schematic.Schematic;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueOperation;
 import com.plotsquared.core.util.net.AbstractDelegateOutputStream;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
@@ -254,17 +256,16 @@ public abstract class SchematicHandler {
                 }
 
                 final Runnable THIS = this;
-                getCompoundTag(plot)
-                        .whenComplete((compoundTag, throwable) -> {
-                            if (compoundTag != null) {
-                                TaskManager.runTaskAsync(() -> {
-                                    boolean result = save(compoundTag, directory + File.separator + name + ".schem");
-                                    if (!result) {
-                                        LOGGER.error("Failed to save {}", plot.getId());
-                                    }
-                                    TaskManager.runTask(THIS);
-                                });
+                final File file = FileUtils.getFile(
+                        PlotSquared.platform().getDirectory(),
+                        directory + File.separator + name + ".schem"
+                );
+                export(Objects.requireNonNull(plot.getWorldName()), plot.getRegions(), file)
+                        .whenComplete((result, throwable) -> {
+                            if (throwable != null || !result) {
+                                LOGGER.error("Failed to save {}", plot.getId(), throwable);
                             }
+                            TaskManager.runTask(THIS);
                         });
             }
         });
@@ -359,6 +360,7 @@ public abstract class SchematicHandler {
             }
             // Paste schematic here
             final QueueCoordinator queue = plot.getArea().getQueue();
+            queue.setOperation(QueueOperation.SCHEMATIC_PASTE);
 
             for (int ry = 0; ry < Math.min(256, HEIGHT); ry++) {
                 int yy = y_offset_actual + ry;
@@ -390,7 +392,10 @@ public abstract class SchematicHandler {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
             }
             whenDone.value = true;
-            queue.setCompleteTask(whenDone);
+            queue.setCompleteTask(() -> {
+                PlotAnalysis.markModified(plot);
+                whenDone.run();
+            });
             queue.enqueue();
         } catch (Exception e) {
             e.printStackTrace();
@@ -623,6 +628,37 @@ public abstract class SchematicHandler {
         return schematic;
     }
 
+    /**
+     * Export the contents of the given regions in the given world directly to a Sponge schematic file.
+     * Unlike {@link #getCompoundTag(String, Set)}, the block data is read and streamed to the file a few
+     * layers at a time and never held in memory as a whole.
+     *
+     * @param worldName The world to get the contents from.
+     * @param regions   The regions to get the contents from.
+     * @param file      The file to write the schematic to.
+     * @return a {@link CompletableFuture} that provides {@code true} if the file was written.
+     * @since TODO
+     */
+    public @NonNull CompletableFuture<Boolean> export(
+            final @NonNull String worldName,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull File file
+    ) {
+        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
+        TaskManager.runTaskAsync(() -> {
+            World world = this.worldUtil.getWeWorld(worldName);
+            CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+            Map<String, Tag> schematic = initSchematic((short) aabb.getWidth(), (short) aabb.getHeight(), (short) aabb.getLength());
+            try {
+                new StreamingSchematicExporter(world, regions, schematic).export(file);
+                completableFuture.complete(true);
+            } catch (IOException | RuntimeException e) {
+                completableFuture.completeExceptionally(e);
+            }
+        });
+        return completableFuture;
+    }
+
     /**
      * Get the given plot as {@link CompoundTag} matching the Sponge schematic format.
      *
@@ -0,0 +1,345 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.NBTConstants;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the contents of a set of regions to a Sponge (v2) schematic file without building
+ * the whole schematic in memory first.
+ * <p>
+ * The Sponge block data is ordered by layer, so the world is read in slabs of
+ * {@value #SLAB_HEIGHT} layers. Within a slab it is read chunk by chunk, and chunks that do not
+ * intersect any of the regions are never read. Only the palette ids of the current slab are kept
+ * in memory. They are written as varints to a temporary file next to the schematic, as the size of
+ * the block data has to be known before it can be written to the schematic. Palette ids are cached
+ * by the internal id of the block state, so the string representation of a state is only computed
+ * once per palette entry.
+ */
+final class StreamingSchematicExporter {
+
+    private static final int SLAB_HEIGHT = 16;
+
+    private final World world;
+    private final CuboidRegion[] regions;
+    private final CuboidRegion aabb;
+    private final Map<String, Tag> schematic;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int width;
+    private final int height;
+    private final int length;
+
+    // palette id by internal block state id, -1 if not yet in the palette
+    private int[] paletteByState = new int[0];
+    private final List<BlockState> palette = new ArrayList<>();
+    private final Map<BiomeType, Integer> biomePalette = new HashMap<>();
+    private final List<CompoundTag> tileEntities = new ArrayList<>();
+
+    // palette ids of the current slab in Sponge order (x + z * width + y * width * length)
+    private char[] slab;
+    private int slabMinY;
+    // biome palette ids in Sponge order (x + z * width), -1 for columns outside the regions
+    private int[] biomes;
+
+    /**
+     * @param world     the world to read from
+     * @param regions   the regions to export
+     * @param schematic the schematic header, as created by {@link SchematicHandler}
+     */
+    StreamingSchematicExporter(
+            final @NonNull World world,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull Map<String, Tag> schematic
+    ) {
+        this.world = world;
+        this.regions = regions.toArray(new CuboidRegion[0]);
+        this.aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        this.schematic = schematic;
+        final BlockVector3 min = this.aabb.getMinimumPoint();
+        this.minX = min.getX();
+        this.minY = min.getY();
+        this.minZ = min.getZ();
+        this.width = this.aabb.getWidth();
+        this.height = this.aabb.getHeight();
+        this.length = this.aabb.getLength();
+    }
+
+    /**
+     * Read the regions and write them to the given file. This blocks until the file is written and
+     * should not be called on the main thread.
+     *
+     * @param file the file to write to
+     * @throws IOException if the file could not be written
+     */
+    void export(final @NonNull File file) throws IOException {
+        this.slab = new char[this.width * this.length * Math.min(SLAB_HEIGHT, this.height)];
+        this.biomes = new int[this.width * this.length];
+        Arrays.fill(this.biomes, -1);
+        // Air is always palette id 0, so untouched positions are air
+        paletteId(BlockTypes.AIR.getDefaultState());
+
+        file.getParentFile().mkdirs();
+        final File blockData = new File(file.getParentFile(), file.getName() + ".blocks.tmp");
+        try {
+            final int blockDataSize;
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(blockData))) {
+                blockDataSize = readBlocks(out);
+            }
+            write(file, blockData, blockDataSize);
+        } finally {
+            Files.deleteIfExists(blockData.toPath());
+        }
+    }
+
+    /**
+     * Read the regions slab by slab and write the palette ids of every slab as varints
+     *
+     * @param out the stream to write the block data to
+     * @return the number of bytes written
+     */
+    private int readBlocks(final @NonNull OutputStream out) throws IOException {
+        final int minChunkX = this.minX >> 4;
+        final int minChunkZ = this.minZ >> 4;
+        final int maxChunkX = (this.minX + this.width - 1) >> 4;
+        final int maxChunkZ = (this.minZ + this.length - 1) >> 4;
+        final int layer = this.width * this.length;
+        final List<CuboidRegion> chunkRegions = new ArrayList<>(this.regions.length);
+        int size = 0;
+        for (this.slabMinY = this.minY; this.slabMinY < this.minY + this.height; this.slabMinY += SLAB_HEIGHT) {
+            final int slabMaxY = Math.min(this.slabMinY + SLAB_HEIGHT, this.minY + this.height) - 1;
+            Arrays.fill(this.slab, (char) 0);
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    final CuboidRegion chunk = RegionUtil.createRegion(chunkX << 4, (chunkX << 4) + 15, chunkZ << 4, (chunkZ << 4) + 15);
+                    chunkRegions.clear();
+                    for (final CuboidRegion region : this.regions) {
+                        if (RegionUtil.intersects(chunk, region)) {
+                            chunkRegions.add(region);
+                        }
+                    }
+                    // Chunks completely outside the regions stay air and are never loaded
+                    if (!chunkRegions.isEmpty()) {
+                        readChunk(chunkX, chunkZ, chunkRegions, slabMaxY);
+                    }
+                }
+            }
+            final int count = layer * (slabMaxY - this.slabMinY + 1);
+            for (int i = 0; i < count; i++) {
+                size += writeVarInt(out, this.slab[i]);
+            }
+        }
+        return size;
+    }
+
+    private void readChunk(
+            final int chunkX,
+            final int chunkZ,
+            final @NonNull List<CuboidRegion> chunkRegions,
+            final int slabMaxY
+    ) {
+        final int fromX = Math.max(chunkX << 4, this.minX);
+        final int toX = Math.min((chunkX << 4) + 15, this.minX + this.width - 1);
+        final int fromZ = Math.max(chunkZ << 4, this.minZ);
+        final int toZ = Math.min((chunkZ << 4) + 15, this.minZ + this.length - 1);
+        final int layer = this.width * this.length;
+        for (int x = fromX; x <= toX; x++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                int fromY = Integer.MAX_VALUE;
+                int toY = Integer.MIN_VALUE;
+                for (final CuboidRegion region : chunkRegions) {
+                    if (RegionUtil.contains(region, x, z)) {
+                        fromY = Math.min(fromY, region.getMinimumPoint().getY());
+                        toY = Math.max(toY, region.getMaximumPoint().getY());
+                    }
+                }
+                if (fromY > toY) {
+                    continue;
+                }
+                final int relativeX = x - this.minX;
+                final int relativeZ = z - this.minZ;
+                final int column = relativeX + relativeZ * this.width;
+                for (int y = Math.max(fromY, this.slabMinY); y <= Math.min(toY, slabMaxY); y++) {
+                    final BaseBlock block = this.world.getFullBlock(BlockVector3.at(x, y, z));
+                    if (block.getNbtData() != null) {
+                        addTileEntity(block, relativeX, y - this.minY, relativeZ);
+                    }
+                    this.slab[column + (y - this.slabMinY) * layer] = paletteId(block.toImmutableState());
+                }
+                // Biomes are only read once, with the first slab
+                if (fromY == this.minY && this.slabMinY == this.minY) {
+                    final BiomeType biome = this.world.getBiome(BlockVector2.at(x, z));
+                    this.biomes[column] = this.biomePalette.computeIfAbsent(biome, key -> this.biomePalette.size());
+                }
+            }
+        }
+    }
+
+    private char paletteId(final @NonNull BlockState state) {
+        final int internalId = state.getInternalId();
+        if (internalId >= this.paletteByState.length) {
+            final int oldLength = this.paletteByState.length;
+            this.paletteByState = Arrays.copyOf(this.paletteByState, Math.max(internalId + 1, oldLength * 2));
+            Arrays.fill(this.paletteByState, oldLength, this.paletteByState.length, -1);
+        }
+        int id = this.paletteByState[internalId];
+        if (id == -1) {
+            id = this.palette.size();
+            if (id > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct block states to export");
+            }
+            this.palette.add(state);
+            this.paletteByState[internalId] = id;
+        }
+        return (char) id;
+    }
+
+    private void addTileEntity(final @NonNull BaseBlock block, final int relativeX, final int relativeY, final int relativeZ) {
+        final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+        // Positions are kept in NBT, we don't want that.
+        values.remove("x");
+        values.remove("y");
+        values.remove("z");
+        values.put("Id", new StringTag(block.getNbtId()));
+        // Remove 'id' if it exists. We want 'Id'.
+        values.remove("id");
+        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
+        this.tileEntities.add(new CompoundTag(values));
+    }
+
+    private void write(final @NonNull File file, final @NonNull File blockData, final int blockDataSize) throws IOException {
+        final Map<String, Tag> paletteTag = new HashMap<>();
+        for (int i = 0; i < this.palette.size(); i++) {
+            paletteTag.put(this.palette.get(i).getAsString(), new IntTag(i));
+        }
+        this.schematic.put("PaletteMax", new IntTag(this.palette.size()));
+        this.schematic.put("Palette", new CompoundTag(paletteTag));
+        this.schematic.put("BlockEntities", new ListTag(CompoundTag.class, this.tileEntities));
+
+        final boolean writeBiomes = !this.biomePalette.isEmpty();
+        if (writeBiomes) {
+            final Map<String, Tag> biomePaletteTag = new HashMap<>();
+            this.biomePalette.forEach((biome, id) -> biomePaletteTag.put(biome.getId(), new IntTag(id)));
+            this.schematic.put("BiomePaletteMax", new IntTag(this.biomePalette.size()));
+            this.schematic.put("BiomePalette", new CompoundTag(biomePaletteTag));
+            // Columns outside the regions repeat the previous biome
+            int lastBiome = 0;
+            for (int i = 0; i < this.biomes.length; i++) {
+                if (this.biomes[i] == -1) {
+                    this.biomes[i] = lastBiome;
+                } else {
+                    lastBiome = this.biomes[i];
+                }
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(
+                file))))) {
+            final NBTOutputStream nbtStream = new NBTOutputStream(out);
+            out.writeByte(NBTConstants.TYPE_COMPOUND);
+            out.writeUTF("Schematic");
+            for (final Map.Entry<String, Tag> entry : this.schematic.entrySet()) {
+                nbtStream.writeNamedTag(entry.getKey(), entry.getValue());
+            }
+            out.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+            out.writeUTF("BlockData");
+            out.writeInt(blockDataSize);
+            Files.copy(blockData.toPath(), out);
+            if (writeBiomes) {
+                writeVarIntArray(out, "BiomeData", this.biomes);
+            }
+            out.writeByte(NBTConstants.TYPE_END);
+        }
+    }
+
+    private static void writeVarIntArray(final @NonNull DataOutputStream out, final @NonNull String name, final int[] values)
+            throws IOException {
+        int size = 0;
+        for (final int value : values) {
+            size += varIntSize(value);
+        }
+        out.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+        out.writeUTF(name);
+        out.writeInt(size);
+        for (final int value : values) {
+            writeVarInt(out, value);
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & -128) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private static int writeVarInt(final @NonNull OutputStream out, int value) throws IOException {
+        int size = 1;
+        while ((value & -128) != 0) {
+            out.write(value & 127 | 128);
+            value >>>= 7;
+            size++;
+        }
+        out.write(value);
+        return size;
+    }
+
+}
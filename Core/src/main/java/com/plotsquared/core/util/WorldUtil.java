@@ -30,6 +30,7 @@ import com.plotsquared.core.configuration.caption.Caption;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.util.entity.ChunkEntityCounter;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.jnbt.IntTag;
@@ -57,6 +58,7 @@ import java.net.URL;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -434,4 +436,17 @@ public abstract class WorldUtil {
     @NonNegative
     public abstract int getTileEntityCount(@NonNull String world, @NonNull BlockVector2 chunk);
 
+    /**
+     * Compare the tracked entity counts of the chunks in a world with their actual entity
+     * counts, for platforms that track chunk entity counts. Must be called on the main thread.
+     *
+     * @param world World
+     * @return Chunks whose tracked count differs from the actual count, or {@code null}
+     *         if chunk entity counts are not being tracked
+     * @since TODO
+     */
+    public @Nullable List<ChunkEntityCounter.Mismatch> compareChunkEntityCounts(@NonNull String world) {
+        return null;
+    }
+
 }
@@ -0,0 +1,195 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per chunk entity counts, so that chunk entity limits can be checked without
+ * fetching the entities of a chunk.
+ * <p>
+ * The platform feeds this with entity additions, removals and moves between chunks, and
+ * drops the entities of a chunk whenever the chunk entities are (un)loaded. Entities are
+ * tracked by their unique id, so that a removal or move is always applied to the chunk the
+ * entity was counted in.
+ *
+ * @since TODO
+ */
+public class ChunkEntityCounter {
+
+    private final Map<UUID, ChunkKey> entities = new ConcurrentHashMap<>();
+    private final Map<ChunkKey, Set<UUID>> chunks = new ConcurrentHashMap<>();
+
+    /**
+     * Start tracking an entity. If the entity is already tracked, it is moved to the given chunk.
+     *
+     * @param entity Entity unique id
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void add(final @NonNull UUID entity, final @NonNull String world, final int chunkX, final int chunkZ) {
+        final ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
+        final ChunkKey previous = this.entities.put(entity, key);
+        if (previous != null) {
+            if (previous.equals(key)) {
+                return;
+            }
+            this.removeFromChunk(previous, entity);
+        }
+        this.chunks.computeIfAbsent(key, chunk -> ConcurrentHashMap.newKeySet()).add(entity);
+    }
+
+    /**
+     * Stop tracking an entity
+     *
+     * @param entity Entity unique id
+     */
+    public void remove(final @NonNull UUID entity) {
+        final ChunkKey previous = this.entities.remove(entity);
+        if (previous != null) {
+            this.removeFromChunk(previous, entity);
+        }
+    }
+
+    /**
+     * Update the chunk a tracked entity is in. Untracked entities are ignored.
+     *
+     * @param entity Entity unique id
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void move(final @NonNull UUID entity, final @NonNull String world, final int chunkX, final int chunkZ) {
+        final ChunkKey current = this.entities.get(entity);
+        if (current == null || current.is(world, chunkX, chunkZ)) {
+            return;
+        }
+        this.add(entity, world, chunkX, chunkZ);
+    }
+
+    /**
+     * Check whether an entity is tracked
+     *
+     * @param entity Entity unique id
+     * @return {@code true} if the entity is tracked
+     */
+    public boolean isTracked(final @NonNull UUID entity) {
+        return this.entities.containsKey(entity);
+    }
+
+    /**
+     * Get the number of tracked entities in a chunk
+     *
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Entity count
+     */
+    public int getCount(final @NonNull String world, final int chunkX, final int chunkZ) {
+        final Set<UUID> entities = this.chunks.get(new ChunkKey(world, chunkX, chunkZ));
+        return entities == null ? 0 : entities.size();
+    }
+
+    /**
+     * Stop tracking all entities that are counted in a chunk, e.g. once the chunk has been unloaded
+     * or before its freshly loaded entities are added
+     *
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void unload(final @NonNull String world, final int chunkX, final int chunkZ) {
+        final ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
+        final Set<UUID> entities = this.chunks.remove(key);
+        if (entities == null) {
+            return;
+        }
+        for (final UUID entity : entities) {
+            this.entities.remove(entity, key);
+        }
+    }
+
+    /**
+     * Stop tracking all entities, used before a full recount
+     */
+    public void clear() {
+        this.entities.clear();
+        this.chunks.clear();
+    }
+
+    /**
+     * Get the chunks of a world that have tracked entities
+     *
+     * @param world World name
+     * @return New set of the chunk coordinates, packed as {@code (x << 32) | (z & 0xFFFFFFFF)}
+     */
+    public @NonNull Set<Long> getChunks(final @NonNull String world) {
+        final Set<Long> chunks = new HashSet<>();
+        for (final ChunkKey key : this.chunks.keySet()) {
+            if (key.world().equals(world)) {
+                chunks.add(((long) key.x() << 32) | (key.z() & 0xFFFFFFFFL));
+            }
+        }
+        return chunks;
+    }
+
+    private void removeFromChunk(final @NonNull ChunkKey key, final @NonNull UUID entity) {
+        this.chunks.computeIfPresent(key, (chunk, entities) -> {
+            entities.remove(entity);
+            return entities.isEmpty() ? null : entities;
+        });
+    }
+
+    /**
+     * A chunk whose tracked entity count differs from its actual entity count
+     *
+     * @param chunkX  Chunk X coordinate
+     * @param chunkZ  Chunk Z coordinate
+     * @param tracked Tracked entity count
+     * @param actual  Actual entity count
+     */
+    public record Mismatch(int chunkX, int chunkZ, int tracked, int actual) {
+
+    }
+
+    private record ChunkKey(@NonNull String world, int x, int z) {
+
+        boolean is(final @Nullable String world, final int x, final int z) {
+            return this.x == x && this.z == z && Objects.equals(this.world, world);
+        }
+
+    }
+
+}
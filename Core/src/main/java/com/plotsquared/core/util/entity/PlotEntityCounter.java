@@ -0,0 +1,198 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import com.plotsquared.core.plot.PlotId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps per plot entity counts, in the same categories as
+ * {@link com.plotsquared.core.util.RegionManager#countEntities(com.plotsquared.core.plot.Plot)}.
+ * <p>
+ * The platform feeds this with entity additions, removals and moves between plots. Entities
+ * are tracked by their unique id, so that a removal or move is always applied to the plot
+ * the entity was counted in. Entities that are not in a plot (e.g. on a road) are tracked
+ * as well, so that their categories are known once they enter a plot.
+ */
+public class PlotEntityCounter {
+
+    public static final int CATEGORY_COUNT = 6;
+
+    private final Map<UUID, TrackedEntity> entities = new ConcurrentHashMap<>();
+    private final Map<PlotKey, int[]> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Get the category mask for the counted categories of an entity type. The mask has
+     * a bit set for every {@link EntityCategories} {@code CAP_} index the entity counts towards.
+     *
+     * @param animal  if the entity is an animal, villager or tameable
+     * @param hostile if the entity is hostile
+     * @param vehicle if the entity is a vehicle
+     * @param misc    if the entity is a projectile, hanging or other entity
+     * @return Category mask
+     */
+    public static int categories(final boolean animal, final boolean hostile, final boolean vehicle, final boolean misc) {
+        int mask = 1 << CAP_ENTITY;
+        if (misc) {
+            mask |= 1 << CAP_MISC;
+        } else if (animal) {
+            mask |= 1 << CAP_MOB | 1 << CAP_ANIMAL;
+        } else if (vehicle) {
+            mask |= 1 << CAP_VEHICLE;
+        } else if (hostile) {
+            mask |= 1 << CAP_MOB | 1 << CAP_MONSTER;
+        }
+        return mask;
+    }
+
+    /**
+     * Start tracking an entity
+     *
+     * @param entity     Entity unique id
+     * @param area       Id of the plot area the entity is in, {@code null} if not in a plot area
+     * @param plot       Plot the entity is in, {@code null} if not in a plot
+     * @param categories Category mask of the entity, see {@link #categories(boolean, boolean, boolean, boolean)}
+     */
+    public void add(final @NonNull UUID entity, final @Nullable String area, final @Nullable PlotId plot, final int categories) {
+        if (categories == 0) {
+            return;
+        }
+        final PlotKey key = PlotKey.of(area, plot);
+        final TrackedEntity previous = this.entities.put(entity, new TrackedEntity(key, categories));
+        if (previous != null) {
+            this.apply(previous.key(), previous.categories(), -1);
+        }
+        this.apply(key, categories, 1);
+    }
+
+    /**
+     * Stop tracking an entity
+     *
+     * @param entity Entity unique id
+     */
+    public void remove(final @NonNull UUID entity) {
+        final TrackedEntity tracked = this.entities.remove(entity);
+        if (tracked != null) {
+            this.apply(tracked.key(), tracked.categories(), -1);
+        }
+    }
+
+    /**
+     * Update the plot a tracked entity is in
+     *
+     * @param entity Entity unique id
+     * @param area   Id of the plot area the entity is in, {@code null} if not in a plot area
+     * @param plot   Plot the entity is in, {@code null} if not in a plot
+     */
+    public void move(final @NonNull UUID entity, final @Nullable String area, final @Nullable PlotId plot) {
+        final TrackedEntity tracked = this.entities.get(entity);
+        if (tracked == null) {
+            return;
+        }
+        final PlotKey key = PlotKey.of(area, plot);
+        if (Objects.equals(tracked.key(), key)) {
+            return;
+        }
+        this.entities.put(entity, new TrackedEntity(key, tracked.categories()));
+        this.apply(tracked.key(), tracked.categories(), -1);
+        this.apply(key, tracked.categories(), 1);
+    }
+
+    /**
+     * Check whether an entity is tracked
+     *
+     * @param entity Entity unique id
+     * @return {@code true} if the entity is tracked
+     */
+    public boolean isTracked(final @NonNull UUID entity) {
+        return this.entities.containsKey(entity);
+    }
+
+    /**
+     * Get the entity counts of a single (unmerged) plot
+     *
+     * @param area Id of the plot area
+     * @param plot Plot id
+     * @return New array with the counts, indexed by the {@link EntityCategories} {@code CAP_} constants
+     */
+    public int @NonNull [] getCounts(final @NonNull String area, final @NonNull PlotId plot) {
+        final int[] counts = this.counts.get(new PlotKey(area, plot));
+        return counts == null ? new int[CATEGORY_COUNT] : counts.clone();
+    }
+
+    /**
+     * Stop tracking all entities, used before a full recount
+     */
+    public void clear() {
+        this.entities.clear();
+        this.counts.clear();
+    }
+
+    private void apply(final @Nullable PlotKey key, final int categories, final int delta) {
+        if (key == null) {
+            return;
+        }
+        this.counts.compute(key, (plotKey, counts) -> {
+            if (counts == null) {
+                counts = new int[CATEGORY_COUNT];
+            }
+            boolean empty = true;
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                if ((categories & 1 << i) != 0) {
+                    counts[i] = Math.max(0, counts[i] + delta);
+                }
+                empty &= counts[i] == 0;
+            }
+            return empty ? null : counts;
+        });
+    }
+
+    private record PlotKey(@NonNull String area, @NonNull PlotId plot) {
+
+        static @Nullable PlotKey of(final @Nullable String area, final @Nullable PlotId plot) {
+            return area == null || plot == null ? null : new PlotKey(area, plot);
+        }
+
+    }
+
+    private record TrackedEntity(@Nullable PlotKey key, int categories) {
+
+    }
+
+}
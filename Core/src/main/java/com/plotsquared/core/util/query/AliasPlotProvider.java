@@ -0,0 +1,72 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Provides the plots with a given alias, using the alias index of the plot areas
+ */
+class AliasPlotProvider implements PlotProvider {
+
+    private final PlotAreaManager plotAreaManager;
+    private final Collection<PlotArea> areas;
+    private final String alias;
+
+    /**
+     * @param plotAreaManager Plot area manager
+     * @param areas           Areas to search in, or {@code null} to search all areas
+     * @param alias           Alias to search for
+     */
+    AliasPlotProvider(
+            final @NonNull PlotAreaManager plotAreaManager, final @Nullable Collection<PlotArea> areas,
+            final @NonNull String alias
+    ) {
+        this.plotAreaManager = plotAreaManager;
+        this.areas = areas;
+        this.alias = alias;
+    }
+
+    @Override
+    public Collection<Plot> getPlots() {
+        final Collection<PlotArea> areas = this.areas == null ? Arrays.asList(this.plotAreaManager.getAllPlotAreas()) : this.areas;
+        final Set<Plot> plots = new HashSet<>();
+        for (final PlotArea area : areas) {
+            plots.addAll(area.getAliasIndex().getPlots(this.alias));
+        }
+        return plots;
+    }
+
+}
@@ -49,4 +49,8 @@ class AreaLimitedPlotProvider implements PlotProvider {
         return plots;
     }
 
+    Collection<PlotArea> getAreas() {
+        return this.areas;
+    }
+
 }
@@ -30,7 +30,7 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
-import com.plotsquared.core.plot.Rating;
+import com.plotsquared.core.plot.RatingAggregate;
 import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.MathMan;
@@ -44,7 +44,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
@@ -234,6 +233,13 @@ public final class PlotQuery implements Iterable<Plot> {
      */
     public @NonNull PlotQuery withAlias(final @NonNull String alias) {
         Preconditions.checkNotNull(alias, "Alias may not be null");
+        // Narrow the provided plots down using the alias index, the filter keeps the result correct
+        // if the provider is replaced afterwards
+        if (this.plotProvider instanceof GlobalPlotProvider) {
+            this.plotProvider = new AliasPlotProvider(this.plotAreaManager, null, alias);
+        } else if (this.plotProvider instanceof AreaLimitedPlotProvider areaLimitedPlotProvider) {
+            this.plotProvider = new AliasPlotProvider(this.plotAreaManager, areaLimitedPlotProvider.getAreas(), alias);
+        }
         return this.addFilter(new AliasFilter(alias));
     }
 
@@ -337,39 +343,16 @@ public final class PlotQuery implements Iterable<Plot> {
             result.sort((a, b) -> {
                 String va = a.getFlag(DoneFlag.class);
                 String vb = b.getFlag(DoneFlag.class);
-                if (MathMan.isInteger(va)) {
-                    if (MathMan.isInteger(vb)) {
-                        return Integer.parseInt(vb) - Integer.parseInt(va);
-                    }
-                    return -1;
+                boolean da = MathMan.isInteger(va);
+                boolean db = MathMan.isInteger(vb);
+                if (da && db) {
+                    return Integer.compare(Integer.parseInt(vb), Integer.parseInt(va));
                 }
-                return 1;
+                // Done plots come first, the order of the others is kept
+                return Boolean.compare(db, da);
             });
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING) {
-            result.sort((p1, p2) -> {
-                double v1 = 0;
-                int p1s = p1.getSettings().getRatings().size();
-                int p2s = p2.getRatings().size();
-                if (!p1.getSettings().getRatings().isEmpty()) {
-                    v1 = p1.getRatings().values().stream().mapToDouble(Rating::getAverageRating)
-                            .map(av -> av * av).sum();
-                    v1 /= p1s;
-                    v1 += p1s;
-                }
-                double v2 = 0;
-                if (!p2.getSettings().getRatings().isEmpty()) {
-                    for (Map.Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
-                        double av = entry.getValue().getAverageRating();
-                        v2 += av * av;
-                    }
-                    v2 /= p2s;
-                    v2 += p2s;
-                }
-                if (v2 == v1 && v2 != 0) {
-                    return p2s - p1s;
-                }
-                return (int) Math.signum(v2 - v1);
-            });
+            sortByRating(result);
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_CREATION) {
             return PlotSquared.get().sortPlots(result, PlotSquared.SortType.CREATION_DATE, this.priorityArea);
         } else if (this.sortingStrategy == SortingStrategy.COMPARATOR) {
@@ -454,4 +437,31 @@ public final class PlotQuery implements Iterable<Plot> {
         return this.asCollection().iterator();
     }
 
+    /**
+     * Sorts plots by their rating score, highest first. The score of each plot is computed once up front,
+     * rather than in every comparison.
+     *
+     * @param plots plots to sort
+     */
+    private static void sortByRating(final @NonNull List<Plot> plots) {
+        final List<RatedPlot> rated = new ArrayList<>(plots.size());
+        for (final Plot plot : plots) {
+            final RatingAggregate aggregate = plot.getRatingAggregate();
+            rated.add(new RatedPlot(plot, aggregate.getCount(), aggregate.getScore()));
+        }
+        rated.sort((p1, p2) -> {
+            if (p2.score() == p1.score() && p2.score() != 0) {
+                return p2.count() - p1.count();
+            }
+            return (int) Math.signum(p2.score() - p1.score());
+        });
+        for (int i = 0; i < rated.size(); i++) {
+            plots.set(i, rated.get(i).plot());
+        }
+    }
+
+    private record RatedPlot(@NonNull Plot plot, int count, double score) {
+
+    }
+
 }
@@ -34,6 +34,7 @@ import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.util.task.RunnableVal;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -245,6 +246,11 @@ public class AbstractDBTest implements AbstractDB {
     ) {
     }
 
+    @Override
+    public List<PlotComment> getAllComments() {
+        return new ArrayList<>();
+    }
+
     @Override
     public void createPlotAndSettings(Plot plot, Runnable whenDone) {
     }
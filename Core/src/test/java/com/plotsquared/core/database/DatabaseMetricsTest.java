@@ -0,0 +1,189 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import com.plotsquared.core.database.DatabaseMetrics.QueueType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+public class DatabaseMetricsTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = this.connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE `plot_denied` (`plot_plot_id` INT(11) NOT NULL, `user_uuid` VARCHAR(40) NOT NULL)");
+        }
+        this.connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    private SQLManager.UniqueStatement insert(int id) {
+        return new SQLManager.UniqueStatement("setDenied_" + id, "setDenied") {
+            @Override
+            public PreparedStatement get() throws SQLException {
+                return connection.prepareStatement("INSERT INTO `plot_denied` (`plot_plot_id`, `user_uuid`) VALUES (?, ?)");
+            }
+
+            @Override
+            public void set(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, id);
+                statement.setString(2, "uuid-" + id);
+            }
+        };
+    }
+
+    private int rows() throws SQLException {
+        try (Statement statement = this.connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM `plot_denied`")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Drains statements the same way SQLManager does: one batch per statement, then a single commit.
+     */
+    private void drain(DatabaseMetrics metrics, QueueType type, List<SQLManager.UniqueStatement> tasks, long queued)
+            throws SQLException {
+        SQLManager.UniqueStatement task = null;
+        PreparedStatement statement = null;
+        int batch = 0;
+        for (SQLManager.UniqueStatement next : tasks) {
+            task = next;
+            metrics.dequeued(type, queued);
+            if (statement == null) {
+                statement = task.get();
+            }
+            task.set(statement);
+            task.addBatch(statement);
+            batch++;
+        }
+        metrics.execute(task, statement, batch);
+        statement.close();
+        long start = System.nanoTime();
+        this.connection.commit();
+        metrics.committed(System.nanoTime() - start);
+    }
+
+    @Test
+    public void countersAdvanceWithEachBatch() throws SQLException {
+        DatabaseMetrics metrics = new DatabaseMetrics();
+        long queued = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            metrics.enqueued(QueueType.PLOT);
+        }
+        Assertions.assertEquals(5, metrics.getEnqueued(QueueType.PLOT));
+        Assertions.assertEquals(0, metrics.getDequeued(QueueType.PLOT));
+
+        drain(metrics, QueueType.PLOT, List.of(insert(1), insert(2), insert(3)), queued);
+        Assertions.assertEquals(3, rows());
+        Assertions.assertEquals(3, metrics.getDequeued(QueueType.PLOT));
+        Assertions.assertEquals(0, metrics.getDequeued(QueueType.PLAYER));
+        Assertions.assertEquals(3, metrics.getCommitLatency().getCount());
+        Assertions.assertEquals(1, metrics.getCommitDuration().getCount());
+
+        drain(metrics, QueueType.PLOT, List.of(insert(4), insert(5)), queued);
+        Assertions.assertEquals(5, rows());
+        Assertions.assertEquals(5, metrics.getDequeued(QueueType.PLOT));
+        Assertions.assertEquals(5, metrics.getCommitLatency().getCount());
+        Assertions.assertEquals(2, metrics.getCommitDuration().getCount());
+
+        List<DatabaseMetrics.MethodSnapshot> methods = metrics.getMethods();
+        Assertions.assertEquals(1, methods.size());
+        DatabaseMetrics.MethodSnapshot method = methods.get(0);
+        Assertions.assertEquals("setDenied", method.method());
+        Assertions.assertEquals(2, method.batches());
+        Assertions.assertEquals(5, method.statements());
+        Assertions.assertEquals(3, method.maxBatchSize());
+        Assertions.assertEquals(2.5, method.averageBatchSize(), 1e-9);
+    }
+
+    @Test
+    public void failedBatchesAreRecorded() throws SQLException {
+        DatabaseMetrics metrics = new DatabaseMetrics();
+        SQLManager.UniqueStatement broken = new SQLManager.UniqueStatement("broken") {
+            @Override
+            public PreparedStatement get() throws SQLException {
+                return connection.prepareStatement("INSERT INTO `plot_denied` (`plot_plot_id`, `user_uuid`) VALUES (?, ?)");
+            }
+
+            @Override
+            public void set(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, 1);
+                statement.setString(2, null);
+            }
+        };
+        Assertions.assertThrows(SQLException.class, () -> drain(metrics, QueueType.PLAYER, List.of(broken), System.nanoTime()));
+        Assertions.assertEquals(1, metrics.getMethods().get(0).batches());
+        Assertions.assertEquals(0, metrics.getCommitDuration().getCount());
+    }
+
+    @Test
+    public void slowStatementLogKeepsMostRecent() {
+        DatabaseMetrics metrics = new DatabaseMetrics(1000, 2);
+        metrics.batch("fast", 1, 999);
+        metrics.batch("first", 1, 1000);
+        metrics.batch("second", 2, 2000);
+        metrics.batch("third", 3, 3000);
+        List<DatabaseMetrics.SlowStatement> slow = metrics.getSlowStatements();
+        Assertions.assertEquals(2, slow.size());
+        Assertions.assertEquals("third", slow.get(0).method());
+        Assertions.assertEquals("second", slow.get(1).method());
+        Assertions.assertEquals(2, slow.get(1).batchSize());
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        DatabaseMetrics.Histogram histogram = new DatabaseMetrics.Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10_000); // 10us
+        }
+        histogram.record(5_000_000); // 5ms
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(5000, histogram.getMaxMicros());
+        Assertions.assertEquals(15, histogram.getPercentileMicros(0.5));
+        Assertions.assertEquals(15, histogram.getPercentileMicros(0.99));
+        Assertions.assertEquals(5000, histogram.getPercentileMicros(1));
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class PersistentMetaBufferTest {
+
+    private static final String PREFIX = "test_";
+    private static final UUID PLAYER = UUID.fromString("84499644-ad72-454b-a19d-f28c28df382b");
+    private static final UUID OTHER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = this.connection.createStatement()) {
+            // Same table as SQLManager creates for SQLite
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `" + PREFIX + "player_meta` ("
+                    + " `meta_id` INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + " `uuid` VARCHAR(40) NOT NULL," + " `key` VARCHAR(32) NOT NULL,"
+                    + " `value` blob NOT NULL" + ')');
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    private List<byte[]> rows(UUID uuid, String key) throws SQLException {
+        try (PreparedStatement statement = this.connection.prepareStatement(
+                "SELECT `value` FROM `" + PREFIX + "player_meta` WHERE `uuid` = ? AND `key` = ?")) {
+            statement.setString(1, uuid.toString());
+            statement.setString(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<byte[]> values = new ArrayList<>();
+                while (resultSet.next()) {
+                    values.add(resultSet.getBytes("value"));
+                }
+                return values;
+            }
+        }
+    }
+
+    private int flush(PersistentMetaBuffer buffer) throws SQLException {
+        this.connection.setAutoCommit(false);
+        int written = buffer.flush(this.connection, PREFIX, 0);
+        this.connection.commit();
+        this.connection.setAutoCommit(true);
+        return written;
+    }
+
+    @Test
+    public void coalescesWritesToLatestValue() throws SQLException {
+        PersistentMetaBuffer buffer = new PersistentMetaBuffer(0);
+        for (int i = 0; i < 100; i++) {
+            buffer.set(PLAYER, "attrib_chat", new byte[]{(byte) (i & 1)});
+        }
+        buffer.set(PLAYER, "quitLoc", new byte[]{1, 2, 3});
+        Assertions.assertEquals(2, buffer.size());
+        Assertions.assertEquals(2, flush(buffer));
+        Assertions.assertEquals(0, buffer.size());
+
+        List<byte[]> chat = rows(PLAYER, "attrib_chat");
+        Assertions.assertEquals(1, chat.size());
+        Assertions.assertArrayEquals(new byte[]{1}, chat.get(0));
+        List<byte[]> quit = rows(PLAYER, "quitLoc");
+        Assertions.assertEquals(1, quit.size());
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, quit.get(0));
+    }
+
+    @Test
+    public void replacesAndRemovesExistingRows() throws SQLException {
+        PersistentMetaBuffer buffer = new PersistentMetaBuffer(0);
+        buffer.set(PLAYER, "grantedPlots", new byte[]{0, 0, 0, 1});
+        buffer.set(PLAYER, "quitLoc", new byte[]{4});
+        buffer.set(OTHER, "quitLoc", new byte[]{5});
+        flush(buffer);
+
+        buffer.set(PLAYER, "grantedPlots", new byte[]{0, 0, 0, 2});
+        buffer.remove(PLAYER, "quitLoc");
+        // Set and removed again before the flush, must not leave a row behind
+        buffer.set(PLAYER, "attrib_flight", new byte[]{1});
+        buffer.remove(PLAYER, "attrib_flight");
+        flush(buffer);
+
+        List<byte[]> granted = rows(PLAYER, "grantedPlots");
+        Assertions.assertEquals(1, granted.size());
+        Assertions.assertArrayEquals(new byte[]{0, 0, 0, 2}, granted.get(0));
+        Assertions.assertTrue(rows(PLAYER, "quitLoc").isEmpty());
+        Assertions.assertTrue(rows(PLAYER, "attrib_flight").isEmpty());
+        // Other players are untouched
+        Assertions.assertEquals(1, rows(OTHER, "quitLoc").size());
+    }
+
+    @Test
+    public void pendingChangesOverlayLoadedMeta() {
+        PersistentMetaBuffer buffer = new PersistentMetaBuffer(0);
+        Map<String, byte[]> loaded = new HashMap<>();
+        loaded.put("quitLoc", new byte[]{1});
+        loaded.put("grantedPlots", new byte[]{0, 0, 0, 1});
+        buffer.remove(PLAYER, "quitLoc");
+        buffer.set(PLAYER, "grantedPlots", new byte[]{0, 0, 0, 3});
+        buffer.set(OTHER, "attrib_chat", new byte[]{1});
+        buffer.applyPending(PLAYER, loaded);
+
+        Assertions.assertFalse(loaded.containsKey("quitLoc"));
+        Assertions.assertArrayEquals(new byte[]{0, 0, 0, 3}, loaded.get("grantedPlots"));
+        Assertions.assertFalse(loaded.containsKey("attrib_chat"));
+    }
+
+    @Test
+    public void failedFlushKeepsNewerChanges() throws SQLException {
+        PersistentMetaBuffer buffer = new PersistentMetaBuffer(0);
+        buffer.set(PLAYER, "quitLoc", new byte[]{1});
+        buffer.set(PLAYER, "attrib_chat", new byte[]{1});
+        try (Statement statement = this.connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE `" + PREFIX + "player_meta`");
+        }
+        Assertions.assertThrows(SQLException.class, () -> buffer.flush(this.connection, PREFIX, 0));
+        Assertions.assertEquals(2, buffer.size());
+        buffer.set(PLAYER, "quitLoc", new byte[]{2});
+        Map<String, byte[]> loaded = new HashMap<>();
+        buffer.applyPending(PLAYER, loaded);
+        Assertions.assertArrayEquals(new byte[]{2}, loaded.get("quitLoc"));
+    }
+
+    @Test
+    public void flushIsDueByTimeOrSize() {
+        PersistentMetaBuffer buffer = new PersistentMetaBuffer(0);
+        Assertions.assertFalse(buffer.isFlushDue(PersistentMetaBuffer.FLUSH_INTERVAL));
+        buffer.set(PLAYER, "quitLoc", new byte[]{1});
+        Assertions.assertFalse(buffer.isFlushDue(PersistentMetaBuffer.FLUSH_INTERVAL - 1));
+        Assertions.assertTrue(buffer.isFlushDue(PersistentMetaBuffer.FLUSH_INTERVAL));
+        for (int i = 0; i < PersistentMetaBuffer.FLUSH_SIZE; i++) {
+            buffer.set(UUID.randomUUID(), "quitLoc", new byte[]{1});
+        }
+        Assertions.assertTrue(buffer.isFlushDue(0));
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class RoadColumnMaskTest {
+
+    /**
+     * The per column check from {@link HybridUtils#regenerateRoad}
+     */
+    private static boolean isRoad(int x, int z, int size, int lower, int upper, int offsetX, int offsetZ) {
+        short absX = (short) ((x - offsetX) % size);
+        short absZ = (short) ((z - offsetZ) % size);
+        if (absX < 0) {
+            absX += size;
+        }
+        if (absZ < 0) {
+            absZ += size;
+        }
+        return !(absX > lower) || !(absZ > lower) || !(absX < upper) || !(absZ < upper);
+    }
+
+    @Test
+    public void masksMatchColumns() {
+        Random random = new Random(2022);
+        for (int layout = 0; layout < 200; layout++) {
+            int plotWidth = 1 + random.nextInt(64);
+            int roadWidth = layout % 20 == 0 ? 0 : 1 + random.nextInt(10);
+            int size = plotWidth + roadWidth;
+            int lower = (roadWidth & 1) == 0 ? roadWidth / 2 - 1 : roadWidth / 2;
+            int upper = roadWidth == 0 ? size + 1 : lower + plotWidth + 1;
+            int offsetX = random.nextInt(64) - 32;
+            int offsetZ = random.nextInt(64) - 32;
+            RoadColumnMask mask = new RoadColumnMask(size, lower, upper, offsetX, offsetZ);
+            for (int chunk = 0; chunk < 50; chunk++) {
+                int chunkX = random.nextInt(200) - 100;
+                int chunkZ = random.nextInt(200) - 100;
+                int roadX = mask.getRoadX(chunkX);
+                int roadZ = mask.getRoadZ(chunkZ);
+                boolean any = false;
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        boolean road = isRoad((chunkX << 4) + x, (chunkZ << 4) + z, size, lower, upper, offsetX, offsetZ);
+                        any |= road;
+                        Assertions.assertEquals(road, ((roadX >> x) & 1) != 0 || ((roadZ >> z) & 1) != 0);
+                    }
+                }
+                Assertions.assertEquals(any, mask.hasRoad(chunkX, chunkZ));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+public class SquarePlotManagerTest {
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DZ = {-1, 0, 1, 0};
+
+    /**
+     * The object based implementation that {@link SquarePlotManager#getPlotIdPacked(int, int, int, int, int, int,
+     * IntBinaryOperator)} replaced, with owned plots and their merge state given as a map
+     */
+    private static PlotId reference(
+            int x, int z, int offsetX, int offsetZ, int plotWidth, int roadWidth,
+            Map<PlotId, boolean[]> owned, boolean abs
+    ) {
+        x -= offsetX;
+        z -= offsetZ;
+        int size = plotWidth + roadWidth;
+        int pathWidthLower;
+        int end;
+        if (roadWidth == 0) {
+            pathWidthLower = -1;
+            end = plotWidth;
+        } else {
+            if ((roadWidth % 2) == 0) {
+                pathWidthLower = (roadWidth / 2) - 1;
+            } else {
+                pathWidthLower = roadWidth / 2;
+            }
+            end = pathWidthLower + plotWidth;
+        }
+        int dx;
+        int rx;
+        if (x < 0) {
+            dx = x / size;
+            rx = size + (x % size);
+        } else {
+            dx = (x / size) + 1;
+            rx = x % size;
+        }
+        int dz;
+        int rz;
+        if (z < 0) {
+            dz = z / size;
+            rz = size + (z % size);
+        } else {
+            dz = (z / size) + 1;
+            rz = z % size;
+        }
+        PlotId id = PlotId.of(dx, dz);
+        boolean[] roads = new boolean[]{rz <= pathWidthLower, rx > end, rz > end, rx <= pathWidthLower};
+        int hash = (roads[0] ? 8 : 0) | (roads[1] ? 4 : 0) | (roads[2] ? 2 : 0) | (roads[3] ? 1 : 0);
+        if (hash == 0) {
+            return id;
+        }
+        boolean[] merged = owned.get(id);
+        if (abs || merged == null) {
+            return null;
+        }
+        boolean result = switch (hash) {
+            case 8 -> merged[0];
+            case 4 -> merged[1];
+            case 2 -> merged[2];
+            case 1 -> merged[3];
+            case 12 -> diagonal(owned, id, merged, 0, 1);
+            case 6 -> diagonal(owned, id, merged, 1, 2);
+            case 3 -> diagonal(owned, id, merged, 2, 3);
+            case 9 -> diagonal(owned, id, merged, 3, 0);
+            default -> false;
+        };
+        return result ? id : null;
+    }
+
+    private static boolean diagonal(Map<PlotId, boolean[]> owned, PlotId id, boolean[] merged, int i, int i2) {
+        if (!merged[i] || !merged[i2]) {
+            return false;
+        }
+        boolean[] first = owned.get(PlotId.of(id.getX() + DX[i], id.getY() + DZ[i]));
+        boolean[] second = owned.get(PlotId.of(id.getX() + DX[i2], id.getY() + DZ[i2]));
+        return first != null && first[i2] && second != null && second[i];
+    }
+
+    private static IntBinaryOperator edges(Map<PlotId, boolean[]> owned) {
+        return (x, z) -> {
+            boolean[] merged = owned.get(PlotId.of(x, z));
+            if (merged == null) {
+                return 0;
+            }
+            int edges = 0;
+            for (int i = 0; i < 4; i++) {
+                if (merged[i]) {
+                    edges |= 1 << i;
+                }
+            }
+            return edges;
+        };
+    }
+
+    private static PlotId unpack(long packed) {
+        return packed == SquarePlotManager.ROAD ? null : PlotId.unpack(packed);
+    }
+
+    @Test
+    public void packedIdsMatchReference() {
+        Random random = new Random(4242);
+        for (int layout = 0; layout < 200; layout++) {
+            int plotWidth = 1 + random.nextInt(64);
+            int roadWidth = layout % 10 == 0 ? 0 : 1 + random.nextInt(12);
+            int offsetX = random.nextInt(64) - 32;
+            int offsetZ = random.nextInt(64) - 32;
+            Map<PlotId, boolean[]> owned = new HashMap<>();
+            for (int plot = 0; plot < 40; plot++) {
+                boolean[] merged = new boolean[4];
+                // Bias towards merged plots so that every road and corner case is covered
+                for (int i = 0; i < 4; i++) {
+                    merged[i] = random.nextInt(3) != 0;
+                }
+                owned.put(PlotId.of(random.nextInt(7) - 3, random.nextInt(7) - 3), merged);
+            }
+            IntBinaryOperator edges = edges(owned);
+            int size = plotWidth + roadWidth;
+            for (int block = 0; block < 2000; block++) {
+                int x = random.nextInt(8 * size) - 4 * size;
+                int z = random.nextInt(8 * size) - 4 * size;
+                Assertions.assertEquals(
+                        reference(x, z, offsetX, offsetZ, plotWidth, roadWidth, owned, false),
+                        unpack(SquarePlotManager.getPlotIdPacked(x, z, offsetX, offsetZ, plotWidth, roadWidth, edges))
+                );
+                Assertions.assertEquals(
+                        reference(x, z, offsetX, offsetZ, plotWidth, roadWidth, owned, true),
+                        unpack(SquarePlotManager.getPlotIdPacked(x, z, offsetX, offsetZ, plotWidth, roadWidth, null))
+                );
+            }
+        }
+    }
+
+    @Test
+    public void edgeDistanceIsExact() {
+        Random random = new Random(99);
+        for (int layout = 0; layout < 60; layout++) {
+            int plotWidth = 1 + random.nextInt(24);
+            int roadWidth = 1 + random.nextInt(8);
+            int offsetX = random.nextInt(64) - 32;
+            int offsetZ = random.nextInt(64) - 32;
+            int size = plotWidth + roadWidth;
+            for (int block = 0; block < 300; block++) {
+                int x = random.nextInt(8 * size) - 4 * size;
+                int z = random.nextInt(8 * size) - 4 * size;
+                long id = SquarePlotManager.getPlotIdPacked(x, z, offsetX, offsetZ, plotWidth, roadWidth, null);
+                int distance = 0;
+                if (id == SquarePlotManager.ROAD) {
+                    distance = -1;
+                } else {
+                    // Grow the square around the block until it reaches another plot or a road
+                    search:
+                    while (true) {
+                        int radius = distance + 1;
+                        for (int dx = -radius; dx <= radius; dx++) {
+                            for (int dz = -radius; dz <= radius; dz++) {
+                                if (SquarePlotManager.getPlotIdPacked(x + dx, z + dz, offsetX, offsetZ, plotWidth,
+                                        roadWidth, null
+                                ) != id) {
+                                    break search;
+                                }
+                            }
+                        }
+                        distance = radius;
+                    }
+                }
+                Assertions.assertEquals(
+                        distance,
+                        SquarePlotManager.getPlotEdgeDistance(x, z, offsetX, offsetZ, plotWidth, roadWidth)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void edgeDistanceHoldsForMergedPlots() {
+        Random random = new Random(123);
+        for (int layout = 0; layout < 60; layout++) {
+            int plotWidth = 1 + random.nextInt(24);
+            int roadWidth = 1 + random.nextInt(8);
+            Map<PlotId, boolean[]> owned = new HashMap<>();
+            for (int plot = 0; plot < 40; plot++) {
+                boolean[] merged = new boolean[4];
+                for (int i = 0; i < 4; i++) {
+                    merged[i] = random.nextBoolean();
+                }
+                owned.put(PlotId.of(random.nextInt(7) - 3, random.nextInt(7) - 3), merged);
+            }
+            IntBinaryOperator edges = edges(owned);
+            int size = plotWidth + roadWidth;
+            for (int block = 0; block < 1000; block++) {
+                int x = random.nextInt(8 * size) - 4 * size;
+                int z = random.nextInt(8 * size) - 4 * size;
+                if (SquarePlotManager.getPlotEdgeDistance(x, z, 0, 0, plotWidth, roadWidth) < 1) {
+                    continue;
+                }
+                // A block away from the edge resolves to the same plot as all of its neighbours
+                long id = SquarePlotManager.getPlotIdPacked(x, z, 0, 0, plotWidth, roadWidth, edges);
+                Assertions.assertNotEquals(SquarePlotManager.ROAD, id);
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        Assertions.assertEquals(
+                                id,
+                                SquarePlotManager.getPlotIdPacked(x + dx, z + dz, 0, 0, plotWidth, roadWidth, edges)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void edgeDistanceWithoutRoadsIsUnknown() {
+        Assertions.assertEquals(-1, SquarePlotManager.getPlotEdgeDistance(5, 5, 0, 0, 32, 0));
+    }
+
+    @Test
+    public void packingIsLossless() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            int x = random.nextInt();
+            int y = random.nextInt();
+            long packed = PlotId.pack(x, y);
+            Assertions.assertEquals(x, PlotId.unpackX(packed));
+            Assertions.assertEquals(y, PlotId.unpackY(packed));
+        }
+        Assertions.assertNotEquals(SquarePlotManager.ROAD, PlotId.pack(-1, -1));
+    }
+
+    @Test
+    public void invalidWidthsThrow() {
+        Assertions.assertThrows(
+                ArithmeticException.class,
+                () -> SquarePlotManager.getPlotIdPacked(5, 5, 0, 0, 0, 0, null)
+        );
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.listener;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ListenerTimingsTest {
+
+    @Test
+    public void nothingIsRecordedWhileDisabled() {
+        ListenerTimings timings = new ListenerTimings();
+        timings.setEnabled(false);
+        ListenerTimings.Handler handler = timings.getHandler("Test#disabled");
+        long start = handler.start();
+        Assertions.assertEquals(ListenerTimings.Handler.DISABLED, start);
+        handler.stop(start);
+        Assertions.assertTrue(timings.snapshot().isEmpty());
+    }
+
+    @Test
+    public void invocationsAreAggregated() {
+        ListenerTimings timings = new ListenerTimings();
+        timings.setEnabled(true);
+        ListenerTimings.Handler handler = timings.getHandler("Test#aggregate");
+        Assertions.assertSame(handler, timings.getHandler("Test#aggregate"));
+        handler.record(100, false);
+        handler.record(300, true);
+        handler.record(200, false);
+        handler.record(400, true);
+
+        List<ListenerTimings.Snapshot> snapshots = timings.snapshot();
+        Assertions.assertEquals(1, snapshots.size());
+        ListenerTimings.Snapshot snapshot = snapshots.get(0);
+        Assertions.assertEquals(4, snapshot.invocations());
+        Assertions.assertEquals(1000, snapshot.totalNanos());
+        Assertions.assertEquals(250, snapshot.averageNanos());
+        Assertions.assertEquals(400, snapshot.maxNanos());
+        Assertions.assertEquals(2, snapshot.cancelled());
+        Assertions.assertEquals(0.5, snapshot.cancelRate(), 1e-9);
+    }
+
+    @Test
+    public void snapshotsAreOrderedByTotalTime() {
+        ListenerTimings timings = new ListenerTimings();
+        timings.setEnabled(true);
+        timings.getHandler("Test#cheap").record(10, false);
+        timings.getHandler("Test#expensive").record(1000, false);
+        timings.getHandler("Test#unused");
+
+        List<ListenerTimings.Snapshot> snapshots = timings.snapshot();
+        Assertions.assertEquals(2, snapshots.size());
+        Assertions.assertEquals("Test#expensive", snapshots.get(0).name());
+        Assertions.assertEquals("Test#cheap", snapshots.get(1).name());
+
+        JsonObject json = timings.toJson();
+        Assertions.assertEquals(2, json.getAsJsonArray("handlers").size());
+        Assertions.assertEquals(
+                "Test#expensive",
+                json.getAsJsonArray("handlers").get(0).getAsJsonObject().get("handler").getAsString()
+        );
+    }
+
+    @Test
+    public void resetClearsAllCounters() {
+        ListenerTimings timings = new ListenerTimings();
+        timings.setEnabled(true);
+        ListenerTimings.Handler handler = timings.getHandler("Test#reset");
+        handler.record(500, true);
+        timings.reset();
+        Assertions.assertTrue(timings.snapshot().isEmpty());
+        handler.record(5, false);
+        ListenerTimings.Snapshot snapshot = timings.snapshot().get(0);
+        Assertions.assertEquals(5, snapshot.maxNanos());
+        Assertions.assertEquals(0, snapshot.cancelled());
+    }
+
+}
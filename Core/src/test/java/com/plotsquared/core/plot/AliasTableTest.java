@@ -0,0 +1,90 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class AliasTableTest {
+
+    @Test
+    public void encodesWeightsExactly() {
+        SplittableRandom random = new SplittableRandom(46);
+        for (int i = 0; i < 1000; i++) {
+            double[] weights = new double[1 + random.nextInt(20)];
+            double total = 0;
+            for (int j = 0; j < weights.length; j++) {
+                // Some zero weights, and some typical percentages
+                weights[j] = random.nextInt(4) == 0 ? 0 : random.nextInt(1, 101);
+                total += weights[j];
+            }
+            if (total == 0) {
+                weights[0] = 1;
+                total = 1;
+            }
+            AliasTable table = new AliasTable(weights);
+            for (int j = 0; j < weights.length; j++) {
+                Assertions.assertEquals(weights[j] / total, table.getProbability(j), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void samplesFollowWeights() {
+        double[] weights = {50, 30, 15, 5, 0};
+        AliasTable table = new AliasTable(weights);
+        int[] counts = new int[weights.length];
+        SplittableRandom random = new SplittableRandom(7);
+        int samples = 1_000_000;
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random.nextLong())]++;
+        }
+        Assertions.assertEquals(0, counts[4]);
+        for (int i = 0; i < weights.length; i++) {
+            Assertions.assertEquals(weights[i] / 100, (double) counts[i] / samples, 0.005);
+        }
+    }
+
+    @Test
+    public void extremeRandomBitsStayInRange() {
+        AliasTable table = new AliasTable(new double[]{1, 2, 3});
+        for (long bits : new long[]{0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0xFFFFFFFF00000000L, 0x00000000FFFFFFFFL}) {
+            int index = table.sample(bits);
+            Assertions.assertTrue(index >= 0 && index < 3);
+        }
+    }
+
+    @Test
+    public void invalidWeightsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class PlotAliasIndexTest {
+
+    private static HybridPlotWorld area(String world) {
+        HybridPlotWorld area = HeadlessEnvironment.get().area(world, 42, 7);
+        // Signs would need a world queue
+        area.setAllowSigns(false);
+        return area;
+    }
+
+    private static Plot claim(PlotArea area, int x, int y, UUID owner) {
+        return HeadlessEnvironment.get().claim(area, PlotId.of(x, y), owner, 0);
+    }
+
+    @Test
+    public void lookupIgnoresCaseAndKeepsTheOriginalAlias() {
+        PlotArea area = area("alias_case");
+        Plot plot = claim(area, 0, 0, UUID.randomUUID());
+        plot.setAlias("Spawn");
+
+        PlotAliasIndex index = area.getAliasIndex();
+        Assertions.assertSame(plot, index.getPlot("SPAWN"));
+        Assertions.assertEquals(List.of("Spawn"), List.copyOf(index.getAliases("sp")));
+
+        plot.setAlias("SpawnTown");
+        Assertions.assertNull(index.getPlot("spawn"));
+        Assertions.assertSame(plot, index.getPlot("spawntown"));
+        Assertions.assertEquals(List.of("SpawnTown"), List.copyOf(index.getAliases("SP")));
+
+        plot.setAlias("");
+        Assertions.assertNull(index.getPlot("spawntown"));
+        Assertions.assertTrue(index.getAliases("").isEmpty());
+    }
+
+    @Test
+    public void mergedPlotsShareTheAlias() {
+        PlotArea area = area("alias_merge");
+        UUID owner = UUID.randomUUID();
+        Plot left = claim(area, 0, 0, owner);
+        Plot right = claim(area, 1, 0, owner);
+        Plot below = claim(area, 0, 1, owner);
+        right.setAlias("Market");
+
+        left.mergePlot(right, false, null);
+        PlotAliasIndex index = area.getAliasIndex();
+        Assertions.assertEquals(Set.of(left, right), Set.copyOf(index.getPlots("market")));
+        Assertions.assertSame(left, index.getPlot("market"));
+
+        // The alias is copied to a plot merged into the group later on
+        left.mergePlot(below, false, null);
+        Assertions.assertEquals(Set.of(left, right, below), Set.copyOf(index.getPlots("MARKET")));
+
+        right.setAlias("Bazaar");
+        Assertions.assertTrue(index.getPlots("market").isEmpty());
+        Assertions.assertEquals(Set.of(left, right, below), Set.copyOf(index.getPlots("bazaar")));
+        Assertions.assertEquals(List.of("Bazaar"), List.copyOf(index.getAliases("")));
+    }
+
+    @Test
+    public void unlinkedAndRemovedPlotsStayConsistent() {
+        PlotArea area = area("alias_unlink");
+        UUID owner = UUID.randomUUID();
+        Plot left = claim(area, 0, 0, owner);
+        Plot right = claim(area, 1, 0, owner);
+        left.setAlias("Farm");
+        left.mergePlot(right, false, null);
+
+        Assertions.assertTrue(left.getPlotModificationManager().unlinkPlot(false, false));
+        PlotAliasIndex index = area.getAliasIndex();
+        // Both plots keep the alias, and each plot is its own base plot again
+        Assertions.assertEquals(Set.of(left, right), Set.copyOf(index.getPlots("farm")));
+        Plot found = index.getPlot("farm");
+        Assertions.assertNotNull(found);
+        Assertions.assertSame(found, found.getBasePlot(false));
+
+        area.removePlot(left.getId());
+        Assertions.assertEquals(List.of(right), List.copyOf(index.getPlots("farm")));
+        Assertions.assertSame(right, index.getPlot("farm"));
+
+        right.setAlias("Ranch");
+        Assertions.assertNull(index.getPlot("farm"));
+        Assertions.assertEquals(List.of("Ranch"), List.copyOf(index.getAliases("")));
+    }
+
+    @Test
+    public void reloadedAreaTakesTheAliasesAlong() {
+        HybridPlotWorld area = area("alias_reload");
+        Plot plot = claim(area, 2, 3, UUID.randomUUID());
+        plot.setAlias("Harbour");
+
+        HybridPlotWorld reloaded = HeadlessEnvironment.get().reload(area);
+        Assertions.assertSame(reloaded, plot.getArea());
+        Assertions.assertNull(area.getAliasIndex().getPlot("harbour"));
+        Assertions.assertTrue(area.getAliasIndex().getAliases("").isEmpty());
+        Assertions.assertSame(plot, reloaded.getAliasIndex().getPlot("harbour"));
+        Assertions.assertEquals(List.of("Harbour"), List.copyOf(reloaded.getAliasIndex().getAliases("h")));
+
+        // Changes after the reload only touch the index of the new area
+        plot.setAlias("Port");
+        Assertions.assertSame(plot, reloaded.getAliasIndex().getPlot("port"));
+        Assertions.assertNull(area.getAliasIndex().getPlot("port"));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class PlotIdIndexTest {
+
+    private static List<PlotId> randomLayout(Random random, PlotIdIndex index, int count, int spread) {
+        Set<PlotId> ids = new HashSet<>();
+        count = Math.min(count, (2 * spread + 1) * (2 * spread + 1));
+        while (ids.size() < count) {
+            ids.add(PlotId.of(random.nextInt(2 * spread + 1) - spread, random.nextInt(2 * spread + 1) - spread));
+        }
+        for (PlotId id : ids) {
+            index.add(id);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static long distance(PlotId center, PlotId id) {
+        return Math.max(Math.abs(id.getX() - center.getX()), Math.abs(id.getY() - center.getY()));
+    }
+
+    @Test
+    public void radiusQueriesMatchBruteForce() {
+        Random random = new Random(1337);
+        for (int layout = 0; layout < 20; layout++) {
+            PlotIdIndex index = new PlotIdIndex();
+            List<PlotId> ids = randomLayout(random, index, 1 + random.nextInt(500), 1 + random.nextInt(100));
+            Assertions.assertEquals(ids.size(), index.size());
+            for (int query = 0; query < 20; query++) {
+                PlotId center = PlotId.of(random.nextInt(201) - 100, random.nextInt(201) - 100);
+                int radius = random.nextInt(120);
+                Set<PlotId> within = new HashSet<>();
+                Set<PlotId> outside = new HashSet<>();
+                Set<PlotId> ring = new HashSet<>();
+                for (PlotId id : ids) {
+                    long distance = distance(center, id);
+                    (distance <= radius ? within : outside).add(id);
+                    if (distance == radius) {
+                        ring.add(id);
+                    }
+                }
+                Assertions.assertEquals(within, new HashSet<>(index.getWithin(center, radius)));
+                Assertions.assertEquals(outside, new HashSet<>(index.getOutside(center, radius)));
+                Assertions.assertEquals(ring, new HashSet<>(index.getRing(center, radius)));
+            }
+        }
+    }
+
+    @Test
+    public void nearestMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int layout = 0; layout < 20; layout++) {
+            PlotIdIndex index = new PlotIdIndex();
+            List<PlotId> ids = randomLayout(random, index, 1 + random.nextInt(500), 1 + random.nextInt(200));
+            for (int query = 0; query < 20; query++) {
+                PlotId center = PlotId.of(random.nextInt(401) - 200, random.nextInt(401) - 200);
+                int amount = 1 + random.nextInt(30);
+                List<PlotId> expected = new ArrayList<>(ids);
+                expected.sort(PlotIdIndex.byDistance(center));
+                expected = expected.subList(0, Math.min(amount, expected.size()));
+                Assertions.assertEquals(expected, index.getNearest(center, amount));
+            }
+        }
+    }
+
+    @Test
+    public void removeIds() {
+        PlotIdIndex index = new PlotIdIndex();
+        PlotId id = PlotId.of(-17, 33);
+        index.add(id);
+        Assertions.assertTrue(index.contains(id));
+        index.remove(id);
+        Assertions.assertFalse(index.contains(id));
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertTrue(index.getNearest(id, 5).isEmpty());
+    }
+
+}
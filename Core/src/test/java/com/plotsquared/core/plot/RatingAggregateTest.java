@@ -0,0 +1,150 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.configuration.Settings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class RatingAggregateTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private final boolean useLikes = Settings.Ratings.USE_LIKES;
+    private final List<String> categories = Settings.Ratings.CATEGORIES;
+
+    @AfterEach
+    public void restoreSettings() {
+        Settings.Ratings.USE_LIKES = this.useLikes;
+        Settings.Ratings.CATEGORIES = this.categories;
+    }
+
+    private static int randomValue(Random random) {
+        if (Settings.Ratings.USE_LIKES) {
+            return random.nextBoolean() ? 10 : 1;
+        }
+        if (Settings.Ratings.CATEGORIES.size() > 1) {
+            if (random.nextInt(5) == 0) {
+                return 1 + random.nextInt(9);
+            }
+            int value = 0;
+            for (int i = Settings.Ratings.CATEGORIES.size() - 1; i >= 0; i--) {
+                value = value * 10 + 1 + random.nextInt(9);
+            }
+            return value;
+        }
+        return 1 + random.nextInt(10);
+    }
+
+    private static void assertMatchesRatings(List<Integer> values, RatingAggregate aggregate) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        int likes = 0;
+        for (int value : values) {
+            Rating rating = new Rating(value);
+            sum += rating.getAverageRating();
+            sumOfSquares += rating.getAverageRating() * rating.getAverageRating();
+            if (rating.getLike()) {
+                likes++;
+            }
+        }
+        Assertions.assertEquals(values.size(), aggregate.getCount());
+        Assertions.assertEquals(likes, aggregate.getLikes());
+        Assertions.assertEquals(sum, aggregate.getSum(), EPSILON);
+        if (values.isEmpty()) {
+            Assertions.assertTrue(Double.isNaN(aggregate.getAverageRating()));
+            Assertions.assertEquals(0, aggregate.getScore());
+        } else {
+            Assertions.assertEquals(sum / values.size(), aggregate.getAverageRating(), EPSILON);
+            Assertions.assertEquals(sumOfSquares / values.size() + values.size(), aggregate.getScore(), EPSILON);
+        }
+    }
+
+    private void checkRandomRatings(long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 200; i++) {
+            List<Integer> values = new ArrayList<>();
+            RatingAggregate incremental = RatingAggregate.of(Collections.emptyList());
+            int raters = random.nextInt(30);
+            for (int j = 0; j < raters; j++) {
+                int value = randomValue(random);
+                values.add(value);
+                incremental.add(value);
+                assertMatchesRatings(values, incremental);
+            }
+            RatingAggregate rebuilt = RatingAggregate.of(values);
+            assertMatchesRatings(values, rebuilt);
+            Assertions.assertArrayEquals(incremental.getAverageRatings(), rebuilt.getAverageRatings(), EPSILON);
+            Assertions.assertTrue(rebuilt.isCurrent(values.size()));
+        }
+    }
+
+    @Test
+    public void matchesSingleRatings() {
+        Settings.Ratings.USE_LIKES = false;
+        Settings.Ratings.CATEGORIES = new ArrayList<>();
+        checkRandomRatings(1);
+    }
+
+    @Test
+    public void matchesCategoryRatings() {
+        Settings.Ratings.USE_LIKES = false;
+        Settings.Ratings.CATEGORIES = Arrays.asList("a", "b", "c");
+        checkRandomRatings(2);
+        // Per category averages, decoded one digit per category
+        RatingAggregate aggregate = RatingAggregate.of(Arrays.asList(321, 543));
+        Assertions.assertArrayEquals(new double[]{1, 2, 3}, aggregate.getAverageRatings(), EPSILON);
+    }
+
+    @Test
+    public void matchesLikes() {
+        Settings.Ratings.USE_LIKES = true;
+        Settings.Ratings.CATEGORIES = new ArrayList<>();
+        checkRandomRatings(3);
+    }
+
+    @Test
+    public void settingsChangeInvalidates() {
+        Settings.Ratings.USE_LIKES = false;
+        Settings.Ratings.CATEGORIES = new ArrayList<>();
+        RatingAggregate aggregate = RatingAggregate.of(Arrays.asList(4, 7));
+        Assertions.assertTrue(aggregate.isCurrent(2));
+        Assertions.assertFalse(aggregate.isCurrent(3));
+        Settings.Ratings.USE_LIKES = true;
+        Assertions.assertFalse(aggregate.isCurrent(2));
+        Settings.Ratings.USE_LIKES = false;
+        Settings.Ratings.CATEGORIES = Arrays.asList("a", "b");
+        Assertions.assertFalse(aggregate.isCurrent(2));
+    }
+
+}
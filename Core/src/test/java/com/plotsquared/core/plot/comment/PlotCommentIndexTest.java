@@ -0,0 +1,81 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.comment;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PlotCommentIndexTest {
+
+    private static final PlotId ID = PlotId.of(3, -2);
+
+    private static PlotComment comment(String message, String inbox, long timestamp) {
+        return new PlotComment("world", ID, message, "sender", inbox, timestamp);
+    }
+
+    @Test
+    public void countNewerComments() {
+        PlotCommentIndex index = new PlotCommentIndex();
+        index.load(List.of(
+                comment("c", "owner", 3000L),
+                comment("a", "owner", 1000L),
+                comment("b", "owner", 2000L),
+                comment("x", "public", 5000L)
+        ));
+        Assertions.assertTrue(index.isLoaded());
+        Assertions.assertEquals(3, index.countNewer("world", ID.hashCode(), "owner", 0L));
+        Assertions.assertEquals(2, index.countNewer("world", ID.hashCode(), "owner", 1000L));
+        Assertions.assertEquals(0, index.countNewer("world", ID.hashCode(), "owner", 3000L));
+        Assertions.assertEquals(1, index.countNewer("world", ID.hashCode(), "public", 0L));
+        Assertions.assertEquals(0, index.countNewer("other", ID.hashCode(), "owner", 0L));
+    }
+
+    @Test
+    public void commentsStayOrdered() {
+        PlotCommentIndex index = new PlotCommentIndex();
+        index.load(List.of());
+        index.add("world", ID.hashCode(), comment("b", "owner", 2000L));
+        index.add("world", ID.hashCode(), comment("a", "owner", 1000L));
+        index.add("world", ID.hashCode(), comment("c", "owner", 3000L));
+        List<PlotComment> comments = index.getComments("world", ID.hashCode(), "owner");
+        Assertions.assertEquals(List.of("a", "b", "c"), comments.stream().map(c -> c.comment).toList());
+    }
+
+    @Test
+    public void removeComments() {
+        PlotCommentIndex index = new PlotCommentIndex();
+        index.load(List.of(comment("a", "owner", 1000L), comment("b", "owner", 2000L)));
+        index.remove(comment("b", "owner", 0L));
+        Assertions.assertEquals(0, index.countNewer("world", ID.hashCode(), "owner", 1000L));
+        Assertions.assertEquals(1, index.countNewer("world", ID.hashCode(), "owner", 0L));
+        index.clear("owner");
+        Assertions.assertTrue(index.getComments("world", ID.hashCode(), "owner").isEmpty());
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class PlotAgeIndexTest {
+
+    private static final long NOW = 1_600_000_000_000L;
+
+    private static long randomKey(Random random) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            return PlotAgeIndex.PRESENT;
+        }
+        if (kind == 1) {
+            return PlotAgeIndex.NEVER;
+        }
+        // Only a few distinct values, so that there are plenty of duplicates
+        return NOW - random.nextInt(kind == 2 ? 4 : 100_000) * 1000L;
+    }
+
+    /**
+     * The cutoff as previously selected by ExpiryTask: sort every age and pick the one at the required index.
+     */
+    private static long referenceCutoff(List<Long> ages, int required) {
+        List<Long> sorted = new ArrayList<>(ages);
+        Collections.sort(sorted);
+        return sorted.get(required);
+    }
+
+    @Test
+    public void selectMatchesSortedAges() {
+        Random random = new Random(43);
+        for (int i = 0; i < 500; i++) {
+            List<long[]> keys = new ArrayList<>();
+            List<Long> ages = new ArrayList<>();
+            int areas = 1 + random.nextInt(5);
+            for (int area = 0; area < areas; area++) {
+                PlotAgeIndex index = new PlotAgeIndex();
+                int plots = random.nextInt(200);
+                for (int plot = 0; plot < plots; plot++) {
+                    long key = randomKey(random);
+                    index.put(PlotId.of(plot, area), key, key);
+                    ages.add(PlotAgeIndex.toAge(key, NOW));
+                }
+                keys.add(index.snapshot(true));
+            }
+            if (ages.isEmpty()) {
+                continue;
+            }
+            for (int j = 0; j < 10; j++) {
+                int required = random.nextInt(ages.size());
+                long expected = referenceCutoff(ages, required);
+                Assertions.assertEquals(expected, PlotAgeIndex.toAge(PlotAgeIndex.select(keys, required), NOW));
+            }
+        }
+    }
+
+    @Test
+    public void updatesKeepKeysSorted() {
+        Random random = new Random(44);
+        PlotAgeIndex index = new PlotAgeIndex();
+        Map<PlotId, long[]> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            PlotId id = PlotId.of(random.nextInt(40), random.nextInt(40));
+            if (random.nextInt(4) == 0) {
+                Assertions.assertEquals(expected.remove(id) != null, index.remove(id));
+            } else {
+                long keeping = randomKey(random);
+                long deleting = random.nextBoolean() ? keeping : randomKey(random);
+                expected.put(id, new long[]{keeping, deleting});
+                index.put(id, keeping, deleting);
+            }
+            if (i % 1000 == 0) {
+                Assertions.assertEquals(expected.size(), index.size());
+                for (int mode = 0; mode < 2; mode++) {
+                    List<Long> ages = new ArrayList<>();
+                    for (long[] keys : expected.values()) {
+                        ages.add(PlotAgeIndex.toAge(keys[mode], NOW));
+                    }
+                    List<long[]> snapshot = Collections.singletonList(index.snapshot(mode == 1));
+                    for (int required = 0; required < ages.size(); required += 7) {
+                        Assertions.assertEquals(
+                                referenceCutoff(ages, required),
+                                PlotAgeIndex.toAge(PlotAgeIndex.select(snapshot, required), NOW)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void olderPlotsAreListedOldestFirst() {
+        Random random = new Random(45);
+        PlotAgeIndex index = new PlotAgeIndex();
+        Map<PlotId, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            PlotId id = PlotId.of(random.nextInt(50), random.nextInt(50));
+            if (random.nextInt(5) == 0) {
+                expected.remove(id);
+                index.remove(id);
+            } else {
+                long key = randomKey(random);
+                expected.put(id, key);
+                index.put(id, PlotAgeIndex.PRESENT, key);
+            }
+        }
+        for (long maxKey : new long[]{PlotAgeIndex.NEVER, NOW - 50_000_000L, NOW, PlotAgeIndex.PRESENT}) {
+            List<PlotId> ids = new ArrayList<>();
+            List<Long> keys = new ArrayList<>();
+            index.forEachOlder(true, maxKey, (id, key) -> {
+                Assertions.assertEquals(expected.get(id), key);
+                ids.add(id);
+                keys.add(key);
+            });
+            List<Long> sorted = new ArrayList<>(keys);
+            Collections.sort(sorted);
+            Assertions.assertEquals(sorted, keys);
+            Assertions.assertEquals(expected.values().stream().filter(key -> key < maxKey).count(), ids.size());
+        }
+        List<PlotId> keeping = new ArrayList<>();
+        index.forEachOlder(false, PlotAgeIndex.PRESENT, (id, key) -> keeping.add(id));
+        Assertions.assertTrue(keeping.isEmpty());
+    }
+
+    @Test
+    public void rankOutOfBoundsIsRejected() {
+        List<long[]> keys = Collections.singletonList(new long[]{1L, 2L});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PlotAgeIndex.select(keys, 2));
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.generator.HybridUtils;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.flag.FlagParseException;
+import com.plotsquared.core.plot.flag.implementations.AnalysisDirtyFlag;
+import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.util.EventDispatcher;
+import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+public class PlotAnalysisTest {
+
+    private static PlotAnalysis randomAnalysis(Random random) {
+        PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = random.nextInt(100000);
+        analysis.faces = random.nextInt(1000);
+        analysis.data = random.nextInt(1000);
+        analysis.air = random.nextInt(100000);
+        analysis.variety = random.nextInt(1000);
+        analysis.changes_sd = random.nextInt(100000);
+        analysis.faces_sd = random.nextInt(1000);
+        analysis.data_sd = random.nextInt(1000);
+        analysis.air_sd = random.nextInt(100000);
+        analysis.variety_sd = random.nextInt(1000);
+        return analysis;
+    }
+
+    private static Settings.Auto_Clear randomSettings(Random random) {
+        Settings.Auto_Clear settings = new Settings.Auto_Clear();
+        settings.CALIBRATION = new Settings.Auto_Clear.CALIBRATION();
+        settings.CALIBRATION.CHANGES = random.nextInt(10) - 5;
+        settings.CALIBRATION.FACES = random.nextInt(10) - 5;
+        settings.CALIBRATION.DATA = random.nextInt(10) - 5;
+        settings.CALIBRATION.AIR = random.nextInt(10) - 5;
+        settings.CALIBRATION.VARIETY = random.nextInt(10) - 5;
+        settings.CALIBRATION.CHANGES_SD = random.nextInt(10) - 5;
+        settings.CALIBRATION.FACES_SD = random.nextInt(10) - 5;
+        settings.CALIBRATION.DATA_SD = random.nextInt(10) - 5;
+        settings.CALIBRATION.AIR_SD = random.nextInt(10) - 5;
+        settings.CALIBRATION.VARIETY_SD = random.nextInt(10) - 5;
+        return settings;
+    }
+
+    private static Plot claim(String world) {
+        PlotArea area = HeadlessEnvironment.get().area(world, 42, 7);
+        return HeadlessEnvironment.get().claim(area, PlotId.of(0, 0), UUID.randomUUID(), 0);
+    }
+
+    private static PlotAnalysis analyse(BiConsumer<Plot, RunnableVal<PlotAnalysis>> analyser, Plot plot) {
+        AtomicReference<PlotAnalysis> result = new AtomicReference<>();
+        // Without a platform task manager, the analysis runs to completion before this returns
+        analyser.accept(plot, new RunnableVal<>() {
+            @Override
+            public void run(PlotAnalysis value) {
+                result.set(value);
+            }
+        });
+        Assertions.assertNotNull(result.get());
+        return result.get();
+    }
+
+    @Test
+    public void storedAnalysisRoundTrips() throws FlagParseException {
+        Random random = new Random(31);
+        AnalysisFlag flag = new AnalysisFlag(Collections.emptyList());
+        for (int i = 0; i < 1000; i++) {
+            PlotAnalysis fresh = randomAnalysis(random);
+            // Stored the same way as the flag is stored in the database
+            AnalysisFlag stored = flag.parse(new AnalysisFlag(fresh.asList()).toString());
+            PlotAnalysis cached = PlotAnalysis.fromList(stored.getValue());
+            Assertions.assertEquals(fresh.asList(), cached.asList());
+            Settings.Auto_Clear settings = randomSettings(random);
+            Assertions.assertEquals(fresh.getComplexity(settings), cached.getComplexity(settings));
+        }
+    }
+
+    @Test
+    public void cachedAnalysisMatchesFresh() {
+        Plot plot = claim("analysis_cache");
+        ScanningHybridUtils utils = new ScanningHybridUtils();
+        utils.build(plot, 3, 5);
+
+        PlotAnalysis first = analyse(utils::analyzePlotIfModified, plot);
+        Assertions.assertEquals(1, utils.scans);
+        PlotAnalysis cached = analyse(utils::analyzePlotIfModified, plot);
+        Assertions.assertEquals(1, utils.scans);
+        PlotAnalysis fresh = analyse(utils::analyzePlot, plot);
+        Assertions.assertEquals(2, utils.scans);
+        Assertions.assertEquals(fresh.asList(), first.asList());
+        Assertions.assertEquals(fresh.asList(), cached.asList());
+        Settings.Auto_Clear settings = randomSettings(new Random(42));
+        Assertions.assertEquals(fresh.getComplexity(settings), cached.getComplexity(settings));
+
+        // A modification invalidates the stored analysis until the plot has been analysed again
+        utils.build(plot, 12, 40);
+        PlotAnalysis.markModified(plot);
+        Assertions.assertNull(PlotAnalysis.getCachedAnalysis(plot));
+        PlotAnalysis modified = analyse(utils::analyzePlotIfModified, plot);
+        Assertions.assertEquals(3, utils.scans);
+        Assertions.assertNotEquals(fresh.asList(), modified.asList());
+        Assertions.assertEquals(analyse(utils::analyzePlot, plot).asList(), modified.asList());
+        Assertions.assertEquals(modified.asList(), PlotAnalysis.getCachedAnalysis(plot).asList());
+    }
+
+    @Test
+    public void modificationDuringAnalysisIsNotCached() {
+        Plot plot = claim("analysis_concurrent");
+        ScanningHybridUtils utils = new ScanningHybridUtils();
+        utils.afterScan = () -> {
+            utils.build(plot, 7, 9);
+            PlotAnalysis.markModified(plot);
+        };
+        PlotAnalysis stale = analyse(utils::analyzePlot, plot);
+        Assertions.assertTrue(plot.getFlag(AnalysisDirtyFlag.class));
+        Assertions.assertNull(PlotAnalysis.getCachedAnalysis(plot));
+        PlotAnalysis fresh = analyse(utils::analyzePlotIfModified, plot);
+        Assertions.assertNotEquals(stale.asList(), fresh.asList());
+        Assertions.assertFalse(plot.getFlag(AnalysisDirtyFlag.class));
+        Assertions.assertEquals(fresh.asList(), PlotAnalysis.getCachedAnalysis(plot).asList());
+    }
+
+    @Test
+    public void analysesStoredBeforeTrackingAreNotReused() {
+        Plot plot = claim("analysis_legacy");
+        plot.setFlag(new AnalysisFlag(randomAnalysis(new Random(7)).asList().subList(0, 10)));
+        Assertions.assertNull(PlotAnalysis.getCachedAnalysis(plot));
+        // Untracked plots are not written to the database when they are modified
+        PlotAnalysis.markModified(plot);
+        Assertions.assertNull(plot.getFlagContainer().queryLocal(AnalysisDirtyFlag.class));
+    }
+
+    /**
+     * Analyses columns of blocks placed by the tests instead of reading a world
+     */
+    private static final class ScanningHybridUtils extends HybridUtils {
+
+        private final Map<BlockVector2, Integer> heights = new ConcurrentHashMap<>();
+        private int scans;
+        private Runnable afterScan;
+
+        private ScanningHybridUtils() {
+            this(HeadlessEnvironment.get().injector());
+        }
+
+        private ScanningHybridUtils(Injector injector) {
+            super(
+                    injector.getInstance(PlotAreaManager.class),
+                    null,
+                    injector.getInstance(GlobalBlockQueue.class),
+                    injector.getInstance(WorldUtil.class),
+                    injector.getInstance(SchematicHandler.class),
+                    injector.getInstance(EventDispatcher.class)
+            );
+        }
+
+        private void build(Plot plot, int columns, int height) {
+            BlockVector3 min = plot.getLargestRegion().getMinimumPoint();
+            for (int i = 0; i < columns; i++) {
+                this.heights.put(BlockVector2.at(min.getX() + i * 3, min.getZ() + i), height + i);
+            }
+        }
+
+        @Override
+        public void analyzeRegion(String world, CuboidRegion region, RunnableVal<PlotAnalysis> whenDone) {
+            this.scans++;
+            int columns = 0;
+            int blocks = 0;
+            for (Map.Entry<BlockVector2, Integer> entry : this.heights.entrySet()) {
+                BlockVector2 column = entry.getKey();
+                if (region.contains(BlockVector3.at(column.getX(), region.getMinimumY(), column.getZ()))) {
+                    columns++;
+                    blocks += entry.getValue();
+                }
+            }
+            int area = region.getWidth() * region.getLength();
+            PlotAnalysis analysis = new PlotAnalysis();
+            analysis.changes = blocks * 100 / area;
+            analysis.air = (area * 256 - blocks) * 100 / area;
+            analysis.variety = columns * 100 / area;
+            analysis.faces = columns * 400 / area;
+            if (this.afterScan != null) {
+                Runnable task = this.afterScan;
+                this.afterScan = null;
+                task.run();
+            }
+            whenDone.value = analysis;
+            whenDone.run();
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DefaultPlotAreaManagerTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int ITERATIONS = 2000;
+    private static final int AREAS_PER_WRITER = 16;
+
+    @Test
+    public void concurrentReadsDuringMutations() throws Exception {
+        DefaultPlotAreaManager manager = new DefaultPlotAreaManager();
+        manager.addWorld("stable");
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                String prefix = "world-" + writer + "-";
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String world = prefix + (i % 16);
+                        manager.addWorld(world);
+                        Assertions.assertTrue(Arrays.asList(manager.getAllWorlds()).contains(world));
+                        manager.removeWorld(world);
+                        Assertions.assertFalse(Arrays.asList(manager.getAllWorlds()).contains(world));
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        Assertions.assertTrue(Arrays.asList(manager.getAllWorlds()).contains("stable"));
+                        Assertions.assertNull(manager.getPlotArea("stable", null));
+                        Assertions.assertEquals(0, manager.getPlotAreas("stable", null).length);
+                        Assertions.assertEquals(0, manager.getAllPlotAreas().length);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : writers) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            for (Future<?> future : readers) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+        Assertions.assertArrayEquals(new String[]{"stable"}, manager.getAllWorlds());
+    }
+
+    @Test
+    public void concurrentPartialAreaLookupsDuringMutations() throws Exception {
+        HeadlessEnvironment environment = HeadlessEnvironment.get();
+        String world = "scattered";
+        PlotArea stable = environment.partialArea(world, "stable", PlotId.of(1, 1), PlotId.of(2, 2), 42, 7);
+        // Every writer adds and removes its own areas, which all cover the same plots
+        PlotArea[][] areas = new PlotArea[WRITERS][AREAS_PER_WRITER];
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int x = 10 * (writer + 1);
+            for (int i = 0; i < AREAS_PER_WRITER; i++) {
+                areas[writer][i] = environment.partialArea(world, writer + "-" + i, PlotId.of(x, 1), PlotId.of(x + 1, 2), 42, 7);
+            }
+        }
+        DefaultPlotAreaManager manager = new DefaultPlotAreaManager();
+        manager.addPlotArea(stable);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                PlotArea[] own = areas[writer];
+                Location center = center(world, own[0].getRegion());
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        PlotArea area = own[i % AREAS_PER_WRITER];
+                        manager.addPlotArea(area);
+                        Assertions.assertSame(area, manager.getApplicablePlotArea(center));
+                        manager.removePlotArea(area);
+                        Assertions.assertNull(manager.getApplicablePlotArea(center));
+                    }
+                    return null;
+                }));
+            }
+            Location stableCenter = center(world, stable.getRegion());
+            List<Future<?>> readers = new ArrayList<>();
+            for (int reader = 0; reader < READERS; reader++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        Assertions.assertSame(stable, manager.getApplicablePlotArea(stableCenter));
+                        Assertions.assertArrayEquals(new PlotArea[]{stable}, manager.getPlotAreas(world, stable.getRegion()));
+                        for (PlotArea[] own : areas) {
+                            PlotArea found = manager.getApplicablePlotArea(center(world, own[0].getRegion()));
+                            Assertions.assertTrue(found == null || List.of(own).contains(found));
+                            PlotArea[] inRegion = manager.getPlotAreas(world, own[0].getRegion());
+                            Assertions.assertTrue(inRegion.length <= 1);
+                            Assertions.assertTrue(inRegion.length == 0 || List.of(own).contains(inRegion[0]));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : writers) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            for (Future<?> future : readers) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+        Assertions.assertArrayEquals(new PlotArea[]{stable}, manager.getAllPlotAreas());
+        Assertions.assertArrayEquals(new PlotArea[]{stable}, manager.getPlotAreas(world, null));
+    }
+
+    private static Location center(String world, CuboidRegion region) {
+        BlockVector3 center = region.getMinimumPoint().add(region.getMaximumPoint()).divide(2);
+        return Location.at(world, center.getX(), 64, center.getZ());
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.world;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+public class SinglePlotWorldFilesTest {
+
+    @TempDir
+    Path container;
+
+    private SinglePlotWorldFiles files;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path template = Files.createDirectories(container.resolve(SinglePlotWorldFiles.TEMPLATE));
+        Files.writeString(template.resolve("level.dat"), "level");
+        Path data = Files.createDirectories(template.resolve("data"));
+        Files.writeString(data.resolve("raids.dat"), "raids");
+        // Region files must not be copied
+        Files.createDirectories(template.resolve("region"));
+        Files.writeString(template.resolve("region").resolve("r.0.0.mca"), "region");
+        files = new SinglePlotWorldFiles(container.toFile());
+    }
+
+    @Test
+    public void copiesTemplateWithoutPool() throws IOException {
+        Path world = files.prepare(PlotId.of(1, -2), true);
+        Assertions.assertEquals(container.resolve("1_-2"), world);
+        Assertions.assertEquals("level", Files.readString(world.resolve("level.dat")));
+        Assertions.assertEquals("raids", Files.readString(world.resolve("data").resolve("raids.dat")));
+        Assertions.assertFalse(Files.exists(world.resolve("region")));
+    }
+
+    @Test
+    public void keepsExistingWorlds() throws IOException {
+        Path existing = Files.createDirectories(container.resolve("3_3"));
+        Files.writeString(existing.resolve("level.dat"), "existing");
+        files.prepare(PlotId.of(3, 3), true);
+        Assertions.assertEquals("existing", Files.readString(existing.resolve("level.dat")));
+    }
+
+    @Test
+    public void doesNotCopyTemplateIfNotRequested() throws IOException {
+        Path world = files.prepare(PlotId.of(4, 4), false);
+        Assertions.assertFalse(Files.exists(world));
+    }
+
+    @Test
+    public void renamesLegacyFolders() throws IOException {
+        Path comma = Files.createDirectories(container.resolve("5,6"));
+        Files.writeString(comma.resolve("level.dat"), "comma");
+        Path dot = Files.createDirectories(container.resolve("7.8"));
+        Files.writeString(dot.resolve("level.dat"), "dot");
+
+        Assertions.assertEquals("comma", Files.readString(files.prepare(PlotId.of(5, 6), true).resolve("level.dat")));
+        Assertions.assertEquals("dot", Files.readString(files.prepare(PlotId.of(7, 8), true).resolve("level.dat")));
+        Assertions.assertFalse(Files.exists(comma));
+        Assertions.assertFalse(Files.exists(dot));
+    }
+
+    @Test
+    public void takesWorldsFromPool() throws IOException {
+        Assertions.assertEquals(2, files.fillPool(2));
+        Assertions.assertEquals(0, files.fillPool(2));
+        Assertions.assertEquals(2, files.getPoolSize());
+
+        Path world = files.prepare(PlotId.of(0, 1), true);
+        Assertions.assertEquals(1, files.getPoolSize());
+        Assertions.assertEquals("level", Files.readString(world.resolve("level.dat")));
+        Assertions.assertEquals("raids", Files.readString(world.resolve("data").resolve("raids.dat")));
+
+        files.prepare(PlotId.of(0, 2), true);
+        files.prepare(PlotId.of(0, 3), true);
+        Assertions.assertEquals(0, files.getPoolSize());
+        Assertions.assertTrue(Files.exists(container.resolve("0_3").resolve("level.dat")));
+    }
+
+    @Test
+    public void discardsOutdatedPoolEntries() throws IOException {
+        files.fillPool(1);
+        Path levelDat = container.resolve(SinglePlotWorldFiles.TEMPLATE).resolve("level.dat");
+        Files.writeString(levelDat, "updated");
+        Files.setLastModifiedTime(levelDat, FileTime.fromMillis(Files.getLastModifiedTime(levelDat).toMillis() + 10_000));
+
+        // The outdated entry is not used
+        Path world = files.prepare(PlotId.of(9, 9), true);
+        Assertions.assertEquals("updated", Files.readString(world.resolve("level.dat")));
+
+        Assertions.assertEquals(1, files.fillPool(1));
+        try (var stream = Files.list(container.resolve(SinglePlotWorldFiles.POOL))) {
+            List<Path> entries = stream.toList();
+            Assertions.assertEquals(1, entries.size());
+            Assertions.assertEquals("updated", Files.readString(entries.get(0).resolve("level.dat")));
+        }
+    }
+
+    @Test
+    public void cleanupRemovesIncompleteEntries() throws IOException {
+        files.fillPool(1);
+        Path incomplete = Files.createDirectories(container.resolve(SinglePlotWorldFiles.POOL).resolve(".incomplete"));
+        Files.writeString(incomplete.resolve("level.dat"), "partial");
+        files.cleanup();
+        Assertions.assertFalse(Files.exists(incomplete));
+        Assertions.assertEquals(1, files.getPoolSize());
+    }
+
+    @Test
+    public void withoutTemplate() throws IOException {
+        SinglePlotWorldFiles empty = new SinglePlotWorldFiles(container.resolve("empty").toFile());
+        Assertions.assertEquals(0, empty.fillPool(2));
+        Assertions.assertFalse(Files.exists(empty.prepare(PlotId.of(1, 1), true)));
+    }
+
+    @Test
+    public void selectsLeastRecentlyUsedWorlds() {
+        List<String> idle = List.of("0_1", "0_2", "0_3");
+        Assertions.assertEquals(List.of(), SinglePlotWorldManager.selectWorldsToUnload(idle, 3, false));
+        Assertions.assertEquals(List.of("0_1"), SinglePlotWorldManager.selectWorldsToUnload(idle, 2, false));
+        Assertions.assertEquals(idle, SinglePlotWorldManager.selectWorldsToUnload(idle, 0, false));
+        Assertions.assertEquals(idle, SinglePlotWorldManager.selectWorldsToUnload(idle, 5, true));
+    }
+
+}
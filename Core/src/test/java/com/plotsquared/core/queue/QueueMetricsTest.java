@@ -0,0 +1,144 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class QueueMetricsTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private long now;
+    private QueueMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        this.now = TimeUnit.SECONDS.toNanos(1000);
+        this.metrics = new QueueMetrics(() -> this.now);
+    }
+
+    @Test
+    public void activeJobReportsThroughputAndEta() {
+        long created = this.now;
+        this.now += 10 * TICK;
+        FakeCoordinator coordinator = new FakeCoordinator(100);
+        QueueMetrics.Job job = this.metrics.createJob(QueueOperation.CLEAR, created);
+        job.attach(coordinator);
+        Assertions.assertEquals(1, this.metrics.getActiveJobs().size());
+        Assertions.assertEquals(-1, job.getEtaMillis());
+
+        this.now += 20 * TICK;
+        coordinator.remaining = 60;
+        coordinator.held = 3;
+        job.notifyProgress(coordinator, 0.4);
+        Assertions.assertEquals(40, job.getProcessedChunks());
+        Assertions.assertEquals(3, job.getHeldChunks());
+        Assertions.assertEquals(0.4, job.getProgress(), 1e-9);
+        Assertions.assertEquals(2.0, job.getChunksPerTick(), 1e-9);
+        // 60 chunks left at 2 chunks per tick
+        Assertions.assertEquals(30 * 50, job.getEtaMillis());
+        Assertions.assertEquals(30 * 50, job.getAgeMillis());
+    }
+
+    @Test
+    public void finishedJobsAreAggregatedPerOperation() {
+        FakeCoordinator first = new FakeCoordinator(10);
+        QueueMetrics.Job firstJob = this.metrics.createJob(QueueOperation.ROAD_REGEN, this.now);
+        firstJob.attach(first);
+        FakeCoordinator second = new FakeCoordinator(30);
+        QueueMetrics.Job secondJob = this.metrics.createJob(QueueOperation.ROAD_REGEN, this.now);
+        secondJob.attach(second);
+        Assertions.assertEquals(2, this.metrics.getActiveJobs().size());
+        Assertions.assertEquals(firstJob.getId(), this.metrics.getActiveJobs().get(0).getId());
+
+        this.now += 10 * TICK;
+        first.remaining = 0;
+        firstJob.notifyEnd();
+        // Ending twice must not be counted twice
+        firstJob.notifyEnd();
+        this.now += 10 * TICK;
+        second.remaining = 20;
+        secondJob.notifyEnd();
+
+        Assertions.assertTrue(this.metrics.getActiveJobs().isEmpty());
+        QueueMetrics.OperationSnapshot statistics = this.metrics.getStatistics(QueueOperation.ROAD_REGEN);
+        Assertions.assertEquals(1, statistics.completed());
+        Assertions.assertEquals(1, statistics.cancelled());
+        Assertions.assertEquals(20, statistics.chunks());
+        Assertions.assertEquals(750, statistics.averageMillis());
+        Assertions.assertEquals(1000, statistics.maxMillis());
+        // 20 chunks over 30 ticks of running coordinators
+        Assertions.assertEquals(20.0 / 30, statistics.chunksPerTick(), 1e-9);
+
+        QueueMetrics.OperationSnapshot other = this.metrics.getStatistics(QueueOperation.SWAP);
+        Assertions.assertEquals(0, other.completed() + other.cancelled());
+    }
+
+    private static final class FakeCoordinator extends ChunkCoordinator {
+
+        private final int total;
+        private int remaining;
+        private int held;
+
+        private FakeCoordinator(int total) {
+            this.total = total;
+            this.remaining = total;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public int getRemainingChunks() {
+            return this.remaining;
+        }
+
+        @Override
+        public int getTotalChunks() {
+            return this.total;
+        }
+
+        @Override
+        public int getHeldChunks() {
+            return this.held;
+        }
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import com.plotsquared.core.events.PlayerEnterPlotEvent;
+import com.plotsquared.core.events.PlayerLeavePlotEvent;
+import com.plotsquared.core.events.PlotEvent;
+import com.plotsquared.core.events.PlotFlagAddEvent;
+import com.plotsquared.core.events.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDispatcherTest {
+
+    @Test
+    public void resultsWithoutSubscribers() {
+        EventDispatcher dispatcher = new EventDispatcher(null);
+        Assertions.assertFalse(dispatcher.hasSubscribers(PlotFlagAddEvent.class));
+        Assertions.assertNull(dispatcher.callFlagAdd(null, null).getEventResult());
+        dispatcher.registerListener(new EntryListener());
+        Assertions.assertFalse(dispatcher.hasSubscribers(PlotFlagAddEvent.class));
+        Assertions.assertNull(dispatcher.callFlagAdd(null, null).getEventResult());
+    }
+
+    @Test
+    public void resultsWithSubscribers() {
+        EventDispatcher dispatcher = new EventDispatcher(null);
+        DenyListener listener = new DenyListener();
+        dispatcher.registerListener(listener);
+        Assertions.assertTrue(dispatcher.hasSubscribers(PlotFlagAddEvent.class));
+        Assertions.assertEquals(Result.DENY, dispatcher.callFlagAdd(null, null).getEventResult());
+        dispatcher.unregisterListener(listener);
+        Assertions.assertFalse(dispatcher.hasSubscribers(PlotFlagAddEvent.class));
+        Assertions.assertNull(dispatcher.callFlagAdd(null, null).getEventResult());
+    }
+
+    @Test
+    public void supertypeSubscriptions() {
+        EventDispatcher dispatcher = new EventDispatcher(null);
+        AllEventsListener listener = new AllEventsListener();
+        dispatcher.registerListener(listener);
+        PlayerEnterPlotEvent entry = dispatcher.callEntry(null, null);
+        PlayerLeavePlotEvent leave = dispatcher.callLeave(null, null);
+        Assertions.assertEquals(List.of(entry, leave), listener.events);
+        dispatcher.unregisterAll();
+        dispatcher.callEntry(null, null);
+        Assertions.assertEquals(2, listener.events.size());
+    }
+
+    @Test
+    public void inheritedSubscriptions() {
+        EventDispatcher dispatcher = new EventDispatcher(null);
+        InheritedEntryListener listener = new InheritedEntryListener();
+        dispatcher.registerListener(listener);
+        Assertions.assertTrue(dispatcher.hasSubscribers(PlayerEnterPlotEvent.class));
+        Assertions.assertFalse(dispatcher.hasSubscribers(PlayerLeavePlotEvent.class));
+        dispatcher.callEntry(null, null);
+        Assertions.assertEquals(1, listener.entries);
+    }
+
+    @Test
+    public void deadEventsArePosted() {
+        EventDispatcher dispatcher = new EventDispatcher(null);
+        DeadEventListener listener = new DeadEventListener();
+        dispatcher.registerListener(listener);
+        PlayerEnterPlotEvent entry = dispatcher.callEntry(null, null);
+        Assertions.assertEquals(List.of(entry), listener.events);
+    }
+
+    public static class EntryListener {
+
+        int entries;
+
+        @Subscribe
+        public void onEntry(PlayerEnterPlotEvent event) {
+            entries++;
+        }
+
+    }
+
+    public static class InheritedEntryListener extends EntryListener {
+
+    }
+
+    public static class DenyListener {
+
+        @Subscribe
+        public void onFlagAdd(PlotFlagAddEvent event) {
+            event.setEventResult(Result.DENY);
+        }
+
+    }
+
+    public static class AllEventsListener {
+
+        final List<PlotEvent> events = new ArrayList<>();
+
+        @Subscribe
+        public void onEvent(PlotEvent event) {
+            events.add(event);
+        }
+
+    }
+
+    public static class DeadEventListener {
+
+        final List<Object> events = new ArrayList<>();
+
+        @Subscribe
+        public void onDeadEvent(DeadEvent event) {
+            events.add(event.getEvent());
+        }
+
+    }
+
+}
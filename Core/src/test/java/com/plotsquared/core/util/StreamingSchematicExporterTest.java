@@ -0,0 +1,120 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.headless.FakeWorld;
+import com.plotsquared.core.headless.HeadlessEnvironment;
+import com.sk89q.jnbt.ByteArrayTag;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+public class StreamingSchematicExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void blockDataMatchesTheWorld() throws IOException {
+        HeadlessEnvironment.get();
+        BlockState[] states = new BlockState[]{
+                BlockTypes.STONE.getDefaultState(), BlockTypes.DIRT.getDefaultState(),
+                BlockTypes.COBBLESTONE.getDefaultState(), BlockTypes.ANDESITE.getDefaultState(),
+                BlockTypes.AIR.getDefaultState()
+        };
+        FakeWorld world = new FakeWorld("export") {
+            @Override
+            public BlockState getBlock(BlockVector3 position) {
+                int x = position.getX();
+                int y = position.getY();
+                int z = position.getZ();
+                return states[Math.floorMod(x * 7 + y * 3 + z * 11, states.length)];
+            }
+        };
+        // Two regions in different chunks, spanning several slabs with different heights
+        CuboidRegion first = RegionUtil.createRegion(-5, 20, 3, 40, -3, 9);
+        CuboidRegion second = RegionUtil.createRegion(30, 37, 10, 50, 12, 20);
+        File file = this.directory.resolve("export.schem").toFile();
+        new StreamingSchematicExporter(world, Set.of(first, second), new HashMap<>()).export(file);
+
+        CompoundTag schematic;
+        try (NBTInputStream in = new NBTInputStream(new GZIPInputStream(new FileInputStream(file)))) {
+            schematic = (CompoundTag) in.readNamedTag().getTag();
+        }
+        Map<Integer, String> palette = new HashMap<>();
+        for (Map.Entry<String, Tag> entry : ((CompoundTag) schematic.getValue().get("Palette")).getValue().entrySet()) {
+            palette.put(((IntTag) entry.getValue()).getValue(), entry.getKey());
+        }
+        byte[] blockData = ((ByteArrayTag) schematic.getValue().get("BlockData")).getValue();
+
+        CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(Set.of(first, second));
+        BlockVector3 min = aabb.getMinimumPoint();
+        int index = 0;
+        for (int y = 0; y < aabb.getHeight(); y++) {
+            for (int z = 0; z < aabb.getLength(); z++) {
+                for (int x = 0; x < aabb.getWidth(); x++) {
+                    int value = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = blockData[index++];
+                        value |= (b & 127) << shift;
+                        shift += 7;
+                    } while ((b & 128) != 0);
+                    int worldX = min.getX() + x;
+                    int worldY = min.getY() + y;
+                    int worldZ = min.getZ() + z;
+                    boolean inside = RegionUtil.contains(first, worldX, worldY, worldZ)
+                            || RegionUtil.contains(second, worldX, worldY, worldZ);
+                    BlockState expected = inside
+                            ? world.getBlock(BlockVector3.at(worldX, worldY, worldZ))
+                            : BlockTypes.AIR.getDefaultState();
+                    Assertions.assertEquals(expected.getAsString(), palette.get(value), "at " + worldX + "," + worldY + "," + worldZ);
+                }
+            }
+        }
+        Assertions.assertEquals(blockData.length, index);
+        Assertions.assertFalse(new File(file.getParentFile(), file.getName() + ".blocks.tmp").exists());
+    }
+
+}
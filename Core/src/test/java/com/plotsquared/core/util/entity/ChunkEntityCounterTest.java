@@ -0,0 +1,97 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class ChunkEntityCounterTest {
+
+    private static final String WORLD = "world";
+
+    @Test
+    public void addRemoveAndMove() {
+        ChunkEntityCounter counter = new ChunkEntityCounter();
+        UUID cow = UUID.randomUUID();
+        UUID zombie = UUID.randomUUID();
+        counter.add(cow, WORLD, 0, 0);
+        counter.add(zombie, WORLD, 0, 0);
+        // adding twice must not count twice
+        counter.add(zombie, WORLD, 0, 0);
+        Assertions.assertEquals(2, counter.getCount(WORLD, 0, 0));
+        Assertions.assertEquals(0, counter.getCount("other", 0, 0));
+
+        counter.move(cow, WORLD, -1, 0);
+        Assertions.assertEquals(1, counter.getCount(WORLD, 0, 0));
+        Assertions.assertEquals(1, counter.getCount(WORLD, -1, 0));
+
+        // untracked entities are not moved
+        counter.move(UUID.randomUUID(), WORLD, -1, 0);
+        Assertions.assertEquals(1, counter.getCount(WORLD, -1, 0));
+
+        counter.remove(zombie);
+        counter.remove(zombie);
+        Assertions.assertEquals(0, counter.getCount(WORLD, 0, 0));
+        Assertions.assertEquals(Set.of(-1L << 32), counter.getChunks(WORLD));
+
+        counter.remove(cow);
+        Assertions.assertFalse(counter.isTracked(cow));
+        Assertions.assertTrue(counter.getChunks(WORLD).isEmpty());
+    }
+
+    @Test
+    public void unloadChunk() {
+        ChunkEntityCounter counter = new ChunkEntityCounter();
+        UUID stale = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        UUID loaded = UUID.randomUUID();
+        counter.add(stale, WORLD, 3, 4);
+        counter.add(moved, WORLD, 5, 5);
+
+        // chunk entities loaded again
+        counter.unload(WORLD, 3, 4);
+        for (UUID entity : List.of(moved, loaded)) {
+            counter.add(entity, WORLD, 3, 4);
+        }
+        Assertions.assertFalse(counter.isTracked(stale));
+        Assertions.assertEquals(2, counter.getCount(WORLD, 3, 4));
+        Assertions.assertEquals(0, counter.getCount(WORLD, 5, 5));
+
+        counter.unload(WORLD, 3, 4);
+        Assertions.assertEquals(0, counter.getCount(WORLD, 3, 4));
+        Assertions.assertFalse(counter.isTracked(moved));
+        Assertions.assertFalse(counter.isTracked(loaded));
+
+        counter.add(loaded, WORLD, 1, 1);
+        counter.clear();
+        Assertions.assertEquals(0, counter.getCount(WORLD, 1, 1));
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+
+public class PlotEntityCounterTest {
+
+    private static final String AREA = "world";
+    private static final int ANIMAL = PlotEntityCounter.categories(true, false, false, false);
+    private static final int HOSTILE = PlotEntityCounter.categories(false, true, false, false);
+    private static final int MISC = PlotEntityCounter.categories(false, false, false, true);
+
+    @Test
+    public void spawnAndDespawn() {
+        PlotEntityCounter counter = new PlotEntityCounter();
+        PlotId plot = PlotId.of(1, 1);
+        UUID cow = UUID.randomUUID();
+        UUID zombie = UUID.randomUUID();
+        UUID item = UUID.randomUUID();
+        counter.add(cow, AREA, plot, ANIMAL);
+        counter.add(zombie, AREA, plot, HOSTILE);
+        counter.add(item, AREA, plot, MISC);
+
+        int[] counts = counter.getCounts(AREA, plot);
+        Assertions.assertEquals(3, counts[CAP_ENTITY]);
+        Assertions.assertEquals(2, counts[CAP_MOB]);
+        Assertions.assertEquals(1, counts[CAP_ANIMAL]);
+        Assertions.assertEquals(1, counts[CAP_MONSTER]);
+        Assertions.assertEquals(1, counts[CAP_MISC]);
+
+        counter.remove(zombie);
+        counter.remove(item);
+        // removing twice must not count twice
+        counter.remove(item);
+        counts = counter.getCounts(AREA, plot);
+        Assertions.assertEquals(1, counts[CAP_ENTITY]);
+        Assertions.assertEquals(1, counts[CAP_MOB]);
+        Assertions.assertEquals(0, counts[CAP_MONSTER]);
+        Assertions.assertEquals(0, counts[CAP_MISC]);
+
+        counter.remove(cow);
+        Assertions.assertArrayEquals(new int[PlotEntityCounter.CATEGORY_COUNT], counter.getCounts(AREA, plot));
+    }
+
+    @Test
+    public void moveBetweenPlotsAndRoads() {
+        PlotEntityCounter counter = new PlotEntityCounter();
+        PlotId first = PlotId.of(0, 0);
+        PlotId second = PlotId.of(0, 1);
+        UUID cow = UUID.randomUUID();
+        // spawned on the road
+        counter.add(cow, AREA, null, ANIMAL);
+        Assertions.assertTrue(counter.isTracked(cow));
+        Assertions.assertEquals(0, counter.getCounts(AREA, first)[CAP_ENTITY]);
+
+        counter.move(cow, AREA, first);
+        Assertions.assertEquals(1, counter.getCounts(AREA, first)[CAP_ANIMAL]);
+
+        counter.move(cow, AREA, second);
+        Assertions.assertEquals(0, counter.getCounts(AREA, first)[CAP_ANIMAL]);
+        Assertions.assertEquals(1, counter.getCounts(AREA, second)[CAP_ANIMAL]);
+
+        // other area with the same plot id
+        counter.move(cow, "other", second);
+        Assertions.assertEquals(0, counter.getCounts(AREA, second)[CAP_ANIMAL]);
+        Assertions.assertEquals(1, counter.getCounts("other", second)[CAP_ANIMAL]);
+
+        counter.remove(cow);
+        Assertions.assertEquals(0, counter.getCounts("other", second)[CAP_ENTITY]);
+        Assertions.assertFalse(counter.isTracked(cow));
+    }
+
+    @Test
+    public void addingTrackedEntityReplacesIt() {
+        PlotEntityCounter counter = new PlotEntityCounter();
+        PlotId plot = PlotId.of(2, 3);
+        UUID zombie = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            counter.add(zombie, AREA, plot, HOSTILE);
+        }
+        Assertions.assertEquals(1, counter.getCounts(AREA, plot)[CAP_MONSTER]);
+
+        counter.clear();
+        Assertions.assertFalse(counter.isTracked(zombie));
+        Assertions.assertEquals(0, counter.getCounts(AREA, plot)[CAP_MONSTER]);
+    }
+
+}
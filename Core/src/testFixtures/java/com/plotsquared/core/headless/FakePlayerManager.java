@@ -0,0 +1,63 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Singleton;
+import com.plotsquared.core.player.OfflinePlotPlayer;
+import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.util.PlayerManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Player manager without any players, online or offline
+ */
+@Singleton
+public class FakePlayerManager extends PlayerManager<PlotPlayer<Object>, Object> {
+
+    @Override
+    public @NonNull PlotPlayer<Object> getPlayer(final @NonNull Object object) {
+        throw new IllegalArgumentException("There are no players in the headless environment");
+    }
+
+    @Override
+    public @NonNull PlotPlayer<Object> createPlayer(final @NonNull UUID uuid) {
+        throw new IllegalArgumentException("There are no players in the headless environment");
+    }
+
+    @Override
+    public @Nullable OfflinePlotPlayer getOfflinePlayer(final @Nullable UUID uuid) {
+        return null;
+    }
+
+    @Override
+    public @Nullable OfflinePlotPlayer getOfflinePlayer(final @NonNull String username) {
+        return null;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plot area manager that holds at most one plot area per world, covering the whole world
+ */
+public class FakePlotAreaManager implements PlotAreaManager {
+
+    private final Map<String, PlotArea> areas = new ConcurrentHashMap<>();
+
+    @Override
+    public @Nullable PlotArea getApplicablePlotArea(final @Nullable Location location) {
+        return location == null ? null : this.areas.get(location.getWorldName());
+    }
+
+    @Override
+    public @Nullable PlotArea getPlotArea(final @NonNull Location location) {
+        return this.areas.get(location.getWorldName());
+    }
+
+    @Override
+    public @Nullable PlotArea getPlotArea(final @NonNull String world, final @Nullable String id) {
+        return this.areas.get(world);
+    }
+
+    @Override
+    public @NonNull PlotArea[] getPlotAreas(final @NonNull String world, final @Nullable CuboidRegion region) {
+        final PlotArea area = this.areas.get(world);
+        return area == null ? new PlotArea[0] : new PlotArea[]{area};
+    }
+
+    @Override
+    public @NonNull PlotArea[] getAllPlotAreas() {
+        return this.areas.values().toArray(new PlotArea[0]);
+    }
+
+    @Override
+    public @NonNull String[] getAllWorlds() {
+        return this.areas.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public void addPlotArea(final @NonNull PlotArea area) {
+        this.areas.put(area.getWorldName(), area);
+    }
+
+    @Override
+    public void removePlotArea(final @NonNull PlotArea area) {
+        this.areas.remove(area.getWorldName(), area);
+    }
+
+    @Override
+    public void addWorld(final @NonNull String worldName) {
+        // Worlds only exist through their plot area
+    }
+
+    @Override
+    public void removeWorld(final @NonNull String worldName) {
+        this.areas.remove(worldName);
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.PlotPlatform;
+import com.plotsquared.core.generator.GeneratorWrapper;
+import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.location.World;
+import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.PlayerManager;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Headless platform used to run PlotSquared in tests and benchmarks. There is no server, so no
+ * players and no platform generators. Worlds are only represented by their name.
+ */
+public class FakePlotPlatform implements PlotPlatform<Object> {
+
+    private final File directory;
+    private final PlotAreaManager plotAreaManager;
+    private Injector injector;
+    private Locale locale = Locale.ENGLISH;
+
+    public FakePlotPlatform(final @NonNull File directory, final @NonNull PlotAreaManager plotAreaManager) {
+        this.directory = directory;
+        this.plotAreaManager = plotAreaManager;
+    }
+
+    public void setInjector(final @NonNull Injector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public @NonNull File getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public @NonNull File worldContainer() {
+        return this.directory;
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public int @NonNull [] serverVersion() {
+        return new int[]{1, 18, 1};
+    }
+
+    @Override
+    public @NonNull String serverImplementation() {
+        return "Headless";
+    }
+
+    @Override
+    public @NonNull String serverNativePackage() {
+        return "";
+    }
+
+    @Override
+    public void startMetrics() {
+    }
+
+    @Override
+    public void setGenerator(final @NonNull String world) {
+    }
+
+    @Override
+    public void unregister(final @NonNull PlotPlayer<?> player) {
+    }
+
+    @Override
+    public @Nullable GeneratorWrapper<?> getGenerator(final @NonNull String world, final @Nullable String name) {
+        return null;
+    }
+
+    @Override
+    public @NonNull GeneratorWrapper<?> wrapPlotGenerator(
+            final @NonNull String world,
+            final @NonNull IndependentPlotGenerator generator
+    ) {
+        throw new UnsupportedOperationException("There are no platform generators in the headless environment");
+    }
+
+    @Override
+    public @Nullable World<?> getPlatformWorld(final @NonNull String worldName) {
+        return new NamedWorld(worldName);
+    }
+
+    @Override
+    public @NonNull Injector injector() {
+        if (this.injector == null) {
+            throw new IllegalStateException("The headless injector has not been created yet");
+        }
+        return this.injector;
+    }
+
+    @Override
+    public @NonNull PlayerManager<? extends PlotPlayer<Object>, ?> playerManager() {
+        return injector().getInstance(FakePlayerManager.class);
+    }
+
+    @Override
+    public @NonNull PlotAreaManager plotAreaManager() {
+        return this.plotAreaManager;
+    }
+
+    @Override
+    public @NonNull Audience consoleAudience() {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NonNull String pluginsFormatted() {
+        return "";
+    }
+
+    @Override
+    public @NonNull String worldEditImplementations() {
+        return "WorldEdit";
+    }
+
+    @Override
+    public void copyCaptionMaps() {
+    }
+
+    @Override
+    public @NonNull String toLegacyPlatformString(final @NonNull Component component) {
+        return MiniMessage.get().serialize(component);
+    }
+
+    @Override
+    public @NonNull Locale getLocale() {
+        return this.locale;
+    }
+
+    @Override
+    public void setLocale(final @NonNull Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * World that only consists of its name, so that locations in the headless worlds can be created
+     */
+    private record NamedWorld(@NonNull String name) implements World<String> {
+
+        @Override
+        public @NonNull String getPlatformWorld() {
+            return this.name;
+        }
+
+        @Override
+        public @NonNull String getName() {
+            return this.name;
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Inject;
+import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.util.RegionManager;
+import com.plotsquared.core.util.WorldUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Region manager without entities, that leaves clearing and regeneration to the plot managers
+ */
+public class FakeRegionManager extends RegionManager {
+
+    @Inject
+    public FakeRegionManager(
+            final @NonNull WorldUtil worldUtil,
+            final @NonNull GlobalBlockQueue blockQueue,
+            final @NonNull ProgressSubscriberFactory subscriberFactory
+    ) {
+        super(worldUtil, blockQueue, subscriberFactory);
+    }
+
+    @Override
+    public int[] countEntities(final Plot plot) {
+        return new int[6];
+    }
+
+    @Override
+    public boolean handleClear(
+            final @NonNull Plot plot,
+            final @Nullable Runnable whenDone,
+            final @NonNull PlotManager manager,
+            final @Nullable PlotPlayer<?> actor
+    ) {
+        return false;
+    }
+
+    @Override
+    public boolean regenerateRegion(
+            final Location pos1,
+            final Location pos2,
+            final boolean ignoreAugment,
+            final Runnable whenDone
+    ) {
+        return false;
+    }
+
+    @Override
+    public void clearAllEntities(final Location pos1, final Location pos2) {
+    }
+
+}
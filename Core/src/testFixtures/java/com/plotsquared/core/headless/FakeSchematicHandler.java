@@ -0,0 +1,54 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Inject;
+import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
+import com.sk89q.jnbt.CompoundTag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Schematic handler that does not restore any tile entities
+ */
+public class FakeSchematicHandler extends SchematicHandler {
+
+    @Inject
+    public FakeSchematicHandler(
+            final @NonNull WorldUtil worldUtil,
+            final @NonNull ProgressSubscriberFactory subscriberFactory
+    ) {
+        super(worldUtil, subscriberFactory);
+    }
+
+    @Override
+    public boolean restoreTile(final QueueCoordinator queue, final CompoundTag tag, final int x, final int y, final int z) {
+        return false;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.NullWorld;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+/**
+ * WorldEdit world with the flat terrain of an unclaimed headless plot: bedrock at the bottom,
+ * stone up to the surface and a grass block surface. Writes are ignored.
+ */
+public class FakeWorld extends NullWorld {
+
+    /**
+     * Height of the grass block surface, the plot height of the headless plot areas
+     */
+    public static final int SURFACE = 62;
+
+    private final String name;
+    private final BlockState air = Objects.requireNonNull(BlockTypes.AIR).getDefaultState();
+    private final BlockState surface = Objects.requireNonNull(BlockTypes.GRASS_BLOCK).getDefaultState();
+    private final BlockState filling = Objects.requireNonNull(BlockTypes.STONE).getDefaultState();
+    private final BlockState bottom = Objects.requireNonNull(BlockTypes.BEDROCK).getDefaultState();
+
+    public FakeWorld(final @NonNull String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public BlockState getBlock(final BlockVector3 position) {
+        final int y = position.getY();
+        if (y > SURFACE) {
+            return this.air;
+        } else if (y == SURFACE) {
+            return this.surface;
+        } else if (y > 0) {
+            return this.filling;
+        }
+        return this.bottom;
+    }
+
+    @Override
+    public BaseBlock getFullBlock(final BlockVector3 position) {
+        return this.getBlock(position).toBaseBlock();
+    }
+
+    @Override
+    public BiomeType getBiome(final BlockVector2 position) {
+        return BiomeTypes.FOREST;
+    }
+
+}
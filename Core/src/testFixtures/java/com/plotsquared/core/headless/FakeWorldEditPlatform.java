@@ -0,0 +1,224 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.sk89q.worldedit.LocalConfiguration;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.event.platform.PlatformsRegisteredEvent;
+import com.sk89q.worldedit.extension.platform.Capability;
+import com.sk89q.worldedit.extension.platform.Platform;
+import com.sk89q.worldedit.extension.platform.Preference;
+import com.sk89q.worldedit.util.io.ResourceLoader;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.item.ItemType;
+import com.sk89q.worldedit.world.registry.BlockRegistry;
+import com.sk89q.worldedit.world.registry.BundledBlockRegistry;
+import com.sk89q.worldedit.world.registry.BundledItemRegistry;
+import com.sk89q.worldedit.world.registry.BundledRegistries;
+import com.sk89q.worldedit.world.registry.ItemRegistry;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Minimal WorldEdit platform backed by WorldEdit's bundled registries, so that block and biome
+ * types can be created without a server. This mirrors how WorldEdit sets up its own unit tests.
+ */
+public final class FakeWorldEditPlatform implements InvocationHandler {
+
+    /**
+     * Data version of Minecraft 1.18.1, used to pick the bundled block data
+     */
+    private static final int DATA_VERSION = 2865;
+
+    private static final String[] BLOCK_TYPES = new String[]{
+            "minecraft:air", "minecraft:cave_air", "minecraft:void_air",
+            "minecraft:stone", "minecraft:grass_block", "minecraft:dirt", "minecraft:bedrock",
+            "minecraft:cobblestone", "minecraft:andesite", "minecraft:granite", "minecraft:diorite",
+            "minecraft:stone_slab", "minecraft:sandstone_slab", "minecraft:quartz_block"
+    };
+    private static final String[] BIOME_TYPES = new String[]{"minecraft:forest", "minecraft:plains"};
+    private static final String[] ITEM_TYPES = new String[]{"minecraft:air"};
+
+    private static boolean registered;
+
+    // FastAsyncWorldEdit creates its block and item types from the ids listed by the registries
+    private final BlockRegistry blockRegistry = new BundledBlockRegistry() {
+        @SuppressWarnings("unused")
+        public Collection<String> values() {
+            return List.of(BLOCK_TYPES);
+        }
+    };
+    private final ItemRegistry itemRegistry = new BundledItemRegistry() {
+        @SuppressWarnings("unused")
+        public Collection<String> values() {
+            return List.of(ITEM_TYPES);
+        }
+    };
+    private final BundledRegistries registries = new BundledRegistries() {
+        @Override
+        public BlockRegistry getBlockRegistry() {
+            return blockRegistry;
+        }
+
+        @Override
+        public ItemRegistry getItemRegistry() {
+            return itemRegistry;
+        }
+    };
+    private final LocalConfiguration configuration = new LocalConfiguration() {
+        @Override
+        public void load() {
+        }
+    };
+    private final ResourceLoader resourceLoader = (ResourceLoader) Proxy.newProxyInstance(
+            ResourceLoader.class.getClassLoader(),
+            new Class<?>[]{ResourceLoader.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getResource":
+                        return ((Class<?>) args[0]).getResource((String) args[1]);
+                    case "getRootResource":
+                        return WorldEdit.class.getClassLoader().getResource((String) args[0]);
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            }
+    );
+
+    private FakeWorldEditPlatform() {
+    }
+
+    /**
+     * Register the platform with WorldEdit, along with the block, biome and item types used by the
+     * tests and benchmarks. This has to happen before {@code BlockTypes}, {@code BiomeTypes} or
+     * {@code ItemTypes} are loaded, as their constants are looked up in the registries when the
+     * classes are initialized.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        final Platform platform = (Platform) Proxy.newProxyInstance(
+                Platform.class.getClassLoader(),
+                new Class<?>[]{Platform.class},
+                new FakeWorldEditPlatform()
+        );
+        WorldEdit.getInstance().getPlatformManager().register(platform);
+        WorldEdit.getInstance().getEventBus().post(new PlatformsRegisteredEvent());
+        // No sessions are used, and the session saving timer would keep forked benchmark VMs alive
+        WorldEdit.getInstance().getSessionManager().unload();
+        // FastAsyncWorldEdit creates the block and item types from the registries when they are first used
+        if (!isFastAsyncWorldEdit()) {
+            for (final String id : BLOCK_TYPES) {
+                BlockType.REGISTRY.register(id, new BlockType(id));
+            }
+            for (final String id : ITEM_TYPES) {
+                ItemType.REGISTRY.register(id, new ItemType(id));
+            }
+        }
+        for (final String id : BIOME_TYPES) {
+            BiomeType.REGISTRY.register(id, new BiomeType(id));
+        }
+    }
+
+    private static boolean isFastAsyncWorldEdit() {
+        try {
+            BlockType.class.getDeclaredConstructor(String.class, int.class, List.class);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Object defaultValue(final @NonNull Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type == float.class) {
+            return 0F;
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        } else if (type == Map.class) {
+            return Collections.emptyMap();
+        } else if (type == Optional.class) {
+            return Optional.empty();
+        }
+        return null;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+            case "getPlatformName":
+            case "getPlatformVersion":
+            case "getVersion":
+            case "getId":
+                return "PlotSquared-Headless";
+            case "getDataVersion":
+                return DATA_VERSION;
+            case "getRegistries":
+                return this.registries;
+            case "getConfiguration":
+                return this.configuration;
+            case "getResourceLoader":
+                return this.resourceLoader;
+            case "getCapabilities": {
+                final Map<Capability, Preference> capabilities = new EnumMap<>(Capability.class);
+                capabilities.put(Capability.WORLD_EDITING, Preference.PREFERRED);
+                capabilities.put(Capability.GAME_HOOKS, Preference.PREFERRED);
+                capabilities.put(Capability.CONFIGURATION, Preference.PREFERRED);
+                return capabilities;
+            }
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.caption.Caption;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.player.PlotPlayer;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.StringComparison;
+import com.plotsquared.core.util.WorldUtil;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.biome.BiomeTypes;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import com.sk89q.worldedit.world.entity.EntityType;
+import net.kyori.adventure.text.minimessage.Template;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * World utility for worlds that only exist as plot areas. The worlds are {@link FakeWorld flat},
+ * writes are ignored and anything that would need a platform world is unsupported.
+ */
+@Singleton
+public class FakeWorldUtil extends WorldUtil {
+
+    private final PlotAreaManager plotAreaManager;
+    private final Map<String, FakeWorld> worlds = new ConcurrentHashMap<>();
+
+    @Inject
+    public FakeWorldUtil(final @NonNull PlotAreaManager plotAreaManager) {
+        this.plotAreaManager = plotAreaManager;
+    }
+
+    @Override
+    public boolean isWorld(final @NonNull String worldName) {
+        return Arrays.asList(this.plotAreaManager.getAllWorlds()).contains(worldName);
+    }
+
+    @Override
+    public @NonNull String[] getSignSynchronous(final @NonNull Location location) {
+        return new String[0];
+    }
+
+    @Override
+    public @NonNull Location getSpawn(final @NonNull String world) {
+        return Location.at(world, 0, 0, 0);
+    }
+
+    @Override
+    public void setSpawn(final @NonNull Location location) {
+    }
+
+    @Override
+    public void saveWorld(final @NonNull String world) {
+    }
+
+    @Override
+    public @NonNull StringComparison<BlockState>.ComparisonResult getClosestBlock(final @NonNull String name) {
+        throw new UnsupportedOperationException("Block names cannot be matched in the headless environment");
+    }
+
+    @Override
+    public void setSign(
+            final @NonNull Location location,
+            final @NonNull Caption[] lines,
+            final @NonNull Template... replacements
+    ) {
+    }
+
+    @Override
+    public void getBiome(
+            final @NonNull String world,
+            final int x,
+            final int z,
+            final @NonNull Consumer<BiomeType> result
+    ) {
+        result.accept(getBiomeSynchronous(world, x, z));
+    }
+
+    @Override
+    public @NonNull BiomeType getBiomeSynchronous(final @NonNull String world, final int x, final int z) {
+        return BiomeTypes.FOREST;
+    }
+
+    @Override
+    public void getBlock(final @NonNull Location location, final @NonNull Consumer<BlockState> result) {
+        result.accept(getBlockSynchronous(location));
+    }
+
+    @Override
+    public @NonNull BlockState getBlockSynchronous(final @NonNull Location location) {
+        return this.getWeWorld(location.getWorldName()).getBlock(location.getBlockVector3());
+    }
+
+    @Override
+    public void getHighestBlock(
+            final @NonNull String world,
+            final int x,
+            final int z,
+            final @NonNull IntConsumer result
+    ) {
+        result.accept(getHighestBlockSynchronous(world, x, z));
+    }
+
+    @Override
+    public int getHighestBlockSynchronous(final @NonNull String world, final int x, final int z) {
+        // The flat surface stands in for the server heightmap, the scan starts above it like on Bukkit
+        final FakeWorld weWorld = this.getWeWorld(world);
+        for (int y = FakeWorld.SURFACE + 1; y > 0; y--) {
+            if (weWorld.getBlock(BlockVector3.at(x, y, z)).getBlockType() != BlockTypes.AIR) {
+                return y;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void setBiomes(
+            final @NonNull String world,
+            final @NonNull CuboidRegion region,
+            final @NonNull BiomeType biome
+    ) {
+    }
+
+    @Override
+    public @NonNull FakeWorld getWeWorld(final @NonNull String world) {
+        return this.worlds.computeIfAbsent(world, FakeWorld::new);
+    }
+
+    @Override
+    public void refreshChunk(final int x, final int z, final String world) {
+    }
+
+    @Override
+    public boolean isBlockSame(final @NonNull BlockState block1, final @NonNull BlockState block2) {
+        return block1.equals(block2);
+    }
+
+    @Override
+    public double getHealth(final @NonNull PlotPlayer<?> player) {
+        return 20;
+    }
+
+    @Override
+    public void setHealth(final @NonNull PlotPlayer<?> player, final double health) {
+    }
+
+    @Override
+    public int getFoodLevel(final @NonNull PlotPlayer<?> player) {
+        return 20;
+    }
+
+    @Override
+    public void setFoodLevel(final @NonNull PlotPlayer<?> player, final int foodLevel) {
+    }
+
+    @Override
+    public @NonNull Set<EntityType> getTypesInCategory(final @NonNull String category) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public @NonNull Collection<BlockType> getTileEntityTypes() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public int getTileEntityCount(final @NonNull String world, final @NonNull BlockVector2 chunk) {
+        return 0;
+    }
+
+}
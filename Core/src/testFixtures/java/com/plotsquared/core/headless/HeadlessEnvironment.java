@@ -0,0 +1,227 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Stage;
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.inject.annotations.DefaultGenerator;
+import com.plotsquared.core.inject.modules.PlotSquaredModule;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.PlotId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A headless PlotSquared instance shared by all tests or benchmarks in a JVM. Plot areas are hybrid plot
+ * worlds that only live in memory, and the database is never connected, so claiming and
+ * modifying plots only touches the in-memory structures.
+ */
+public final class HeadlessEnvironment {
+
+    private static HeadlessEnvironment instance;
+
+    private final Path directory;
+    private final FakePlotPlatform platform;
+    private final FakePlotAreaManager plotAreaManager;
+    private final Injector injector;
+    private final IndependentPlotGenerator generator;
+    private final Map<String, HybridPlotWorld> areas = new ConcurrentHashMap<>();
+
+    private HeadlessEnvironment() throws IOException {
+        // The block and biome types have to exist before anything touches BlockTypes
+        FakeWorldEditPlatform.register();
+
+        this.directory = Files.createTempDirectory("plotsquared-headless");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(this.directory)));
+
+        this.plotAreaManager = new FakePlotAreaManager();
+        this.platform = new FakePlotPlatform(this.directory.toFile(), this.plotAreaManager);
+        new PlotSquared(this.platform, "Headless");
+        this.injector = Guice.createInjector(Stage.PRODUCTION, new PlotSquaredModule(), new HeadlessModule(this.platform));
+        this.platform.setInjector(this.injector);
+        this.generator = this.injector.getInstance(Key.get(IndependentPlotGenerator.class, DefaultGenerator.class));
+    }
+
+    /**
+     * Get the environment, creating it on first use
+     *
+     * @return Headless environment
+     */
+    public static synchronized @NonNull HeadlessEnvironment get() {
+        if (instance == null) {
+            try {
+                instance = new HeadlessEnvironment();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return instance;
+    }
+
+    private static void delete(final @NonNull Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (final IOException ignored) {
+        }
+    }
+
+    /**
+     * Get the plot area for a world, creating a hybrid plot world with the given dimensions if the
+     * world does not have one yet. The dimensions of an existing area are not changed.
+     *
+     * @param world     World name
+     * @param plotWidth Plot width
+     * @param roadWidth Road width
+     * @return Plot area
+     */
+    public @NonNull HybridPlotWorld area(final @NonNull String world, final int plotWidth, final int roadWidth) {
+        return this.areas.computeIfAbsent(world, name -> {
+            final HybridPlotWorld area = this.createArea(name, null, null, null, plotWidth, roadWidth);
+            this.plotAreaManager.addPlotArea(area);
+            return area;
+        });
+    }
+
+    /**
+     * Replace the plot area of a world with a newly loaded area with the same dimensions, the
+     * way PlotSquared replaces areas when they are reloaded. The plots of the old area are moved
+     * to the new area.
+     *
+     * @param area Plot area to reload
+     * @return The new plot area
+     */
+    public @NonNull HybridPlotWorld reload(final @NonNull HybridPlotWorld area) {
+        final HybridPlotWorld reloaded = this.createArea(area.getWorldName(), null, null, null, area.PLOT_WIDTH, area.ROAD_WIDTH);
+        PlotSquared.get().removePlotArea(area);
+        PlotSquared.get().addPlotArea(reloaded);
+        this.areas.put(area.getWorldName(), reloaded);
+        return reloaded;
+    }
+
+    /**
+     * Create a partial plot area that only covers the plots from {@code min} to {@code max} of a
+     * world. Unlike {@link #area(String, int, int)}, the area is not added to the plot area manager
+     * of the environment.
+     *
+     * @param world     World name
+     * @param id        Area id
+     * @param min       Lowest plot id of the area
+     * @param max       Highest plot id of the area
+     * @param plotWidth Plot width
+     * @param roadWidth Road width
+     * @return Plot area
+     */
+    public @NonNull HybridPlotWorld partialArea(
+            final @NonNull String world,
+            final @NonNull String id,
+            final @NonNull PlotId min,
+            final @NonNull PlotId max,
+            final int plotWidth,
+            final int roadWidth
+    ) {
+        final HybridPlotWorld area = this.createArea(world, id, min, max, plotWidth, roadWidth);
+        area.setType(PlotAreaType.PARTIAL);
+        return area;
+    }
+
+    private @NonNull HybridPlotWorld createArea(
+            final @NonNull String world,
+            final @Nullable String id,
+            final @Nullable PlotId min,
+            final @Nullable PlotId max,
+            final int plotWidth,
+            final int roadWidth
+    ) {
+        final HybridPlotWorld area = (HybridPlotWorld) this.generator.getNewPlotArea(world, id, min, max);
+        final YamlConfiguration config = new YamlConfiguration();
+        config.set("plot.size", plotWidth);
+        config.set("plot.height", 62);
+        config.set("plot.filling", "minecraft:stone");
+        config.set("plot.floor", "minecraft:grass_block");
+        config.set("plot.bedrock", true);
+        config.set("wall.block", "minecraft:stone_slab");
+        config.set("wall.block_claimed", "minecraft:sandstone_slab");
+        config.set("wall.filling", "minecraft:stone");
+        config.set("wall.height", 62);
+        config.set("wall.place_top_block", true);
+        config.set("road.width", roadWidth);
+        config.set("road.height", 62);
+        config.set("road.block", "minecraft:quartz_block");
+        config.set("road.offset.x", 0);
+        config.set("road.offset.z", 0);
+        // The full default loader needs a console player and the flag parsers, the plot
+        // world settings are all that the tests and benchmarks need
+        area.loadConfiguration(config);
+        return area;
+    }
+
+    /**
+     * Add a plot to an area without going through the database or the event system
+     *
+     * @param area  Plot area
+     * @param id    Plot ID
+     * @param owner Plot owner, or {@code null} for an unowned plot
+     * @param temp  Temporary plot ID, used as the creation order
+     * @return The added plot
+     */
+    public @NonNull Plot claim(
+            final @NonNull PlotArea area,
+            final @NonNull PlotId id,
+            final @Nullable UUID owner,
+            final int temp
+    ) {
+        final Plot plot = new Plot(area, id, owner, temp);
+        area.addPlotAbs(plot);
+        return plot;
+    }
+
+    public @NonNull FakePlotPlatform platform() {
+        return this.platform;
+    }
+
+    public @NonNull Injector injector() {
+        return this.injector;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.headless;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.plotsquared.core.PlotPlatform;
+import com.plotsquared.core.generator.HybridGen;
+import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.inject.annotations.DefaultGenerator;
+import com.plotsquared.core.inject.factory.HybridPlotWorldFactory;
+import com.plotsquared.core.inject.factory.ProgressSubscriberFactory;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueueProvider;
+import com.plotsquared.core.queue.subscriber.DefaultProgressSubscriber;
+import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
+import com.plotsquared.core.util.PlayerManager;
+import com.plotsquared.core.util.RegionManager;
+import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
+import com.sk89q.worldedit.world.World;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Bindings for the headless platform. Everything that would talk to a server is
+ * replaced by the fakes in this package.
+ */
+public class HeadlessModule extends AbstractModule {
+
+    private final FakePlotPlatform platform;
+
+    public HeadlessModule(final @NonNull FakePlotPlatform platform) {
+        this.platform = platform;
+    }
+
+    @Override
+    protected void configure() {
+        bind(PlotPlatform.class).toInstance(this.platform);
+        bind(IndependentPlotGenerator.class).annotatedWith(DefaultGenerator.class).to(HybridGen.class);
+        bind(WorldUtil.class).to(FakeWorldUtil.class);
+        bind(PlotAreaManager.class).toInstance(this.platform.plotAreaManager());
+        install(new FactoryModuleBuilder()
+                .implement(ProgressSubscriber.class, DefaultProgressSubscriber.class)
+                .build(ProgressSubscriberFactory.class));
+        bind(SchematicHandler.class).to(FakeSchematicHandler.class);
+        bind(RegionManager.class).to(FakeRegionManager.class);
+        bind(PlayerManager.class).to(FakePlayerManager.class);
+        bind(GlobalBlockQueue.class).toInstance(new GlobalBlockQueue(new QueueProvider() {
+            @Override
+            public QueueCoordinator getNewQueue(final @NonNull World world) {
+                throw new UnsupportedOperationException("There are no world queues in the headless environment");
+            }
+        }));
+        install(new FactoryModuleBuilder().build(HybridPlotWorldFactory.class));
+    }
+
+}
@@ -1,9 +1,10 @@
 rootProject.name = "PlotSquared"
 
-include("Core", "Bukkit")
+include("Core", "Bukkit", "Benchmarks")
 
 project(":Core").name = "PlotSquared-Core"
 project(":Bukkit").name = "PlotSquared-Bukkit"
+project(":Benchmarks").name = "PlotSquared-Benchmarks"
 
 enableFeaturePreview("VERSION_CATALOGS")
 enableFeaturePreview("TYPESAFE_PROJECT_ACCESSORS")